@@ -17,19 +17,43 @@ CREATE TABLE IF NOT EXISTS chunks (
     text TEXT NOT NULL,
     position INTEGER NOT NULL,
     embedding vector(768) NOT NULL,
+    -- SHA-256 of text; re-ingestion skips chunks whose hash is unchanged
+    content_hash CHAR(64),
+    -- Lexical index of text for hybrid retrieval (rag.hybrid-strategies)
+    search_vector tsvector GENERATED ALWAYS AS (to_tsvector('english', text)) STORED,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
 
--- Create index for vector similarity search using IVFFlat
--- Note: This requires at least 1000 rows for optimal performance
--- For dev/testing with fewer rows, we use a simple index
+-- Databases created before content hashing; their chunks are re-embedded once
+ALTER TABLE chunks ADD COLUMN IF NOT EXISTS content_hash CHAR(64);
+
+-- Databases created before hybrid retrieval; existing rows are indexed as the column is added
+ALTER TABLE chunks ADD COLUMN IF NOT EXISTS search_vector tsvector
+GENERATED ALWAYS AS (to_tsvector('english', text)) STORED;
+
+-- Create index for vector similarity search using HNSW
+-- Unlike IVFFlat it needs no rows to train on, so it can be created on the empty table and keeps
+-- its recall as chunks arrive. Searches set hnsw.ef_search per RetrievalStrategy.
+-- Rebuild it, or switch to IVFFlat, without blocking reads: scripts/rebuild-vector-index.sh
 CREATE INDEX IF NOT EXISTS chunks_embedding_idx ON chunks
-USING ivfflat (embedding vector_cosine_ops)
-WITH (lists = 100);
+USING hnsw (embedding vector_cosine_ops)
+WITH (m = 16, ef_construction = 64);
+
+-- Full-text index for the lexical half of hybrid retrieval
+CREATE INDEX IF NOT EXISTS chunks_search_vector_idx ON chunks USING gin (search_vector);
 
 -- Create index on document_id for faster joins
 CREATE INDEX IF NOT EXISTS chunks_document_id_idx ON chunks(document_id);
 
+-- Persistent level of the embedding cache (embedding-cache.persistent), keyed by model and text
+CREATE TABLE IF NOT EXISTS embedding_cache (
+    model VARCHAR(255) NOT NULL,
+    text_hash CHAR(64) NOT NULL,
+    embedding vector NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (model, text_hash)
+);
+
 -- Insert sample document for testing
 INSERT INTO documents (id, title, content, source, created_at)
 VALUES (
@@ -0,0 +1,49 @@
+#!/bin/bash
+
+# Rebuilds the chunk embedding index without blocking reads or writes: the new index is built
+# with CREATE INDEX CONCURRENTLY next to the old one, which keeps serving searches until the swap.
+# Usage: ./scripts/rebuild-vector-index.sh [hnsw|ivfflat]
+#   hnsw (default): m = HNSW_M (16), ef_construction = HNSW_EF_CONSTRUCTION (64)
+#   ivfflat: lists = rows / 1000 (at least 10), or sqrt(rows) above 1M rows; IVFFlat learns its
+#            lists from the rows present, so rebuild it after large loads
+
+set -e
+
+INDEX_TYPE="${1:-hnsw}"
+PSQL=(docker exec -i ai-postgres psql -U aiuser -d aidb -v ON_ERROR_STOP=1 -q)
+
+case "$INDEX_TYPE" in
+    hnsw)
+        OPTIONS="m = ${HNSW_M:-16}, ef_construction = ${HNSW_EF_CONSTRUCTION:-64}"
+        ;;
+    ivfflat)
+        ROWS=$("${PSQL[@]}" -tA -c "SELECT count(*) FROM chunks")
+        if [ "$ROWS" -gt 1000000 ]; then
+            LISTS=$(awk "BEGIN { print int(sqrt($ROWS)) }")
+        else
+            LISTS=$((ROWS / 1000))
+        fi
+        if [ "$LISTS" -lt 10 ]; then
+            LISTS=10
+        fi
+        OPTIONS="lists = $LISTS"
+        ;;
+    *)
+        echo "Usage: $0 [hnsw|ivfflat]"
+        exit 1
+        ;;
+esac
+
+echo "Building $INDEX_TYPE index on chunks.embedding ($OPTIONS)..."
+# An interrupted concurrent build leaves an invalid index behind; clear it before retrying
+"${PSQL[@]}" -c "DROP INDEX CONCURRENTLY IF EXISTS chunks_embedding_idx_new"
+"${PSQL[@]}" \
+    -c "SET maintenance_work_mem = '${MAINTENANCE_WORK_MEM:-1GB}'" \
+    -c "CREATE INDEX CONCURRENTLY chunks_embedding_idx_new ON chunks
+        USING $INDEX_TYPE (embedding vector_cosine_ops) WITH ($OPTIONS)"
+
+echo "Swapping in the new index..."
+"${PSQL[@]}" -c "DROP INDEX CONCURRENTLY IF EXISTS chunks_embedding_idx"
+"${PSQL[@]}" -c "ALTER INDEX chunks_embedding_idx_new RENAME TO chunks_embedding_idx"
+
+echo "chunks_embedding_idx rebuilt as $INDEX_TYPE"
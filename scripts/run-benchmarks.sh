@@ -0,0 +1,23 @@
+#!/bin/bash
+
+# Runs the JMH suite and keeps a copy of the JSON results per commit so runs can be compared.
+# Usage: ./scripts/run-benchmarks.sh [benchmark-regex]
+
+set -e
+
+cd "$(dirname "$0")/.."
+
+if [ -n "$1" ]; then
+    ./gradlew jmh -PjmhIncludes="$1"
+else
+    ./gradlew jmh
+fi
+
+SHA=$(git rev-parse --short HEAD)
+if ! git diff --quiet HEAD; then
+    SHA="${SHA}-dirty"
+fi
+
+mkdir -p build/results/jmh/history
+cp build/results/jmh/results.json "build/results/jmh/history/${SHA}.json"
+echo "Benchmark results saved to build/results/jmh/history/${SHA}.json"
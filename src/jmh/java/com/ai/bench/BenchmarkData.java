@@ -0,0 +1,79 @@
+package com.ai.bench;
+
+import com.ai.domain.Chunk;
+import com.ai.domain.Embedding;
+import com.ai.util.VectorMath;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/** Deterministic fixtures shared by the benchmarks. */
+public final class BenchmarkData {
+    public static final int DIMENSION = 768;
+    public static final String EMBEDDING_MODEL = "nomic-embed-text";
+
+    private static final String[] WORDS = {
+        "vector", "index", "retrieval", "latency", "embedding", "postgres", "query", "model",
+        "answer", "context", "claim", "verify", "cluster", "shard", "cache", "token"
+    };
+
+    private BenchmarkData() {
+        // Utility class
+    }
+
+    /** Returns a unit-length vector derived from the seed. */
+    public static float[] vector(long seed, int dimension) {
+        SplittableRandom random = new SplittableRandom(seed);
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) (random.nextDouble() * 2.0 - 1.0);
+        }
+        return VectorMath.normalize(vector);
+    }
+
+    /** Returns the same vector for the same text, like a real embedding model would. */
+    public static float[] vectorFor(String text, int dimension) {
+        return vector(text.hashCode(), dimension);
+    }
+
+    /** Builds {@code count} chunks with random embeddings. */
+    public static List<Chunk> chunks(int count, int dimension, long seed) {
+        List<Chunk> chunks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Embedding embedding = new Embedding(vector(seed + i, dimension), EMBEDDING_MODEL);
+            chunks.add(
+                    new Chunk(
+                            "chunk-" + i,
+                            "doc-" + (i / 10),
+                            sentence(seed + i, 40),
+                            i % 10,
+                            embedding));
+        }
+        return chunks;
+    }
+
+    /** Builds a sentence of {@code words} pseudo-random words. */
+    public static String sentence(long seed, int words) {
+        SplittableRandom random = new SplittableRandom(seed);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.append('.').toString();
+    }
+
+    /** Formats a vector in the pgvector text representation, e.g. {@code [0.1,0.2]}. */
+    public static String vectorLiteral(float[] vector) {
+        StringBuilder literal = new StringBuilder(vector.length * 12).append('[');
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) {
+                literal.append(',');
+            }
+            literal.append(vector[i]);
+        }
+        return literal.append(']').toString();
+    }
+}
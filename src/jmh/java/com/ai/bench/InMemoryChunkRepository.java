@@ -0,0 +1,95 @@
+package com.ai.bench;
+
+import com.ai.domain.Chunk;
+import com.ai.domain.RetrievedChunk;
+import com.ai.rag.ChunkRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Offline chunk store performing an exact cosine-distance scan, mirroring what pgvector does
+ * for an unindexed {@code ORDER BY embedding <=> ?} query.
+ */
+public final class InMemoryChunkRepository implements ChunkRepository {
+    private final List<Chunk> chunks = new ArrayList<>();
+
+    @Override
+    public Chunk save(Chunk chunk) {
+        chunks.add(chunk);
+        return chunk;
+    }
+
+    @Override
+    public List<Chunk> findSimilar(float[] queryEmbedding, int topK) {
+        return scan(queryEmbedding, topK).stream().map(Scored::chunk).toList();
+    }
+
+    @Override
+    public List<RetrievedChunk> findSimilarMatches(float[] queryEmbedding, int topK) {
+        return scan(queryEmbedding, topK).stream()
+                .map(scored -> RetrievedChunk.of(scored.chunk(), scored.distance()))
+                .toList();
+    }
+
+    @Override
+    public Map<String, String> findContentHashes(String documentId) {
+        Map<String, String> hashes = new HashMap<>();
+        for (Chunk chunk : chunks) {
+            if (chunk.documentId().equals(documentId)) {
+                hashes.put(chunk.id(), chunk.contentHash());
+            }
+        }
+        return hashes;
+    }
+
+    @Override
+    public List<Chunk> findByIds(Collection<String> ids) {
+        return chunks.stream().filter(chunk -> ids.contains(chunk.id())).toList();
+    }
+
+    @Override
+    public void deleteByIds(Collection<String> ids) {
+        chunks.removeIf(chunk -> ids.contains(chunk.id()));
+    }
+
+    @Override
+    public void deleteAll() {
+        chunks.clear();
+    }
+
+    private record Scored(Chunk chunk, double distance) {}
+
+    private List<Scored> scan(float[] queryEmbedding, int topK) {
+        // Max-heap on distance so the worst of the current top K is evicted first
+        PriorityQueue<Scored> best =
+                new PriorityQueue<>(
+                        topK + 1, Comparator.comparingDouble(Scored::distance).reversed());
+        for (Chunk chunk : chunks) {
+            best.add(new Scored(chunk, cosineDistance(queryEmbedding, chunk.embedding().vector())));
+            if (best.size() > topK) {
+                best.poll();
+            }
+        }
+
+        List<Scored> ordered = new ArrayList<>(best);
+        ordered.sort(Comparator.comparingDouble(Scored::distance));
+        return ordered;
+    }
+
+    private static double cosineDistance(float[] a, float[] b) {
+        double dot = 0.0;
+        double normA = 0.0;
+        double normB = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return 1.0 - dot / (Math.sqrt(normA) * Math.sqrt(normB));
+    }
+}
@@ -0,0 +1,27 @@
+package com.ai.bench;
+
+import com.ai.domain.Embedding;
+import com.ai.embeddings.EmbeddingService;
+
+/** Offline embedding backend returning deterministic vectors derived from the input text. */
+public final class StubEmbeddingService implements EmbeddingService {
+    private final int dimension;
+
+    public StubEmbeddingService(int dimension) {
+        this.dimension = dimension;
+    }
+
+    @Override
+    public Embedding generateEmbedding(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Text cannot be null or blank");
+        }
+        return new Embedding(
+                BenchmarkData.vectorFor(text, dimension), BenchmarkData.EMBEDDING_MODEL);
+    }
+
+    @Override
+    public int getDimension() {
+        return dimension;
+    }
+}
@@ -0,0 +1,52 @@
+package com.ai.bench;
+
+import com.ai.llm.OllamaClient;
+import com.ai.model.LlmModel;
+import java.util.function.Consumer;
+
+/**
+ * Offline LLM backend with canned responses for the prompts issued by the verifier: a numbered
+ * claim list for extraction, a JSON verdict array for batched checks and "yes" otherwise.
+ */
+public final class StubOllamaClient implements OllamaClient {
+    private final String claimsResponse;
+    private final int claimCount;
+
+    public StubOllamaClient(String claimsResponse, int claimCount) {
+        this.claimsResponse = claimsResponse;
+        this.claimCount = claimCount;
+    }
+
+    @Override
+    public String generate(LlmModel model, String prompt, int maxTokens) {
+        if (prompt.startsWith("Extract")) {
+            return claimsResponse;
+        }
+        if (prompt.startsWith("For each numbered claim")) {
+            StringBuilder json = new StringBuilder("[");
+            for (int i = 1; i <= claimCount; i++) {
+                if (i > 1) {
+                    json.append(", ");
+                }
+                json.append("{\"claim\": ").append(i).append(", \"supported\": true}");
+            }
+            return json.append(']').toString();
+        }
+        return "yes";
+    }
+
+    @Override
+    public String generateStream(
+            LlmModel model, String prompt, int maxTokens, Consumer<String> onToken) {
+        String response = generate(model, prompt, maxTokens);
+        for (String token : response.split("(?<= )")) {
+            onToken.accept(token);
+        }
+        return response;
+    }
+
+    @Override
+    public boolean isModelAvailable(LlmModel model) {
+        return true;
+    }
+}
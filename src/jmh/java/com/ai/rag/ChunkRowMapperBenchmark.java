@@ -0,0 +1,97 @@
+package com.ai.rag;
+
+import com.ai.bench.BenchmarkData;
+import com.ai.domain.Chunk;
+import com.ai.domain.RetrievedChunk;
+import com.pgvector.PGvector;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.postgresql.util.PGobject;
+
+/**
+ * Measures {@link JdbcChunkRepository.ChunkRowMapper} on a single in-memory row. {@code PGVECTOR}
+ * covers connections with the vector type registered; {@code PGOBJECT} covers the driver's
+ * generic object, which forces the text representation to be parsed on every row. {@code
+ * mapProjection} is the embedding-free row produced by {@code findSimilarMatches}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChunkRowMapperBenchmark {
+
+    public enum Representation {
+        PGVECTOR,
+        PGOBJECT
+    }
+
+    @Param({"PGVECTOR", "PGOBJECT"})
+    private Representation representation;
+
+    private final JdbcChunkRepository.ChunkRowMapper mapper =
+            new JdbcChunkRepository.ChunkRowMapper();
+    private final JdbcChunkRepository.RetrievedChunkRowMapper projectionMapper =
+            new JdbcChunkRepository.RetrievedChunkRowMapper();
+    private ResultSet row;
+
+    @Setup
+    public void setUp() throws SQLException {
+        String literal =
+                BenchmarkData.vectorLiteral(BenchmarkData.vector(7L, BenchmarkData.DIMENSION));
+        Object embedding;
+        if (representation == Representation.PGVECTOR) {
+            embedding = new PGvector(literal);
+        } else {
+            PGobject pgObject = new PGobject();
+            pgObject.setType("vector");
+            pgObject.setValue(literal);
+            embedding = pgObject;
+        }
+        row =
+                singleRow(
+                        Map.of(
+                                "id", "chunk-1",
+                                "document_id", "doc-1",
+                                "text", BenchmarkData.sentence(7L, 80),
+                                "position", 3,
+                                "embedding", embedding,
+                                "distance", 0.25));
+    }
+
+    @Benchmark
+    public Chunk mapRow() throws SQLException {
+        return mapper.mapRow(row, 0);
+    }
+
+    @Benchmark
+    public RetrievedChunk mapProjection() throws SQLException {
+        return projectionMapper.mapRow(row, 0);
+    }
+
+    private static ResultSet singleRow(Map<String, Object> columns) {
+        return (ResultSet)
+                Proxy.newProxyInstance(
+                        ResultSet.class.getClassLoader(),
+                        new Class<?>[] {ResultSet.class},
+                        (proxy, method, args) ->
+                                switch (method.getName()) {
+                                    case "getString" -> (String) columns.get((String) args[0]);
+                                    case "getInt" -> (Integer) columns.get((String) args[0]);
+                                    case "getDouble" -> (Double) columns.get((String) args[0]);
+                                    case "getObject" -> columns.get((String) args[0]);
+                                    default ->
+                                            throw new UnsupportedOperationException(
+                                                    method.getName());
+                                });
+    }
+}
@@ -0,0 +1,53 @@
+package com.ai.rag;
+
+import com.ai.bench.BenchmarkData;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Measures {@link HnswIndex#search} at the default graph parameters across ef_search values. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HnswIndexBenchmark {
+    private static final int QUERY_COUNT = 64;
+
+    @Param({"10000"})
+    private int chunkCount;
+
+    @Param({"40", "100"})
+    private int efSearch;
+
+    @Param({"5", "20"})
+    private int topK;
+
+    private HnswIndex index;
+    private float[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        RagConfig config = new RagConfig();
+        index = new HnswIndex(config.hnswM(), config.hnswEfConstruction(), efSearch);
+        for (int i = 0; i < chunkCount; i++) {
+            index.add("chunk-" + i, BenchmarkData.vector(i, BenchmarkData.DIMENSION));
+        }
+        queries = new float[QUERY_COUNT][];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            queries[i] = BenchmarkData.vector(1_000_000L + i, BenchmarkData.DIMENSION);
+        }
+    }
+
+    @Benchmark
+    public List<HnswIndex.Match> search() {
+        float[] query = queries[next++ & (QUERY_COUNT - 1)];
+        return index.search(query, topK);
+    }
+}
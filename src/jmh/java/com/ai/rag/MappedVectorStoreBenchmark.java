@@ -0,0 +1,76 @@
+package com.ai.rag;
+
+import com.ai.bench.BenchmarkData;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the exact float32 scan of {@link MappedVectorStore} with the int8 code scan plus
+ * full-precision re-rank.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MappedVectorStoreBenchmark {
+    private static final int QUERY_COUNT = 64;
+    private static final int TOP_K = 10;
+
+    @Param({"20000"})
+    private int chunkCount;
+
+    @Param({"200"})
+    private int rerankCandidates;
+
+    private Path directory;
+    private MappedVectorStore store;
+    private float[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("mapped-vector-store");
+        store = MappedVectorStore.open(directory);
+        for (int i = 0; i < chunkCount; i++) {
+            store.put("chunk-" + i, BenchmarkData.vector(i, BenchmarkData.DIMENSION));
+        }
+        queries = new float[QUERY_COUNT][];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            queries[i] = BenchmarkData.vector(1_000_000L + i, BenchmarkData.DIMENSION);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        for (String file :
+                List.of(
+                        MappedVectorStore.VECTORS_FILE,
+                        MappedVectorStore.IDS_FILE,
+                        MappedVectorStore.CODES_FILE)) {
+            Files.deleteIfExists(directory.resolve(file));
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public List<MappedVectorStore.Match> exactScan() {
+        return store.search(queries[next++ & (QUERY_COUNT - 1)], TOP_K);
+    }
+
+    @Benchmark
+    public List<MappedVectorStore.Match> quantizedScan() {
+        return store.searchQuantized(queries[next++ & (QUERY_COUNT - 1)], TOP_K, rerankCandidates);
+    }
+}
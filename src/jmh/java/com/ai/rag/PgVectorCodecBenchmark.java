@@ -0,0 +1,74 @@
+package com.ai.rag;
+
+import com.ai.bench.BenchmarkData;
+import com.pgvector.PGvector;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the client-side vector codec work of one {@code findSimilar} call: encoding the query
+ * parameter and decoding {@code topK} embedding columns, in pgvector's text and binary formats.
+ * Run with {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PgVectorCodecBenchmark {
+
+    public enum Format {
+        TEXT,
+        BINARY
+    }
+
+    @Param({"TEXT", "BINARY"})
+    private Format format;
+
+    @Param({"20"})
+    private int topK;
+
+    private float[] query;
+    private String[] textRows;
+    private byte[][] binaryRows;
+
+    @Setup
+    public void setUp() {
+        query = BenchmarkData.vector(1L, BenchmarkData.DIMENSION);
+        textRows = new String[topK];
+        binaryRows = new byte[topK][];
+        for (int i = 0; i < topK; i++) {
+            PGvector row = new PGvector(BenchmarkData.vector(100L + i, BenchmarkData.DIMENSION));
+            textRows[i] = row.getValue();
+            binaryRows[i] = new byte[row.lengthInBytes()];
+            row.toBytes(binaryRows[i], 0);
+        }
+    }
+
+    @Benchmark
+    public void findSimilarCodec(Blackhole blackhole) throws SQLException {
+        PGvector parameter = new PGvector(query);
+        if (format == Format.TEXT) {
+            blackhole.consume(parameter.getValue());
+            for (String row : textRows) {
+                blackhole.consume(new PGvector(row).toArray());
+            }
+        } else {
+            byte[] encoded = new byte[parameter.lengthInBytes()];
+            parameter.toBytes(encoded, 0);
+            blackhole.consume(encoded);
+            for (byte[] row : binaryRows) {
+                PGvector decoded = new PGvector();
+                decoded.setByteValue(row, 0);
+                blackhole.consume(decoded.toArray());
+            }
+        }
+    }
+}
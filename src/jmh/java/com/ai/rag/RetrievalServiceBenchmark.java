@@ -0,0 +1,65 @@
+package com.ai.rag;
+
+import com.ai.bench.BenchmarkData;
+import com.ai.bench.InMemoryChunkRepository;
+import com.ai.bench.StubEmbeddingService;
+import com.ai.domain.Chunk;
+import com.ai.domain.Embedding;
+import com.ai.domain.RetrievalResult;
+import com.ai.embeddings.EmbeddingService;
+import com.ai.model.RetrievalStrategy;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link RetrievalServiceImpl#retrieve} end to end against the offline embedding stub
+ * and an exact-scan chunk store, isolating the service overhead from database round trips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RetrievalServiceBenchmark {
+
+    @Param({"1000", "10000"})
+    private int chunkCount;
+
+    @Param({"SIMPLE", "DEEP", "EXHAUSTIVE"})
+    private RetrievalStrategy strategy;
+
+    private RetrievalServiceImpl retrievalService;
+    private Embedding queryEmbedding;
+    private String question;
+
+    @Setup
+    public void setUp() {
+        EmbeddingService embeddingService = new StubEmbeddingService(BenchmarkData.DIMENSION);
+        ChunkRepository repository = new InMemoryChunkRepository();
+        for (Chunk chunk : BenchmarkData.chunks(chunkCount, BenchmarkData.DIMENSION, 42L)) {
+            repository.save(chunk);
+        }
+
+        // Random vectors are near-orthogonal; disable the cutoff so every strategy fills topK
+        RagConfig config = new RagConfig();
+        config.setMinSimilarity(-1.0);
+        retrievalService = new RetrievalServiceImpl(embeddingService, repository, config);
+        question = "How does the retrieval pipeline pick context chunks?";
+        queryEmbedding = embeddingService.generateEmbedding(question);
+    }
+
+    @Benchmark
+    public RetrievalResult retrieveByQuestion() {
+        return retrievalService.retrieve(question, strategy);
+    }
+
+    @Benchmark
+    public RetrievalResult retrieveByEmbedding() {
+        return retrievalService.retrieve(queryEmbedding, strategy);
+    }
+}
@@ -0,0 +1,51 @@
+package com.ai.util;
+
+import com.ai.bench.BenchmarkData;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Measures {@link SensitiveDataRedactor#redact} on request-log sized JSON payloads. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SensitiveDataRedactorBenchmark {
+
+    @Param({"256", "4096", "65536"})
+    private int payloadBytes;
+
+    @Param({"true", "false"})
+    private boolean containsSecrets;
+
+    private String payload;
+
+    @Setup
+    public void setUp() {
+        StringBuilder json = new StringBuilder("{");
+        int field = 0;
+        while (json.length() < payloadBytes) {
+            if (field > 0) {
+                json.append(',');
+            }
+            String name = containsSecrets && field % 8 == 0 ? "password" : "field" + field;
+            json.append('"')
+                    .append(name)
+                    .append("\":\"")
+                    .append(BenchmarkData.sentence(field, 6))
+                    .append('"');
+            field++;
+        }
+        payload = json.append('}').toString();
+    }
+
+    @Benchmark
+    public String redact() {
+        return SensitiveDataRedactor.redact(payload);
+    }
+}
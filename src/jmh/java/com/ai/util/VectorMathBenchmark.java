@@ -0,0 +1,77 @@
+package com.ai.util;
+
+import com.ai.bench.BenchmarkData;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the Vector API kernels behind {@link VectorMath} with the scalar loops, for one pair and
+ * for a brute-force scan of one query against every row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VectorMathBenchmark {
+    private static final int ROW_COUNT = 10_000;
+
+    @Param({"384", "768"})
+    private int dimension;
+
+    @Param({"simd", "scalar"})
+    private String kernels;
+
+    private VectorKernels implementation;
+    private float[] query;
+    private float[][] rows;
+    private float[] scores;
+
+    @Setup
+    public void setUp() {
+        implementation =
+                kernels.equals("simd") ? SimdVectorKernels.INSTANCE : ScalarVectorKernels.INSTANCE;
+        query = BenchmarkData.vector(1_000_000L, dimension);
+        rows = new float[ROW_COUNT][];
+        for (int i = 0; i < ROW_COUNT; i++) {
+            rows[i] = BenchmarkData.vector(i, dimension);
+        }
+        scores = new float[ROW_COUNT];
+    }
+
+    @Benchmark
+    public float dot() {
+        return implementation.dot(query, rows[0]);
+    }
+
+    @Benchmark
+    public float cosine() {
+        return implementation.cosine(query, rows[0]);
+    }
+
+    @Benchmark
+    public float squaredDistance() {
+        return implementation.squaredDistance(query, rows[0]);
+    }
+
+    @Benchmark
+    public float[] dotScan() {
+        for (int i = 0; i < ROW_COUNT; i++) {
+            scores[i] = implementation.dot(query, rows[i]);
+        }
+        return scores;
+    }
+
+    @Benchmark
+    public float[] cosineScan() {
+        for (int i = 0; i < ROW_COUNT; i++) {
+            scores[i] = implementation.cosine(query, rows[i]);
+        }
+        return scores;
+    }
+}
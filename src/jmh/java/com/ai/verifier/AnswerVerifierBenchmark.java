@@ -0,0 +1,66 @@
+package com.ai.verifier;
+
+import com.ai.bench.BenchmarkData;
+import com.ai.bench.StubOllamaClient;
+import com.ai.domain.Answer;
+import com.ai.domain.Claim;
+import com.ai.domain.RetrievalResult;
+import com.ai.domain.VerificationResult;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures claim parsing and the verifier's orchestration overhead with an offline LLM stub, so
+ * the numbers exclude model latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnswerVerifierBenchmark {
+
+    @Param({"3", "10", "30"})
+    private int claimCount;
+
+    @Param({"PER_CLAIM", "BATCHED"})
+    private VerifierConfig.Mode mode;
+
+    private String claimsResponse;
+    private AnswerVerifierImpl verifier;
+    private Answer answer;
+    private RetrievalResult context;
+
+    @Setup
+    public void setUp() {
+        StringBuilder response = new StringBuilder();
+        for (int i = 1; i <= claimCount; i++) {
+            response.append(i).append(". ").append(BenchmarkData.sentence(i, 12)).append('\n');
+        }
+        claimsResponse = response.toString();
+
+        VerifierConfig config = new VerifierConfig();
+        config.setMode(mode);
+        verifier = new AnswerVerifierImpl(new StubOllamaClient(claimsResponse, claimCount), config);
+        answer = new Answer(BenchmarkData.sentence(99L, 120), List.of(), "qwen2.5:7b");
+        context =
+                new RetrievalResult(
+                        BenchmarkData.chunks(5, BenchmarkData.DIMENSION, 1L), "SIMPLE", 0L);
+    }
+
+    @Benchmark
+    public List<Claim> parseClaims() {
+        return AnswerVerifierImpl.parseClaimsFromResponse(claimsResponse);
+    }
+
+    @Benchmark
+    public VerificationResult verify() {
+        return verifier.verify(answer, context);
+    }
+}
@@ -1,13 +1,24 @@
 package com.ai.api;
 
+import com.ai.util.VectorMath;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 /** Main Spring Boot application for AI Control Plane API. */
 @SpringBootApplication(scanBasePackages = "com.ai")
 public class ApiApplication {
+    private static final Logger logger = LogManager.getLogger(ApiApplication.class);
 
     public static void main(String[] args) {
         SpringApplication.run(ApiApplication.class, args);
+        if (VectorMath.accelerated()) {
+            logger.info("Similarity kernels: Vector API (SIMD)");
+        } else {
+            logger.warn(
+                    "Similarity kernels: scalar fallback; start the JVM with --add-modules "
+                            + "jdk.incubator.vector to use the Vector API");
+        }
     }
 }
@@ -1,23 +1,37 @@
 package com.ai.api;
 
+import com.ai.control.AnswerStreamListener;
 import com.ai.control.ControlPlane;
 import com.ai.domain.AnswerResult;
+import com.ai.domain.Citation;
 import com.ai.domain.Question;
 import com.ai.dto.ChatRequest;
 import com.ai.dto.ChatResponse;
+import com.ai.model.LlmModel;
+import com.ai.model.RetrievalStrategy;
 import com.ai.util.CorrelationIdHolder;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /** REST controller for chat endpoint. */
 @RestController
 @RequestMapping("/api")
 public class ChatController {
     private static final Logger logger = LogManager.getLogger(ChatController.class);
+    private static final long STREAM_TIMEOUT_MS = 300_000L;
 
     private final ControlPlane controlPlane;
+    private final ExecutorService streamExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     public ChatController(ControlPlane controlPlane) {
         this.controlPlane = controlPlane;
@@ -36,14 +50,7 @@ public class ChatController {
             Question question = new Question(request.question(), correlationId);
             AnswerResult result = controlPlane.answer(question);
 
-            ChatResponse response =
-                    new ChatResponse(
-                            result.answer().text(),
-                            result.answer().citations(),
-                            result.confidence(),
-                            result.answer().modelUsed(),
-                            result.retrievalStrategy(),
-                            result.verification().status().name());
+            ChatResponse response = toResponse(result);
 
             logger.info(
                     "Chat request completed - correlationId: {}, confidence: {:.2f}",
@@ -60,10 +67,141 @@ public class ChatController {
         }
     }
 
+    /**
+     * Streams an answer as server-sent events: {@code context} (strategy and citations) before
+     * generation, {@code token} for each generated fragment, {@code escalation} when a
+     * low-confidence attempt is retried with a larger model, and finally {@code verification}
+     * carrying the full {@link ChatResponse}. Failures end the stream with an {@code error} event.
+     */
+    @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter chatStream(@RequestBody ChatRequest request) {
+        String correlationId = CorrelationIdHolder.getOrGenerate();
+        CorrelationIdHolder.clear();
+
+        logger.info(
+                "Received streaming chat request - correlationId: {}, questionLength: {}",
+                correlationId,
+                request.question().length());
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        SseAnswerListener listener = new SseAnswerListener(emitter);
+        emitter.onCompletion(listener::cancel);
+        emitter.onTimeout(listener::cancel);
+        emitter.onError(error -> listener.cancel());
+
+        Question question = new Question(request.question(), correlationId);
+        streamExecutor.execute(
+                () -> {
+                    CorrelationIdHolder.set(correlationId);
+                    try {
+                        AnswerResult result = controlPlane.answer(question, listener);
+                        listener.send("verification", toResponse(result));
+                        emitter.complete();
+                        logger.info(
+                                "Streaming chat request completed - correlationId: {}",
+                                correlationId);
+                    } catch (Exception e) {
+                        if (listener.isCancelled()) {
+                            logger.info(
+                                    "Streaming chat request cancelled - correlationId: {}",
+                                    correlationId);
+                        } else {
+                            logger.error(
+                                    "Streaming chat request failed - correlationId: {}",
+                                    correlationId,
+                                    e);
+                            listener.sendError(e);
+                        }
+                    } finally {
+                        CorrelationIdHolder.clear();
+                    }
+                });
+
+        return emitter;
+    }
+
     @GetMapping("/health")
     public ResponseEntity<HealthResponse> health() {
         return ResponseEntity.ok(new HealthResponse("UP"));
     }
 
+    @PreDestroy
+    public void shutdown() {
+        streamExecutor.shutdownNow();
+    }
+
+    private static ChatResponse toResponse(AnswerResult result) {
+        return new ChatResponse(
+                result.answer().text(),
+                result.answer().citations(),
+                result.confidence(),
+                result.answer().modelUsed(),
+                result.retrievalStrategy(),
+                result.verification().status().name());
+    }
+
     private record HealthResponse(String status) {}
+
+    private record ContextEvent(String retrievalStrategy, List<Citation> citations) {}
+
+    private record TokenEvent(String text) {}
+
+    private record EscalationEvent(int attempt, String model, String retrievalStrategy) {}
+
+    private record ErrorEvent(String message) {}
+
+    /** Forwards control plane progress to an SSE emitter and notices when the client goes away. */
+    private static final class SseAnswerListener implements AnswerStreamListener {
+        private final SseEmitter emitter;
+        private volatile boolean cancelled;
+
+        private SseAnswerListener(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onContext(String retrievalStrategy, List<Citation> citations) {
+            send("context", new ContextEvent(retrievalStrategy, citations));
+        }
+
+        @Override
+        public void onToken(String token) {
+            send("token", new TokenEvent(token));
+        }
+
+        @Override
+        public void onEscalation(int nextAttempt, LlmModel model, RetrievalStrategy strategy) {
+            send(
+                    "escalation",
+                    new EscalationEvent(nextAttempt, model.ollamaName(), strategy.name()));
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void cancel() {
+            cancelled = true;
+        }
+
+        private void send(String name, Object data) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+            } catch (IOException e) {
+                // Abort generation: the exception unwinds through the Ollama stream reader.
+                cancel();
+                throw new UncheckedIOException("Client disconnected from answer stream", e);
+            }
+        }
+
+        private void sendError(Exception e) {
+            try {
+                emitter.send(SseEmitter.event().name("error").data(new ErrorEvent(e.getMessage())));
+                emitter.complete();
+            } catch (IOException sendFailure) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
 }
@@ -0,0 +1,94 @@
+package com.ai.api;
+
+import com.ai.cache.CacheStats;
+import com.ai.cache.SemanticAnswerCache;
+import com.ai.embeddings.CachingEmbeddingService;
+import com.ai.embeddings.EmbeddingCacheStats;
+import com.ai.llm.HttpPoolStats;
+import com.ai.llm.OllamaHttpTransport;
+import java.util.Optional;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** REST controller exposing cache and connection-pool counters for monitoring. */
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+    private final SemanticAnswerCache answerCache;
+    private final OllamaHttpTransport ollamaTransport;
+    private final Optional<CachingEmbeddingService> embeddingCache;
+
+    public StatsController(
+            SemanticAnswerCache answerCache,
+            OllamaHttpTransport ollamaTransport,
+            Optional<CachingEmbeddingService> embeddingCache) {
+        this.answerCache = answerCache;
+        this.ollamaTransport = ollamaTransport;
+        this.embeddingCache = embeddingCache;
+    }
+
+    /** Returns the semantic answer cache's counters since startup and its hit rate. */
+    @GetMapping("/answer-cache")
+    public ResponseEntity<AnswerCacheStatsResponse> answerCache() {
+        CacheStats stats = answerCache.stats();
+        return ResponseEntity.ok(
+                new AnswerCacheStatsResponse(
+                        stats.hits(),
+                        stats.misses(),
+                        stats.evictions(),
+                        stats.invalidations(),
+                        stats.size(),
+                        stats.hitRate()));
+    }
+
+    /** Returns the current usage of the shared Ollama connection pool. */
+    @GetMapping("/ollama-pool")
+    public ResponseEntity<PoolStatsResponse> ollamaPool() {
+        HttpPoolStats stats = ollamaTransport.stats();
+        return ResponseEntity.ok(
+                new PoolStatsResponse(
+                        stats.leased(),
+                        stats.available(),
+                        stats.pending(),
+                        stats.max(),
+                        stats.utilization()));
+    }
+
+    /**
+     * Returns the embedding cache's counters since startup and its hit rate, or 404 when {@code
+     * embedding-cache.enabled} is false.
+     */
+    @GetMapping("/embedding-cache")
+    public ResponseEntity<EmbeddingCacheStatsResponse> embeddingCache() {
+        if (embeddingCache.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        EmbeddingCacheStats stats = embeddingCache.get().stats();
+        return ResponseEntity.ok(
+                new EmbeddingCacheStatsResponse(
+                        stats.memoryHits(),
+                        stats.persistentHits(),
+                        stats.misses(),
+                        stats.evictions(),
+                        stats.entries(),
+                        stats.bytes(),
+                        stats.hitRate()));
+    }
+
+    private record AnswerCacheStatsResponse(
+            long hits, long misses, long evictions, long invalidations, int size, double hitRate) {}
+
+    private record PoolStatsResponse(
+            int leased, int available, int pending, int max, double utilization) {}
+
+    private record EmbeddingCacheStatsResponse(
+            long memoryHits,
+            long persistentHits,
+            long misses,
+            long evictions,
+            int entries,
+            long bytes,
+            double hitRate) {}
+}
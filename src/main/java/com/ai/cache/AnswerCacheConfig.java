@@ -0,0 +1,87 @@
+package com.ai.cache;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Configuration for the semantic answer cache. */
+@Configuration
+@ConfigurationProperties(prefix = "answer-cache")
+public class AnswerCacheConfig {
+    private boolean enabled = false;
+    private int maxEntries = 1000;
+    private Duration ttl = Duration.ofHours(1);
+    private double maxDistance = 0.05;
+
+    public AnswerCacheConfig() {}
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("TTL must be positive");
+        }
+        this.ttl = ttl;
+    }
+
+    public double getMaxDistance() {
+        return maxDistance;
+    }
+
+    public void setMaxDistance(double maxDistance) {
+        if (maxDistance < 0.0 || maxDistance > 2.0) {
+            throw new IllegalArgumentException("Max distance must be between 0.0 and 2.0");
+        }
+        this.maxDistance = maxDistance;
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    public Duration ttl() {
+        return ttl;
+    }
+
+    public double maxDistance() {
+        return maxDistance;
+    }
+
+    @Override
+    public String toString() {
+        return "AnswerCacheConfig[enabled="
+                + enabled
+                + ", maxEntries="
+                + maxEntries
+                + ", ttl="
+                + ttl
+                + ", maxDistance="
+                + maxDistance
+                + "]";
+    }
+}
@@ -0,0 +1,19 @@
+package com.ai.cache;
+
+/**
+ * Point-in-time counters for a cache.
+ *
+ * @param hits Lookups answered from the cache
+ * @param misses Lookups that found no usable entry
+ * @param evictions Entries dropped for capacity or expiry
+ * @param invalidations Entries dropped because their source data changed
+ * @param size Entries currently held
+ */
+public record CacheStats(long hits, long misses, long evictions, long invalidations, int size) {
+
+    /** Returns the fraction of lookups served from the cache, or 0 when there were none. */
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
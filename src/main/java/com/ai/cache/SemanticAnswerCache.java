@@ -0,0 +1,160 @@
+package com.ai.cache;
+
+import com.ai.domain.AnswerResult;
+import com.ai.domain.Citation;
+import com.ai.rag.ChunksChangedEvent;
+import com.ai.util.VectorMath;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of answers keyed on question embeddings. A lookup returns the stored answer of the nearest
+ * past question if it lies within {@code answer-cache.max-distance} cosine distance and has not
+ * expired. Entries are evicted least-recently-used once {@code answer-cache.max-entries} is
+ * reached, and dropped as soon as any chunk they cite is rewritten.
+ *
+ * <p>Lookups scan all entries, which keeps the structure simple and is cheap next to a single LLM
+ * call at the default capacity.
+ */
+@Component
+public class SemanticAnswerCache {
+    private static final Logger logger = LogManager.getLogger(SemanticAnswerCache.class);
+
+    private final AnswerCacheConfig config;
+    private final Clock clock;
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long nextKey;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    private record Entry(
+            float[] normalizedQuestion,
+            AnswerResult result,
+            Set<String> citedChunkIds,
+            Instant expiresAt) {}
+
+    @Autowired
+    public SemanticAnswerCache(AnswerCacheConfig config) {
+        this(config, Clock.systemUTC());
+    }
+
+    SemanticAnswerCache(AnswerCacheConfig config, Clock clock) {
+        this.config = config;
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return config.enabled();
+    }
+
+    /**
+     * Returns the cached answer for the closest stored question within the distance threshold.
+     *
+     * @param questionEmbedding The embedding of the incoming question
+     * @return The cached answer, if any
+     */
+    public synchronized Optional<AnswerResult> get(float[] questionEmbedding) {
+        float[] query = VectorMath.normalize(questionEmbedding);
+        Instant now = clock.instant();
+
+        Long bestKey = null;
+        double bestDistance = Double.MAX_VALUE;
+        Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Entry> candidate = iterator.next();
+            Entry entry = candidate.getValue();
+            if (!now.isBefore(entry.expiresAt())) {
+                iterator.remove();
+                evictions++;
+                continue;
+            }
+            if (entry.normalizedQuestion().length != query.length) {
+                continue;
+            }
+            double distance = 1.0 - VectorMath.dot(query, entry.normalizedQuestion());
+            if (distance <= config.maxDistance() && distance < bestDistance) {
+                bestDistance = distance;
+                bestKey = candidate.getKey();
+            }
+        }
+
+        if (bestKey == null) {
+            misses++;
+            return Optional.empty();
+        }
+        hits++;
+        logger.debug("Answer cache hit - distance: {}", bestDistance);
+        // Access-ordered map: get() marks the entry as most recently used.
+        return Optional.of(entries.get(bestKey).result());
+    }
+
+    /**
+     * Stores an answer under the given question embedding.
+     *
+     * @param questionEmbedding The embedding of the answered question
+     * @param result The answer to cache
+     */
+    public synchronized void put(float[] questionEmbedding, AnswerResult result) {
+        if (result == null) {
+            throw new IllegalArgumentException("Result cannot be null");
+        }
+        Set<String> citedChunkIds =
+                result.answer().citations().stream()
+                        .map(Citation::chunkId)
+                        .collect(Collectors.toUnmodifiableSet());
+
+        entries.put(
+                nextKey++,
+                new Entry(
+                        VectorMath.normalize(questionEmbedding),
+                        result,
+                        citedChunkIds,
+                        clock.instant().plus(config.ttl())));
+
+        Iterator<Long> eldest = entries.keySet().iterator();
+        while (entries.size() > config.maxEntries()) {
+            eldest.next();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /** Drops every cached answer citing a chunk that was rewritten or deleted. */
+    @EventListener
+    public synchronized void onChunksChanged(ChunksChangedEvent event) {
+        int before = entries.size();
+        entries.values()
+                .removeIf(
+                        entry ->
+                                event.allChunks()
+                                        || entry.citedChunkIds().stream()
+                                                .anyMatch(event::affects));
+        int removed = before - entries.size();
+        if (removed > 0) {
+            invalidations += removed;
+            logger.debug("Invalidated {} cached answers after chunk changes", removed);
+        }
+    }
+
+    /** Removes every cached answer. */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, evictions, invalidations, entries.size());
+    }
+}
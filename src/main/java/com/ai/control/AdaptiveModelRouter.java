@@ -0,0 +1,257 @@
+package com.ai.control;
+
+import com.ai.model.LlmModel;
+import com.ai.model.RetrievalStrategy;
+import com.ai.util.TokenEstimator;
+import com.ai.util.VectorMath;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Routes questions onto the control plane's escalation ladder, so questions that would escalate
+ * anyway skip the attempt that would be thrown away.
+ *
+ * <p>Questions are grouped by embedding into clusters of similar questions, and each cluster
+ * keeps a moving average of the confidence every model reached on it, escalated attempts
+ * included. A question starts at the lowest rung whose model has proven confident on its cluster,
+ * or has not answered it often enough to tell; long questions start at least one rung up. When
+ * that model is busy, the question moves up to a model whose p50 latency times its queue depth
+ * (attempts in flight plus this one) is lower, since the higher rungs answer at least as well.
+ * Every {@code model-router.exploration-interval} questions a cluster routes past its bottom rung,
+ * one starts there again so that rung can recover.
+ */
+@Component
+public class AdaptiveModelRouter implements ModelRouter {
+    private static final Logger logger = LogManager.getLogger(AdaptiveModelRouter.class);
+    // One route per distinct model the control plane escalates through, cheapest first
+    private static final List<ModelRoute> LADDER = ladder();
+
+    private final ModelRouterConfig config;
+    private final List<Cluster> clusters = new ArrayList<>();
+    private final Map<LlmModel, ModelLoad> loads = new EnumMap<>(LlmModel.class);
+
+    private static final class Cluster {
+        private final float[] centroid;
+        private final Map<LlmModel, ConfidenceHistory> history = new EnumMap<>(LlmModel.class);
+        private long members;
+        private long skipped;
+
+        private Cluster(float[] normalizedQuestion) {
+            this.centroid = normalizedQuestion.clone();
+            this.members = 1;
+        }
+
+        /** Moves the centroid to the running mean of its members. */
+        private void add(float[] normalizedQuestion) {
+            members++;
+            for (int i = 0; i < centroid.length; i++) {
+                centroid[i] += (normalizedQuestion[i] - centroid[i]) / members;
+            }
+        }
+    }
+
+    private static final class ConfidenceHistory {
+        private double mean;
+        private int samples;
+
+        private void add(double confidence, double smoothing) {
+            mean = samples == 0 ? confidence : mean + smoothing * (confidence - mean);
+            samples++;
+        }
+    }
+
+    private static final class ModelLoad {
+        private final long[] latencyNanos;
+        private long recorded;
+        private int inFlight;
+
+        private ModelLoad(int window) {
+            this.latencyNanos = new long[window];
+        }
+
+        private void record(Duration latency) {
+            latencyNanos[(int) (recorded++ % latencyNanos.length)] = latency.toNanos();
+        }
+
+        private Optional<Duration> p50() {
+            int count = (int) Math.min(recorded, latencyNanos.length);
+            if (count == 0) {
+                return Optional.empty();
+            }
+            long[] sorted = Arrays.copyOf(latencyNanos, count);
+            Arrays.sort(sorted);
+            return Optional.of(Duration.ofNanos(sorted[(count - 1) / 2]));
+        }
+    }
+
+    public AdaptiveModelRouter(ModelRouterConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public synchronized ModelRoute route(String questionText, float[] questionEmbedding) {
+        if (questionText == null) {
+            throw new IllegalArgumentException("Question text cannot be null");
+        }
+        if (!config.enabled()) {
+            return LADDER.getFirst();
+        }
+
+        int floor = TokenEstimator.estimate(questionText) >= config.longQuestionTokens() ? 1 : 0;
+        int confident = floor;
+        int clusterIndex = ModelRoute.NO_CLUSTER;
+        if (questionEmbedding != null && questionEmbedding.length > 0) {
+            clusterIndex = assignCluster(VectorMath.normalize(questionEmbedding));
+        }
+        if (clusterIndex != ModelRoute.NO_CLUSTER) {
+            Cluster cluster = clusters.get(clusterIndex);
+            confident = confidentRung(cluster, floor);
+            if (confident > floor && ++cluster.skipped % config.explorationInterval() == 0) {
+                confident = floor;
+            }
+        }
+        int rung = leastWaitingRung(confident);
+
+        ModelRoute start = LADDER.get(rung);
+        logger.debug(
+                "Routed question - cluster: {}, floor: {}, confident: {}, start: {}",
+                clusterIndex,
+                floor,
+                confident,
+                start.model());
+        return new ModelRoute(start.model(), start.strategy(), clusterIndex);
+    }
+
+    @Override
+    public synchronized void onAttemptStarted(LlmModel model) {
+        load(model).inFlight++;
+    }
+
+    @Override
+    public synchronized void onAttemptCompleted(
+            ModelRoute route, LlmModel model, Duration latency, double confidence) {
+        ModelLoad load = load(model);
+        load.inFlight = Math.max(0, load.inFlight - 1);
+        load.record(latency);
+        if (route.cluster() != ModelRoute.NO_CLUSTER && route.cluster() < clusters.size()) {
+            clusters.get(route.cluster())
+                    .history
+                    .computeIfAbsent(model, m -> new ConfidenceHistory())
+                    .add(confidence, config.smoothing());
+        }
+    }
+
+    @Override
+    public synchronized void onAttemptFailed(LlmModel model) {
+        ModelLoad load = load(model);
+        load.inFlight = Math.max(0, load.inFlight - 1);
+    }
+
+    /** Returns the median latency of the model's latest attempts, if it has completed any. */
+    public synchronized Optional<Duration> p50Latency(LlmModel model) {
+        ModelLoad load = loads.get(model);
+        return load != null ? load.p50() : Optional.empty();
+    }
+
+    /** Returns the number of attempts with the model currently in flight. */
+    public synchronized int queueDepth(LlmModel model) {
+        ModelLoad load = loads.get(model);
+        return load != null ? load.inFlight : 0;
+    }
+
+    /** Joins the nearest similar cluster, or starts a new one while there is room. */
+    private int assignCluster(float[] normalizedQuestion) {
+        int nearest = ModelRoute.NO_CLUSTER;
+        double nearestSimilarity = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < clusters.size(); i++) {
+            float[] centroid = clusters.get(i).centroid;
+            if (centroid.length != normalizedQuestion.length) {
+                continue;
+            }
+            double similarity = VectorMath.cosine(normalizedQuestion, centroid);
+            if (similarity > nearestSimilarity) {
+                nearest = i;
+                nearestSimilarity = similarity;
+            }
+        }
+
+        boolean similar =
+                nearest != ModelRoute.NO_CLUSTER
+                        && nearestSimilarity >= config.clusterSimilarity();
+        if (!similar && clusters.size() < config.maxClusters()) {
+            clusters.add(new Cluster(normalizedQuestion));
+            return clusters.size() - 1;
+        }
+        if (nearest != ModelRoute.NO_CLUSTER) {
+            clusters.get(nearest).add(normalizedQuestion);
+        }
+        return nearest;
+    }
+
+    /** Returns the lowest rung from the floor up that is not known to need escalation. */
+    private int confidentRung(Cluster cluster, int floor) {
+        int top = LADDER.size() - 1;
+        for (int rung = floor; rung < top; rung++) {
+            ConfidenceHistory history = cluster.history.get(LADDER.get(rung).model());
+            if (history == null
+                    || history.samples < config.minSamples()
+                    || history.mean >= ControlPlaneImpl.MIN_CONFIDENCE_THRESHOLD) {
+                return rung;
+            }
+        }
+        return top;
+    }
+
+    /** Moves a busy rung up to the rung whose model is expected to answer soonest. */
+    private int leastWaitingRung(int rung) {
+        LlmModel model = LADDER.get(rung).model();
+        OptionalDouble wait = expectedWait(model);
+        if (wait.isEmpty() || queueDepth(model) == 0) {
+            return rung;
+        }
+        int best = rung;
+        double bestWait = wait.getAsDouble();
+        for (int higher = rung + 1; higher < LADDER.size(); higher++) {
+            OptionalDouble higherWait = expectedWait(LADDER.get(higher).model());
+            if (higherWait.isPresent() && higherWait.getAsDouble() < bestWait) {
+                best = higher;
+                bestWait = higherWait.getAsDouble();
+            }
+        }
+        return best;
+    }
+
+    /** Estimates seconds until an attempt started now finishes, queueing behind those in flight. */
+    private OptionalDouble expectedWait(LlmModel model) {
+        Optional<Duration> p50 = p50Latency(model);
+        if (p50.isEmpty()) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(p50.get().toNanos() / 1e9 * (queueDepth(model) + 1));
+    }
+
+    private ModelLoad load(LlmModel model) {
+        return loads.computeIfAbsent(model, m -> new ModelLoad(config.latencyWindow()));
+    }
+
+    private static List<ModelRoute> ladder() {
+        List<ModelRoute> ladder = new ArrayList<>();
+        LlmModel model = ControlPlaneImpl.INITIAL_MODEL;
+        RetrievalStrategy strategy = ControlPlaneImpl.INITIAL_STRATEGY;
+        while (ladder.isEmpty() || ladder.getLast().model() != model) {
+            ladder.add(new ModelRoute(model, strategy, ModelRoute.NO_CLUSTER));
+            model = ControlPlaneImpl.escalateModel(model);
+            strategy = ControlPlaneImpl.escalateStrategy(strategy);
+        }
+        return List.copyOf(ladder);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ai.control;
+
+import com.ai.domain.Citation;
+import com.ai.model.LlmModel;
+import com.ai.model.RetrievalStrategy;
+import java.util.List;
+
+/**
+ * Receives progress from {@link ControlPlane#answer(com.ai.domain.Question,
+ * AnswerStreamListener)} while an answer is being produced. Callbacks run on the answering thread,
+ * in order: context, tokens, and on low confidence an escalation followed by a fresh context and
+ * tokens for the next attempt.
+ */
+public interface AnswerStreamListener {
+
+    /**
+     * Called once retrieval for an attempt has finished, before generation starts.
+     *
+     * @param retrievalStrategy The strategy used for this attempt
+     * @param citations The chunks the answer will cite
+     */
+    default void onContext(String retrievalStrategy, List<Citation> citations) {}
+
+    /**
+     * Called for each generated text fragment.
+     *
+     * @param token The next fragment of the answer
+     */
+    default void onToken(String token) {}
+
+    /**
+     * Called when an attempt is discarded and the next one starts with a larger model.
+     *
+     * @param nextAttempt The number of the attempt about to start
+     * @param model The model the next attempt uses
+     * @param strategy The retrieval strategy the next attempt uses
+     */
+    default void onEscalation(int nextAttempt, LlmModel model, RetrievalStrategy strategy) {}
+
+    /** Returns true once the consumer has gone away, so no further attempts are started. */
+    default boolean isCancelled() {
+        return false;
+    }
+}
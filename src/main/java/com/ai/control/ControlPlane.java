@@ -16,4 +16,14 @@ public interface ControlPlane {
      * @return The answer result with verification and confidence
      */
     AnswerResult answer(Question question);
+
+    /**
+     * Answers a question like {@link #answer(Question)}, streaming generated tokens and progress to
+     * the listener as they become available.
+     *
+     * @param question The question to answer
+     * @param listener Receives context, tokens and escalations while the answer is produced
+     * @return The final answer result with verification and confidence
+     */
+    AnswerResult answer(Question question, AnswerStreamListener listener);
 }
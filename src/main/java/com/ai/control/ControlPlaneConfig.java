@@ -0,0 +1,51 @@
+package com.ai.control;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Configuration for the control plane's attempt scheduling. */
+@Configuration
+@ConfigurationProperties(prefix = "control-plane")
+public class ControlPlaneConfig {
+    private boolean raceEnabled = false;
+    private Duration hedgeDelay = Duration.ZERO;
+
+    public ControlPlaneConfig() {}
+
+    public boolean isRaceEnabled() {
+        return raceEnabled;
+    }
+
+    public void setRaceEnabled(boolean raceEnabled) {
+        this.raceEnabled = raceEnabled;
+    }
+
+    public Duration getHedgeDelay() {
+        return hedgeDelay;
+    }
+
+    public void setHedgeDelay(Duration hedgeDelay) {
+        if (hedgeDelay == null || hedgeDelay.isNegative()) {
+            throw new IllegalArgumentException("Hedge delay cannot be null or negative");
+        }
+        this.hedgeDelay = hedgeDelay;
+    }
+
+    public boolean raceEnabled() {
+        return raceEnabled;
+    }
+
+    public Duration hedgeDelay() {
+        return hedgeDelay;
+    }
+
+    @Override
+    public String toString() {
+        return "ControlPlaneConfig[raceEnabled="
+                + raceEnabled
+                + ", hedgeDelay="
+                + hedgeDelay
+                + "]";
+    }
+}
@@ -1,16 +1,30 @@
 package com.ai.control;
 
+import com.ai.cache.SemanticAnswerCache;
 import com.ai.domain.*;
+import com.ai.embeddings.EmbeddingService;
 import com.ai.llm.OllamaClient;
 import com.ai.model.LlmModel;
 import com.ai.model.RetrievalStrategy;
 import com.ai.rag.RetrievalService;
 import com.ai.util.CorrelationIdHolder;
 import com.ai.verifier.AnswerVerifier;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 /** Implementation of the control plane with intelligent model selection and retry logic. */
@@ -18,23 +32,78 @@ import org.springframework.stereotype.Service;
 public class ControlPlaneImpl implements ControlPlane {
     private static final Logger logger = LogManager.getLogger(ControlPlaneImpl.class);
     private static final int MAX_RETRIES = 2;
-    private static final double MIN_CONFIDENCE_THRESHOLD = 0.7;
+    static final double MIN_CONFIDENCE_THRESHOLD = 0.7;
+    static final LlmModel INITIAL_MODEL = LlmModel.PHI_3_MINI;
+    static final RetrievalStrategy INITIAL_STRATEGY = RetrievalStrategy.SIMPLE;
+    private static final int MAX_CITATIONS = 3;
+    // Relevance reported for chunks that carry no similarity score.
+    private static final double UNSCORED_RELEVANCE = 0.9;
+    // Share of the confidence that tracks how similar the cited context is to the question.
+    private static final double RETRIEVAL_CONFIDENCE_WEIGHT = 0.3;
 
     private final RetrievalService retrievalService;
     private final OllamaClient ollamaClient;
     private final AnswerVerifier answerVerifier;
+    private final EmbeddingService embeddingService;
+    private final SemanticAnswerCache answerCache;
+    private final ControlPlaneConfig config;
+    private final ModelRouter modelRouter;
 
+    @Autowired
     public ControlPlaneImpl(
             RetrievalService retrievalService,
             OllamaClient ollamaClient,
-            AnswerVerifier answerVerifier) {
+            AnswerVerifier answerVerifier,
+            EmbeddingService embeddingService,
+            SemanticAnswerCache answerCache,
+            ControlPlaneConfig config,
+            ModelRouter modelRouter) {
         this.retrievalService = retrievalService;
         this.ollamaClient = ollamaClient;
         this.answerVerifier = answerVerifier;
+        this.embeddingService = embeddingService;
+        this.answerCache = answerCache;
+        this.config = config;
+        this.modelRouter = modelRouter;
+    }
+
+    /** Starts every question at the bottom of the escalation ladder. */
+    ControlPlaneImpl(
+            RetrievalService retrievalService,
+            OllamaClient ollamaClient,
+            AnswerVerifier answerVerifier,
+            EmbeddingService embeddingService,
+            SemanticAnswerCache answerCache,
+            ControlPlaneConfig config) {
+        this(
+                retrievalService,
+                ollamaClient,
+                answerVerifier,
+                embeddingService,
+                answerCache,
+                config,
+                (questionText, questionEmbedding) ->
+                        new ModelRoute(INITIAL_MODEL, INITIAL_STRATEGY, ModelRoute.NO_CLUSTER));
     }
 
     @Override
     public AnswerResult answer(Question question) {
+        return answerWithRetries(question, null);
+    }
+
+    @Override
+    public AnswerResult answer(Question question, AnswerStreamListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        return answerWithRetries(question, listener);
+    }
+
+    /**
+     * Shared retry loop. With a null listener generation uses the blocking Ollama call, otherwise
+     * tokens and progress are streamed to the listener.
+     */
+    private AnswerResult answerWithRetries(Question question, AnswerStreamListener listener) {
         if (question == null) {
             throw new IllegalArgumentException("Question cannot be null");
         }
@@ -43,9 +112,40 @@ public class ControlPlaneImpl implements ControlPlane {
         logger.info(
                 "ControlPlane processing question - correlationId: {}", question.correlationId());
 
-        // Start with small model and simple retrieval
-        LlmModel currentModel = LlmModel.PHI_3_MINI;
-        RetrievalStrategy currentStrategy = RetrievalStrategy.SIMPLE;
+        boolean streaming = listener != null;
+        Embedding queryEmbedding = embedQuestion(question.text());
+        float[] questionEmbedding = queryEmbedding != null ? queryEmbedding.vector() : null;
+        if (answerCache.isEnabled() && questionEmbedding != null) {
+            Optional<AnswerResult> cached = answerCache.get(questionEmbedding);
+            if (cached.isPresent()) {
+                logger.info(
+                        "Answer served from semantic cache - correlationId: {}",
+                        question.correlationId());
+                if (streaming) {
+                    Answer cachedAnswer = cached.get().answer();
+                    listener.onContext(cached.get().retrievalStrategy(), cachedAnswer.citations());
+                    listener.onToken(cachedAnswer.text());
+                }
+                return cached.get();
+            }
+        }
+
+        ModelRoute route = modelRouter.route(question.text(), questionEmbedding);
+        logger.info(
+                "Question routed - model: {}, strategy: {}, cluster: {}",
+                route.model(),
+                route.strategy(),
+                route.cluster());
+        QuestionContext context = new QuestionContext(question.text(), queryEmbedding, route);
+
+        // Streamed answers stay sequential: the client consumes a single token stream.
+        if (!streaming && config.raceEnabled()) {
+            return raceAttempts(question, context);
+        }
+
+        // Start where the router placed the question
+        LlmModel currentModel = route.model();
+        RetrievalStrategy currentStrategy = route.strategy();
         int attemptNumber = 0;
 
         while (attemptNumber < MAX_RETRIES) {
@@ -58,28 +158,20 @@ public class ControlPlaneImpl implements ControlPlane {
                     currentStrategy);
 
             try {
-                // Retrieve context
-                RetrievalResult retrievalResult =
-                        retrievalService.retrieve(question.text(), currentStrategy);
-
-                // Generate answer
-                Answer answer = generateAnswer(question.text(), retrievalResult, currentModel);
-
-                // Verify grounding
-                VerificationResult verification = answerVerifier.verify(answer, retrievalResult);
-
-                double confidence = calculateConfidence(verification);
+                AnswerResult result =
+                        runAttempt(question, context, currentModel, currentStrategy, listener);
 
                 logger.info(
                         "Attempt {} completed - verification: {}, confidence: {:.2f}",
                         attemptNumber,
-                        verification.status(),
-                        confidence);
+                        result.verification().status(),
+                        result.confidence());
 
                 // Check if answer meets quality threshold
-                if (confidence >= MIN_CONFIDENCE_THRESHOLD || attemptNumber >= MAX_RETRIES) {
-                    return new AnswerResult(
-                            answer, verification, confidence, currentStrategy.name());
+                if (result.confidence() >= MIN_CONFIDENCE_THRESHOLD
+                        || attemptNumber >= MAX_RETRIES) {
+                    cacheIfConfident(context, result);
+                    return result;
                 }
 
                 // Escalate for next attempt
@@ -90,6 +182,9 @@ public class ControlPlaneImpl implements ControlPlane {
                         "Confidence below threshold, escalating - newModel: {}, newStrategy: {}",
                         currentModel,
                         currentStrategy);
+                if (streaming) {
+                    listener.onEscalation(attemptNumber + 1, currentModel, currentStrategy);
+                }
 
             } catch (Exception e) {
                 logger.error("Attempt {} failed: {}", attemptNumber, e.getMessage(), e);
@@ -98,61 +193,312 @@ public class ControlPlaneImpl implements ControlPlane {
                     throw new ControlPlaneException(
                             "Failed to generate answer after " + MAX_RETRIES + " attempts", e);
                 }
+                if (streaming && listener.isCancelled()) {
+                    throw new ControlPlaneException("Answer stream was cancelled", e);
+                }
 
                 // Escalate and retry
                 currentModel = escalateModel(currentModel);
                 currentStrategy = escalateStrategy(currentStrategy);
+                if (streaming) {
+                    listener.onEscalation(attemptNumber + 1, currentModel, currentStrategy);
+                }
             }
         }
 
         throw new ControlPlaneException("Failed to generate confident answer");
     }
 
+    /**
+     * Runs the first attempt and its escalation concurrently instead of one after the other. The
+     * escalated attempt starts once {@code control-plane.hedge-delay} has passed, or immediately
+     * when the first attempt finishes below the threshold sooner. The first result that clears
+     * the threshold wins and the other attempt is cancelled; if neither does, the escalated result
+     * is returned, as in the sequential path.
+     */
+    private AnswerResult raceAttempts(Question question, QuestionContext context) {
+        LlmModel initialModel = context.route.model();
+        RetrievalStrategy initialStrategy = context.route.strategy();
+        LlmModel escalatedModel = escalateModel(initialModel);
+        RetrievalStrategy escalatedStrategy = escalateStrategy(initialStrategy);
+        Callable<AnswerResult> escalation =
+                CorrelationIdHolder.propagate(
+                        () ->
+                                runAttempt(
+                                        question,
+                                        context,
+                                        escalatedModel,
+                                        escalatedStrategy,
+                                        null));
+        long hedgeDelayMs = config.hedgeDelay().toMillis();
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        CompletionService<AnswerResult> completions = new ExecutorCompletionService<>(executor);
+        try {
+            completions.submit(
+                    CorrelationIdHolder.propagate(
+                            () ->
+                                    runAttempt(
+                                            question,
+                                            context,
+                                            initialModel,
+                                            initialStrategy,
+                                            null)));
+            Future<AnswerResult> escalated = null;
+            int pending = 1;
+            if (hedgeDelayMs == 0) {
+                escalated = completions.submit(escalation);
+                pending++;
+            }
+
+            AnswerResult fallback = null;
+            Throwable failure = null;
+            while (pending > 0) {
+                Future<AnswerResult> done =
+                        escalated == null
+                                ? completions.poll(hedgeDelayMs, TimeUnit.MILLISECONDS)
+                                : completions.take();
+                if (done == null) {
+                    logger.info("Hedge delay of {}ms elapsed, starting escalation", hedgeDelayMs);
+                    escalated = completions.submit(escalation);
+                    pending++;
+                    continue;
+                }
+                pending--;
+
+                try {
+                    AnswerResult result = done.get();
+                    logger.info(
+                            "Race attempt completed - model: {}, confidence: {:.2f}",
+                            result.answer().modelUsed(),
+                            result.confidence());
+                    if (result.confidence() >= MIN_CONFIDENCE_THRESHOLD) {
+                        cacheIfConfident(context, result);
+                        return result;
+                    }
+                    if (done == escalated || fallback == null) {
+                        fallback = result;
+                    }
+                } catch (ExecutionException e) {
+                    failure = e.getCause();
+                    logger.error("Race attempt failed: {}", failure.getMessage(), failure);
+                }
+
+                // The first attempt finished below the threshold before the hedge delay.
+                if (escalated == null) {
+                    escalated = completions.submit(escalation);
+                    pending++;
+                }
+            }
+
+            if (fallback != null) {
+                return fallback;
+            }
+            throw new ControlPlaneException(
+                    "Failed to generate answer after " + MAX_RETRIES + " attempts", failure);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ControlPlaneException("Interrupted while racing answer attempts", e);
+        } finally {
+            // Interrupts whichever attempt is still running.
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Retrieves, generates and verifies once; streams to the listener when it is non-null. The
+     * router is told how the attempt went.
+     */
+    private AnswerResult runAttempt(
+            Question question,
+            QuestionContext context,
+            LlmModel model,
+            RetrievalStrategy strategy,
+            AnswerStreamListener listener) {
+        modelRouter.onAttemptStarted(model);
+        long startNanos = System.nanoTime();
+        AnswerResult result = null;
+        try {
+            RetrievalResult retrievalResult = context.retrieve(strategy);
+
+            Answer answer =
+                    listener != null
+                            ? streamAnswer(question.text(), retrievalResult, model, listener)
+                            : generateAnswer(question.text(), retrievalResult, model);
+
+            VerificationResult verification = answerVerifier.verify(answer, retrievalResult);
+            double confidence = calculateConfidence(verification, retrievalResult);
+            result = new AnswerResult(answer, verification, confidence, strategy.name());
+            return result;
+        } finally {
+            if (result != null) {
+                modelRouter.onAttemptCompleted(
+                        context.route,
+                        model,
+                        Duration.ofNanos(System.nanoTime() - startNanos),
+                        result.confidence());
+            } else {
+                modelRouter.onAttemptFailed(model);
+            }
+        }
+    }
+
+    private void cacheIfConfident(QuestionContext context, AnswerResult result) {
+        // Only confident answers are worth replaying to future askers.
+        float[] questionEmbedding = context.embeddingVector();
+        if (answerCache.isEnabled()
+                && questionEmbedding != null
+                && result.confidence() >= MIN_CONFIDENCE_THRESHOLD) {
+            answerCache.put(questionEmbedding, result);
+        }
+    }
+
+    /**
+     * Per-question state shared by every attempt. The question is embedded once, for the answer
+     * cache, routing and retrieval, and the chunks for the deepest strategy any attempt from the
+     * route can reach are fetched once, with the question text for full-text search and
+     * re-ranking, and sliced to each attempt's topK. If the embedding fails, each attempt falls
+     * back to a full retrieval, which embeds again.
+     */
+    private final class QuestionContext {
+        private final String questionText;
+        private final Embedding queryEmbedding;
+        private final ModelRoute route;
+        private final RetrievalStrategy deepestStrategy;
+        private RetrievalResult deepestRetrieval;
+
+        private QuestionContext(String questionText, Embedding queryEmbedding, ModelRoute route) {
+            this.questionText = questionText;
+            this.queryEmbedding = queryEmbedding;
+            this.route = route;
+            // Escalation only ever deepens retrieval, so the final attempt's strategy covers all
+            this.deepestStrategy = strategyForAttempt(route.strategy(), MAX_RETRIES);
+        }
+
+        private float[] embeddingVector() {
+            return queryEmbedding != null ? queryEmbedding.vector() : null;
+        }
+
+        /** Synchronized so racing attempts share a single vector query. */
+        private synchronized RetrievalResult retrieve(RetrievalStrategy strategy) {
+            if (queryEmbedding == null) {
+                return retrievalService.retrieve(questionText, strategy);
+            }
+            if (deepestRetrieval == null) {
+                deepestRetrieval =
+                        retrievalService.retrieve(questionText, queryEmbedding, deepestStrategy);
+            }
+            return deepestRetrieval.limit(strategy.defaultTopK(), strategy.name());
+        }
+    }
+
+    private Embedding embedQuestion(String questionText) {
+        try {
+            return embeddingService.generateEmbedding(questionText);
+        } catch (Exception e) {
+            logger.warn("Question embedding failed, retrieving per attempt: {}", e.getMessage());
+            return null;
+        }
+    }
+
     private Answer generateAnswer(
             String questionText, RetrievalResult retrievalResult, LlmModel model) {
-        String context =
-                retrievalResult.chunks().stream()
-                        .map(Chunk::text)
-                        .collect(Collectors.joining("\n\n"));
-
-        String prompt =
-                String.format(
-                        "Answer the question based only on the context provided. "
-                                + "If the context doesn't contain enough information, say so.\n\n"
-                                + "Context:\n%s\n\n"
-                                + "Question: %s\n\n"
-                                + "Answer:",
-                        context, questionText);
-
         int maxTokens = calculateMaxTokens(model);
-        String responseText = ollamaClient.generate(model, prompt, maxTokens);
+        PromptBuilder.Prompt prompt = buildPrompt(questionText, retrievalResult, model, maxTokens);
+        String responseText = ollamaClient.generate(model, prompt.text(), maxTokens);
+        return new Answer(responseText, buildCitations(prompt.chunks()), model.ollamaName());
+    }
 
-        List<Citation> citations =
-                retrievalResult.chunks().stream()
-                        .limit(3)
-                        .map(
-                                chunk ->
-                                        new Citation(
-                                                chunk.id(),
-                                                chunk.documentId(),
-                                                chunk.text(),
-                                                0.9 // Simplified - would calculate actual relevance
-                                                ))
-                        .collect(Collectors.toList());
+    private Answer streamAnswer(
+            String questionText,
+            RetrievalResult retrievalResult,
+            LlmModel model,
+            AnswerStreamListener listener) {
+        int maxTokens = calculateMaxTokens(model);
+        PromptBuilder.Prompt prompt = buildPrompt(questionText, retrievalResult, model, maxTokens);
+        List<Citation> citations = buildCitations(prompt.chunks());
+        listener.onContext(retrievalResult.strategy(), citations);
 
+        String responseText =
+                ollamaClient.generateStream(model, prompt.text(), maxTokens, listener::onToken);
         return new Answer(responseText, citations, model.ollamaName());
     }
 
-    private double calculateConfidence(VerificationResult verification) {
-        return switch (verification.status()) {
-            case GROUNDED -> 0.95;
-            case PARTIALLY_GROUNDED -> verification.groundingScore() * 0.8;
-            case UNGROUNDED -> 0.3;
-            case FAILED -> 0.1;
-        };
+    /**
+     * Packs the retrieved chunks into a prompt that leaves the model's context window room for
+     * {@code maxTokens} of output; chunks that do not fit are trimmed or left out.
+     */
+    private PromptBuilder.Prompt buildPrompt(
+            String questionText, RetrievalResult retrievalResult, LlmModel model, int maxTokens) {
+        int tokenBudget = model.contextWindow() - maxTokens;
+        PromptBuilder.Prompt prompt =
+                PromptBuilder.build(questionText, retrievalResult.chunks(), tokenBudget);
+        logger.info(
+                "Prompt packed - model: {}, tokens: {}, budget: {}, chunks: {}, dropped: {}, "
+                        + "trimmed: {}",
+                model,
+                prompt.tokens(),
+                tokenBudget,
+                prompt.chunks().size(),
+                prompt.droppedChunks(),
+                prompt.trimmed());
+        return prompt;
+    }
+
+    /** Cites the leading chunks the prompt actually contained. */
+    private List<Citation> buildCitations(List<ContextChunk> chunks) {
+        return chunks.stream()
+                .limit(MAX_CITATIONS)
+                .map(
+                        chunk ->
+                                new Citation(
+                                        chunk.id(),
+                                        chunk.documentId(),
+                                        chunk.text(),
+                                        relevance(chunk)))
+                .collect(Collectors.toList());
+    }
+
+    /** Cosine similarity to the question, clamped to a valid relevance score. */
+    private static double relevance(ContextChunk chunk) {
+        if (chunk instanceof RetrievedChunk retrieved) {
+            return Math.clamp(retrieved.similarity(), 0.0, 1.0);
+        }
+        return UNSCORED_RELEVANCE;
+    }
+
+    /**
+     * Scores an answer from its verification status. When the cited chunks carry similarity
+     * scores, part of the score follows their mean relevance, so an answer grounded in weakly
+     * related context is more likely to be escalated.
+     */
+    private double calculateConfidence(
+            VerificationResult verification, RetrievalResult retrievalResult) {
+        double verificationConfidence =
+                switch (verification.status()) {
+                    case GROUNDED -> 0.95;
+                    case PARTIALLY_GROUNDED -> verification.groundingScore() * 0.8;
+                    case UNGROUNDED -> 0.3;
+                    case FAILED -> 0.1;
+                };
+
+        OptionalDouble citedRelevance =
+                retrievalResult.chunks().stream()
+                        .limit(MAX_CITATIONS)
+                        .filter(RetrievedChunk.class::isInstance)
+                        .mapToDouble(ControlPlaneImpl::relevance)
+                        .average();
+        if (citedRelevance.isEmpty()) {
+            return verificationConfidence;
+        }
+        return verificationConfidence
+                * (1.0
+                        - RETRIEVAL_CONFIDENCE_WEIGHT
+                        + RETRIEVAL_CONFIDENCE_WEIGHT * citedRelevance.getAsDouble());
     }
 
-    private LlmModel escalateModel(LlmModel current) {
+    static LlmModel escalateModel(LlmModel current) {
         return switch (current) {
             case PHI_3_MINI, DEEPSEEK_R1_1_5B, LLAMA_3_2_3B -> LlmModel.QWEN_2_5_7B;
             case QWEN_2_5_7B, MISTRAL_7B -> LlmModel.LLAMA_3_1_8B;
@@ -160,7 +506,16 @@ public class ControlPlaneImpl implements ControlPlane {
         };
     }
 
-    private RetrievalStrategy escalateStrategy(RetrievalStrategy current) {
+    private static RetrievalStrategy strategyForAttempt(
+            RetrievalStrategy initialStrategy, int attemptNumber) {
+        RetrievalStrategy strategy = initialStrategy;
+        for (int attempt = 1; attempt < attemptNumber; attempt++) {
+            strategy = escalateStrategy(strategy);
+        }
+        return strategy;
+    }
+
+    static RetrievalStrategy escalateStrategy(RetrievalStrategy current) {
         return switch (current) {
             case SIMPLE -> RetrievalStrategy.DEEP;
             case DEEP -> RetrievalStrategy.EXHAUSTIVE;
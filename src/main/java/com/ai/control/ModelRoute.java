@@ -0,0 +1,27 @@
+package com.ai.control;
+
+import com.ai.model.LlmModel;
+import com.ai.model.RetrievalStrategy;
+
+/**
+ * Where a question's first attempt starts; later attempts escalate from here.
+ *
+ * @param model Model of the first attempt
+ * @param strategy Retrieval strategy of the first attempt
+ * @param cluster Router-assigned cluster of similar questions, or {@link #NO_CLUSTER}
+ */
+public record ModelRoute(LlmModel model, RetrievalStrategy strategy, int cluster) {
+    public static final int NO_CLUSTER = -1;
+
+    public ModelRoute {
+        if (model == null) {
+            throw new IllegalArgumentException("Model cannot be null");
+        }
+        if (strategy == null) {
+            throw new IllegalArgumentException("Strategy cannot be null");
+        }
+        if (cluster < NO_CLUSTER) {
+            throw new IllegalArgumentException("Cluster cannot be negative");
+        }
+    }
+}
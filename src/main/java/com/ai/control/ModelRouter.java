@@ -0,0 +1,37 @@
+package com.ai.control;
+
+import com.ai.model.LlmModel;
+import java.time.Duration;
+
+/**
+ * Picks the model and retrieval strategy a question's first attempt starts at, and learns from
+ * how attempts turn out. Declare a {@code @Primary} bean to replace the default router.
+ */
+public interface ModelRouter {
+
+    /**
+     * Routes a question.
+     *
+     * @param questionText The question text
+     * @param questionEmbedding The question's embedding, or {@code null} if embedding failed
+     * @return Where the first attempt starts
+     */
+    ModelRoute route(String questionText, float[] questionEmbedding);
+
+    /** Called when an attempt with the model starts. */
+    default void onAttemptStarted(LlmModel model) {}
+
+    /**
+     * Called when an attempt started with {@link #onAttemptStarted} produced an answer.
+     *
+     * @param route The route of the question the attempt answered
+     * @param model The attempt's model
+     * @param latency Time from start to verified answer
+     * @param confidence The answer's confidence
+     */
+    default void onAttemptCompleted(
+            ModelRoute route, LlmModel model, Duration latency, double confidence) {}
+
+    /** Called when an attempt started with {@link #onAttemptStarted} failed or was cancelled. */
+    default void onAttemptFailed(LlmModel model) {}
+}
@@ -0,0 +1,167 @@
+package com.ai.control;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Configuration for routing questions to the model and strategy their first attempt uses. */
+@Configuration
+@ConfigurationProperties(prefix = "model-router")
+public class ModelRouterConfig {
+    private boolean enabled = false;
+    private int longQuestionTokens = 64;
+    private int maxClusters = 64;
+    private double clusterSimilarity = 0.8;
+    private int minSamples = 5;
+    private double smoothing = 0.2;
+    private int explorationInterval = 20;
+    private int latencyWindow = 100;
+
+    public ModelRouterConfig() {}
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getLongQuestionTokens() {
+        return longQuestionTokens;
+    }
+
+    public void setLongQuestionTokens(int longQuestionTokens) {
+        if (longQuestionTokens <= 0) {
+            throw new IllegalArgumentException("Long question tokens must be positive");
+        }
+        this.longQuestionTokens = longQuestionTokens;
+    }
+
+    public int getMaxClusters() {
+        return maxClusters;
+    }
+
+    public void setMaxClusters(int maxClusters) {
+        if (maxClusters <= 0) {
+            throw new IllegalArgumentException("Max clusters must be positive");
+        }
+        this.maxClusters = maxClusters;
+    }
+
+    public double getClusterSimilarity() {
+        return clusterSimilarity;
+    }
+
+    public void setClusterSimilarity(double clusterSimilarity) {
+        if (!(clusterSimilarity >= 0.0 && clusterSimilarity <= 1.0)) {
+            throw new IllegalArgumentException("Cluster similarity must be between 0.0 and 1.0");
+        }
+        this.clusterSimilarity = clusterSimilarity;
+    }
+
+    public int getMinSamples() {
+        return minSamples;
+    }
+
+    public void setMinSamples(int minSamples) {
+        if (minSamples <= 0) {
+            throw new IllegalArgumentException("Min samples must be positive");
+        }
+        this.minSamples = minSamples;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    public void setSmoothing(double smoothing) {
+        if (!(smoothing > 0.0 && smoothing <= 1.0)) {
+            throw new IllegalArgumentException(
+                    "Smoothing must be greater than 0.0 and at most 1.0");
+        }
+        this.smoothing = smoothing;
+    }
+
+    public int getExplorationInterval() {
+        return explorationInterval;
+    }
+
+    public void setExplorationInterval(int explorationInterval) {
+        if (explorationInterval <= 0) {
+            throw new IllegalArgumentException("Exploration interval must be positive");
+        }
+        this.explorationInterval = explorationInterval;
+    }
+
+    public int getLatencyWindow() {
+        return latencyWindow;
+    }
+
+    public void setLatencyWindow(int latencyWindow) {
+        if (latencyWindow <= 0) {
+            throw new IllegalArgumentException("Latency window must be positive");
+        }
+        this.latencyWindow = latencyWindow;
+    }
+
+    /** Whether questions are routed adaptively; otherwise every question starts at the bottom. */
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /** Estimated question tokens from which the first attempt starts one rung up the ladder. */
+    public int longQuestionTokens() {
+        return longQuestionTokens;
+    }
+
+    /** Most question clusters tracked; later questions join the nearest one. */
+    public int maxClusters() {
+        return maxClusters;
+    }
+
+    /** Cosine similarity to a cluster's centroid a question needs to join it. */
+    public double clusterSimilarity() {
+        return clusterSimilarity;
+    }
+
+    /** Answers by a model within a cluster before its confidence there is trusted. */
+    public int minSamples() {
+        return minSamples;
+    }
+
+    /** Weight of the newest confidence in a cluster's moving average for a model. */
+    public double smoothing() {
+        return smoothing;
+    }
+
+    /** Every this many questions routed past a rung, one starts at it again to re-test it. */
+    public int explorationInterval() {
+        return explorationInterval;
+    }
+
+    /** Latest attempt latencies per model the p50 is taken over. */
+    public int latencyWindow() {
+        return latencyWindow;
+    }
+
+    @Override
+    public String toString() {
+        return "ModelRouterConfig[enabled="
+                + enabled
+                + ", longQuestionTokens="
+                + longQuestionTokens
+                + ", maxClusters="
+                + maxClusters
+                + ", clusterSimilarity="
+                + clusterSimilarity
+                + ", minSamples="
+                + minSamples
+                + ", smoothing="
+                + smoothing
+                + ", explorationInterval="
+                + explorationInterval
+                + ", latencyWindow="
+                + latencyWindow
+                + "]";
+    }
+}
@@ -0,0 +1,107 @@
+package com.ai.control;
+
+import com.ai.domain.ContextChunk;
+import com.ai.util.TokenEstimator;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Assembles grounded-answer prompts that fit a token budget, so the model never silently
+ * truncates an over-long prompt and no prefill time is spent on context it would drop.
+ *
+ * <p>Chunks are packed in the order given, which retrieval ranks most relevant first. A chunk that
+ * does not fit is trimmed at a word boundary to the remaining budget, unless too little budget is
+ * left to be useful, in which case it is dropped and smaller chunks after it may still fit.
+ */
+final class PromptBuilder {
+    private static final String TEMPLATE =
+            "Answer the question based only on the context provided. "
+                    + "If the context doesn't contain enough information, say so.\n\n"
+                    + "Context:\n%s\n\n"
+                    + "Question: %s\n\n"
+                    + "Answer:";
+    private static final String SEPARATOR = "\n\n";
+    // A trimmed chunk shorter than this is more noise than context
+    private static final int MIN_TRIMMED_TOKENS = 32;
+
+    private PromptBuilder() {
+        // Utility class
+    }
+
+    /**
+     * A prompt ready for generation.
+     *
+     * @param text The prompt text
+     * @param tokens Estimated tokens of the whole prompt
+     * @param chunks Chunks packed into the context, whole or trimmed, as given
+     * @param droppedChunks Chunks left out for lack of budget
+     * @param trimmed Whether the last packed chunk was cut short
+     */
+    record Prompt(
+            String text,
+            int tokens,
+            List<ContextChunk> chunks,
+            int droppedChunks,
+            boolean trimmed) {}
+
+    /**
+     * Builds a prompt for a question from as much context as fits.
+     *
+     * @param question The question text
+     * @param chunks Context chunks, most relevant first
+     * @param tokenBudget Estimated tokens the whole prompt may use
+     * @return The prompt; its context is empty if the question alone uses up the budget
+     */
+    static Prompt build(String question, List<? extends ContextChunk> chunks, int tokenBudget) {
+        if (question == null) {
+            throw new IllegalArgumentException("Question cannot be null");
+        }
+        if (chunks == null) {
+            throw new IllegalArgumentException("Chunks cannot be null");
+        }
+        if (tokenBudget <= 0) {
+            throw new IllegalArgumentException("Token budget must be positive");
+        }
+
+        // Per-part estimates round up, so their sum never undercounts the joined text
+        int frame = TokenEstimator.estimate(String.format(TEMPLATE, "", question));
+        int remaining = tokenBudget - frame;
+        int separatorTokens = TokenEstimator.estimate(SEPARATOR);
+        List<ContextChunk> packed = new ArrayList<>(chunks.size());
+        List<String> texts = new ArrayList<>(chunks.size());
+        boolean trimmed = false;
+        for (ContextChunk chunk : chunks) {
+            int overhead = packed.isEmpty() ? 0 : separatorTokens;
+            int available = remaining - overhead;
+            int tokens = TokenEstimator.estimate(chunk.text());
+            if (tokens <= available) {
+                packed.add(chunk);
+                texts.add(chunk.text());
+                remaining -= overhead + tokens;
+            } else if (!trimmed && available >= MIN_TRIMMED_TOKENS) {
+                packed.add(chunk);
+                texts.add(trim(chunk.text(), available));
+                remaining -= overhead + TokenEstimator.estimate(texts.getLast());
+                trimmed = true;
+            }
+        }
+
+        String text = String.format(TEMPLATE, String.join(SEPARATOR, texts), question);
+        return new Prompt(
+                text,
+                TokenEstimator.estimate(text),
+                List.copyOf(packed),
+                chunks.size() - packed.size(),
+                trimmed);
+    }
+
+    /** Cuts text longer than the given tokens, at the last whitespace within them if any. */
+    private static String trim(String text, int maxTokens) {
+        int maxChars = TokenEstimator.maxChars(maxTokens);
+        int end = maxChars;
+        while (end > 0 && !Character.isWhitespace(text.charAt(end))) {
+            end--;
+        }
+        return text.substring(0, end > 0 ? end : maxChars).stripTrailing();
+    }
+}
@@ -1,12 +1,13 @@
 package com.ai.domain;
 
+import com.ai.util.TextHash;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.Objects;
 
 /** Represents a text chunk from a document with its embedding. */
-public final class Chunk {
+public final class Chunk implements ContextChunk {
     private final String id;
     private final String documentId;
     private final String text;
@@ -42,21 +43,25 @@ public final class Chunk {
         this.embedding = embedding;
     }
 
+    @Override
     @JsonGetter("id")
     public String id() {
         return id;
     }
 
+    @Override
     @JsonGetter("documentId")
     public String documentId() {
         return documentId;
     }
 
+    @Override
     @JsonGetter("text")
     public String text() {
         return text;
     }
 
+    @Override
     @JsonGetter("position")
     public int position() {
         return position;
@@ -67,6 +72,21 @@ public final class Chunk {
         return embedding;
     }
 
+    /** Returns the hash of this chunk's text; see {@link #hashOf(String)}. */
+    public String contentHash() {
+        return hashOf(text);
+    }
+
+    /**
+     * Hashes chunk text, so re-ingestion can tell unchanged chunks apart without comparing text.
+     *
+     * @param text The chunk text
+     * @return Lowercase hex SHA-256 of the UTF-8 text (64 characters)
+     */
+    public static String hashOf(String text) {
+        return TextHash.sha256(text);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
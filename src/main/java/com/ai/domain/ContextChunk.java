@@ -0,0 +1,20 @@
+package com.ai.domain;
+
+/**
+ * The parts of a chunk needed to build prompts and citations. Implemented by stored {@link Chunk}s
+ * and by {@link RetrievedChunk} search hits, which carry no embedding.
+ */
+public interface ContextChunk {
+
+    /** Chunk identifier. */
+    String id();
+
+    /** Identifier of the document the chunk was cut from. */
+    String documentId();
+
+    /** Chunk text. */
+    String text();
+
+    /** Position of the chunk within its document. */
+    int position();
+}
@@ -6,15 +6,18 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
 import java.util.Objects;
 
-/** Represents the result of a RAG retrieval operation. */
+/**
+ * Represents the result of a RAG retrieval operation. Chunks are ordered by similarity; search
+ * results hold {@link RetrievedChunk}s, which omit embeddings.
+ */
 public final class RetrievalResult {
-    private final List<Chunk> chunks;
+    private final List<ContextChunk> chunks;
     private final String strategy;
     private final long durationMs;
 
     @JsonCreator
     public RetrievalResult(
-            @JsonProperty("chunks") List<Chunk> chunks,
+            @JsonProperty("chunks") List<? extends ContextChunk> chunks,
             @JsonProperty("strategy") String strategy,
             @JsonProperty("durationMs") long durationMs) {
         if (chunks == null) {
@@ -32,7 +35,7 @@ public final class RetrievalResult {
     }
 
     @JsonGetter("chunks")
-    public List<Chunk> chunks() {
+    public List<ContextChunk> chunks() {
         return chunks;
     }
 
@@ -46,6 +49,24 @@ public final class RetrievalResult {
         return durationMs;
     }
 
+    /**
+     * Returns the leading chunks of this result under another strategy name, so one retrieval at
+     * the deepest strategy can serve shallower ones. Chunks are in ranked order, so the prefix is
+     * the deeper strategy's best-ranked slice, not necessarily what a shallower retrieval of its
+     * own would have fetched.
+     *
+     * @param maxChunks Maximum number of chunks to keep
+     * @param strategy The strategy the narrowed result represents
+     * @return A result with at most {@code maxChunks} chunks
+     */
+    public RetrievalResult limit(int maxChunks, String strategy) {
+        if (maxChunks < 0) {
+            throw new IllegalArgumentException("Max chunks cannot be negative");
+        }
+        return new RetrievalResult(
+                chunks.subList(0, Math.min(maxChunks, chunks.size())), strategy, durationMs);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
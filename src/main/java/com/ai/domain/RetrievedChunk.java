@@ -0,0 +1,117 @@
+package com.ai.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Objects;
+
+/**
+ * A similarity search hit: the chunk's text and provenance plus its cosine distance to the query.
+ * The embedding is deliberately left out, since generation never reads it.
+ */
+public final class RetrievedChunk implements ContextChunk {
+    private final String id;
+    private final String documentId;
+    private final String text;
+    private final int position;
+    private final double distance;
+
+    @JsonCreator
+    public RetrievedChunk(
+            @JsonProperty("id") String id,
+            @JsonProperty("documentId") String documentId,
+            @JsonProperty("text") String text,
+            @JsonProperty("position") int position,
+            @JsonProperty("distance") double distance) {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("Chunk ID cannot be null or blank");
+        }
+        if (documentId == null || documentId.isBlank()) {
+            throw new IllegalArgumentException("Document ID cannot be null or blank");
+        }
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Chunk text cannot be null or blank");
+        }
+        if (position < 0) {
+            throw new IllegalArgumentException("Position cannot be negative");
+        }
+        if (Double.isNaN(distance)) {
+            throw new IllegalArgumentException("Distance cannot be NaN");
+        }
+        this.id = id;
+        this.documentId = documentId;
+        this.text = text;
+        this.position = position;
+        this.distance = distance;
+    }
+
+    /** Creates a hit for a stored chunk at the given distance. */
+    public static RetrievedChunk of(Chunk chunk, double distance) {
+        return new RetrievedChunk(
+                chunk.id(), chunk.documentId(), chunk.text(), chunk.position(), distance);
+    }
+
+    @Override
+    @JsonGetter("id")
+    public String id() {
+        return id;
+    }
+
+    @Override
+    @JsonGetter("documentId")
+    public String documentId() {
+        return documentId;
+    }
+
+    @Override
+    @JsonGetter("text")
+    public String text() {
+        return text;
+    }
+
+    @Override
+    @JsonGetter("position")
+    public int position() {
+        return position;
+    }
+
+    /** Cosine distance to the query: 0 for identical direction, up to 2 for opposite. */
+    @JsonGetter("distance")
+    public double distance() {
+        return distance;
+    }
+
+    /** Cosine similarity to the query ({@code 1 - distance}). */
+    public double similarity() {
+        return 1.0 - distance;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof RetrievedChunk other)) return false;
+        return Objects.equals(id, other.id)
+                && Objects.equals(documentId, other.documentId)
+                && Objects.equals(text, other.text)
+                && position == other.position
+                && Double.compare(distance, other.distance) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, documentId, text, position, distance);
+    }
+
+    @Override
+    public String toString() {
+        return "RetrievedChunk[id="
+                + id
+                + ", documentId="
+                + documentId
+                + ", position="
+                + position
+                + ", distance="
+                + distance
+                + "]";
+    }
+}
@@ -0,0 +1,237 @@
+package com.ai.embeddings;
+
+import com.ai.domain.Embedding;
+import com.ai.util.TextHash;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+/**
+ * EmbeddingService that remembers vectors by model and SHA-256 of the text, so repeated questions
+ * and unchanged chunk text are not sent to the model again. Lookups go through two levels:
+ *
+ * <ol>
+ *   <li>an in-process LRU map of {@code float[]} bounded by {@code embedding-cache.max-size}
+ *   <li>with {@code embedding-cache.persistent=true}, the {@code embedding_cache} table, which
+ *       survives restarts
+ * </ol>
+ *
+ * <p>Only texts missing from both are embedded, once per distinct text, and the new vectors are
+ * written to both levels. A failing table is logged and skipped rather than failing the call.
+ *
+ * <p>Enabled with {@code embedding-cache.enabled=true}.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "embedding-cache", name = "enabled", havingValue = "true")
+public class CachingEmbeddingService implements EmbeddingService {
+    private static final Logger logger = LogManager.getLogger(CachingEmbeddingService.class);
+    // Rough per-entry cost beyond the vector: key record, 64-char hash, map node, array header
+    static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final OllamaEmbeddingService delegate;
+    private final JdbcEmbeddingCacheStore store;
+    private final EmbeddingCacheConfig config;
+    private final String model;
+    private final LinkedHashMap<Key, float[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long memoryHits;
+    private long persistentHits;
+    private long misses;
+    private long evictions;
+
+    private record Key(String model, String textHash) {}
+
+    public CachingEmbeddingService(
+            OllamaEmbeddingService delegate,
+            JdbcEmbeddingCacheStore store,
+            EmbeddingCacheConfig config,
+            EmbeddingConfig embeddingConfig) {
+        this.delegate = delegate;
+        this.store = store;
+        this.config = config;
+        this.model = embeddingConfig.model();
+        logger.info("Initialized embedding cache - {}", config);
+    }
+
+    @Override
+    public Embedding generateEmbedding(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Text cannot be null or blank");
+        }
+        return generateEmbeddings(List.of(text)).getFirst();
+    }
+
+    @Override
+    public List<Embedding> generateEmbeddings(List<String> texts) {
+        if (texts == null) {
+            throw new IllegalArgumentException("Texts cannot be null");
+        }
+        for (String text : texts) {
+            if (text == null || text.isBlank()) {
+                throw new IllegalArgumentException("Text cannot be null or blank");
+            }
+        }
+
+        float[][] vectors = new float[texts.size()][];
+        // Distinct missing texts, each with every position it occurs at
+        Map<String, List<Integer>> missing = new LinkedHashMap<>();
+        for (int i = 0; i < texts.size(); i++) {
+            String hash = TextHash.sha256(texts.get(i));
+            vectors[i] = lookup(new Key(model, hash));
+            if (vectors[i] == null) {
+                missing.computeIfAbsent(hash, ignored -> new ArrayList<>()).add(i);
+            }
+        }
+        int memoryHitCount = texts.size() - countPositions(missing);
+
+        int persistentHitCount = 0;
+        if (!missing.isEmpty() && config.persistent()) {
+            Map<String, float[]> stored = findStored(missing.keySet());
+            for (Map.Entry<String, float[]> entry : stored.entrySet()) {
+                List<Integer> positions = missing.remove(entry.getKey());
+                if (positions == null) {
+                    continue;
+                }
+                remember(new Key(model, entry.getKey()), entry.getValue());
+                for (int position : positions) {
+                    vectors[position] = entry.getValue();
+                }
+                persistentHitCount += positions.size();
+            }
+        }
+
+        int missCount = countPositions(missing);
+        if (!missing.isEmpty()) {
+            embedMissing(texts, missing, vectors);
+        }
+        record(memoryHitCount, persistentHitCount, missCount);
+        logger.debug(
+                "Embedding cache lookup - texts: {}, memoryHits: {}, persistentHits: {}, "
+                        + "misses: {}",
+                texts.size(),
+                memoryHitCount,
+                persistentHitCount,
+                missCount);
+
+        List<Embedding> embeddings = new ArrayList<>(vectors.length);
+        for (float[] vector : vectors) {
+            embeddings.add(new Embedding(vector, model));
+        }
+        return embeddings;
+    }
+
+    @Override
+    public int getDimension() {
+        return delegate.getDimension();
+    }
+
+    /** Returns the current hit, miss and size counters. */
+    public synchronized EmbeddingCacheStats stats() {
+        return new EmbeddingCacheStats(
+                memoryHits, persistentHits, misses, evictions, entries.size(), bytes);
+    }
+
+    /** Empties the in-process level; the persistent table is left as is. */
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    private void embedMissing(
+            List<String> texts, Map<String, List<Integer>> missing, float[][] vectors) {
+        List<String> distinctTexts = new ArrayList<>(missing.size());
+        for (List<Integer> positions : missing.values()) {
+            distinctTexts.add(texts.get(positions.getFirst()));
+        }
+        List<Embedding> generated =
+                distinctTexts.size() == 1
+                        ? List.of(delegate.generateEmbedding(distinctTexts.getFirst()))
+                        : delegate.generateEmbeddings(distinctTexts);
+        if (generated.size() != distinctTexts.size()) {
+            throw new EmbeddingException(
+                    "Expected "
+                            + distinctTexts.size()
+                            + " embeddings but received "
+                            + generated.size());
+        }
+
+        Map<String, float[]> fresh = new LinkedHashMap<>();
+        Iterator<Embedding> embeddings = generated.iterator();
+        for (Map.Entry<String, List<Integer>> entry : missing.entrySet()) {
+            float[] vector = embeddings.next().vector();
+            remember(new Key(model, entry.getKey()), vector);
+            fresh.put(entry.getKey(), vector);
+            for (int position : entry.getValue()) {
+                vectors[position] = vector;
+            }
+        }
+        if (config.persistent()) {
+            saveStored(fresh);
+        }
+    }
+
+    private Map<String, float[]> findStored(Set<String> hashes) {
+        try {
+            return store.findAll(model, hashes);
+        } catch (DataAccessException e) {
+            logger.warn("Embedding cache table lookup failed - error: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private void saveStored(Map<String, float[]> vectorsByHash) {
+        try {
+            store.saveAll(model, vectorsByHash);
+        } catch (DataAccessException e) {
+            logger.warn("Embedding cache table write failed - error: {}", e.getMessage());
+        }
+    }
+
+    private synchronized float[] lookup(Key key) {
+        // Access-ordered map: get() marks the entry as most recently used.
+        return entries.get(key);
+    }
+
+    private synchronized void remember(Key key, float[] vector) {
+        float[] previous = entries.put(key, vector);
+        if (previous != null) {
+            bytes -= entryBytes(previous);
+        }
+        bytes += entryBytes(vector);
+
+        Iterator<float[]> eldest = entries.values().iterator();
+        while (bytes > config.maxBytes() && eldest.hasNext()) {
+            bytes -= entryBytes(eldest.next());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private synchronized void record(int memoryHitCount, int persistentHitCount, int missCount) {
+        memoryHits += memoryHitCount;
+        persistentHits += persistentHitCount;
+        misses += missCount;
+    }
+
+    private static long entryBytes(float[] vector) {
+        return (long) vector.length * Float.BYTES + ENTRY_OVERHEAD_BYTES;
+    }
+
+    private static int countPositions(Map<String, List<Integer>> missing) {
+        int count = 0;
+        for (List<Integer> positions : missing.values()) {
+            count += positions.size();
+        }
+        return count;
+    }
+}
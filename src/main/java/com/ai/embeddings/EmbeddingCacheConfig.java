@@ -0,0 +1,68 @@
+package com.ai.embeddings;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/** Configuration for the embedding cache. */
+@Configuration
+@ConfigurationProperties(prefix = "embedding-cache")
+public class EmbeddingCacheConfig {
+    private boolean enabled = false;
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+    private boolean persistent = false;
+
+    public EmbeddingCacheConfig() {}
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        if (maxSize == null || maxSize.toBytes() <= 0) {
+            throw new IllegalArgumentException("Max size must be positive");
+        }
+        this.maxSize = maxSize;
+    }
+
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    public void setPersistent(boolean persistent) {
+        this.persistent = persistent;
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /** Bytes of vectors the in-process cache holds before evicting least-recently-used ones. */
+    public long maxBytes() {
+        return maxSize.toBytes();
+    }
+
+    /** Whether misses fall back to, and new embeddings are written to, the database table. */
+    public boolean persistent() {
+        return persistent;
+    }
+
+    @Override
+    public String toString() {
+        return "EmbeddingCacheConfig[enabled="
+                + enabled
+                + ", maxSize="
+                + maxSize
+                + ", persistent="
+                + persistent
+                + "]";
+    }
+}
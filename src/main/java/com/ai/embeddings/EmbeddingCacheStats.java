@@ -0,0 +1,26 @@
+package com.ai.embeddings;
+
+/**
+ * Point-in-time counters for the embedding cache.
+ *
+ * @param memoryHits Texts served from the in-process cache
+ * @param persistentHits Texts served from the persistent table
+ * @param misses Texts sent to the embedding model
+ * @param evictions Entries dropped from the in-process cache to stay within its byte budget
+ * @param entries Entries currently held in process
+ * @param bytes Estimated bytes currently held in process
+ */
+public record EmbeddingCacheStats(
+        long memoryHits,
+        long persistentHits,
+        long misses,
+        long evictions,
+        int entries,
+        long bytes) {
+
+    /** Returns the fraction of texts served from either level, or 0 when there were none. */
+    public double hitRate() {
+        long lookups = memoryHits + persistentHits + misses;
+        return lookups == 0 ? 0.0 : (double) (memoryHits + persistentHits) / lookups;
+    }
+}
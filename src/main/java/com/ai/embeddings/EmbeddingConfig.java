@@ -9,6 +9,8 @@ import org.springframework.context.annotation.Configuration;
 public class EmbeddingConfig {
     private String ollamaBaseUrl = "http://localhost:11434";
     private String model = "nomic-embed-text";
+    private int batchSize = 64;
+    private int maxConcurrentBatches = 4;
 
     public EmbeddingConfig() {}
 
@@ -39,6 +41,28 @@ public class EmbeddingConfig {
         this.model = model;
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxConcurrentBatches() {
+        return maxConcurrentBatches;
+    }
+
+    public void setMaxConcurrentBatches(int maxConcurrentBatches) {
+        if (maxConcurrentBatches <= 0) {
+            throw new IllegalArgumentException("Max concurrent batches must be positive");
+        }
+        this.maxConcurrentBatches = maxConcurrentBatches;
+    }
+
     public String ollamaBaseUrl() {
         return ollamaBaseUrl;
     }
@@ -47,23 +71,44 @@ public class EmbeddingConfig {
         return model;
     }
 
+    public int batchSize() {
+        return batchSize;
+    }
+
+    public int maxConcurrentBatches() {
+        return maxConcurrentBatches;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         EmbeddingConfig that = (EmbeddingConfig) o;
-        return ollamaBaseUrl.equals(that.ollamaBaseUrl) && model.equals(that.model);
+        return ollamaBaseUrl.equals(that.ollamaBaseUrl)
+                && model.equals(that.model)
+                && batchSize == that.batchSize
+                && maxConcurrentBatches == that.maxConcurrentBatches;
     }
 
     @Override
     public int hashCode() {
         int result = ollamaBaseUrl.hashCode();
         result = 31 * result + model.hashCode();
+        result = 31 * result + batchSize;
+        result = 31 * result + maxConcurrentBatches;
         return result;
     }
 
     @Override
     public String toString() {
-        return "EmbeddingConfig[ollamaBaseUrl=" + ollamaBaseUrl + ", model=" + model + "]";
+        return "EmbeddingConfig[ollamaBaseUrl="
+                + ollamaBaseUrl
+                + ", model="
+                + model
+                + ", batchSize="
+                + batchSize
+                + ", maxConcurrentBatches="
+                + maxConcurrentBatches
+                + "]";
     }
 }
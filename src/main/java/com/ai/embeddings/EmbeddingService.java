@@ -1,6 +1,7 @@
 package com.ai.embeddings;
 
 import com.ai.domain.Embedding;
+import java.util.List;
 
 /** Service for generating text embeddings. */
 public interface EmbeddingService {
@@ -13,6 +14,20 @@ public interface EmbeddingService {
      */
     Embedding generateEmbedding(String text);
 
+    /**
+     * Generates embeddings for several texts. Implementations that support multi-input requests
+     * should override this to avoid one round trip per text.
+     *
+     * @param texts The texts to embed
+     * @return One embedding per text, in input order
+     */
+    default List<Embedding> generateEmbeddings(List<String> texts) {
+        if (texts == null) {
+            throw new IllegalArgumentException("Texts cannot be null");
+        }
+        return texts.stream().map(this::generateEmbedding).toList();
+    }
+
     /**
      * Returns the dimension of embeddings produced by this service.
      *
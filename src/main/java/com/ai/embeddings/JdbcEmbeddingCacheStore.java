@@ -0,0 +1,90 @@
+package com.ai.embeddings;
+
+import com.pgvector.PGvector;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.postgresql.util.PGobject;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Persistent level of the embedding cache: the {@code embedding_cache} table, keyed by model and
+ * SHA-256 of the embedded text. Entries never go stale, since a model maps a text to the same
+ * vector every time.
+ */
+@Repository
+public class JdbcEmbeddingCacheStore {
+    private static final String FIND_SQL =
+            "SELECT text_hash, embedding FROM embedding_cache "
+                    + "WHERE model = ? AND text_hash = ANY(?)";
+    private static final String INSERT_SQL =
+            "INSERT INTO embedding_cache (model, text_hash, embedding) VALUES (?, ?, ?::vector) "
+                    + "ON CONFLICT (model, text_hash) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcEmbeddingCacheStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Looks up stored vectors in one query.
+     *
+     * @param model The embedding model
+     * @param textHashes SHA-256 hashes of the texts
+     * @return Vectors keyed by text hash; hashes without an entry are absent
+     */
+    public Map<String, float[]> findAll(String model, Collection<String> textHashes) {
+        Map<String, float[]> vectors = new HashMap<>();
+        if (textHashes.isEmpty()) {
+            return vectors;
+        }
+        jdbcTemplate.query(
+                FIND_SQL,
+                (RowCallbackHandler)
+                        rs -> vectors.put(rs.getString("text_hash"), readVector(rs)),
+                model,
+                textHashes.toArray(String[]::new));
+        return vectors;
+    }
+
+    /**
+     * Stores vectors in one batch. Hashes that are already stored keep their existing vector.
+     *
+     * @param model The embedding model
+     * @param vectorsByHash Vectors keyed by text hash
+     */
+    public void saveAll(String model, Map<String, float[]> vectorsByHash) {
+        if (vectorsByHash.isEmpty()) {
+            return;
+        }
+        List<Object[]> args =
+                vectorsByHash.entrySet().stream()
+                        .map(
+                                entry ->
+                                        new Object[] {
+                                            model, entry.getKey(), new PGvector(entry.getValue())
+                                        })
+                        .toList();
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+
+    private static float[] readVector(ResultSet rs) throws SQLException {
+        Object value = rs.getObject("embedding");
+        if (value instanceof PGvector pgVector) {
+            return pgVector.toArray();
+        }
+        if (value instanceof PGobject pgObject) {
+            // Type not registered on this connection: parse the text representation
+            return new PGvector(pgObject.getValue()).toArray();
+        }
+        throw new SQLException(
+                "Unexpected type for embedding column: "
+                        + (value != null ? value.getClass().getName() : "null"));
+    }
+}
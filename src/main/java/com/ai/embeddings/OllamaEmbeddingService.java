@@ -1,10 +1,24 @@
 package com.ai.embeddings;
 
 import com.ai.domain.Embedding;
+import com.ai.embeddings.dto.OllamaEmbedRequest;
+import com.ai.embeddings.dto.OllamaEmbedResponse;
 import com.ai.embeddings.dto.OllamaEmbeddingRequest;
 import com.ai.embeddings.dto.OllamaEmbeddingResponse;
+import com.ai.llm.OllamaHttpTransport;
+import com.ai.util.CorrelationIdHolder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
@@ -18,10 +32,19 @@ public class OllamaEmbeddingService implements EmbeddingService {
 
     private final RestClient restClient;
     private final String model;
+    private final int batchSize;
+    private final int maxConcurrentBatches;
 
-    public OllamaEmbeddingService(EmbeddingConfig config) {
+    @Autowired
+    public OllamaEmbeddingService(EmbeddingConfig config, OllamaHttpTransport transport) {
         this.model = config.model();
-        this.restClient = RestClient.builder().baseUrl(config.ollamaBaseUrl()).build();
+        this.batchSize = config.batchSize();
+        this.maxConcurrentBatches = config.maxConcurrentBatches();
+        this.restClient =
+                RestClient.builder()
+                        .baseUrl(config.ollamaBaseUrl())
+                        .requestFactory(transport.requestFactory())
+                        .build();
         logger.info("Initialized EmbeddingService with model: {}", model);
     }
 
@@ -62,6 +85,121 @@ public class OllamaEmbeddingService implements EmbeddingService {
         }
     }
 
+    /**
+     * Embeds texts through Ollama's multi-input {@code /api/embed} endpoint. Texts are split into
+     * batches of {@code embedding.batch-size}; at most {@code embedding.max-concurrent-batches}
+     * requests are in flight at once.
+     */
+    @Override
+    public List<Embedding> generateEmbeddings(List<String> texts) {
+        if (texts == null) {
+            throw new IllegalArgumentException("Texts cannot be null");
+        }
+        for (String text : texts) {
+            if (text == null || text.isBlank()) {
+                throw new IllegalArgumentException("Text cannot be null or blank");
+            }
+        }
+        if (texts.isEmpty()) {
+            return List.of();
+        }
+
+        List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < texts.size(); i += batchSize) {
+            batches.add(texts.subList(i, Math.min(i + batchSize, texts.size())));
+        }
+
+        logger.debug(
+                "Generating {} embeddings in {} batches of up to {}",
+                texts.size(),
+                batches.size(),
+                batchSize);
+
+        if (batches.size() == 1 || maxConcurrentBatches == 1) {
+            List<Embedding> embeddings = new ArrayList<>(texts.size());
+            for (List<String> batch : batches) {
+                embeddings.addAll(embedBatch(batch));
+            }
+            return embeddings;
+        }
+
+        Semaphore inFlight = new Semaphore(maxConcurrentBatches);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            CompletionService<List<Embedding>> completion =
+                    new ExecutorCompletionService<>(executor);
+            List<Future<List<Embedding>>> futures = new ArrayList<>(batches.size());
+            for (List<String> batch : batches) {
+                futures.add(
+                        completion.submit(
+                                CorrelationIdHolder.propagate(
+                                        () -> {
+                                            inFlight.acquire();
+                                            try {
+                                                return embedBatch(batch);
+                                            } finally {
+                                                inFlight.release();
+                                            }
+                                        })));
+            }
+
+            // Wait in completion order so a failed batch surfaces without waiting on earlier ones
+            for (int i = 0; i < futures.size(); i++) {
+                completion.take().get();
+            }
+            List<Embedding> embeddings = new ArrayList<>(texts.size());
+            for (Future<List<Embedding>> future : futures) {
+                embeddings.addAll(future.resultNow());
+            }
+            return embeddings;
+
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof EmbeddingException embeddingException) {
+                throw embeddingException;
+            }
+            throw new EmbeddingException("Failed to generate embeddings", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EmbeddingException("Interrupted while generating embeddings", e);
+        } finally {
+            // Interrupts batches still running or waiting for a permit after a failure
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Embedding> embedBatch(List<String> batch) {
+        try {
+            OllamaEmbedResponse response =
+                    restClient
+                            .post()
+                            .uri("/api/embed")
+                            .body(new OllamaEmbedRequest(model, batch))
+                            .retrieve()
+                            .body(OllamaEmbedResponse.class);
+
+            if (response == null || response.embeddings() == null) {
+                throw new EmbeddingException("Received null embeddings from Ollama");
+            }
+            if (response.embeddings().length != batch.size()) {
+                throw new EmbeddingException(
+                        "Expected "
+                                + batch.size()
+                                + " embeddings from Ollama but received "
+                                + response.embeddings().length);
+            }
+
+            List<Embedding> embeddings = new ArrayList<>(batch.size());
+            for (float[] vector : response.embeddings()) {
+                embeddings.add(new Embedding(vector, model));
+            }
+            return embeddings;
+
+        } catch (RestClientException e) {
+            logger.error("Failed to generate batch embeddings: {}", e.getMessage());
+            throw new EmbeddingException("Failed to generate embeddings", e);
+        }
+    }
+
     @Override
     public int getDimension() {
         return EMBEDDING_DIMENSION;
@@ -0,0 +1,6 @@
+package com.ai.embeddings.dto;
+
+import java.util.List;
+
+/** Request DTO for Ollama's multi-input embed API ({@code /api/embed}). */
+public record OllamaEmbedRequest(String model, List<String> input) {}
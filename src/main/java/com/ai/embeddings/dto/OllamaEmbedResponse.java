@@ -0,0 +1,4 @@
+package com.ai.embeddings.dto;
+
+/** Response DTO for Ollama's multi-input embed API, one vector per input in request order. */
+public record OllamaEmbedResponse(String model, float[][] embeddings) {}
@@ -0,0 +1,115 @@
+package com.ai.ingest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Configuration for the document ingestion pipeline. */
+@Configuration
+@ConfigurationProperties(prefix = "ingestion")
+public class IngestionConfig {
+    private int chunkSize = 1000;
+    private int chunkOverlap = 200;
+    private int embedBatchSize = 64;
+    private int writeBatchSize = 1000;
+    private int queueCapacity = 8;
+
+    public IngestionConfig() {}
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkOverlap() {
+        return chunkOverlap;
+    }
+
+    public void setChunkOverlap(int chunkOverlap) {
+        if (chunkOverlap < 0) {
+            throw new IllegalArgumentException("Chunk overlap cannot be negative");
+        }
+        this.chunkOverlap = chunkOverlap;
+    }
+
+    public int getEmbedBatchSize() {
+        return embedBatchSize;
+    }
+
+    public void setEmbedBatchSize(int embedBatchSize) {
+        if (embedBatchSize <= 0) {
+            throw new IllegalArgumentException("Embed batch size must be positive");
+        }
+        this.embedBatchSize = embedBatchSize;
+    }
+
+    public int getWriteBatchSize() {
+        return writeBatchSize;
+    }
+
+    public void setWriteBatchSize(int writeBatchSize) {
+        if (writeBatchSize <= 0) {
+            throw new IllegalArgumentException("Write batch size must be positive");
+        }
+        this.writeBatchSize = writeBatchSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+    }
+
+    /** Maximum characters per chunk. */
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Characters shared between consecutive chunks of a document. Checked against the chunk size
+     * by {@link TextChunker}, since the two properties bind independently.
+     */
+    public int chunkOverlap() {
+        return chunkOverlap;
+    }
+
+    /** Chunk texts sent to the embedding service per call. */
+    public int embedBatchSize() {
+        return embedBatchSize;
+    }
+
+    /** Embedded chunks accumulated before each bulk write. */
+    public int writeBatchSize() {
+        return writeBatchSize;
+    }
+
+    /** Batches each inter-stage queue holds before the upstream stage blocks. */
+    public int queueCapacity() {
+        return queueCapacity;
+    }
+
+    @Override
+    public String toString() {
+        return "IngestionConfig[chunkSize="
+                + chunkSize
+                + ", chunkOverlap="
+                + chunkOverlap
+                + ", embedBatchSize="
+                + embedBatchSize
+                + ", writeBatchSize="
+                + writeBatchSize
+                + ", queueCapacity="
+                + queueCapacity
+                + "]";
+    }
+}
@@ -0,0 +1,13 @@
+package com.ai.ingest;
+
+/** Exception thrown when a document ingestion run fails. */
+public class IngestionException extends RuntimeException {
+
+    public IngestionException(String message) {
+        super(message);
+    }
+
+    public IngestionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
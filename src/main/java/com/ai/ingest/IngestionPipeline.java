@@ -0,0 +1,310 @@
+package com.ai.ingest;
+
+import com.ai.domain.Chunk;
+import com.ai.domain.Document;
+import com.ai.domain.Embedding;
+import com.ai.embeddings.EmbeddingService;
+import com.ai.rag.ChunkRepository;
+import com.ai.rag.DocumentRepository;
+import com.ai.util.CorrelationIdHolder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+/**
+ * Streams documents into the knowledge base through three stages on virtual threads:
+ *
+ * <ol>
+ *   <li>reader: stores each document, splits it into chunk texts and keeps only those whose
+ *       content hash differs from the stored chunk at the same position; a text stored at another
+ *       position keeps that chunk's embedding
+ *   <li>embedder: embeds the remaining chunk texts in batches of {@code
+ *       ingestion.embed-batch-size}
+ *   <li>writer: bulk-saves chunks in batches of {@code ingestion.write-batch-size}
+ * </ol>
+ *
+ * <p>Stages hand batches over bounded queues of {@code ingestion.queue-capacity}, so a slow stage
+ * blocks the ones upstream and memory stays constant however large the corpus is. The first stage
+ * failure cancels the others and fails the run; chunks already written stay stored.
+ *
+ * <p>Re-ingesting a document is incremental: unchanged chunks are neither embedded nor rewritten,
+ * chunks that only moved are rewritten under their new position with their stored embedding, and
+ * stored chunks at positions the new text no longer reaches are deleted. Since {@link
+ * TextChunker} anchors chunks to paragraphs, an edit re-embeds only the chunks of the paragraph it
+ * touches.
+ */
+@Service
+public class IngestionPipeline {
+    private static final Logger logger = LogManager.getLogger(IngestionPipeline.class);
+    private static final int STAGE_COUNT = 3;
+
+    // Unique end-of-stream markers, compared by identity
+    private static final List<PendingChunk> END_OF_TEXTS =
+            Collections.unmodifiableList(new ArrayList<>());
+    private static final List<Chunk> END_OF_CHUNKS =
+            Collections.unmodifiableList(new ArrayList<>());
+
+    private final DocumentRepository documentRepository;
+    private final ChunkRepository chunkRepository;
+    private final EmbeddingService embeddingService;
+    private final TextChunker chunker;
+    private final IngestionConfig config;
+
+    public IngestionPipeline(
+            DocumentRepository documentRepository,
+            ChunkRepository chunkRepository,
+            EmbeddingService embeddingService,
+            TextChunker chunker,
+            IngestionConfig config) {
+        this.documentRepository = documentRepository;
+        this.chunkRepository = chunkRepository;
+        this.embeddingService = embeddingService;
+        this.chunker = chunker;
+        this.config = config;
+    }
+
+    /**
+     * A chunk's text and position before it is written, with the embedding of a stored chunk of
+     * the same text, or {@code null} if it still needs one.
+     */
+    private record PendingChunk(
+            String documentId, int position, String text, Embedding embedding) {}
+
+    /** Running totals shared by the stages. */
+    private static final class Counters {
+        private final AtomicLong documents = new AtomicLong();
+        private final AtomicLong chunks = new AtomicLong();
+        private final AtomicLong unchanged = new AtomicLong();
+        private final AtomicLong moved = new AtomicLong();
+        private final AtomicLong deleted = new AtomicLong();
+    }
+
+    /**
+     * Ingests documents, consuming the stream lazily.
+     *
+     * @param documents Documents to store, chunk and embed
+     * @return Counts for the run
+     * @throws IngestionException if any stage fails
+     */
+    public IngestionReport ingest(Stream<Document> documents) {
+        if (documents == null) {
+            throw new IllegalArgumentException("Documents cannot be null");
+        }
+
+        long startTime = System.currentTimeMillis();
+        logger.info("Starting ingestion - {}", config);
+
+        BlockingQueue<List<PendingChunk>> texts = new ArrayBlockingQueue<>(config.queueCapacity());
+        BlockingQueue<List<Chunk>> chunks = new ArrayBlockingQueue<>(config.queueCapacity());
+        Counters counters = new Counters();
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        CompletionService<Void> stages = new ExecutorCompletionService<>(executor);
+        try {
+            stages.submit(
+                    CorrelationIdHolder.propagate(
+                            () -> readDocuments(documents.iterator(), texts, counters)));
+            stages.submit(CorrelationIdHolder.propagate(() -> embedChunks(texts, chunks)));
+            stages.submit(CorrelationIdHolder.propagate(() -> writeChunks(chunks, counters)));
+            for (int i = 0; i < STAGE_COUNT; i++) {
+                stages.take().get();
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            logger.error("Ingestion failed - error: {}", cause.getMessage());
+            throw new IngestionException("Ingestion failed: " + cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IngestionException("Ingestion was interrupted", e);
+        } finally {
+            // Unblocks and stops the remaining stages after a failure
+            executor.shutdownNow();
+        }
+
+        IngestionReport report =
+                new IngestionReport(
+                        counters.documents.get(),
+                        counters.chunks.get(),
+                        counters.unchanged.get(),
+                        counters.moved.get(),
+                        counters.deleted.get(),
+                        System.currentTimeMillis() - startTime);
+        logger.info(
+                "Ingestion completed - documents: {}, chunks: {}, unchanged: {}, moved: {}, "
+                        + "deleted: {}, durationMs: {}",
+                report.documents(),
+                report.chunks(),
+                report.unchangedChunks(),
+                report.movedChunks(),
+                report.deletedChunks(),
+                report.durationMs());
+        return report;
+    }
+
+    private Void readDocuments(
+            Iterator<Document> documents,
+            BlockingQueue<List<PendingChunk>> texts,
+            Counters counters)
+            throws InterruptedException {
+        List<PendingChunk> batch = new ArrayList<>(config.embedBatchSize());
+        while (documents.hasNext()) {
+            Document document = documents.next();
+            // Stored before any of its chunks are queued, so chunk writes never precede it
+            documentRepository.save(document);
+            counters.documents.incrementAndGet();
+
+            List<String> parts = chunker.split(document.content());
+            Map<String, String> storedHashes =
+                    new HashMap<>(chunkRepository.findContentHashes(document.id()));
+            Map<String, String> storedIdsByHash = new HashMap<>();
+            storedHashes.forEach(
+                    (id, hash) -> {
+                        if (hash != null) {
+                            storedIdsByHash.putIfAbsent(hash, id);
+                        }
+                    });
+
+            // All of the document's chunks are classified before any is queued, so the writer
+            // cannot overwrite a stored chunk whose embedding a moved text still has to reuse
+            List<PendingChunk> pending = new ArrayList<>();
+            Map<Integer, String> movedFrom = new HashMap<>();
+            for (int position = 0; position < parts.size(); position++) {
+                String id = chunkId(document.id(), position);
+                String text = parts.get(position);
+                String hash = Chunk.hashOf(text);
+                if (hash.equals(storedHashes.remove(id))) {
+                    counters.unchanged.incrementAndGet();
+                    continue;
+                }
+                String sourceId = storedIdsByHash.get(hash);
+                if (sourceId != null) {
+                    movedFrom.put(position, sourceId);
+                }
+                pending.add(new PendingChunk(document.id(), position, text, null));
+            }
+            Map<String, Embedding> reusable = storedEmbeddings(movedFrom.values());
+            for (PendingChunk chunk : pending) {
+                String sourceId = movedFrom.get(chunk.position());
+                Embedding embedding = sourceId != null ? reusable.get(sourceId) : null;
+                if (embedding != null) {
+                    chunk =
+                            new PendingChunk(
+                                    chunk.documentId(), chunk.position(), chunk.text(), embedding);
+                    counters.moved.incrementAndGet();
+                }
+                batch.add(chunk);
+                if (batch.size() == config.embedBatchSize()) {
+                    texts.put(batch);
+                    batch = new ArrayList<>(config.embedBatchSize());
+                }
+            }
+            // Whatever was not matched by a current position is gone from the document
+            if (!storedHashes.isEmpty()) {
+                chunkRepository.deleteByIds(Set.copyOf(storedHashes.keySet()));
+                counters.deleted.addAndGet(storedHashes.size());
+            }
+        }
+        if (!batch.isEmpty()) {
+            texts.put(batch);
+        }
+        texts.put(END_OF_TEXTS);
+        return null;
+    }
+
+    private Void embedChunks(
+            BlockingQueue<List<PendingChunk>> texts, BlockingQueue<List<Chunk>> chunks)
+            throws InterruptedException {
+        List<PendingChunk> batch;
+        while ((batch = texts.take()) != END_OF_TEXTS) {
+            List<String> unembedded =
+                    batch.stream()
+                            .filter(pending -> pending.embedding() == null)
+                            .map(PendingChunk::text)
+                            .toList();
+            List<Embedding> embeddings =
+                    unembedded.isEmpty()
+                            ? List.of()
+                            : embeddingService.generateEmbeddings(unembedded);
+            if (embeddings.size() != unembedded.size()) {
+                throw new IngestionException(
+                        "Expected "
+                                + unembedded.size()
+                                + " embeddings but received "
+                                + embeddings.size());
+            }
+            Iterator<Embedding> fresh = embeddings.iterator();
+            List<Chunk> embedded = new ArrayList<>(batch.size());
+            for (PendingChunk pending : batch) {
+                embedded.add(
+                        new Chunk(
+                                chunkId(pending.documentId(), pending.position()),
+                                pending.documentId(),
+                                pending.text(),
+                                pending.position(),
+                                pending.embedding() != null
+                                        ? pending.embedding()
+                                        : fresh.next()));
+            }
+            chunks.put(embedded);
+        }
+        chunks.put(END_OF_CHUNKS);
+        return null;
+    }
+
+    private Void writeChunks(BlockingQueue<List<Chunk>> chunks, Counters counters)
+            throws InterruptedException {
+        List<Chunk> pending = new ArrayList<>(config.writeBatchSize());
+        List<Chunk> batch;
+        while ((batch = chunks.take()) != END_OF_CHUNKS) {
+            pending.addAll(batch);
+            if (pending.size() >= config.writeBatchSize()) {
+                flush(pending, counters);
+                pending = new ArrayList<>(config.writeBatchSize());
+            }
+        }
+        if (!pending.isEmpty()) {
+            flush(pending, counters);
+        }
+        return null;
+    }
+
+    private void flush(List<Chunk> pending, Counters counters) {
+        chunkRepository.saveAll(pending);
+        long total = counters.chunks.addAndGet(pending.size());
+        logger.debug("Wrote chunk batch - size: {}, totalChunks: {}", pending.size(), total);
+    }
+
+    /** Loads the embeddings of stored chunks by ID; chunks deleted meanwhile are left out. */
+    private Map<String, Embedding> storedEmbeddings(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Embedding> embeddings = new HashMap<>();
+        for (Chunk chunk : chunkRepository.findByIds(Set.copyOf(ids))) {
+            embeddings.put(chunk.id(), chunk.embedding());
+        }
+        return embeddings;
+    }
+
+    /** Returns the deterministic ID of a document's chunk, so re-ingestion upserts in place. */
+    static String chunkId(String documentId, int position) {
+        return documentId + "#" + position;
+    }
+}
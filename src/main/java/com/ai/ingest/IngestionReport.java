@@ -0,0 +1,20 @@
+package com.ai.ingest;
+
+/**
+ * Outcome of an ingestion run.
+ *
+ * @param documents Documents stored
+ * @param chunks Chunks stored, embedded or moved
+ * @param unchangedChunks Chunks skipped because their stored content hash already matched
+ * @param movedChunks Chunks stored under a new position with the embedding of a stored chunk of
+ *     the same text, so not embedded again
+ * @param deletedChunks Stored chunks removed because their document no longer produces them
+ * @param durationMs Wall-clock duration of the run
+ */
+public record IngestionReport(
+        long documents,
+        long chunks,
+        long unchangedChunks,
+        long movedChunks,
+        long deletedChunks,
+        long durationMs) {}
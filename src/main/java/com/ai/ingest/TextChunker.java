@@ -0,0 +1,94 @@
+package com.ai.ingest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.springframework.stereotype.Component;
+
+/**
+ * Splits document text into overlapping windows of at most {@code ingestion.chunk-size}
+ * characters. Windows end at the last whitespace inside the window and start at a word boundary
+ * when there is one, so words are not cut in half, and consecutive windows share up to {@code
+ * ingestion.chunk-overlap} characters.
+ *
+ * <p>Paragraphs (separated by a blank line) are windowed independently, so chunk boundaries are
+ * anchored to the text rather than to character offsets: an edit changes only the chunks of its
+ * own paragraph, and every other paragraph yields the same chunk texts as before.
+ */
+@Component
+public class TextChunker {
+    private static final Pattern PARAGRAPH_BREAK = Pattern.compile("\\n\\s*\\n");
+
+    private final IngestionConfig config;
+
+    public TextChunker(IngestionConfig config) {
+        if (config.chunkOverlap() >= config.chunkSize()) {
+            throw new IllegalArgumentException("Chunk overlap must be smaller than chunk size");
+        }
+        this.config = config;
+    }
+
+    /**
+     * Splits text into chunks.
+     *
+     * @param text The text to split
+     * @return Non-blank chunks in document order
+     */
+    public List<String> split(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Text cannot be null");
+        }
+        List<String> chunks = new ArrayList<>();
+        for (String paragraph : PARAGRAPH_BREAK.split(text)) {
+            splitParagraph(paragraph, chunks);
+        }
+        return chunks;
+    }
+
+    private void splitParagraph(String text, List<String> chunks) {
+        int size = config.chunkSize();
+        int overlap = config.chunkOverlap();
+        int start = 0;
+        while (start < text.length()) {
+            int end = Math.min(start + size, text.length());
+            if (end < text.length()) {
+                // The character just past the window counts, so a word ending there stays whole
+                int boundary = lastWhitespace(text, start + overlap + 1, end + 1);
+                if (boundary > 0) {
+                    end = boundary;
+                }
+            }
+            String chunk = text.substring(start, end).strip();
+            if (!chunk.isEmpty()) {
+                chunks.add(chunk);
+            }
+            if (end == text.length()) {
+                break;
+            }
+            // Always advance, even when the overlap would reach back to the window start
+            int next = Math.max(end - overlap, start + 1);
+            int wordStart = nextWordStart(text, next, end);
+            start = wordStart > 0 ? wordStart : next;
+        }
+    }
+
+    /** Returns the index of the last whitespace in {@code [from, to)}, or -1 if there is none. */
+    private static int lastWhitespace(String text, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Returns the first index in {@code [from, to)} that starts a word, or -1 if there is none. */
+    private static int nextWordStart(String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (Character.isWhitespace(text.charAt(i - 1))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,17 @@
+package com.ai.llm;
+
+/**
+ * Snapshot of the shared Ollama connection pool.
+ *
+ * @param leased Connections currently serving a request
+ * @param available Idle connections kept alive for reuse
+ * @param pending Requests waiting for a connection
+ * @param max Maximum number of pooled connections
+ */
+public record HttpPoolStats(int leased, int available, int pending, int max) {
+
+    /** Returns the fraction of the pool currently leased. */
+    public double utilization() {
+        return max == 0 ? 0.0 : (double) leased / max;
+    }
+}
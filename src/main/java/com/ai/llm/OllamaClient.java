@@ -1,6 +1,7 @@
 package com.ai.llm;
 
 import com.ai.model.LlmModel;
+import java.util.function.Consumer;
 
 /** Client for interacting with Ollama LLM runtime. */
 public interface OllamaClient {
@@ -15,6 +16,18 @@ public interface OllamaClient {
      */
     String generate(LlmModel model, String prompt, int maxTokens);
 
+    /**
+     * Generates a response using Ollama's streaming mode, handing each token fragment to the
+     * consumer as soon as it arrives.
+     *
+     * @param model The LLM model to use
+     * @param prompt The input prompt
+     * @param maxTokens Maximum tokens to generate
+     * @param onToken Receives each generated fragment in order
+     * @return The complete generated response text
+     */
+    String generateStream(LlmModel model, String prompt, int maxTokens, Consumer<String> onToken);
+
     /**
      * Checks if the specified model is available in Ollama.
      *
@@ -4,42 +4,58 @@ import com.ai.llm.dto.OllamaGenerateRequest;
 import com.ai.llm.dto.OllamaGenerateResponse;
 import com.ai.llm.dto.OllamaModelListResponse;
 import com.ai.model.LlmModel;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.json.JsonMapper;
 
 /** Implementation of OllamaClient using Spring RestClient. */
 @Component
 public class OllamaClientImpl implements OllamaClient {
     private static final Logger logger = LogManager.getLogger(OllamaClientImpl.class);
+    private static final JsonMapper STREAM_MAPPER =
+            JsonMapper.builder()
+                    .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .build();
 
     private final RestClient restClient;
     private final String ollamaBaseUrl;
 
-    public OllamaClientImpl(OllamaConfig config) {
+    @Autowired
+    public OllamaClientImpl(OllamaConfig config, OllamaHttpTransport transport) {
         this.ollamaBaseUrl = config.baseUrl();
-        this.restClient = RestClient.builder().baseUrl(ollamaBaseUrl).build();
+        this.restClient =
+                RestClient.builder()
+                        .baseUrl(ollamaBaseUrl)
+                        .requestFactory(transport.requestFactory())
+                        .build();
         logger.info("Initialized OllamaClient with base URL: {}", ollamaBaseUrl);
     }
 
     @Override
     public String generate(LlmModel model, String prompt, int maxTokens) {
-        if (model == null) {
-            throw new IllegalArgumentException("Model cannot be null");
-        }
-        if (prompt == null || prompt.isBlank()) {
-            throw new IllegalArgumentException("Prompt cannot be null or blank");
-        }
-        if (maxTokens <= 0) {
-            throw new IllegalArgumentException("Max tokens must be positive");
-        }
+        validateGenerateArguments(model, prompt, maxTokens);
 
         OllamaGenerateRequest request =
-                new OllamaGenerateRequest(model.ollamaName(), prompt, maxTokens, false);
+                new OllamaGenerateRequest(
+                        model.ollamaName(),
+                        prompt,
+                        false,
+                        new OllamaGenerateRequest.Options(model.contextWindow(), maxTokens));
 
         logger.debug(
                 "Generating response with model: {}, maxTokens: {}", model.ollamaName(), maxTokens);
@@ -66,6 +82,49 @@ public class OllamaClientImpl implements OllamaClient {
         }
     }
 
+    @Override
+    public String generateStream(
+            LlmModel model, String prompt, int maxTokens, Consumer<String> onToken) {
+        validateGenerateArguments(model, prompt, maxTokens);
+        if (onToken == null) {
+            throw new IllegalArgumentException("Token consumer cannot be null");
+        }
+
+        OllamaGenerateRequest request =
+                new OllamaGenerateRequest(
+                        model.ollamaName(),
+                        prompt,
+                        true,
+                        new OllamaGenerateRequest.Options(model.contextWindow(), maxTokens));
+
+        logger.debug(
+                "Streaming response with model: {}, maxTokens: {}", model.ollamaName(), maxTokens);
+
+        try {
+            String text =
+                    restClient
+                            .post()
+                            .uri("/api/generate")
+                            .body(request)
+                            .exchange(
+                                    (clientRequest, clientResponse) -> {
+                                        HttpStatusCode status = clientResponse.getStatusCode();
+                                        if (status.isError()) {
+                                            throw new OllamaException(
+                                                    "Ollama returned status " + status.value());
+                                        }
+                                        return readStream(clientResponse.getBody(), onToken);
+                                    });
+
+            logger.debug("Streamed response of length: {}", text.length());
+            return text;
+
+        } catch (RestClientException e) {
+            logger.error("Failed to stream response from Ollama: {}", e.getMessage());
+            throw new OllamaException("Failed to stream response from Ollama", e);
+        }
+    }
+
     @Override
     public boolean isModelAvailable(LlmModel model) {
         if (model == null) {
@@ -99,4 +158,44 @@ public class OllamaClientImpl implements OllamaClient {
             return false;
         }
     }
+
+    /** Reads Ollama's newline-delimited JSON stream until the chunk marked {@code done}. */
+    private String readStream(InputStream body, Consumer<String> onToken) throws IOException {
+        StringBuilder text = new StringBuilder();
+        try (BufferedReader reader =
+                new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                OllamaGenerateResponse chunk;
+                try {
+                    chunk = STREAM_MAPPER.readValue(line, OllamaGenerateResponse.class);
+                } catch (JacksonException e) {
+                    throw new OllamaException("Received malformed stream chunk from Ollama", e);
+                }
+                if (chunk.response() != null && !chunk.response().isEmpty()) {
+                    text.append(chunk.response());
+                    onToken.accept(chunk.response());
+                }
+                if (chunk.done()) {
+                    return text.toString();
+                }
+            }
+        }
+        throw new OllamaException("Ollama stream ended before completion");
+    }
+
+    private static void validateGenerateArguments(LlmModel model, String prompt, int maxTokens) {
+        if (model == null) {
+            throw new IllegalArgumentException("Model cannot be null");
+        }
+        if (prompt == null || prompt.isBlank()) {
+            throw new IllegalArgumentException("Prompt cannot be null or blank");
+        }
+        if (maxTokens <= 0) {
+            throw new IllegalArgumentException("Max tokens must be positive");
+        }
+    }
 }
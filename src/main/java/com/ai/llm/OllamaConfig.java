@@ -1,13 +1,20 @@
 package com.ai.llm;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
-/** Configuration for Ollama client. */
+/** Configuration for Ollama client and the HTTP transport shared by all Ollama calls. */
 @Configuration
 @ConfigurationProperties(prefix = "ollama")
 public class OllamaConfig {
     private String baseUrl = "http://localhost:11434";
+    private int maxConnections = 50;
+    private int maxConnectionsPerRoute = 20;
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofMinutes(5);
+    private Duration connectionRequestTimeout = Duration.ofSeconds(30);
+    private Duration keepAlive = Duration.ofSeconds(60);
 
     public OllamaConfig() {}
 
@@ -26,7 +33,93 @@ public class OllamaConfig {
         this.baseUrl = baseUrl;
     }
 
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        if (maxConnections <= 0) {
+            throw new IllegalArgumentException("Max connections must be positive");
+        }
+        this.maxConnections = maxConnections;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        if (maxConnectionsPerRoute <= 0) {
+            throw new IllegalArgumentException("Max connections per route must be positive");
+        }
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = requirePositive(connectTimeout, "Connect timeout");
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = requirePositive(readTimeout, "Read timeout");
+    }
+
+    public Duration getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    public void setConnectionRequestTimeout(Duration connectionRequestTimeout) {
+        this.connectionRequestTimeout =
+                requirePositive(connectionRequestTimeout, "Connection request timeout");
+    }
+
+    public Duration getKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(Duration keepAlive) {
+        this.keepAlive = requirePositive(keepAlive, "Keep-alive");
+    }
+
     public String baseUrl() {
         return baseUrl;
     }
+
+    public int maxConnections() {
+        return maxConnections;
+    }
+
+    public int maxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public Duration connectTimeout() {
+        return connectTimeout;
+    }
+
+    public Duration readTimeout() {
+        return readTimeout;
+    }
+
+    public Duration connectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    public Duration keepAlive() {
+        return keepAlive;
+    }
+
+    private static Duration requirePositive(Duration value, String name) {
+        if (value == null || value.isZero() || value.isNegative()) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
+    }
 }
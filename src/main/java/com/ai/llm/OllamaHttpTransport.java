@@ -0,0 +1,100 @@
+package com.ai.llm;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pooled HTTP transport shared by every client that talks to Ollama, so generation and embedding
+ * calls reuse the same keep-alive connections instead of each opening their own.
+ *
+ * <p>Connect, read and pool-acquire waits are all bounded by {@link OllamaConfig}. Idle
+ * connections are kept for {@code ollama.keep-alive} and evicted in the background after that.
+ * Ollama serves plain HTTP/1.1, so connection reuse rather than HTTP/2 multiplexing is what
+ * removes the per-request handshake.
+ */
+@Component
+public class OllamaHttpTransport implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(OllamaHttpTransport.class);
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final ClientHttpRequestFactory requestFactory;
+
+    public OllamaHttpTransport(OllamaConfig config) {
+        TimeValue keepAlive = TimeValue.ofMilliseconds(config.keepAlive().toMillis());
+        this.connectionManager =
+                PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(config.maxConnections())
+                        .setMaxConnPerRoute(config.maxConnectionsPerRoute())
+                        .setDefaultConnectionConfig(
+                                ConnectionConfig.custom()
+                                        .setConnectTimeout(timeout(config.connectTimeout()))
+                                        .setSocketTimeout(timeout(config.readTimeout()))
+                                        .build())
+                        .build();
+        this.httpClient =
+                HttpClients.custom()
+                        .setConnectionManager(connectionManager)
+                        .setDefaultRequestConfig(
+                                RequestConfig.custom()
+                                        .setConnectionRequestTimeout(
+                                                timeout(config.connectionRequestTimeout()))
+                                        .setResponseTimeout(timeout(config.readTimeout()))
+                                        .build())
+                        .setKeepAliveStrategy((response, context) -> keepAlive)
+                        .evictIdleConnections(keepAlive)
+                        .evictExpiredConnections()
+                        .build();
+        this.requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+
+        logger.info(
+                "Initialized Ollama HTTP transport - maxConnections: {}, maxPerRoute: {},"
+                        + " connectTimeout: {}, readTimeout: {}, keepAlive: {}",
+                config.maxConnections(),
+                config.maxConnectionsPerRoute(),
+                config.connectTimeout(),
+                config.readTimeout(),
+                config.keepAlive());
+    }
+
+    /** Returns the request factory to plug into a {@code RestClient}. */
+    public ClientHttpRequestFactory requestFactory() {
+        return requestFactory;
+    }
+
+    /** Returns current pool usage across all Ollama routes. */
+    public HttpPoolStats stats() {
+        PoolStats stats = connectionManager.getTotalStats();
+        return new HttpPoolStats(
+                stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax());
+    }
+
+    @Override
+    @PreDestroy
+    public void close() {
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close Ollama HTTP client: {}", e.getMessage());
+        }
+    }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+}
@@ -3,8 +3,7 @@ package com.ai.llm.dto;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 /** Request DTO for Ollama generate API. */
-public record OllamaGenerateRequest(
-        String model, String prompt, @JsonProperty("num_predict") int numPredict, boolean stream) {
+public record OllamaGenerateRequest(String model, String prompt, boolean stream, Options options) {
     public OllamaGenerateRequest {
         if (model == null || model.isBlank()) {
             throw new IllegalArgumentException("Model cannot be null or blank");
@@ -12,8 +11,25 @@ public record OllamaGenerateRequest(
         if (prompt == null || prompt.isBlank()) {
             throw new IllegalArgumentException("Prompt cannot be null or blank");
         }
-        if (numPredict <= 0) {
-            throw new IllegalArgumentException("numPredict must be positive");
+        if (options == null) {
+            throw new IllegalArgumentException("Options cannot be null");
+        }
+    }
+
+    /**
+     * Model options: the context size to load the model with and the maximum number of tokens to
+     * generate. Without {@code num_ctx} Ollama uses its server default, which may be smaller than
+     * the prompt.
+     */
+    public record Options(
+            @JsonProperty("num_ctx") int numCtx, @JsonProperty("num_predict") int numPredict) {
+        public Options {
+            if (numCtx <= 0) {
+                throw new IllegalArgumentException("numCtx must be positive");
+            }
+            if (numPredict <= 0) {
+                throw new IllegalArgumentException("numPredict must be positive");
+            }
         }
     }
 }
@@ -1,23 +1,40 @@
 package com.ai.model;
 
-/** Strategies for retrieving context from the knowledge base. */
+/**
+ * Strategies for retrieving context from the knowledge base. Each one trades recall for latency
+ * through its result count and the approximate-index search effort spent finding them.
+ */
 public enum RetrievalStrategy {
-    /** Simple top-K semantic search. */
-    SIMPLE(5),
+    /** Simple top-K semantic search with a narrow index scan. */
+    SIMPLE(5, 40, 4),
 
     /** Increased retrieval depth for complex questions. */
-    DEEP(10),
+    DEEP(10, 100, 10),
 
-    /** Maximum context retrieval for difficult questions. */
-    EXHAUSTIVE(20);
+    /** Maximum context retrieval for difficult questions, scanning the index for high recall. */
+    EXHAUSTIVE(20, 200, 32);
 
     private final int defaultTopK;
+    private final int efSearch;
+    private final int probes;
 
-    RetrievalStrategy(int defaultTopK) {
+    RetrievalStrategy(int defaultTopK, int efSearch, int probes) {
         this.defaultTopK = defaultTopK;
+        this.efSearch = efSearch;
+        this.probes = probes;
     }
 
     public int defaultTopK() {
         return defaultTopK;
     }
+
+    /** Candidate list size for HNSW searches ({@code hnsw.ef_search} in pgvector). */
+    public int efSearch() {
+        return efSearch;
+    }
+
+    /** Lists scanned by IVFFlat searches ({@code ivfflat.probes} in pgvector). */
+    public int probes() {
+        return probes;
+    }
 }
@@ -0,0 +1,69 @@
+package com.ai.rag;
+
+import com.ai.domain.Chunk;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes chunks in PostgreSQL's binary COPY format for the column list {@code (id, document_id,
+ * text, position, embedding, content_hash)}. Text columns are UTF-8, {@code position} is an int4
+ * and {@code embedding} uses pgvector's binary representation: int16 dimension, int16 reserved,
+ * then one float4 per dimension, all big-endian.
+ */
+final class ChunkCopyEncoder {
+    // "PGCOPY\n\377\r\n\0"
+    private static final byte[] SIGNATURE = {
+        'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0
+    };
+    private static final short FIELD_COUNT = 6;
+    private static final short END_OF_DATA = -1;
+
+    private ChunkCopyEncoder() {
+        // Utility class
+    }
+
+    /** Writes the file header: signature, flags and an empty header extension. */
+    static void writeHeader(DataOutput out) throws IOException {
+        out.write(SIGNATURE);
+        out.writeInt(0);
+        out.writeInt(0);
+    }
+
+    /** Writes one tuple for the given chunk. */
+    static void writeRow(DataOutput out, Chunk chunk) throws IOException {
+        float[] vector = chunk.embedding().vector();
+        if (vector.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Embedding dimension exceeds pgvector limit: " + vector.length);
+        }
+
+        out.writeShort(FIELD_COUNT);
+        writeText(out, chunk.id());
+        writeText(out, chunk.documentId());
+        writeText(out, chunk.text());
+
+        out.writeInt(Integer.BYTES);
+        out.writeInt(chunk.position());
+
+        out.writeInt(2 * Short.BYTES + vector.length * Float.BYTES);
+        out.writeShort(vector.length);
+        out.writeShort(0);
+        for (float value : vector) {
+            out.writeFloat(value);
+        }
+
+        writeText(out, chunk.contentHash());
+    }
+
+    /** Writes the end-of-data marker. */
+    static void writeTrailer(DataOutput out) throws IOException {
+        out.writeShort(END_OF_DATA);
+    }
+
+    private static void writeText(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -1,7 +1,11 @@
 package com.ai.rag;
 
 import com.ai.domain.Chunk;
+import com.ai.domain.RetrievedChunk;
+import com.ai.model.RetrievalStrategy;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /** Repository for chunk storage and retrieval. */
 public interface ChunkRepository {
@@ -14,6 +18,19 @@ public interface ChunkRepository {
      */
     Chunk save(Chunk chunk);
 
+    /**
+     * Saves many chunks. Implementations may batch the writes; this default saves one at a time.
+     *
+     * @param chunks The chunks to save
+     * @return The saved chunks
+     */
+    default List<Chunk> saveAll(Collection<Chunk> chunks) {
+        if (chunks == null) {
+            throw new IllegalArgumentException("Chunks cannot be null");
+        }
+        return chunks.stream().map(this::save).toList();
+    }
+
     /**
      * Finds similar chunks using vector similarity search.
      *
@@ -23,6 +40,87 @@ public interface ChunkRepository {
      */
     List<Chunk> findSimilar(float[] queryEmbedding, int topK);
 
+    /**
+     * Finds similar chunks without loading their embeddings, returning each hit's distance to the
+     * query instead. Preferred for generation, which never reads the stored vectors.
+     *
+     * @param queryEmbedding The query embedding vector
+     * @param topK Number of results to return
+     * @return List of hits ordered by ascending cosine distance
+     */
+    List<RetrievedChunk> findSimilarMatches(float[] queryEmbedding, int topK);
+
+    /**
+     * Finds the strategy's {@code defaultTopK} similar chunks, spending the strategy's search
+     * effort in approximate indexes.
+     *
+     * @param queryEmbedding The query embedding vector
+     * @param strategy Result count and index search effort
+     * @return List of hits ordered by ascending cosine distance
+     */
+    default List<RetrievedChunk> findSimilarMatches(
+            float[] queryEmbedding, RetrievalStrategy strategy) {
+        return findSimilarMatches(queryEmbedding, strategy, strategy.defaultTopK());
+    }
+
+    /**
+     * Finds similar chunks spending the strategy's search effort in approximate indexes, raised to
+     * {@code topK} when more results are asked for than the effort would find. This default
+     * ignores the effort, for repositories that search exactly or have no tunable index.
+     *
+     * @param queryEmbedding The query embedding vector
+     * @param strategy Index search effort
+     * @param topK Number of results to return, overriding the strategy's {@code defaultTopK}
+     * @return List of hits ordered by ascending cosine distance
+     */
+    default List<RetrievedChunk> findSimilarMatches(
+            float[] queryEmbedding, RetrievalStrategy strategy, int topK) {
+        return findSimilarMatches(queryEmbedding, topK);
+    }
+
+    /**
+     * Finds chunks whose text shares terms with the query, best full-text match first, so exact
+     * identifiers and error codes are found even when their embeddings are not close. Each hit
+     * still carries its cosine distance to the query embedding. This default finds nothing, for
+     * repositories without a full-text index.
+     *
+     * @param query The query text
+     * @param queryEmbedding The query embedding vector, used for the hits' distances
+     * @param topK Number of results to return
+     * @return List of hits ordered by descending text rank
+     */
+    default List<RetrievedChunk> findLexicalMatches(
+            String query, float[] queryEmbedding, int topK) {
+        return List.of();
+    }
+
+    /**
+     * Returns the stored content hash of each chunk of a document, keyed by chunk ID. A chunk
+     * stored without a hash maps to {@code null}, so it is still listed but never matches.
+     *
+     * @param documentId The document ID
+     * @return Hashes of the document's stored chunks
+     * @see Chunk#hashOf(String)
+     */
+    Map<String, String> findContentHashes(String documentId);
+
+    /**
+     * Loads chunks by ID with their embeddings, so a chunk whose text moved to another position
+     * can be stored there without embedding it again. Unknown IDs are skipped; order is
+     * unspecified.
+     *
+     * @param ids The chunk IDs to load
+     * @return The stored chunks among the given IDs
+     */
+    List<Chunk> findByIds(Collection<String> ids);
+
+    /**
+     * Deletes the chunks with the given IDs. Unknown IDs are ignored.
+     *
+     * @param ids The chunk IDs to delete
+     */
+    void deleteByIds(Collection<String> ids);
+
     /** Deletes all chunks (for testing). */
     void deleteAll();
 }
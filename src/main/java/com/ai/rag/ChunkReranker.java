@@ -0,0 +1,205 @@
+package com.ai.rag;
+
+import com.ai.domain.RetrievedChunk;
+import com.ai.model.RetrievalStrategy;
+import com.ai.util.TokenEstimator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Narrows an over-fetched candidate list to the chunks worth prompting with, on the CPU and
+ * without model calls.
+ *
+ * <p>Each candidate's relevance blends its cosine similarity with its BM25 score for the question,
+ * computed over the candidate texts alone. Chunks are then picked by maximal marginal relevance
+ * (MMR): the next pick maximizes {@code lambda * relevance - (1 - lambda) * redundancy}, where
+ * redundancy is the highest term overlap (Jaccard) with a chunk already picked, so overlapping
+ * neighbours of one passage do not crowd out other sources. Picking stops at the requested count;
+ * chunks whose estimated tokens no longer fit {@code rerank.token-budget} are passed over.
+ */
+@Component
+public class ChunkReranker {
+    private static final Logger logger = LogManager.getLogger(ChunkReranker.class);
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    // Standard BM25 term-frequency saturation and length normalization
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+
+    private final RerankConfig config;
+
+    public ChunkReranker(RerankConfig config) {
+        this.config = config;
+    }
+
+    /** Returns whether retrievals with the strategy are re-ranked. */
+    public boolean appliesTo(RetrievalStrategy strategy) {
+        return config.strategies().contains(strategy);
+    }
+
+    /** Returns how many candidates to fetch for the strategy before re-ranking. */
+    public int candidateCount(RetrievalStrategy strategy) {
+        return strategy.defaultTopK() * config.candidateMultiplier();
+    }
+
+    /**
+     * Re-ranks candidates and keeps the best that fit the token budget.
+     *
+     * @param question The question text, or {@code null} to rank by similarity and diversity only
+     * @param candidates Candidates in retrieval order
+     * @param maxChunks Maximum number of chunks to keep
+     * @return Kept chunks, most relevant first
+     */
+    public List<RetrievedChunk> rerank(
+            String question, List<RetrievedChunk> candidates, int maxChunks) {
+        if (candidates == null) {
+            throw new IllegalArgumentException("Candidates cannot be null");
+        }
+        if (maxChunks <= 0) {
+            throw new IllegalArgumentException("Max chunks must be positive");
+        }
+
+        List<List<String>> terms = candidates.stream().map(c -> tokenize(c.text())).toList();
+        double[] relevance = relevance(question, candidates, terms);
+        List<Set<String>> termSets = new ArrayList<>(terms.size());
+        for (List<String> candidateTerms : terms) {
+            termSets.add(new HashSet<>(candidateTerms));
+        }
+
+        double lambda = config.mmrLambda();
+        int remainingTokens = config.tokenBudget();
+        List<Integer> open = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            open.add(i);
+        }
+        List<Integer> picked = new ArrayList<>(maxChunks);
+        while (picked.size() < maxChunks && !open.isEmpty()) {
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int candidate : open) {
+                double redundancy = 0.0;
+                for (int chosen : picked) {
+                    redundancy =
+                            Math.max(
+                                    redundancy,
+                                    jaccard(termSets.get(candidate), termSets.get(chosen)));
+                }
+                double score = lambda * relevance[candidate] - (1.0 - lambda) * redundancy;
+                // Strictly greater, so ties go to the earlier candidate in retrieval order
+                if (score > bestScore) {
+                    best = candidate;
+                    bestScore = score;
+                }
+            }
+            open.remove(Integer.valueOf(best));
+            int tokens = TokenEstimator.estimate(candidates.get(best).text());
+            if (tokens <= remainingTokens) {
+                picked.add(best);
+                remainingTokens -= tokens;
+            }
+        }
+
+        List<RetrievedChunk> kept = picked.stream().map(candidates::get).toList();
+        logger.debug(
+                "Re-ranked chunks - candidates: {}, kept: {}, tokens: {}",
+                candidates.size(),
+                kept.size(),
+                config.tokenBudget() - remainingTokens);
+        return kept;
+    }
+
+    /** Blends BM25, scaled to the best candidate's score, with cosine similarity in [0, 1]. */
+    private double[] relevance(
+            String question, List<RetrievedChunk> candidates, List<List<String>> terms) {
+        double[] bm25 = question != null ? bm25(tokenize(question), terms) : null;
+        double maxBm25 = 0.0;
+        if (bm25 != null) {
+            for (double score : bm25) {
+                maxBm25 = Math.max(maxBm25, score);
+            }
+        }
+        // Without question terms in any candidate, similarity alone decides
+        double lexicalWeight = maxBm25 > 0.0 ? config.lexicalWeight() : 0.0;
+
+        double[] relevance = new double[candidates.size()];
+        for (int i = 0; i < relevance.length; i++) {
+            double similarity = Math.clamp(candidates.get(i).similarity(), 0.0, 1.0);
+            double lexical = maxBm25 > 0.0 ? bm25[i] / maxBm25 : 0.0;
+            relevance[i] = lexicalWeight * lexical + (1.0 - lexicalWeight) * similarity;
+        }
+        return relevance;
+    }
+
+    /** Scores every document for the query, treating the documents as the whole corpus. */
+    static double[] bm25(List<String> query, List<List<String>> documents) {
+        double[] scores = new double[documents.size()];
+        if (documents.isEmpty()) {
+            return scores;
+        }
+        Set<String> queryTerms = new HashSet<>(query);
+        Map<String, Integer> documentFrequency = new HashMap<>();
+        long totalLength = 0;
+        for (List<String> document : documents) {
+            totalLength += document.size();
+            for (String term : new HashSet<>(document)) {
+                if (queryTerms.contains(term)) {
+                    documentFrequency.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+        double averageLength = Math.max(1.0, (double) totalLength / documents.size());
+        int n = documents.size();
+
+        for (int i = 0; i < n; i++) {
+            List<String> document = documents.get(i);
+            Map<String, Integer> termFrequency = new HashMap<>();
+            for (String term : document) {
+                if (queryTerms.contains(term)) {
+                    termFrequency.merge(term, 1, Integer::sum);
+                }
+            }
+            double lengthNorm = 1.0 - BM25_B + BM25_B * document.size() / averageLength;
+            double score = 0.0;
+            for (Map.Entry<String, Integer> entry : termFrequency.entrySet()) {
+                int df = documentFrequency.get(entry.getKey());
+                double idf = Math.log(1.0 + (n - df + 0.5) / (df + 0.5));
+                int tf = entry.getValue();
+                score += idf * tf * (BM25_K1 + 1.0) / (tf + BM25_K1 * lengthNorm);
+            }
+            scores[i] = score;
+        }
+        return scores;
+    }
+
+    /** Splits text into lowercase letter-and-digit terms. */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String term : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() && b.isEmpty()) {
+            return 0.0;
+        }
+        int shared = 0;
+        for (String term : a) {
+            if (b.contains(term)) {
+                shared++;
+            }
+        }
+        return (double) shared / (a.size() + b.size() - shared);
+    }
+}
@@ -0,0 +1,32 @@
+package com.ai.rag;
+
+import java.util.Set;
+
+/**
+ * Application event published after chunks are written or removed, so components holding derived
+ * state (such as cached answers citing those chunks) can invalidate it.
+ *
+ * @param chunkIds IDs of the chunks that changed; empty when {@code allChunks} is set
+ * @param allChunks Whether every chunk was affected (for example by {@code deleteAll})
+ */
+public record ChunksChangedEvent(Set<String> chunkIds, boolean allChunks) {
+    public ChunksChangedEvent {
+        if (chunkIds == null) {
+            throw new IllegalArgumentException("Chunk IDs cannot be null");
+        }
+        chunkIds = Set.copyOf(chunkIds);
+    }
+
+    public static ChunksChangedEvent of(String chunkId) {
+        return new ChunksChangedEvent(Set.of(chunkId), false);
+    }
+
+    public static ChunksChangedEvent all() {
+        return new ChunksChangedEvent(Set.of(), true);
+    }
+
+    /** Returns whether the event affects the given chunk. */
+    public boolean affects(String chunkId) {
+        return allChunks || chunkIds.contains(chunkId);
+    }
+}
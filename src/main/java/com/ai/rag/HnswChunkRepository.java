@@ -0,0 +1,145 @@
+package com.ai.rag;
+
+import com.ai.domain.Chunk;
+import com.ai.domain.RetrievedChunk;
+import com.ai.model.RetrievalStrategy;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+/**
+ * ChunkRepository backed by an in-process HNSW graph. Postgres stays the system of record: writes
+ * go through {@link JdbcChunkRepository} first and are then indexed, and the graph is warm-loaded
+ * from the {@code chunks} table at startup. Similarity search never leaves the JVM.
+ *
+ * <p>Enabled with {@code rag.repository-type=hnsw}.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(prefix = "rag", name = "repository-type", havingValue = "hnsw")
+public class HnswChunkRepository implements ChunkRepository {
+    private static final Logger logger = LogManager.getLogger(HnswChunkRepository.class);
+
+    private final JdbcChunkRepository delegate;
+    private final HnswIndex index;
+    private final Map<String, Chunk> chunksById = new ConcurrentHashMap<>();
+
+    public HnswChunkRepository(JdbcChunkRepository delegate, RagConfig config) {
+        this.delegate = delegate;
+        this.index =
+                new HnswIndex(config.hnswM(), config.hnswEfConstruction(), config.hnswEfSearch());
+    }
+
+    /** Loads every stored chunk into the graph. */
+    @PostConstruct
+    public void warmUp() {
+        long startTime = System.currentTimeMillis();
+        delegate.forEach(this::index);
+        logger.info(
+                "HNSW index warm-up completed - chunks: {}, durationMs: {}",
+                index.size(),
+                System.currentTimeMillis() - startTime);
+    }
+
+    @Override
+    public Chunk save(Chunk chunk) {
+        Chunk saved = delegate.save(chunk);
+        index(saved);
+        return saved;
+    }
+
+    @Override
+    public List<Chunk> saveAll(Collection<Chunk> chunks) {
+        List<Chunk> saved = delegate.saveAll(chunks);
+        saved.forEach(this::index);
+        return saved;
+    }
+
+    @Override
+    public List<Chunk> findSimilar(float[] queryEmbedding, int topK) {
+        List<HnswIndex.Match> matches = index.search(queryEmbedding, topK);
+        List<Chunk> chunks = new ArrayList<>(matches.size());
+        for (HnswIndex.Match match : matches) {
+            Chunk chunk = chunksById.get(match.id());
+            if (chunk != null) {
+                chunks.add(chunk);
+            }
+        }
+        return chunks;
+    }
+
+    @Override
+    public List<RetrievedChunk> findSimilarMatches(float[] queryEmbedding, int topK) {
+        return toHits(index.search(queryEmbedding, topK));
+    }
+
+    /** Searches with the strategy's {@code efSearch} in place of {@code rag.hnsw-ef-search}. */
+    @Override
+    public List<RetrievedChunk> findSimilarMatches(
+            float[] queryEmbedding, RetrievalStrategy strategy, int topK) {
+        return toHits(index.search(queryEmbedding, topK, strategy.efSearch()));
+    }
+
+    /** Runs the full-text search in Postgres, which holds the text index. */
+    @Override
+    public List<RetrievedChunk> findLexicalMatches(
+            String query, float[] queryEmbedding, int topK) {
+        return delegate.findLexicalMatches(query, queryEmbedding, topK);
+    }
+
+    private List<RetrievedChunk> toHits(List<HnswIndex.Match> matches) {
+        List<RetrievedChunk> hits = new ArrayList<>(matches.size());
+        for (HnswIndex.Match match : matches) {
+            Chunk chunk = chunksById.get(match.id());
+            if (chunk != null) {
+                hits.add(RetrievedChunk.of(chunk, match.distance()));
+            }
+        }
+        return hits;
+    }
+
+    @Override
+    public Map<String, String> findContentHashes(String documentId) {
+        return delegate.findContentHashes(documentId);
+    }
+
+    @Override
+    public List<Chunk> findByIds(Collection<String> ids) {
+        return delegate.findByIds(ids);
+    }
+
+    @Override
+    public void deleteByIds(Collection<String> ids) {
+        delegate.deleteByIds(ids);
+        for (String id : ids) {
+            index.remove(id);
+            chunksById.remove(id);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        delegate.deleteAll();
+        index.clear();
+        chunksById.clear();
+    }
+
+    /** Returns the number of chunks held in the in-memory graph. */
+    public int indexedCount() {
+        return index.size();
+    }
+
+    private void index(Chunk chunk) {
+        // Publish the chunk before its vector so a concurrent search never sees an unknown ID.
+        chunksById.put(chunk.id(), chunk);
+        index.add(chunk.id(), chunk.embedding().vector());
+    }
+}
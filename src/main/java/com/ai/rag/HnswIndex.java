@@ -0,0 +1,461 @@
+package com.ai.rag;
+
+import com.ai.util.VectorMath;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory Hierarchical Navigable Small World graph for approximate nearest neighbour search
+ * using cosine distance.
+ *
+ * <p>Vectors are L2-normalized on insert and kept as primitive {@code float[]} arrays, so cosine
+ * distance reduces to {@code 1 - dot(a, b)}. Re-inserting an existing ID tombstones the old node
+ * and links a new one; tombstoned nodes stay traversable but are never returned. Once tombstones
+ * make up more than half of the graph, it is rebuilt from the live vectors, so replaced and removed
+ * vectors cannot pile up. Searches run concurrently under a read lock, inserts are serialized
+ * under the write lock.
+ */
+public final class HnswIndex {
+    private static final Comparator<Candidate> NEAREST_FIRST =
+            Comparator.comparingDouble(Candidate::distance);
+    private static final Comparator<Candidate> FURTHEST_FIRST = NEAREST_FIRST.reversed();
+    private static final double MAX_TOMBSTONE_FRACTION = 0.5;
+
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<String, Integer> liveNodes = new HashMap<>();
+    private volatile int efSearch;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private int dimension = -1;
+
+    /** A search hit: the indexed ID and its cosine distance to the query. */
+    public record Match(String id, float distance) {}
+
+    private record Candidate(int node, float distance) {}
+
+    private static final class Node {
+        private final String id;
+        private final float[] vector;
+        private final int[][] neighbors;
+        private final int[] neighborCounts;
+        private boolean deleted;
+
+        private Node(String id, float[] vector, int level, int m, int maxM0) {
+            this.id = id;
+            this.vector = vector;
+            this.neighbors = new int[level + 1][];
+            this.neighborCounts = new int[level + 1];
+            for (int l = 0; l <= level; l++) {
+                neighbors[l] = new int[(l == 0 ? maxM0 : m) + 1];
+            }
+        }
+
+        private int level() {
+            return neighbors.length - 1;
+        }
+    }
+
+    public HnswIndex(int m, int efConstruction, int efSearch) {
+        if (m < 2) {
+            throw new IllegalArgumentException("M must be at least 2");
+        }
+        if (efConstruction <= 0) {
+            throw new IllegalArgumentException("efConstruction must be positive");
+        }
+        if (efSearch <= 0) {
+            throw new IllegalArgumentException("efSearch must be positive");
+        }
+        this.m = m;
+        this.maxM0 = 2 * m;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.levelMultiplier = 1.0 / Math.log(m);
+    }
+
+    /**
+     * Inserts or replaces the vector stored under the given ID.
+     *
+     * @param id The identifier returned by searches
+     * @param vector The vector to index (copied and normalized)
+     */
+    public void add(String id, float[] vector) {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("ID cannot be null or blank");
+        }
+        float[] normalized = VectorMath.normalize(vector);
+
+        lock.writeLock().lock();
+        try {
+            if (dimension == -1) {
+                dimension = normalized.length;
+            } else if (dimension != normalized.length) {
+                throw new IllegalArgumentException(
+                        "Vector dimension " + normalized.length + " does not match " + dimension);
+            }
+
+            Integer previous = liveNodes.remove(id);
+            if (previous != null) {
+                nodes.get(previous).deleted = true;
+            }
+            insert(id, normalized);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the approximate nearest neighbours of a query vector.
+     *
+     * @param query The query vector
+     * @param k Maximum number of results
+     * @return Matches ordered by ascending cosine distance
+     */
+    public List<Match> search(float[] query, int k) {
+        return search(query, k, efSearch);
+    }
+
+    /**
+     * Finds the approximate nearest neighbours of a query vector with a per-call candidate list
+     * size in place of {@link #efSearch()}.
+     *
+     * @param query The query vector
+     * @param k Maximum number of results
+     * @param ef Candidate list size; larger finds more true neighbours at higher cost
+     * @return Matches ordered by ascending cosine distance
+     */
+    public List<Match> search(float[] query, int k, int ef) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        if (ef <= 0) {
+            throw new IllegalArgumentException("efSearch must be positive");
+        }
+        float[] normalized = VectorMath.normalize(query);
+
+        lock.readLock().lock();
+        try {
+            if (entryPoint == -1) {
+                return List.of();
+            }
+            if (normalized.length != dimension) {
+                throw new IllegalArgumentException(
+                        "Query dimension " + normalized.length + " does not match " + dimension);
+            }
+
+            Candidate current = new Candidate(entryPoint, distance(normalized, entryPoint));
+            for (int l = maxLevel; l > 0; l--) {
+                current = greedyClosest(normalized, current, l);
+            }
+
+            // Tombstoned nodes occupy result slots, so widen the beam by their share.
+            int tombstones = nodes.size() - liveNodes.size();
+            int beam = Math.max(ef, k) + Math.min(tombstones, k);
+            List<Candidate> candidates =
+                    searchLayer(normalized, List.of(current), beam, 0, nodes.size());
+
+            List<Match> matches = new ArrayList<>(Math.min(k, candidates.size()));
+            for (Candidate candidate : candidates) {
+                Node node = nodes.get(candidate.node());
+                if (!node.deleted) {
+                    matches.add(new Match(node.id, candidate.distance()));
+                    if (matches.size() == k) {
+                        break;
+                    }
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the vector stored under the given ID. Its node stays in the graph as a routing point
+     * but is no longer returned by searches, until tombstones pass half of the graph and it is
+     * rebuilt.
+     *
+     * @param id The identifier to remove
+     * @return Whether a live vector was stored under the ID
+     */
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer node = liveNodes.remove(id);
+            if (node == null) {
+                return false;
+            }
+            nodes.get(node).deleted = true;
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Removes every vector from the index. */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            nodes.clear();
+            liveNodes.clear();
+            entryPoint = -1;
+            maxLevel = -1;
+            dimension = -1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Returns the number of live (non-replaced) vectors. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveNodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns whether a live vector is stored under the given ID. */
+    public boolean contains(String id) {
+        lock.readLock().lock();
+        try {
+            return liveNodes.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns the number of nodes in the graph, tombstones included. */
+    int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int efSearch() {
+        return efSearch;
+    }
+
+    public void setEfSearch(int efSearch) {
+        if (efSearch <= 0) {
+            throw new IllegalArgumentException("efSearch must be positive");
+        }
+        this.efSearch = efSearch;
+    }
+
+    /** Links a new node for a normalized vector; the caller holds the write lock. */
+    private void insert(String id, float[] normalized) {
+        int level = randomLevel();
+        int nodeId = nodes.size();
+        Node node = new Node(id, normalized, level, m, maxM0);
+        nodes.add(node);
+        liveNodes.put(id, nodeId);
+
+        if (entryPoint == -1) {
+            entryPoint = nodeId;
+            maxLevel = level;
+            return;
+        }
+
+        Candidate current = new Candidate(entryPoint, distance(normalized, entryPoint));
+        for (int l = maxLevel; l > level; l--) {
+            current = greedyClosest(normalized, current, l);
+        }
+
+        List<Candidate> entryPoints = List.of(current);
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            List<Candidate> candidates =
+                    searchLayer(normalized, entryPoints, efConstruction, l, nodes.size());
+            List<Candidate> selected = selectNeighbors(candidates, m);
+            for (Candidate neighbor : selected) {
+                link(nodeId, neighbor.node(), l);
+                link(neighbor.node(), nodeId, l);
+            }
+            entryPoints = candidates;
+        }
+
+        if (level > maxLevel) {
+            entryPoint = nodeId;
+            maxLevel = level;
+        }
+    }
+
+    /**
+     * Rebuilds the graph from the live vectors once tombstones exceed {@link
+     * #MAX_TOMBSTONE_FRACTION} of its nodes. The caller holds the write lock.
+     */
+    private void compactIfNeeded() {
+        int tombstones = nodes.size() - liveNodes.size();
+        if (tombstones <= nodes.size() * MAX_TOMBSTONE_FRACTION) {
+            return;
+        }
+        List<Node> live = new ArrayList<>(liveNodes.size());
+        for (Node node : nodes) {
+            if (!node.deleted) {
+                live.add(node);
+            }
+        }
+        nodes.clear();
+        liveNodes.clear();
+        entryPoint = -1;
+        maxLevel = -1;
+        for (Node node : live) {
+            insert(node.id, node.vector);
+        }
+    }
+
+    private int randomLevel() {
+        double uniform = 1.0 - random.nextDouble(); // (0, 1]
+        return (int) Math.floor(-Math.log(uniform) * levelMultiplier);
+    }
+
+    private Candidate greedyClosest(float[] query, Candidate start, int level) {
+        Candidate best = start;
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            Node node = nodes.get(best.node());
+            int[] neighbors = node.neighbors[level];
+            for (int i = 0; i < node.neighborCounts[level]; i++) {
+                float d = distance(query, neighbors[i]);
+                if (d < best.distance()) {
+                    best = new Candidate(neighbors[i], d);
+                    improved = true;
+                }
+            }
+        }
+        return best;
+    }
+
+    /** Beam search on one layer; returns up to {@code ef} candidates, nearest first. */
+    private List<Candidate> searchLayer(
+            float[] query, List<Candidate> entryPoints, int ef, int level, int nodeCount) {
+        BitSet visited = new BitSet(nodeCount);
+        PriorityQueue<Candidate> frontier = new PriorityQueue<>(NEAREST_FIRST);
+        PriorityQueue<Candidate> results = new PriorityQueue<>(FURTHEST_FIRST);
+
+        for (Candidate entry : entryPoints) {
+            if (!visited.get(entry.node())) {
+                visited.set(entry.node());
+                frontier.add(entry);
+                results.add(entry);
+                if (results.size() > ef) {
+                    results.poll();
+                }
+            }
+        }
+
+        while (!frontier.isEmpty()) {
+            Candidate closest = frontier.poll();
+            if (results.size() >= ef && closest.distance() > results.peek().distance()) {
+                break;
+            }
+            Node node = nodes.get(closest.node());
+            if (node.level() < level) {
+                continue;
+            }
+            int[] neighbors = node.neighbors[level];
+            for (int i = 0; i < node.neighborCounts[level]; i++) {
+                int neighbor = neighbors[i];
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                float d = distance(query, neighbor);
+                if (results.size() < ef || d < results.peek().distance()) {
+                    Candidate candidate = new Candidate(neighbor, d);
+                    frontier.add(candidate);
+                    results.add(candidate);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+
+        List<Candidate> ordered = new ArrayList<>(results);
+        ordered.sort(NEAREST_FIRST);
+        return ordered;
+    }
+
+    /**
+     * Neighbour selection heuristic from the HNSW paper: a candidate is kept only if it is closer
+     * to the base node than to every neighbour already kept, which favours diverse directions.
+     * Remaining slots are back-filled with the nearest pruned candidates.
+     */
+    private List<Candidate> selectNeighbors(List<Candidate> candidates, int limit) {
+        if (candidates.size() <= limit) {
+            return candidates;
+        }
+        List<Candidate> selected = new ArrayList<>(limit);
+        List<Candidate> pruned = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (selected.size() >= limit) {
+                break;
+            }
+            float[] vector = nodes.get(candidate.node()).vector;
+            boolean diverse = true;
+            for (Candidate kept : selected) {
+                if (distance(vector, kept.node()) < candidate.distance()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(candidate);
+            } else {
+                pruned.add(candidate);
+            }
+        }
+        for (int i = 0; i < pruned.size() && selected.size() < limit; i++) {
+            selected.add(pruned.get(i));
+        }
+        return selected;
+    }
+
+    private void link(int from, int to, int level) {
+        Node node = nodes.get(from);
+        int maxConnections = level == 0 ? maxM0 : m;
+        int count = node.neighborCounts[level];
+        node.neighbors[level][count] = to;
+        node.neighborCounts[level] = ++count;
+
+        if (count > maxConnections) {
+            List<Candidate> current = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int neighbor = node.neighbors[level][i];
+                current.add(new Candidate(neighbor, distance(node.vector, neighbor)));
+            }
+            current.sort(NEAREST_FIRST);
+            List<Candidate> kept = selectNeighbors(current, maxConnections);
+            for (int i = 0; i < kept.size(); i++) {
+                node.neighbors[level][i] = kept.get(i).node();
+            }
+            node.neighborCounts[level] = kept.size();
+        }
+    }
+
+    private float distance(float[] query, int node) {
+        return 1f - VectorMath.dot(query, nodes.get(node).vector);
+    }
+}
@@ -2,31 +2,110 @@ package com.ai.rag;
 
 import com.ai.domain.Chunk;
 import com.ai.domain.Embedding;
+import com.ai.domain.RetrievedChunk;
+import com.ai.model.RetrievalStrategy;
 import com.pgvector.PGvector;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
-/** JDBC implementation of ChunkRepository using pgvector. */
+/**
+ * JDBC implementation of ChunkRepository using pgvector. Vectors are bound as {@link PGvector}
+ * objects so connections prepared by {@link PgVectorDataSourcePostProcessor} send them in binary.
+ */
 @Repository
 public class JdbcChunkRepository implements ChunkRepository {
+    private static final Logger logger = LogManager.getLogger(JdbcChunkRepository.class);
+
+    // Session-local; rows vanish at each commit, so a pooled connection can reuse it
+    private static final String CREATE_STAGING_SQL =
+            "CREATE TEMP TABLE IF NOT EXISTS chunks_staging ("
+                    + "id VARCHAR(255), document_id VARCHAR(255), text TEXT, "
+                    + "position INTEGER, embedding vector, content_hash CHAR(64)) "
+                    + "ON COMMIT DELETE ROWS";
+    private static final String COPY_SQL =
+            "COPY chunks_staging (id, document_id, text, position, embedding, content_hash) "
+                    + "FROM STDIN (FORMAT BINARY)";
+    private static final String MERGE_SQL =
+            "INSERT INTO chunks (id, document_id, text, position, embedding, content_hash) "
+                    + "SELECT id, document_id, text, position, embedding, content_hash "
+                    + "FROM chunks_staging "
+                    + "ON CONFLICT (id) DO UPDATE SET "
+                    + "text = EXCLUDED.text, embedding = EXCLUDED.embedding, "
+                    + "content_hash = EXCLUDED.content_hash";
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+    // Ordering by the select-list alias keeps the distance expression index-eligible
+    private static final String MATCHES_SQL =
+            "SELECT id, document_id, text, position, embedding <=> ? AS distance "
+                    + "FROM chunks "
+                    + "ORDER BY distance "
+                    + "LIMIT ?";
+    // Transaction-local (is_local = true), so the settings end with the query's transaction
+    private static final String SEARCH_EFFORT_SQL =
+            "SELECT set_config('hnsw.ef_search', ?, true), set_config('ivfflat.probes', ?, true)";
+
+    // plainto_tsquery ANDs the question's terms; OR-ing them lets any shared term match and leaves
+    // ts_rank_cd to prefer chunks that share more of them
+    private static final String LEXICAL_MATCHES_SQL =
+            "SELECT id, document_id, text, position, embedding <=> ? AS distance "
+                    + "FROM chunks, "
+                    + "CAST(replace(plainto_tsquery('english', ?)::text, '&', '|') AS tsquery) "
+                    + "AS query "
+                    + "WHERE search_vector @@ query "
+                    + "ORDER BY ts_rank_cd(search_vector, query) DESC, id "
+                    + "LIMIT ?";
 
     private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RagConfig config;
 
-    public JdbcChunkRepository(JdbcTemplate jdbcTemplate) {
+    @Autowired
+    public JdbcChunkRepository(
+            JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher, RagConfig config) {
         this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.config = config;
+    }
+
+    /** Creates a repository with default settings. */
+    JdbcChunkRepository(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher) {
+        this(jdbcTemplate, eventPublisher, new RagConfig());
     }
 
     @Override
     public Chunk save(Chunk chunk) {
         String sql =
-                "INSERT INTO chunks (id, document_id, text, position, embedding) "
-                        + "VALUES (?, ?, ?, ?, ?::vector) "
+                "INSERT INTO chunks (id, document_id, text, position, embedding, content_hash) "
+                        + "VALUES (?, ?, ?, ?, ?::vector, ?) "
                         + "ON CONFLICT (id) DO UPDATE SET "
-                        + "text = EXCLUDED.text, embedding = EXCLUDED.embedding";
+                        + "text = EXCLUDED.text, embedding = EXCLUDED.embedding, "
+                        + "content_hash = EXCLUDED.content_hash";
 
         PGvector pgVector = new PGvector(chunk.embedding().vector());
 
@@ -36,11 +115,85 @@ public class JdbcChunkRepository implements ChunkRepository {
                 chunk.documentId(),
                 chunk.text(),
                 chunk.position(),
-                pgVector.toString());
+                pgVector,
+                chunk.contentHash());
 
+        eventPublisher.publishEvent(ChunksChangedEvent.of(chunk.id()));
         return chunk;
     }
 
+    /**
+     * Bulk-loads chunks with {@code COPY ... FROM STDIN (FORMAT BINARY)} into a session-local
+     * staging table, then merges them into {@code chunks} with the same upsert rules as {@link
+     * #save}. Each batch of {@code rag.copy-batch-size} chunks commits on its own, so a failure
+     * leaves earlier batches stored. When an ID repeats, its last chunk wins.
+     */
+    @Override
+    public List<Chunk> saveAll(Collection<Chunk> chunks) {
+        if (chunks == null) {
+            throw new IllegalArgumentException("Chunks cannot be null");
+        }
+        // One merge statement cannot update the same row twice, so collapse repeated IDs first
+        Map<String, Chunk> chunksById = new LinkedHashMap<>();
+        for (Chunk chunk : chunks) {
+            chunksById.put(chunk.id(), chunk);
+        }
+        List<Chunk> unique = List.copyOf(chunksById.values());
+
+        long startTime = System.currentTimeMillis();
+        int batchSize = config.copyBatchSize();
+        for (int start = 0; start < unique.size(); start += batchSize) {
+            List<Chunk> batch = unique.subList(start, Math.min(start + batchSize, unique.size()));
+            jdbcTemplate.execute(
+                    (ConnectionCallback<Void>) connection -> copyBatch(connection, batch));
+            Set<String> ids = batch.stream().map(Chunk::id).collect(Collectors.toSet());
+            eventPublisher.publishEvent(new ChunksChangedEvent(ids, false));
+        }
+
+        logger.info(
+                "Bulk chunk load completed - chunks: {}, batchSize: {}, durationMs: {}",
+                unique.size(),
+                batchSize,
+                System.currentTimeMillis() - startTime);
+        return unique;
+    }
+
+    private static Void copyBatch(Connection connection, List<Chunk> batch) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING_SQL);
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            try {
+                DataOutputStream out =
+                        new DataOutputStream(
+                                new BufferedOutputStream(
+                                        new CopyInOutputStream(copyIn), COPY_BUFFER_BYTES));
+                ChunkCopyEncoder.writeHeader(out);
+                for (Chunk chunk : batch) {
+                    ChunkCopyEncoder.writeRow(out, chunk);
+                }
+                ChunkCopyEncoder.writeTrailer(out);
+                out.flush();
+                copyIn.endCopy();
+            } catch (IOException e) {
+                throw new SQLException("Failed to stream chunks to COPY", e);
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+            statement.executeUpdate(MERGE_SQL);
+            connection.commit();
+            return null;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
     @Override
     public List<Chunk> findSimilar(float[] queryEmbedding, int topK) {
         String sql =
@@ -51,15 +204,157 @@ public class JdbcChunkRepository implements ChunkRepository {
 
         PGvector pgVector = new PGvector(queryEmbedding);
 
-        return jdbcTemplate.query(sql, new ChunkRowMapper(), pgVector.toString(), topK);
+        return jdbcTemplate.query(sql, new ChunkRowMapper(), pgVector, topK);
+    }
+
+    @Override
+    public List<RetrievedChunk> findSimilarMatches(float[] queryEmbedding, int topK) {
+        PGvector pgVector = new PGvector(queryEmbedding);
+
+        return jdbcTemplate.query(MATCHES_SQL, new RetrievedChunkRowMapper(), pgVector, topK);
+    }
+
+    /**
+     * Runs the projection query with the strategy's {@code hnsw.ef_search} and {@code
+     * ivfflat.probes}. Both are set for one transaction only, so they never leak into other queries
+     * on the pooled connection; the one that does not match the index type is ignored. An HNSW
+     * scan returns at most {@code ef_search} rows, so it is raised to {@code topK} if lower.
+     */
+    @Override
+    public List<RetrievedChunk> findSimilarMatches(
+            float[] queryEmbedding, RetrievalStrategy strategy, int topK) {
+        PGvector pgVector = new PGvector(queryEmbedding);
+
+        return jdbcTemplate.execute(
+                (ConnectionCallback<List<RetrievedChunk>>)
+                        connection -> searchWithEffort(connection, pgVector, strategy, topK));
+    }
+
+    /** Searches the GIN-indexed {@code search_vector} column with the query's terms. */
+    @Override
+    public List<RetrievedChunk> findLexicalMatches(
+            String query, float[] queryEmbedding, int topK) {
+        PGvector pgVector = new PGvector(queryEmbedding);
+
+        return jdbcTemplate.query(
+                LEXICAL_MATCHES_SQL, new RetrievedChunkRowMapper(), pgVector, query, topK);
+    }
+
+    private static List<RetrievedChunk> searchWithEffort(
+            Connection connection, PGvector query, RetrievalStrategy strategy, int topK)
+            throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            try (PreparedStatement settings = connection.prepareStatement(SEARCH_EFFORT_SQL)) {
+                settings.setString(1, Integer.toString(Math.max(strategy.efSearch(), topK)));
+                settings.setString(2, Integer.toString(strategy.probes()));
+                settings.execute();
+            }
+            List<RetrievedChunk> hits = new ArrayList<>(topK);
+            try (PreparedStatement select = connection.prepareStatement(MATCHES_SQL)) {
+                select.setObject(1, query);
+                select.setInt(2, topK);
+                try (ResultSet rs = select.executeQuery()) {
+                    RetrievedChunkRowMapper mapper = new RetrievedChunkRowMapper();
+                    while (rs.next()) {
+                        hits.add(mapper.mapRow(rs, hits.size()));
+                    }
+                }
+            }
+            connection.commit();
+            return hits;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    @Override
+    public Map<String, String> findContentHashes(String documentId) {
+        String sql = "SELECT id, content_hash FROM chunks WHERE document_id = ?";
+        // Not Collectors.toMap, which rejects the null hashes of rows written before hashing
+        Map<String, String> hashes = new HashMap<>();
+        jdbcTemplate.query(
+                sql,
+                (RowCallbackHandler)
+                        rs -> hashes.put(rs.getString("id"), rs.getString("content_hash")),
+                documentId);
+        return hashes;
+    }
+
+    @Override
+    public List<Chunk> findByIds(Collection<String> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("IDs cannot be null");
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String sql =
+                "SELECT id, document_id, text, position, embedding FROM chunks WHERE id = ANY(?)";
+        return jdbcTemplate.query(sql, new ChunkRowMapper(), (Object) ids.toArray(String[]::new));
+    }
+
+    @Override
+    public void deleteByIds(Collection<String> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("IDs cannot be null");
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = ids.stream().map(id -> new Object[] {id}).toList();
+        jdbcTemplate.batchUpdate("DELETE FROM chunks WHERE id = ?", args);
+        eventPublisher.publishEvent(new ChunksChangedEvent(Set.copyOf(ids), false));
+    }
+
+    /**
+     * Loads chunks by ID without their embeddings, pairing each with a distance scored elsewhere.
+     * IDs no longer stored are skipped; rows come back in no particular order.
+     *
+     * @param distancesById Cosine distances keyed by chunk ID
+     * @return The stored chunks among the given IDs
+     */
+    public List<RetrievedChunk> findMatchesById(Map<String, Double> distancesById) {
+        if (distancesById.isEmpty()) {
+            return List.of();
+        }
+        String sql = "SELECT id, document_id, text, position FROM chunks WHERE id = ANY(?)";
+        return jdbcTemplate.query(
+                sql,
+                (rs, rowNum) -> {
+                    String id = rs.getString("id");
+                    return new RetrievedChunk(
+                            id,
+                            rs.getString("document_id"),
+                            rs.getString("text"),
+                            rs.getInt("position"),
+                            distancesById.get(id));
+                },
+                (Object) distancesById.keySet().toArray(String[]::new));
+    }
+
+    /**
+     * Streams every stored chunk to the given action without materializing the full table.
+     *
+     * @param action Callback invoked once per chunk
+     */
+    public void forEach(Consumer<Chunk> action) {
+        String sql = "SELECT id, document_id, text, position, embedding FROM chunks";
+        ChunkRowMapper mapper = new ChunkRowMapper();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> action.accept(mapper.mapRow(rs, 0)));
     }
 
     @Override
     public void deleteAll() {
         jdbcTemplate.update("DELETE FROM chunks");
+        eventPublisher.publishEvent(ChunksChangedEvent.all());
     }
 
-    private static class ChunkRowMapper implements RowMapper<Chunk> {
+    static final class ChunkRowMapper implements RowMapper<Chunk> {
         @Override
         public Chunk mapRow(ResultSet rs, int rowNum) throws SQLException {
             String id = rs.getString("id");
@@ -72,7 +367,7 @@ public class JdbcChunkRepository implements ChunkRepository {
             if (embeddingObj instanceof PGvector pgVector) {
                 vector = pgVector.toArray();
             } else if (embeddingObj instanceof org.postgresql.util.PGobject pgObject) {
-                // Parse the PGobject string representation as a PGvector
+                // Type not registered on this connection: parse the text representation
                 vector = new PGvector(pgObject.getValue()).toArray();
             } else {
                 throw new SQLException(
@@ -86,4 +381,40 @@ public class JdbcChunkRepository implements ChunkRepository {
             return new Chunk(id, documentId, text, position, embedding);
         }
     }
+
+    /** Forwards encoder output to an open COPY operation. */
+    private static final class CopyInOutputStream extends OutputStream {
+        private final CopyIn copyIn;
+
+        private CopyInOutputStream(CopyIn copyIn) {
+            this.copyIn = copyIn;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            try {
+                copyIn.writeToCopy(buffer, offset, length);
+            } catch (SQLException e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+    /** Maps projection rows of {@link #findSimilarMatches}, which carry no embedding column. */
+    static final class RetrievedChunkRowMapper implements RowMapper<RetrievedChunk> {
+        @Override
+        public RetrievedChunk mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new RetrievedChunk(
+                    rs.getString("id"),
+                    rs.getString("document_id"),
+                    rs.getString("text"),
+                    rs.getInt("position"),
+                    rs.getDouble("distance"));
+        }
+    }
 }
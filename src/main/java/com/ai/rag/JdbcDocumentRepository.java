@@ -0,0 +1,71 @@
+package com.ai.rag;
+
+import com.ai.domain.Document;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/** JDBC implementation of DocumentRepository. */
+@Repository
+public class JdbcDocumentRepository implements DocumentRepository {
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public JdbcDocumentRepository(
+            JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /** Inserts the document, or replaces the title, content and source of an existing one. */
+    @Override
+    public Document save(Document document) {
+        String sql =
+                "INSERT INTO documents (id, title, content, source, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?) "
+                        + "ON CONFLICT (id) DO UPDATE SET "
+                        + "title = EXCLUDED.title, content = EXCLUDED.content, "
+                        + "source = EXCLUDED.source";
+
+        jdbcTemplate.update(
+                sql,
+                document.id(),
+                document.title(),
+                document.content(),
+                document.source(),
+                Timestamp.from(document.createdAt()));
+        return document;
+    }
+
+    @Override
+    public Optional<Document> findById(String id) {
+        String sql = "SELECT id, title, content, source, created_at FROM documents WHERE id = ?";
+        List<Document> documents = jdbcTemplate.query(sql, new DocumentRowMapper(), id);
+        return documents.stream().findFirst();
+    }
+
+    /** Deletes all documents; their chunks go with them through the cascading foreign key. */
+    @Override
+    public void deleteAll() {
+        jdbcTemplate.update("DELETE FROM documents");
+        eventPublisher.publishEvent(ChunksChangedEvent.all());
+    }
+
+    static final class DocumentRowMapper implements RowMapper<Document> {
+        @Override
+        public Document mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new Document(
+                    rs.getString("id"),
+                    rs.getString("title"),
+                    rs.getString("content"),
+                    rs.getString("source"),
+                    rs.getTimestamp("created_at").toInstant());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.ai.rag;
+
+import com.ai.domain.Chunk;
+import com.ai.domain.Embedding;
+import com.ai.domain.RetrievedChunk;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+/**
+ * ChunkRepository that scores queries against a {@link MappedVectorStore} instead of the heap or
+ * the database. Postgres stays the system of record: writes go through {@link JdbcChunkRepository}
+ * first and are then mirrored into the mapped files, and search hits are hydrated from the {@code
+ * chunks} table by ID without their embeddings.
+ *
+ * <p>The store survives restarts, so startup only maps the files; it is loaded from Postgres only
+ * when it is empty. Chunks written by other processes are not mirrored; delete the store directory
+ * to rebuild it.
+ *
+ * <p>With {@code rag.quantization=int8}, searches scan the store's int8 codes and re-rank the best
+ * {@code rag.rerank-candidates} on the float rows.
+ *
+ * <p>Enabled with {@code rag.repository-type=mapped}.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(prefix = "rag", name = "repository-type", havingValue = "mapped")
+public class MappedChunkRepository implements ChunkRepository {
+    private static final Logger logger = LogManager.getLogger(MappedChunkRepository.class);
+    private static final Comparator<RetrievedChunk> NEAREST_FIRST =
+            Comparator.comparingDouble(RetrievedChunk::distance);
+
+    private final JdbcChunkRepository delegate;
+    private final MappedVectorStore store;
+    private final RagConfig config;
+
+    @Autowired
+    public MappedChunkRepository(JdbcChunkRepository delegate, RagConfig config) {
+        this(delegate, MappedVectorStore.open(Path.of(config.mappedStorePath())), config);
+    }
+
+    MappedChunkRepository(JdbcChunkRepository delegate, MappedVectorStore store, RagConfig config) {
+        this.delegate = delegate;
+        this.store = store;
+        this.config = config;
+    }
+
+    /** Loads every stored chunk into the mapped files if they are empty. */
+    @PostConstruct
+    public void warmUp() {
+        if (store.size() > 0) {
+            logger.info(
+                    "Opened mapped vector store - vectors: {}, dimension: {}, quantization: {}",
+                    store.size(),
+                    store.dimension(),
+                    config.quantization());
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        delegate.forEach(chunk -> store.put(chunk.id(), chunk.embedding().vector()));
+        store.flush();
+        logger.info(
+                "Mapped vector store loaded from database - vectors: {}, durationMs: {}",
+                store.size(),
+                System.currentTimeMillis() - startTime);
+    }
+
+    /** Flushes and unmaps the store. */
+    @PreDestroy
+    public void close() {
+        store.flush();
+        store.close();
+    }
+
+    @Override
+    public Chunk save(Chunk chunk) {
+        Chunk saved = delegate.save(chunk);
+        store.put(saved.id(), saved.embedding().vector());
+        return saved;
+    }
+
+    @Override
+    public List<Chunk> saveAll(Collection<Chunk> chunks) {
+        List<Chunk> saved = delegate.saveAll(chunks);
+        for (Chunk chunk : saved) {
+            store.put(chunk.id(), chunk.embedding().vector());
+        }
+        return saved;
+    }
+
+    /** Returns the nearest chunks with their stored (normalized) embeddings. */
+    @Override
+    public List<Chunk> findSimilar(float[] queryEmbedding, int topK) {
+        List<RetrievedChunk> matches = findSimilarMatches(queryEmbedding, topK);
+        List<Chunk> chunks = new ArrayList<>(matches.size());
+        for (RetrievedChunk match : matches) {
+            Optional<float[]> vector = store.vector(match.id());
+            if (vector.isPresent()) {
+                Embedding embedding = new Embedding(vector.get(), "nomic-embed-text");
+                chunks.add(
+                        new Chunk(
+                                match.id(),
+                                match.documentId(),
+                                match.text(),
+                                match.position(),
+                                embedding));
+            }
+        }
+        return chunks;
+    }
+
+    @Override
+    public List<RetrievedChunk> findSimilarMatches(float[] queryEmbedding, int topK) {
+        List<MappedVectorStore.Match> matches =
+                RagConfig.QUANTIZATION_INT8.equals(config.quantization())
+                        ? store.searchQuantized(queryEmbedding, topK, config.rerankCandidates())
+                        : store.search(queryEmbedding, topK);
+        Map<String, Double> distances = new LinkedHashMap<>();
+        for (MappedVectorStore.Match match : matches) {
+            distances.put(match.id(), (double) match.distance());
+        }
+        List<RetrievedChunk> hits = new ArrayList<>(delegate.findMatchesById(distances));
+        hits.sort(NEAREST_FIRST);
+        return hits;
+    }
+
+    /** Runs the full-text search in Postgres, which holds the text index. */
+    @Override
+    public List<RetrievedChunk> findLexicalMatches(
+            String query, float[] queryEmbedding, int topK) {
+        return delegate.findLexicalMatches(query, queryEmbedding, topK);
+    }
+
+    @Override
+    public Map<String, String> findContentHashes(String documentId) {
+        return delegate.findContentHashes(documentId);
+    }
+
+    @Override
+    public List<Chunk> findByIds(Collection<String> ids) {
+        return delegate.findByIds(ids);
+    }
+
+    @Override
+    public void deleteByIds(Collection<String> ids) {
+        delegate.deleteByIds(ids);
+        for (String id : ids) {
+            store.remove(id);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        delegate.deleteAll();
+        store.clear();
+    }
+
+    /** Returns the number of vectors held in the mapped store. */
+    public int storedCount() {
+        return store.size();
+    }
+}
@@ -0,0 +1,603 @@
+package com.ai.rag;
+
+import com.ai.util.ScalarQuantizer;
+import com.ai.util.VectorMath;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Vector store kept in three memory-mapped files, so embeddings live in the OS page cache instead
+ * of on the heap:
+ *
+ * <ul>
+ *   <li>{@code vectors.f32}: a 64-byte header (magic, version, dimension, row count, live count)
+ *       followed by fixed-width rows of L2-normalized little-endian float32 values
+ *   <li>{@code ids.idx}: one 256-byte slot per row holding the chunk ID as an int16 byte length
+ *       and its UTF-8 bytes; length 0 marks a deleted row
+ *   <li>{@code codes.i8}: the same rows int8-quantized by {@link ScalarQuantizer}, each a float32
+ *       scale followed by one byte per component
+ * </ul>
+ *
+ * <p>Opening a store maps the files and reads only the header, so startup time does not grow with
+ * the number of vectors. The ID-to-row map needed for updates is built on the first write. {@link
+ * #search} is an exact cosine scan over the float rows; {@link #searchQuantized} scans the codes,
+ * a quarter of the size, and re-ranks a shortlist on the float rows, so only the codes need to stay
+ * in memory. Rows are written in place and reach the disk when the OS flushes the pages, or on
+ * {@link #flush()}. Once deleted rows make up more than half of the rows, the live rows are moved
+ * down over them, so scans and files stay proportional to the live vectors.
+ */
+public final class MappedVectorStore implements AutoCloseable {
+    static final String VECTORS_FILE = "vectors.f32";
+    static final String IDS_FILE = "ids.idx";
+    static final String CODES_FILE = "codes.i8";
+    static final int HEADER_BYTES = 64;
+    static final int ID_SLOT_BYTES = 256;
+    static final int MAX_ID_BYTES = ID_SLOT_BYTES - Short.BYTES;
+
+    private static final int MAGIC = 0x56454331; // "VEC1"
+    private static final int VERSION = 1;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int DIMENSION_OFFSET = 8;
+    private static final int ROWS_OFFSET = 12;
+    private static final int LIVE_OFFSET = 16;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final double MAX_HOLE_FRACTION = 0.5;
+
+    private static final ValueLayout.OfInt INT =
+            ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfShort SHORT =
+            ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfFloat FLOAT =
+            ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private static final Comparator<Candidate> NEAREST_FIRST =
+            Comparator.comparingDouble(Candidate::distance);
+
+    private final Path directory;
+    private final FileChannel vectorsChannel;
+    private final FileChannel idsChannel;
+    private final FileChannel codesChannel;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Arena arena;
+    private MemorySegment vectors;
+    private MemorySegment ids;
+    private MemorySegment codes;
+    private int dimension;
+    private int rows;
+    private int live;
+    private int capacity;
+    private Map<String, Integer> rowsById;
+
+    /** A search hit: the stored ID and its cosine distance to the query. */
+    public record Match(String id, float distance) {}
+
+    private record Candidate(int row, float distance) {}
+
+    private MappedVectorStore(
+            Path directory,
+            FileChannel vectorsChannel,
+            FileChannel idsChannel,
+            FileChannel codesChannel)
+            throws IOException {
+        this.directory = directory;
+        this.vectorsChannel = vectorsChannel;
+        this.idsChannel = idsChannel;
+        this.codesChannel = codesChannel;
+
+        try {
+            if (vectorsChannel.size() >= HEADER_BYTES) {
+                mapFor(0, 0);
+                if (vectors.get(INT, MAGIC_OFFSET) != MAGIC
+                        || vectors.get(INT, VERSION_OFFSET) != VERSION) {
+                    throw new IllegalStateException(
+                            "Not a version " + VERSION + " vector store: " + vectorsPath());
+                }
+                dimension = vectors.get(INT, DIMENSION_OFFSET);
+                rows = vectors.get(INT, ROWS_OFFSET);
+                live = vectors.get(INT, LIVE_OFFSET);
+            }
+            // Stores written before the codes file existed get it on first open
+            boolean missingCodes = codesChannel.size() < (long) rows * codeStride();
+            mapFor(dimension, rows);
+            if (missingCodes) {
+                for (int row = 0; row < rows; row++) {
+                    float[] vector = new float[dimension];
+                    MemorySegment.copy(vectors, FLOAT, rowOffset(row), vector, 0, dimension);
+                    writeCodes(row, vector);
+                }
+            }
+            writeHeader();
+        } catch (RuntimeException e) {
+            if (arena != null) {
+                arena.close();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the store in the given directory, creating the directory and files if needed.
+     *
+     * @param directory Directory holding the store's files
+     * @return The open store
+     */
+    public static MappedVectorStore open(Path directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory cannot be null");
+        }
+        List<FileChannel> channels = new ArrayList<>(3);
+        try {
+            Files.createDirectories(directory);
+            for (String file : List.of(VECTORS_FILE, IDS_FILE, CODES_FILE)) {
+                channels.add(openChannel(directory.resolve(file)));
+            }
+            return new MappedVectorStore(
+                    directory, channels.get(0), channels.get(1), channels.get(2));
+        } catch (IOException e) {
+            channels.forEach(MappedVectorStore::closeQuietly);
+            throw new UncheckedIOException("Failed to open vector store: " + directory, e);
+        } catch (RuntimeException e) {
+            channels.forEach(MappedVectorStore::closeQuietly);
+            throw e;
+        }
+    }
+
+    /**
+     * Inserts or overwrites the vector stored under the given ID. The first vector fixes the
+     * store's dimension.
+     *
+     * @param id The identifier returned by searches
+     * @param vector The vector to store (normalized on write)
+     */
+    public void put(String id, float[] vector) {
+        byte[] idBytes = encodeId(id);
+        float[] normalized = VectorMath.normalize(vector);
+
+        lock.writeLock().lock();
+        try {
+            if (dimension == 0) {
+                dimension = normalized.length;
+            } else if (dimension != normalized.length) {
+                throw new IllegalArgumentException(
+                        "Vector dimension " + normalized.length + " does not match " + dimension);
+            }
+
+            Integer existing = rowsById().get(id);
+            int row;
+            if (existing != null) {
+                row = existing;
+            } else {
+                row = rows;
+                ensureCapacity(row + 1);
+                long slot = (long) row * ID_SLOT_BYTES;
+                ids.set(SHORT, slot, (short) idBytes.length);
+                MemorySegment.copy(
+                        idBytes, 0, ids, ValueLayout.JAVA_BYTE, slot + Short.BYTES, idBytes.length);
+                rowsById.put(id, row);
+                rows++;
+                live++;
+            }
+
+            long offset = rowOffset(row);
+            for (int i = 0; i < dimension; i++) {
+                vectors.set(FLOAT, offset + (long) i * Float.BYTES, normalized[i]);
+            }
+            writeCodes(row, normalized);
+            writeHeader();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Deletes the vector stored under the given ID. Its row is left as a hole, skipped by searches
+     * until the rows are compacted.
+     *
+     * @param id The identifier to remove
+     * @return Whether a vector was stored under the ID
+     */
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowsById().remove(id);
+            if (row == null) {
+                return false;
+            }
+            ids.set(SHORT, (long) row * ID_SLOT_BYTES, (short) 0);
+            live--;
+            compactIfNeeded();
+            writeHeader();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the nearest stored vectors by exact scan.
+     *
+     * @param query The query vector
+     * @param k Maximum number of results
+     * @return Matches ordered by ascending cosine distance
+     */
+    public List<Match> search(float[] query, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        float[] normalized = VectorMath.normalize(query);
+
+        lock.readLock().lock();
+        try {
+            if (live == 0) {
+                return List.of();
+            }
+            checkQueryDimension(normalized);
+
+            PriorityQueue<Candidate> best = newTopK(k);
+            for (int row = 0; row < rows; row++) {
+                if (isLive(row)) {
+                    offer(best, k, new Candidate(row, exactDistance(normalized, row)));
+                }
+            }
+            return toMatches(best);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the nearest stored vectors by scanning the int8 codes for a shortlist and re-ranking it
+     * on the float rows. Distances in the results are exact; a true neighbour is missed only if
+     * quantization error pushes it out of the shortlist.
+     *
+     * @param query The query vector
+     * @param k Maximum number of results
+     * @param candidates Shortlist size to re-rank; raised to {@code k} if smaller
+     * @return Matches ordered by ascending cosine distance
+     */
+    public List<Match> searchQuantized(float[] query, int k, int candidates) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        float[] normalized = VectorMath.normalize(query);
+        int shortlist = Math.max(k, candidates);
+
+        lock.readLock().lock();
+        try {
+            if (live == 0) {
+                return List.of();
+            }
+            checkQueryDimension(normalized);
+
+            PriorityQueue<Candidate> approximate = newTopK(shortlist);
+            for (int row = 0; row < rows; row++) {
+                if (isLive(row)) {
+                    long offset = codeOffset(row);
+                    float scale = codes.get(FLOAT, offset);
+                    float dot = scale * VectorMath.dotInt8(normalized, codes, offset + Float.BYTES);
+                    offer(approximate, shortlist, new Candidate(row, 1.0f - dot));
+                }
+            }
+
+            PriorityQueue<Candidate> best = newTopK(k);
+            for (Candidate candidate : approximate) {
+                int row = candidate.row();
+                offer(best, k, new Candidate(row, exactDistance(normalized, row)));
+            }
+            return toMatches(best);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the stored (normalized) vector for the given ID.
+     *
+     * @param id The identifier to look up
+     * @return The vector, if one is stored
+     */
+    public Optional<float[]> vector(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowsById().get(id);
+            if (row == null) {
+                return Optional.empty();
+            }
+            float[] vector = new float[dimension];
+            MemorySegment.copy(vectors, FLOAT, rowOffset(row), vector, 0, dimension);
+            return Optional.of(vector);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Removes every vector. The files keep their size and are overwritten by later writes. */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            rows = 0;
+            live = 0;
+            dimension = 0;
+            // Row width may change with the next dimension, so the next write remaps
+            capacity = 0;
+            rowsById = new HashMap<>();
+            writeHeader();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Returns the number of stored vectors. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns the vector dimension, or 0 while the store is empty and has never been written. */
+    public int dimension() {
+        lock.readLock().lock();
+        try {
+            return dimension;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns the number of rows in the files, deleted ones included. */
+    int rowCount() {
+        lock.readLock().lock();
+        try {
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Writes modified pages of every file to disk; does nothing once closed. */
+    public void flush() {
+        lock.readLock().lock();
+        try {
+            if (arena == null) {
+                return;
+            }
+            vectors.force();
+            ids.force();
+            codes.force();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (arena == null) {
+                return;
+            }
+            arena.close();
+            arena = null;
+            closeQuietly(vectorsChannel);
+            closeQuietly(idsChannel);
+            closeQuietly(codesChannel);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Path vectorsPath() {
+        return directory.resolve(VECTORS_FILE);
+    }
+
+    /** Returns the ID-to-row map, scanning the ID slots the first time it is needed. */
+    private Map<String, Integer> rowsById() {
+        if (rowsById == null) {
+            Map<String, Integer> index = HashMap.newHashMap(live);
+            for (int row = 0; row < rows; row++) {
+                if (isLive(row)) {
+                    index.put(readId(row), row);
+                }
+            }
+            rowsById = index;
+        }
+        return rowsById;
+    }
+
+    /**
+     * Moves the live rows down over the holes, keeping their order, once holes exceed {@link
+     * #MAX_HOLE_FRACTION} of the rows. The caller holds the write lock and has loaded {@link
+     * #rowsById()}.
+     */
+    private void compactIfNeeded() {
+        int holes = rows - live;
+        if (holes <= rows * MAX_HOLE_FRACTION) {
+            return;
+        }
+        long vectorStride = (long) dimension * Float.BYTES;
+        int target = 0;
+        for (int row = 0; row < rows; row++) {
+            if (!isLive(row)) {
+                continue;
+            }
+            if (target != row) {
+                MemorySegment.copy(
+                        vectors, rowOffset(row), vectors, rowOffset(target), vectorStride);
+                MemorySegment.copy(codes, codeOffset(row), codes, codeOffset(target), codeStride());
+                MemorySegment.copy(
+                        ids,
+                        (long) row * ID_SLOT_BYTES,
+                        ids,
+                        (long) target * ID_SLOT_BYTES,
+                        ID_SLOT_BYTES);
+                rowsById.put(readId(target), target);
+            }
+            target++;
+        }
+        rows = target;
+    }
+
+    private void ensureCapacity(int requiredRows) {
+        if (requiredRows > capacity) {
+            mapFor(dimension, Math.max(requiredRows, Math.max(capacity * 2, INITIAL_CAPACITY)));
+        }
+    }
+
+    /** (Re)maps every file with room for the given number of rows, growing them as needed. */
+    private void mapFor(int rowDimension, int rowCapacity) {
+        try {
+            long vectorBytes = HEADER_BYTES + (long) rowCapacity * rowDimension * Float.BYTES;
+            long idBytes = (long) Math.max(rowCapacity, 1) * ID_SLOT_BYTES;
+            long codeBytes = (long) Math.max(rowCapacity, 1) * (Float.BYTES + rowDimension);
+            Arena next = Arena.ofShared();
+            try {
+                MemorySegment nextVectors =
+                        vectorsChannel.map(FileChannel.MapMode.READ_WRITE, 0, vectorBytes, next);
+                MemorySegment nextIds =
+                        idsChannel.map(FileChannel.MapMode.READ_WRITE, 0, idBytes, next);
+                MemorySegment nextCodes =
+                        codesChannel.map(FileChannel.MapMode.READ_WRITE, 0, codeBytes, next);
+                if (arena != null) {
+                    arena.close();
+                }
+                arena = next;
+                vectors = nextVectors;
+                ids = nextIds;
+                codes = nextCodes;
+                capacity = rowDimension == 0 ? 0 : rowCapacity;
+            } catch (IOException | RuntimeException e) {
+                next.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map vector store: " + directory, e);
+        }
+    }
+
+    private void writeHeader() {
+        vectors.set(INT, MAGIC_OFFSET, MAGIC);
+        vectors.set(INT, VERSION_OFFSET, VERSION);
+        vectors.set(INT, DIMENSION_OFFSET, dimension);
+        vectors.set(INT, ROWS_OFFSET, rows);
+        vectors.set(INT, LIVE_OFFSET, live);
+    }
+
+    private long rowOffset(int row) {
+        return HEADER_BYTES + (long) row * dimension * Float.BYTES;
+    }
+
+    private int codeStride() {
+        return Float.BYTES + dimension;
+    }
+
+    private long codeOffset(int row) {
+        return (long) row * codeStride();
+    }
+
+    private void writeCodes(int row, float[] normalized) {
+        byte[] rowCodes = new byte[dimension];
+        float scale = ScalarQuantizer.quantize(normalized, rowCodes);
+        long offset = codeOffset(row);
+        codes.set(FLOAT, offset, scale);
+        MemorySegment.copy(
+                rowCodes, 0, codes, ValueLayout.JAVA_BYTE, offset + Float.BYTES, dimension);
+    }
+
+    private boolean isLive(int row) {
+        return ids.get(SHORT, (long) row * ID_SLOT_BYTES) != 0;
+    }
+
+    private float exactDistance(float[] normalized, int row) {
+        return 1.0f - VectorMath.dot(normalized, vectors, rowOffset(row));
+    }
+
+    private void checkQueryDimension(float[] normalized) {
+        if (normalized.length != dimension) {
+            throw new IllegalArgumentException(
+                    "Query dimension " + normalized.length + " does not match " + dimension);
+        }
+    }
+
+    /** Returns a max-heap on distance, so the worst of the current top K is evicted first. */
+    private static PriorityQueue<Candidate> newTopK(int k) {
+        return new PriorityQueue<>(k + 1, NEAREST_FIRST.reversed());
+    }
+
+    private static void offer(PriorityQueue<Candidate> best, int k, Candidate candidate) {
+        best.add(candidate);
+        if (best.size() > k) {
+            best.poll();
+        }
+    }
+
+    private List<Match> toMatches(PriorityQueue<Candidate> best) {
+        List<Candidate> ordered = new ArrayList<>(best);
+        ordered.sort(NEAREST_FIRST);
+        List<Match> matches = new ArrayList<>(ordered.size());
+        for (Candidate candidate : ordered) {
+            matches.add(new Match(readId(candidate.row()), candidate.distance()));
+        }
+        return matches;
+    }
+
+    private String readId(int row) {
+        long slot = (long) row * ID_SLOT_BYTES;
+        byte[] bytes = new byte[ids.get(SHORT, slot)];
+        MemorySegment.copy(ids, ValueLayout.JAVA_BYTE, slot + Short.BYTES, bytes, 0, bytes.length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encodeId(String id) {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("ID cannot be null or blank");
+        }
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_ID_BYTES) {
+            throw new IllegalArgumentException(
+                    "ID exceeds " + MAX_ID_BYTES + " UTF-8 bytes: " + bytes.length);
+        }
+        return bytes;
+    }
+
+    private static FileChannel openChannel(Path path) throws IOException {
+        return FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Nothing useful to do; the mapping is already released
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.ai.rag;
+
+import com.pgvector.PGvector;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.postgresql.core.BaseConnection;
+import org.postgresql.core.Oid;
+import org.postgresql.core.QueryExecutor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps the application DataSource so every Postgres connection it hands out knows the pgvector
+ * type. Registered connections return {@link PGvector} instead of a generic PGobject, and the
+ * driver exchanges vector parameters and columns in pgvector's binary format (a float32 per
+ * dimension) instead of formatting and parsing decimal text.
+ *
+ * <p>Binary result columns are used once the driver server-prepares a statement, which by default
+ * happens after {@code prepareThreshold} (5) executions on a connection.
+ */
+@Component
+public class PgVectorDataSourcePostProcessor implements BeanPostProcessor {
+    private static final Logger logger =
+            LogManager.getLogger(PgVectorDataSourcePostProcessor.class);
+
+    static final String VECTOR_TYPE = "vector";
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof PgVectorDataSource)) {
+            logger.info("Enabling binary pgvector transfer - dataSource: {}", beanName);
+            return new PgVectorDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    /**
+     * Registers the vector type on a Postgres connection and enables binary transfer for it.
+     * Connections from other drivers are returned untouched.
+     */
+    static Connection register(Connection connection) throws SQLException {
+        if (!connection.isWrapperFor(BaseConnection.class)) {
+            return connection;
+        }
+        BaseConnection pgConnection = connection.unwrap(BaseConnection.class);
+        pgConnection.addDataType(VECTOR_TYPE, PGvector.class);
+
+        int oid = pgConnection.getTypeInfo().getPGType(VECTOR_TYPE);
+        if (oid == Oid.UNSPECIFIED) {
+            // Extension not installed in this database; text transfer still works
+            return connection;
+        }
+        QueryExecutor queryExecutor = pgConnection.getQueryExecutor();
+        queryExecutor.addBinarySendOid(oid);
+        queryExecutor.addBinaryReceiveOid(oid);
+        return connection;
+    }
+
+    /** DataSource decorator applying {@link #register} to each connection it returns. */
+    static final class PgVectorDataSource extends DelegatingDataSource implements AutoCloseable {
+
+        PgVectorDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return register(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return register(super.getConnection(username, password));
+        }
+
+        /** Closes the pool underneath so wrapping does not hide its shutdown hook. */
+        @Override
+        public void close() throws Exception {
+            if (getTargetDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
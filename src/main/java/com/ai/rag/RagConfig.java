@@ -0,0 +1,236 @@
+package com.ai.rag;
+
+import com.ai.model.RetrievalStrategy;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Configuration for chunk storage and retrieval. */
+@Configuration
+@ConfigurationProperties(prefix = "rag")
+public class RagConfig {
+    public static final String REPOSITORY_JDBC = "jdbc";
+    public static final String REPOSITORY_HNSW = "hnsw";
+    public static final String REPOSITORY_MAPPED = "mapped";
+    public static final String QUANTIZATION_NONE = "none";
+    public static final String QUANTIZATION_INT8 = "int8";
+
+    private String repositoryType = REPOSITORY_JDBC;
+    private int hnswM = 16;
+    private int hnswEfConstruction = 200;
+    private int hnswEfSearch = 64;
+    private double minSimilarity = 0.0;
+    private int copyBatchSize = 10_000;
+    private String mappedStorePath = "data/vectors";
+    private String quantization = QUANTIZATION_NONE;
+    private int rerankCandidates = 200;
+    private Set<RetrievalStrategy> hybridStrategies = EnumSet.noneOf(RetrievalStrategy.class);
+    private int rrfK = 60;
+
+    public RagConfig() {}
+
+    public String getRepositoryType() {
+        return repositoryType;
+    }
+
+    public void setRepositoryType(String repositoryType) {
+        if (repositoryType == null || repositoryType.isBlank()) {
+            throw new IllegalArgumentException("Repository type cannot be null or blank");
+        }
+        this.repositoryType = repositoryType;
+    }
+
+    public int getHnswM() {
+        return hnswM;
+    }
+
+    public void setHnswM(int hnswM) {
+        if (hnswM < 2) {
+            throw new IllegalArgumentException("HNSW M must be at least 2");
+        }
+        this.hnswM = hnswM;
+    }
+
+    public int getHnswEfConstruction() {
+        return hnswEfConstruction;
+    }
+
+    public void setHnswEfConstruction(int hnswEfConstruction) {
+        if (hnswEfConstruction <= 0) {
+            throw new IllegalArgumentException("HNSW efConstruction must be positive");
+        }
+        this.hnswEfConstruction = hnswEfConstruction;
+    }
+
+    public int getHnswEfSearch() {
+        return hnswEfSearch;
+    }
+
+    public void setHnswEfSearch(int hnswEfSearch) {
+        if (hnswEfSearch <= 0) {
+            throw new IllegalArgumentException("HNSW efSearch must be positive");
+        }
+        this.hnswEfSearch = hnswEfSearch;
+    }
+
+    public double getMinSimilarity() {
+        return minSimilarity;
+    }
+
+    public void setMinSimilarity(double minSimilarity) {
+        if (!(minSimilarity >= -1.0 && minSimilarity <= 1.0)) {
+            throw new IllegalArgumentException("Min similarity must be between -1.0 and 1.0");
+        }
+        this.minSimilarity = minSimilarity;
+    }
+
+    public int getCopyBatchSize() {
+        return copyBatchSize;
+    }
+
+    public void setCopyBatchSize(int copyBatchSize) {
+        if (copyBatchSize <= 0) {
+            throw new IllegalArgumentException("Copy batch size must be positive");
+        }
+        this.copyBatchSize = copyBatchSize;
+    }
+
+    public String getMappedStorePath() {
+        return mappedStorePath;
+    }
+
+    public void setMappedStorePath(String mappedStorePath) {
+        if (mappedStorePath == null || mappedStorePath.isBlank()) {
+            throw new IllegalArgumentException("Mapped store path cannot be null or blank");
+        }
+        this.mappedStorePath = mappedStorePath;
+    }
+
+    public String getQuantization() {
+        return quantization;
+    }
+
+    public void setQuantization(String quantization) {
+        if (!QUANTIZATION_NONE.equals(quantization) && !QUANTIZATION_INT8.equals(quantization)) {
+            throw new IllegalArgumentException(
+                    "Quantization must be " + QUANTIZATION_NONE + " or " + QUANTIZATION_INT8);
+        }
+        this.quantization = quantization;
+    }
+
+    public int getRerankCandidates() {
+        return rerankCandidates;
+    }
+
+    public void setRerankCandidates(int rerankCandidates) {
+        if (rerankCandidates <= 0) {
+            throw new IllegalArgumentException("Rerank candidates must be positive");
+        }
+        this.rerankCandidates = rerankCandidates;
+    }
+
+    public Set<RetrievalStrategy> getHybridStrategies() {
+        return hybridStrategies;
+    }
+
+    public void setHybridStrategies(Set<RetrievalStrategy> hybridStrategies) {
+        if (hybridStrategies == null || hybridStrategies.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Hybrid strategies cannot be null");
+        }
+        this.hybridStrategies =
+                hybridStrategies.isEmpty()
+                        ? EnumSet.noneOf(RetrievalStrategy.class)
+                        : EnumSet.copyOf(hybridStrategies);
+    }
+
+    public int getRrfK() {
+        return rrfK;
+    }
+
+    public void setRrfK(int rrfK) {
+        if (rrfK <= 0) {
+            throw new IllegalArgumentException("RRF k must be positive");
+        }
+        this.rrfK = rrfK;
+    }
+
+    public String repositoryType() {
+        return repositoryType;
+    }
+
+    public int hnswM() {
+        return hnswM;
+    }
+
+    public int hnswEfConstruction() {
+        return hnswEfConstruction;
+    }
+
+    public int hnswEfSearch() {
+        return hnswEfSearch;
+    }
+
+    /** Cosine similarity below which retrieved chunks are dropped before prompting. */
+    public double minSimilarity() {
+        return minSimilarity;
+    }
+
+    /** Chunks streamed and merged per transaction by bulk loads. */
+    public int copyBatchSize() {
+        return copyBatchSize;
+    }
+
+    /** Directory of the memory-mapped vector files used by {@code repository-type: mapped}. */
+    public String mappedStorePath() {
+        return mappedStorePath;
+    }
+
+    /** Vector encoding scanned by the mapped store: full float32, or int8 codes plus a re-rank. */
+    public String quantization() {
+        return quantization;
+    }
+
+    /** Shortlist scored on the quantized codes and re-ranked at full precision. */
+    public int rerankCandidates() {
+        return rerankCandidates;
+    }
+
+    /** Strategies that fuse a full-text search with the vector search instead of vector only. */
+    public Set<RetrievalStrategy> hybridStrategies() {
+        return hybridStrategies;
+    }
+
+    /** Damping constant of reciprocal rank fusion in hybrid retrieval. */
+    public int rrfK() {
+        return rrfK;
+    }
+
+    @Override
+    public String toString() {
+        return "RagConfig[repositoryType="
+                + repositoryType
+                + ", hnswM="
+                + hnswM
+                + ", hnswEfConstruction="
+                + hnswEfConstruction
+                + ", hnswEfSearch="
+                + hnswEfSearch
+                + ", minSimilarity="
+                + minSimilarity
+                + ", copyBatchSize="
+                + copyBatchSize
+                + ", mappedStorePath="
+                + mappedStorePath
+                + ", quantization="
+                + quantization
+                + ", rerankCandidates="
+                + rerankCandidates
+                + ", hybridStrategies="
+                + hybridStrategies
+                + ", rrfK="
+                + rrfK
+                + "]";
+    }
+}
@@ -0,0 +1,54 @@
+package com.ai.rag;
+
+import com.ai.domain.RetrievedChunk;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges rankings from different retrievers with reciprocal rank fusion: a chunk scores {@code
+ * 1 / (k + rank)} in every ranking it appears in (rank counted from 1), and chunks are ordered by
+ * their summed score. Only ranks are compared, so rankings with incomparable scores, such as
+ * cosine distance and full-text rank, can be fused without normalizing them.
+ */
+final class ReciprocalRankFusion {
+
+    private ReciprocalRankFusion() {
+        // Utility class
+    }
+
+    /**
+     * Fuses rankings into one.
+     *
+     * @param rankings Rankings to fuse, each best first
+     * @param k Damping constant; larger values flatten the advantage of top ranks
+     * @param limit Maximum number of chunks to return
+     * @return Chunks by descending fused score; ties keep the order they were first seen in. A
+     *     chunk in several rankings is returned as it appears in the first of them.
+     */
+    static List<RetrievedChunk> fuse(List<List<RetrievedChunk>> rankings, int k, int limit) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        Map<String, RetrievedChunk> chunks = new LinkedHashMap<>();
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (List<RetrievedChunk> ranking : rankings) {
+            for (int i = 0; i < ranking.size(); i++) {
+                RetrievedChunk chunk = ranking.get(i);
+                chunks.putIfAbsent(chunk.id(), chunk);
+                scores.merge(chunk.id(), 1.0 / (k + i + 1), Double::sum);
+            }
+        }
+
+        // List.sort is stable, so equal scores stay in first-seen order
+        List<String> ids = new ArrayList<>(scores.keySet());
+        ids.sort(Comparator.comparingDouble((String id) -> scores.get(id)).reversed());
+        return ids.stream().limit(limit).map(chunks::get).toList();
+    }
+}
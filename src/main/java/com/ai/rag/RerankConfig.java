@@ -0,0 +1,119 @@
+package com.ai.rag;
+
+import com.ai.model.RetrievalStrategy;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Configuration for re-ranking retrieved chunks before they are packed into the prompt. */
+@Configuration
+@ConfigurationProperties(prefix = "rerank")
+public class RerankConfig {
+    private Set<RetrievalStrategy> strategies = EnumSet.noneOf(RetrievalStrategy.class);
+    private int candidateMultiplier = 3;
+    private int tokenBudget = 2048;
+    private double lexicalWeight = 0.5;
+    private double mmrLambda = 0.7;
+
+    public RerankConfig() {}
+
+    public Set<RetrievalStrategy> getStrategies() {
+        return strategies;
+    }
+
+    public void setStrategies(Set<RetrievalStrategy> strategies) {
+        if (strategies == null || strategies.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Strategies cannot be null");
+        }
+        this.strategies =
+                strategies.isEmpty()
+                        ? EnumSet.noneOf(RetrievalStrategy.class)
+                        : EnumSet.copyOf(strategies);
+    }
+
+    public int getCandidateMultiplier() {
+        return candidateMultiplier;
+    }
+
+    public void setCandidateMultiplier(int candidateMultiplier) {
+        if (candidateMultiplier < 1) {
+            throw new IllegalArgumentException("Candidate multiplier must be at least 1");
+        }
+        this.candidateMultiplier = candidateMultiplier;
+    }
+
+    public int getTokenBudget() {
+        return tokenBudget;
+    }
+
+    public void setTokenBudget(int tokenBudget) {
+        if (tokenBudget <= 0) {
+            throw new IllegalArgumentException("Token budget must be positive");
+        }
+        this.tokenBudget = tokenBudget;
+    }
+
+    public double getLexicalWeight() {
+        return lexicalWeight;
+    }
+
+    public void setLexicalWeight(double lexicalWeight) {
+        if (!(lexicalWeight >= 0.0 && lexicalWeight <= 1.0)) {
+            throw new IllegalArgumentException("Lexical weight must be between 0.0 and 1.0");
+        }
+        this.lexicalWeight = lexicalWeight;
+    }
+
+    public double getMmrLambda() {
+        return mmrLambda;
+    }
+
+    public void setMmrLambda(double mmrLambda) {
+        if (!(mmrLambda >= 0.0 && mmrLambda <= 1.0)) {
+            throw new IllegalArgumentException("MMR lambda must be between 0.0 and 1.0");
+        }
+        this.mmrLambda = mmrLambda;
+    }
+
+    /** Strategies whose candidates are over-fetched and re-ranked. */
+    public Set<RetrievalStrategy> strategies() {
+        return strategies;
+    }
+
+    /** Candidates fetched per chunk the strategy keeps. */
+    public int candidateMultiplier() {
+        return candidateMultiplier;
+    }
+
+    /** Estimated tokens the kept chunk texts may add up to. */
+    public int tokenBudget() {
+        return tokenBudget;
+    }
+
+    /** Share of relevance from BM25 over the candidates; the rest is cosine similarity. */
+    public double lexicalWeight() {
+        return lexicalWeight;
+    }
+
+    /** Weight of relevance against novelty when picking the next chunk; 1.0 ignores duplicates. */
+    public double mmrLambda() {
+        return mmrLambda;
+    }
+
+    @Override
+    public String toString() {
+        return "RerankConfig[strategies="
+                + strategies
+                + ", candidateMultiplier="
+                + candidateMultiplier
+                + ", tokenBudget="
+                + tokenBudget
+                + ", lexicalWeight="
+                + lexicalWeight
+                + ", mmrLambda="
+                + mmrLambda
+                + "]";
+    }
+}
@@ -1,5 +1,6 @@
 package com.ai.rag;
 
+import com.ai.domain.Embedding;
 import com.ai.domain.RetrievalResult;
 import com.ai.model.RetrievalStrategy;
 
@@ -14,4 +15,25 @@ public interface RetrievalService {
      * @return The retrieval result with relevant chunks
      */
     RetrievalResult retrieve(String question, RetrievalStrategy strategy);
+
+    /**
+     * Retrieves relevant chunks for an already embedded question, skipping the embedding call.
+     *
+     * @param queryEmbedding The embedding of the question
+     * @param strategy The retrieval strategy to use
+     * @return The retrieval result with relevant chunks
+     */
+    RetrievalResult retrieve(Embedding queryEmbedding, RetrievalStrategy strategy);
+
+    /**
+     * Retrieves relevant chunks for an already embedded question, skipping the embedding call
+     * while still using the text for the stages that need it, such as full-text search and
+     * re-ranking.
+     *
+     * @param question The question text
+     * @param queryEmbedding The embedding of the question
+     * @param strategy The retrieval strategy to use
+     * @return The retrieval result with relevant chunks
+     */
+    RetrievalResult retrieve(String question, Embedding queryEmbedding, RetrievalStrategy strategy);
 }
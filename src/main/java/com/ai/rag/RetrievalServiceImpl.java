@@ -1,28 +1,66 @@
 package com.ai.rag;
 
-import com.ai.domain.Chunk;
 import com.ai.domain.Embedding;
 import com.ai.domain.RetrievalResult;
+import com.ai.domain.RetrievedChunk;
 import com.ai.embeddings.EmbeddingService;
 import com.ai.model.RetrievalStrategy;
 import com.ai.util.CorrelationIdHolder;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-/** Implementation of retrieval service using vector similarity search. */
+/**
+ * Implementation of retrieval service using vector similarity search.
+ *
+ * <p>Strategies listed in {@code rag.hybrid-strategies} also run a full-text search for the
+ * question in parallel and merge both rankings by reciprocal rank fusion, so chunks containing the
+ * question's exact identifiers are found even when their embeddings are not the closest.
+ *
+ * <p>Strategies listed in {@code rerank.strategies} fetch {@code rerank.candidate-multiplier} times
+ * their topK and let {@link ChunkReranker} keep the best topK that fit {@code rerank.token-budget}.
+ *
+ * <p>Both stages need the question text; searches by embedding alone stay vector-only and skip
+ * BM25 when re-ranking.
+ */
 @Service
 public class RetrievalServiceImpl implements RetrievalService {
     private static final Logger logger = LogManager.getLogger(RetrievalServiceImpl.class);
 
     private final EmbeddingService embeddingService;
     private final ChunkRepository chunkRepository;
+    private final RagConfig config;
+    private final ChunkReranker reranker;
 
+    @Autowired
     public RetrievalServiceImpl(
-            EmbeddingService embeddingService, ChunkRepository chunkRepository) {
+            EmbeddingService embeddingService,
+            ChunkRepository chunkRepository,
+            RagConfig config,
+            ChunkReranker reranker) {
         this.embeddingService = embeddingService;
         this.chunkRepository = chunkRepository;
+        this.config = config;
+        this.reranker = reranker;
+    }
+
+    /** Creates a service that does not re-rank. */
+    RetrievalServiceImpl(
+            EmbeddingService embeddingService, ChunkRepository chunkRepository, RagConfig config) {
+        this(embeddingService, chunkRepository, config, new ChunkReranker(new RerankConfig()));
+    }
+
+    /** Creates a service with default settings (no similarity cutoff beyond {@code 0.0}). */
+    RetrievalServiceImpl(EmbeddingService embeddingService, ChunkRepository chunkRepository) {
+        this(embeddingService, chunkRepository, new RagConfig());
     }
 
     @Override
@@ -36,36 +74,161 @@ public class RetrievalServiceImpl implements RetrievalService {
 
         String correlationId = CorrelationIdHolder.getOrGenerate();
         long startTime = System.currentTimeMillis();
+        logStart(correlationId, strategy);
 
+        // Generate embedding for question
+        Embedding queryEmbedding = embeddingService.generateEmbedding(question);
+        logger.debug("Generated query embedding - dimension: {}", queryEmbedding.dimension());
+
+        return search(question, queryEmbedding, strategy, correlationId, startTime);
+    }
+
+    @Override
+    public RetrievalResult retrieve(Embedding queryEmbedding, RetrievalStrategy strategy) {
+        if (queryEmbedding == null) {
+            throw new IllegalArgumentException("Query embedding cannot be null");
+        }
+        if (strategy == null) {
+            throw new IllegalArgumentException("Strategy cannot be null");
+        }
+
+        String correlationId = CorrelationIdHolder.getOrGenerate();
+        long startTime = System.currentTimeMillis();
+        logStart(correlationId, strategy);
+
+        return search(null, queryEmbedding, strategy, correlationId, startTime);
+    }
+
+    @Override
+    public RetrievalResult retrieve(
+            String question, Embedding queryEmbedding, RetrievalStrategy strategy) {
+        if (question == null || question.isBlank()) {
+            throw new IllegalArgumentException("Question cannot be null or blank");
+        }
+        if (queryEmbedding == null) {
+            throw new IllegalArgumentException("Query embedding cannot be null");
+        }
+        if (strategy == null) {
+            throw new IllegalArgumentException("Strategy cannot be null");
+        }
+
+        String correlationId = CorrelationIdHolder.getOrGenerate();
+        long startTime = System.currentTimeMillis();
+        logStart(correlationId, strategy);
+
+        return search(question, queryEmbedding, strategy, correlationId, startTime);
+    }
+
+    private void logStart(String correlationId, RetrievalStrategy strategy) {
         logger.info(
-                "Starting retrieval - correlationId: {}, strategy: {}, topK: {}",
+                "Starting retrieval - correlationId: {}, strategy: {}, topK: {}, efSearch: {}, "
+                        + "probes: {}",
                 correlationId,
                 strategy,
-                strategy.defaultTopK());
+                strategy.defaultTopK(),
+                strategy.efSearch(),
+                strategy.probes());
+    }
 
-        // Generate embedding for question
-        Embedding queryEmbedding = embeddingService.generateEmbedding(question);
-        logger.debug("Generated query embedding - dimension: {}", queryEmbedding.dimension());
+    private RetrievalResult search(
+            String question,
+            Embedding queryEmbedding,
+            RetrievalStrategy strategy,
+            String correlationId,
+            long startTime) {
+        boolean hybrid = question != null && config.hybridStrategies().contains(strategy);
+        boolean rerank = reranker.appliesTo(strategy);
+        int candidates = rerank ? reranker.candidateCount(strategy) : strategy.defaultTopK();
+        List<RetrievedChunk> matches;
+        Set<String> lexicalIds;
+        if (hybrid) {
+            List<List<RetrievedChunk>> rankings =
+                    searchHybrid(question, queryEmbedding.vector(), strategy, candidates);
+            matches = ReciprocalRankFusion.fuse(rankings, config.rrfK(), candidates);
+            lexicalIds =
+                    rankings.get(1).stream().map(RetrievedChunk::id).collect(Collectors.toSet());
+        } else {
+            // Retrieve similar chunks (text and distance only, embeddings stay in the database)
+            matches = findSimilarMatches(queryEmbedding.vector(), strategy, candidates);
+            lexicalIds = Set.of();
+        }
 
-        // Retrieve similar chunks
-        List<Chunk> chunks =
-                chunkRepository.findSimilar(queryEmbedding.vector(), strategy.defaultTopK());
+        // Text matches are kept however far their embeddings are; they were found by their terms
+        double minSimilarity = config.minSimilarity();
+        List<RetrievedChunk> chunks =
+                matches.stream()
+                        .filter(
+                                chunk ->
+                                        chunk.similarity() >= minSimilarity
+                                                || lexicalIds.contains(chunk.id()))
+                        .toList();
+        int relevantCount = chunks.size();
+        if (rerank && !chunks.isEmpty()) {
+            chunks = reranker.rerank(question, chunks, strategy.defaultTopK());
+        }
 
         long duration = System.currentTimeMillis() - startTime;
 
         logger.info(
-                "Retrieval completed - correlationId: {}, chunksFound: {}, durationMs: {}",
+                "Retrieval completed - correlationId: {}, hybrid: {}, reranked: {}, "
+                        + "chunksFound: {}, belowMinSimilarity: {}, durationMs: {}",
                 correlationId,
+                hybrid,
+                rerank,
                 chunks.size(),
+                matches.size() - relevantCount,
                 duration);
 
         chunks.forEach(
                 chunk ->
                         logger.debug(
-                                "Retrieved chunk: {} from document: {}",
+                                "Retrieved chunk: {} from document: {}, distance: {}",
                                 chunk.id(),
-                                chunk.documentId()));
+                                chunk.documentId(),
+                                chunk.distance()));
 
         return new RetrievalResult(chunks, strategy.name(), duration);
     }
+
+    /**
+     * Runs the full-text search on a virtual thread while the vector search runs on this one.
+     * Returns the vector ranking and then the text ranking; the text ranking is empty if its search
+     * failed, so retrieval degrades to vector-only rather than failing.
+     */
+    private List<List<RetrievedChunk>> searchHybrid(
+            String question, float[] vector, RetrievalStrategy strategy, int topK) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<RetrievedChunk>> lexical =
+                    executor.submit(
+                            CorrelationIdHolder.propagate(
+                                    () ->
+                                            chunkRepository.findLexicalMatches(
+                                                    question, vector, topK)));
+            List<RetrievedChunk> semantic = findSimilarMatches(vector, strategy, topK);
+            return List.of(semantic, awaitLexical(lexical));
+        }
+    }
+
+    /** Fetches the strategy's own topK, or an over-fetched candidate pool at its effort. */
+    private List<RetrievedChunk> findSimilarMatches(
+            float[] vector, RetrievalStrategy strategy, int topK) {
+        return topK == strategy.defaultTopK()
+                ? chunkRepository.findSimilarMatches(vector, strategy)
+                : chunkRepository.findSimilarMatches(vector, strategy, topK);
+    }
+
+    private static List<RetrievedChunk> awaitLexical(Future<List<RetrievedChunk>> lexical) {
+        try {
+            return lexical.get();
+        } catch (ExecutionException e) {
+            logger.warn(
+                    "Full-text search failed, using vector results only - error: {}",
+                    e.getCause().getMessage());
+            return List.of();
+        } catch (InterruptedException e) {
+            lexical.cancel(true);
+            Thread.currentThread().interrupt();
+            return List.of();
+        }
+    }
 }
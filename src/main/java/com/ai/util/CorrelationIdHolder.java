@@ -1,6 +1,7 @@
 package com.ai.util;
 
 import java.util.UUID;
+import java.util.concurrent.Callable;
 import org.apache.logging.log4j.ThreadContext;
 
 /** Manages correlation IDs using Log4j2's ThreadContext (MDC). */
@@ -44,6 +45,24 @@ public final class CorrelationIdHolder {
         ThreadContext.remove(CORRELATION_ID_KEY);
     }
 
+    /**
+     * Wraps a task so it runs with the caller's correlation ID, for work handed to other threads.
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        String correlationId = get();
+        if (correlationId == null) {
+            return task;
+        }
+        return () -> {
+            set(correlationId);
+            try {
+                return task.call();
+            } finally {
+                clear();
+            }
+        };
+    }
+
     /** Clears all MDC data. */
     public static void clearAll() {
         ThreadContext.clearAll();
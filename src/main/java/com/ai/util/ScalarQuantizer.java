@@ -0,0 +1,61 @@
+package com.ai.util;
+
+import java.util.Arrays;
+
+/**
+ * Symmetric int8 scalar quantization of float vectors, a quarter of their float32 size.
+ *
+ * <p>Each vector gets its own scale, {@code max|x| / 127}, and each component is stored as {@code
+ * round(x / scale)}. Queries stay in float: {@code scale * dotInt8(query, codes)} approximates the
+ * dot product with the original vector to within about half a code step per component, which is
+ * enough to shortlist candidates for an exact re-rank.
+ */
+public final class ScalarQuantizer {
+    private static final float MAX_CODE = 127f;
+
+    private ScalarQuantizer() {
+        // Utility class
+    }
+
+    /**
+     * Quantizes a vector into int8 codes.
+     *
+     * @param vector The vector to quantize
+     * @param codes Receives one code per component; at least as long as the vector
+     * @return The scale that maps codes back to component values, or 0 for an all-zero vector
+     */
+    public static float quantize(float[] vector, byte[] codes) {
+        if (codes.length < vector.length) {
+            throw new IllegalArgumentException(
+                    "Codes length " + codes.length + " is less than dimension " + vector.length);
+        }
+        float max = 0f;
+        for (float v : vector) {
+            max = Math.max(max, Math.abs(v));
+        }
+        if (max == 0f) {
+            Arrays.fill(codes, 0, vector.length, (byte) 0);
+            return 0f;
+        }
+        float scale = max / MAX_CODE;
+        for (int i = 0; i < vector.length; i++) {
+            codes[i] = (byte) Math.round(vector[i] / scale);
+        }
+        return scale;
+    }
+
+    /**
+     * Restores approximate component values from int8 codes.
+     *
+     * @param codes The codes written by {@link #quantize}
+     * @param scale The scale returned with them
+     * @return One value per code
+     */
+    public static float[] dequantize(byte[] codes, float scale) {
+        float[] vector = new float[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            vector[i] = codes[i] * scale;
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,33 @@
+package com.ai.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/** Content hashes for text, used to recognize text that was already processed. */
+public final class TextHash {
+
+    private TextHash() {
+        // Utility class
+    }
+
+    /**
+     * Hashes text with SHA-256.
+     *
+     * @param text The text to hash
+     * @return Lowercase hex SHA-256 of the UTF-8 text (64 characters)
+     */
+    public static String sha256(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Text cannot be null");
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
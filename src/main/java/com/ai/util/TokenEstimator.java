@@ -0,0 +1,40 @@
+package com.ai.util;
+
+/**
+ * Cheap token counts for sizing prompts without running a model's tokenizer. The BPE tokenizers of
+ * the supported models average about four characters of English text per token, so estimates are
+ * close for prose and err high for text with long words.
+ */
+public final class TokenEstimator {
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private TokenEstimator() {
+        // Utility class
+    }
+
+    /**
+     * Estimates the tokens a model spends on text.
+     *
+     * @param text The text to measure
+     * @return Estimated token count, 0 only for empty text
+     */
+    public static int estimate(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Text cannot be null");
+        }
+        return (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    /**
+     * Returns the longest text length, in characters, estimated at no more than the given tokens.
+     *
+     * @param tokens The token limit
+     * @return Characters that fit the limit
+     */
+    public static int maxChars(int tokens) {
+        if (tokens < 0) {
+            throw new IllegalArgumentException("Tokens cannot be negative");
+        }
+        return tokens * CHARS_PER_TOKEN;
+    }
+}
@@ -0,0 +1,176 @@
+package com.ai.util;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Similarity kernels for embedding vectors: dot product, cosine similarity and Euclidean (L2)
+ * distance, for one pair or one query against many rows.
+ *
+ * <p>When the JVM is started with {@code --add-modules jdk.incubator.vector} and the CPU offers at
+ * least 128-bit float registers, the kernels run on the Vector API; otherwise they fall back to
+ * plain loops with the same results up to float rounding.
+ */
+public final class VectorMath {
+    private static final int MIN_SIMD_LANES = 4;
+    private static final VectorKernels KERNELS = selectKernels();
+
+    private VectorMath() {
+        // Utility class
+    }
+
+    /** Returns whether the kernels run on the Vector API rather than the scalar fallback. */
+    public static boolean accelerated() {
+        return KERNELS != ScalarVectorKernels.INSTANCE;
+    }
+
+    /**
+     * Returns the dot product of two vectors, which is their cosine similarity when both are
+     * L2-normalized.
+     *
+     * @throws IllegalArgumentException if the vectors differ in length
+     */
+    public static float dot(float[] a, float[] b) {
+        checkDimensions(a, b);
+        return KERNELS.dot(a, b);
+    }
+
+    /**
+     * Returns the dot product of a vector and {@code a.length} little-endian floats stored in a
+     * segment from {@code offset}, such as a row of a memory-mapped file.
+     *
+     * @throws IndexOutOfBoundsException if the row extends past the end of the segment
+     */
+    public static float dot(float[] a, MemorySegment b, long offset) {
+        return KERNELS.dot(a, b, offset);
+    }
+
+    /**
+     * Returns the dot product of a vector and {@code a.length} int8 codes stored in a segment from
+     * {@code offset}, as written by {@link ScalarQuantizer}. Multiply by the codes' scale to
+     * approximate the dot product with the original vector.
+     *
+     * @throws IndexOutOfBoundsException if the codes extend past the end of the segment
+     */
+    public static float dotInt8(float[] a, MemorySegment codes, long offset) {
+        return KERNELS.dotInt8(a, codes, offset);
+    }
+
+    /**
+     * Returns the cosine similarity of two vectors, or 0 if either has zero length.
+     *
+     * @throws IllegalArgumentException if the vectors differ in length
+     */
+    public static float cosine(float[] a, float[] b) {
+        checkDimensions(a, b);
+        return KERNELS.cosine(a, b);
+    }
+
+    /**
+     * Returns the Euclidean (L2) distance between two vectors.
+     *
+     * @throws IllegalArgumentException if the vectors differ in length
+     */
+    public static float l2(float[] a, float[] b) {
+        checkDimensions(a, b);
+        return (float) Math.sqrt(KERNELS.squaredDistance(a, b));
+    }
+
+    /**
+     * Returns a copy of the vector scaled to unit L2 length, or all zeros for a zero vector.
+     *
+     * @throws IllegalArgumentException if the vector is null or empty
+     */
+    public static float[] normalize(float[] vector) {
+        if (vector == null || vector.length == 0) {
+            throw new IllegalArgumentException("Vector cannot be null or empty");
+        }
+        double norm = 0.0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        float[] normalized = new float[vector.length];
+        if (norm > 0.0) {
+            float scale = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < vector.length; i++) {
+                normalized[i] = vector[i] * scale;
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * Scores a query against every row by dot product.
+     *
+     * @param query The query vector
+     * @param rows Rows with the query's dimension
+     * @param scores Receives the score of {@code rows[i]} at index {@code i}
+     * @throws IllegalArgumentException if a row differs in length or scores is too short
+     */
+    public static void dot(float[] query, float[][] rows, float[] scores) {
+        checkScores(rows, scores);
+        for (int i = 0; i < rows.length; i++) {
+            checkDimensions(query, rows[i]);
+            scores[i] = KERNELS.dot(query, rows[i]);
+        }
+    }
+
+    /**
+     * Scores a query against every row by cosine similarity.
+     *
+     * @param query The query vector
+     * @param rows Rows with the query's dimension
+     * @param scores Receives the score of {@code rows[i]} at index {@code i}
+     * @throws IllegalArgumentException if a row differs in length or scores is too short
+     */
+    public static void cosine(float[] query, float[][] rows, float[] scores) {
+        checkScores(rows, scores);
+        for (int i = 0; i < rows.length; i++) {
+            checkDimensions(query, rows[i]);
+            scores[i] = KERNELS.cosine(query, rows[i]);
+        }
+    }
+
+    /**
+     * Measures the Euclidean (L2) distance from a query to every row.
+     *
+     * @param query The query vector
+     * @param rows Rows with the query's dimension
+     * @param distances Receives the distance to {@code rows[i]} at index {@code i}
+     * @throws IllegalArgumentException if a row differs in length or distances is too short
+     */
+    public static void l2(float[] query, float[][] rows, float[] distances) {
+        checkScores(rows, distances);
+        for (int i = 0; i < rows.length; i++) {
+            checkDimensions(query, rows[i]);
+            distances[i] = (float) Math.sqrt(KERNELS.squaredDistance(query, rows[i]));
+        }
+    }
+
+    private static void checkDimensions(float[] a, float[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException(
+                    "Vector dimensions " + a.length + " and " + b.length + " do not match");
+        }
+    }
+
+    private static void checkScores(float[][] rows, float[] scores) {
+        if (scores.length < rows.length) {
+            throw new IllegalArgumentException(
+                    "Scores length " + scores.length + " is less than row count " + rows.length);
+        }
+    }
+
+    private static VectorKernels selectKernels() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return ScalarVectorKernels.INSTANCE;
+        }
+        try {
+            // Narrower registers gain nothing over the scalar loop
+            return SimdVectorKernels.laneCount() >= MIN_SIMD_LANES
+                    ? SimdVectorKernels.INSTANCE
+                    : ScalarVectorKernels.INSTANCE;
+        } catch (LinkageError e) {
+            return ScalarVectorKernels.INSTANCE;
+        }
+    }
+}
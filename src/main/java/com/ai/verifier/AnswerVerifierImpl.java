@@ -1,15 +1,25 @@
 package com.ai.verifier;
 
 import com.ai.domain.Answer;
-import com.ai.domain.Chunk;
 import com.ai.domain.Claim;
+import com.ai.domain.ContextChunk;
 import com.ai.domain.RetrievalResult;
 import com.ai.domain.VerificationResult;
 import com.ai.domain.VerificationStatus;
 import com.ai.llm.OllamaClient;
 import com.ai.model.LlmModel;
+import com.ai.util.CorrelationIdHolder;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Service;
@@ -20,11 +30,20 @@ public class AnswerVerifierImpl implements AnswerVerifier {
     private static final Logger logger = LogManager.getLogger(AnswerVerifierImpl.class);
     private static final LlmModel VERIFICATION_MODEL = LlmModel.PHI_3_MINI;
     private static final int MAX_VERIFICATION_TOKENS = 500;
+    // A verdict object costs about a dozen tokens; the rest covers a preamble or code fence
+    private static final int BATCH_TOKENS_PER_CLAIM = 32;
+    private static final Pattern JSON_OBJECT = Pattern.compile("\\{[^{}]*}");
+    private static final Pattern CLAIM_INDEX = Pattern.compile("\"claim\"\\s*:\\s*\"?(\\d+)");
+    private static final Pattern SUPPORTED =
+            Pattern.compile(
+                    "\"supported\"\\s*:\\s*\"?(true|false|yes|no)\\b", Pattern.CASE_INSENSITIVE);
 
     private final OllamaClient ollamaClient;
+    private final VerifierConfig config;
 
-    public AnswerVerifierImpl(OllamaClient ollamaClient) {
+    public AnswerVerifierImpl(OllamaClient ollamaClient, VerifierConfig config) {
         this.ollamaClient = ollamaClient;
+        this.config = config;
     }
 
     @Override
@@ -46,11 +65,13 @@ public class AnswerVerifierImpl implements AnswerVerifier {
         logger.debug("Extracted {} claims from answer", claims.size());
 
         // Verify each claim against context
+        List<Boolean> verdicts = verifyClaims(claims, context.chunks());
         List<Claim> verifiedClaims = new ArrayList<>();
         int groundedCount = 0;
 
-        for (Claim claim : claims) {
-            boolean isGrounded = verifyClaimAgainstContext(claim.text(), context.chunks());
+        for (int i = 0; i < claims.size(); i++) {
+            Claim claim = claims.get(i);
+            boolean isGrounded = verdicts.get(i);
             String supportingChunkId =
                     isGrounded && !context.chunks().isEmpty() ? context.chunks().get(0).id() : null;
 
@@ -109,7 +130,7 @@ public class AnswerVerifierImpl implements AnswerVerifier {
         }
     }
 
-    private List<Claim> parseClaimsFromResponse(String response) {
+    static List<Claim> parseClaimsFromResponse(String response) {
         List<Claim> claims = new ArrayList<>();
         String[] lines = response.split("\n");
 
@@ -127,17 +148,150 @@ public class AnswerVerifierImpl implements AnswerVerifier {
         return claims.isEmpty() ? List.of(new Claim(response.trim(), false, null)) : claims;
     }
 
-    private boolean verifyClaimAgainstContext(String claim, List<Chunk> chunks) {
+    /**
+     * Verifies claims on virtual threads of one executor, at most {@code verifier.max-concurrency}
+     * at a time, or one after another for a single claim or a concurrency of 1. A claim whose
+     * verdict is not ready within {@code verifier.claim-timeout} of being awaited is treated as not
+     * grounded. Verdicts are returned in claim order.
+     */
+    private List<Boolean> verifyClaims(List<Claim> claims, List<ContextChunk> chunks) {
+        if (config.mode() == VerifierConfig.Mode.BATCHED
+                && claims.size() > 1
+                && !chunks.isEmpty()) {
+            List<Boolean> verdicts = verifyClaimsBatched(claims, chunks);
+            if (verdicts != null) {
+                return verdicts;
+            }
+            logger.warn("Batched claim verification failed, falling back to per-claim checks");
+        }
+
+        boolean sequential = claims.size() <= 1 || config.maxConcurrency() == 1;
+        Semaphore permits = new Semaphore(config.maxConcurrency());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Boolean> verdicts = new ArrayList<>(claims.size());
+            List<Future<Boolean>> futures = new ArrayList<>(claims.size());
+            for (Claim claim : claims) {
+                Future<Boolean> future =
+                        executor.submit(
+                                CorrelationIdHolder.propagate(
+                                        () -> {
+                                            permits.acquire();
+                                            try {
+                                                return verifyClaimAgainstContext(
+                                                        claim.text(), chunks);
+                                            } finally {
+                                                permits.release();
+                                            }
+                                        }));
+                if (sequential) {
+                    verdicts.add(awaitVerdict(future));
+                } else {
+                    futures.add(future);
+                }
+            }
+
+            for (Future<Boolean> future : futures) {
+                verdicts.add(awaitVerdict(future));
+            }
+            return verdicts;
+        }
+    }
+
+    /**
+     * Checks every claim in a single generation so the shared context is sent once. The model is
+     * asked for a JSON array of {@code {"claim": n, "supported": true|false}} objects; returns
+     * {@code null} if the call fails or any claim lacks a verdict.
+     */
+    private List<Boolean> verifyClaimsBatched(List<Claim> claims, List<ContextChunk> chunks) {
+        StringBuilder numbered = new StringBuilder();
+        for (int i = 0; i < claims.size(); i++) {
+            numbered.append(i + 1).append(". ").append(claims.get(i).text()).append('\n');
+        }
+
+        String prompt =
+                String.format(
+                        "For each numbered claim, decide whether the context supports it.\n"
+                                + "Respond only with a JSON array such as "
+                                + "[{\"claim\": 1, \"supported\": true}], one object per claim.\n\n"
+                                + "Context: %s\n\n"
+                                + "Claims:\n%s\n"
+                                + "JSON:",
+                        buildContextText(chunks), numbered);
+
+        try {
+            String response =
+                    ollamaClient.generate(
+                            VERIFICATION_MODEL,
+                            prompt,
+                            BATCH_TOKENS_PER_CLAIM * claims.size() + BATCH_TOKENS_PER_CLAIM);
+            return parseBatchedVerdicts(response, claims.size());
+        } catch (Exception e) {
+            logger.warn("Batched claim verification call failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads per-claim verdicts from a model response. Tolerates surrounding prose, code fences,
+     * quoted values and yes/no in place of booleans; returns {@code null} unless every claim
+     * received exactly one verdict.
+     */
+    static List<Boolean> parseBatchedVerdicts(String response, int claimCount) {
+        if (response == null) {
+            return null;
+        }
+        Boolean[] verdicts = new Boolean[claimCount];
+        Matcher object = JSON_OBJECT.matcher(response);
+        while (object.find()) {
+            Matcher index = CLAIM_INDEX.matcher(object.group());
+            Matcher supported = SUPPORTED.matcher(object.group());
+            if (!index.find() || !supported.find()) {
+                continue;
+            }
+            int position = Integer.parseInt(index.group(1)) - 1;
+            if (position < 0 || position >= claimCount || verdicts[position] != null) {
+                return null;
+            }
+            String value = supported.group(1).toLowerCase();
+            verdicts[position] = value.equals("true") || value.equals("yes");
+        }
+
+        List<Boolean> result = new ArrayList<>(claimCount);
+        for (Boolean verdict : verdicts) {
+            if (verdict == null) {
+                return null;
+            }
+            result.add(verdict);
+        }
+        return result;
+    }
+
+    /** Waits up to the claim timeout for a verdict, cancelling the check if it is not ready. */
+    private boolean awaitVerdict(Future<Boolean> future) {
+        try {
+            return future.get(config.claimTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.warn(
+                    "Claim verification timed out after {}, assuming not grounded",
+                    config.claimTimeout());
+            return false;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            logger.warn("Claim verification failed, assuming not grounded: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean verifyClaimAgainstContext(String claim, List<ContextChunk> chunks) {
         if (chunks.isEmpty()) {
             return false;
         }
 
-        String contextText =
-                chunks.stream()
-                        .map(Chunk::text)
-                        .limit(3) // Use top 3 chunks
-                        .reduce((a, b) -> a + "\n\n" + b)
-                        .orElse("");
+        String contextText = buildContextText(chunks);
 
         String prompt =
                 String.format(
@@ -157,4 +311,12 @@ public class AnswerVerifierImpl implements AnswerVerifier {
             return false;
         }
     }
+
+    private static String buildContextText(List<ContextChunk> chunks) {
+        return chunks.stream()
+                .map(ContextChunk::text)
+                .limit(3) // Use top 3 chunks
+                .reduce((a, b) -> a + "\n\n" + b)
+                .orElse("");
+    }
 }
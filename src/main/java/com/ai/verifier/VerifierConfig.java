@@ -0,0 +1,80 @@
+package com.ai.verifier;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Configuration for answer verification. */
+@Configuration
+@ConfigurationProperties(prefix = "verifier")
+public class VerifierConfig {
+    /** How claims are checked against the retrieved context. */
+    public enum Mode {
+        /** One Ollama generation per claim. */
+        PER_CLAIM,
+        /** All claims in a single generation with a JSON verdict per claim. */
+        BATCHED
+    }
+
+    private Mode mode = Mode.PER_CLAIM;
+    private int maxConcurrency = 4;
+    private Duration claimTimeout = Duration.ofSeconds(30);
+
+    public VerifierConfig() {}
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Mode cannot be null");
+        }
+        this.mode = mode;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be positive");
+        }
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public Duration getClaimTimeout() {
+        return claimTimeout;
+    }
+
+    public void setClaimTimeout(Duration claimTimeout) {
+        if (claimTimeout == null || claimTimeout.isNegative() || claimTimeout.isZero()) {
+            throw new IllegalArgumentException("Claim timeout must be positive");
+        }
+        this.claimTimeout = claimTimeout;
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public Duration claimTimeout() {
+        return claimTimeout;
+    }
+
+    @Override
+    public String toString() {
+        return "VerifierConfig[mode="
+                + mode
+                + ", maxConcurrency="
+                + maxConcurrency
+                + ", claimTimeout="
+                + claimTimeout
+                + "]";
+    }
+}
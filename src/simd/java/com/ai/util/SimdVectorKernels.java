@@ -0,0 +1,139 @@
+package com.ai.util;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernels on the incubating Vector API. Each loop processes one preferred-width register of lanes
+ * per iteration with fused multiply-adds, reduces the lanes once at the end and finishes the
+ * remainder element by element.
+ */
+final class SimdVectorKernels implements VectorKernels {
+    static final SimdVectorKernels INSTANCE = new SimdVectorKernels();
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    // Bytes loaded per int8 step: one float register's worth, but never below the 64-bit shape
+    private static final VectorSpecies<Byte> BYTE_SPECIES =
+            VectorSpecies.of(
+                    byte.class,
+                    VectorShape.forBitSize(Math.max(64, SPECIES.vectorBitSize() / Float.BYTES)));
+    private static final int BYTE_PARTS = BYTE_SPECIES.length() / SPECIES.length();
+    private static final ValueLayout.OfFloat FLOAT =
+            ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private SimdVectorKernels() {}
+
+    /** Returns the number of float lanes processed per iteration. */
+    static int laneCount() {
+        return SPECIES.length();
+    }
+
+    @Override
+    public float dot(float[] a, float[] b) {
+        FloatVector sum = FloatVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(a.length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(SPECIES, a, i);
+            FloatVector vb = FloatVector.fromArray(SPECIES, b, i);
+            sum = va.fma(vb, sum);
+        }
+        float result = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            result += a[i] * b[i];
+        }
+        return result;
+    }
+
+    @Override
+    public float dot(float[] a, MemorySegment b, long offset) {
+        FloatVector sum = FloatVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(a.length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(SPECIES, a, i);
+            FloatVector vb =
+                    FloatVector.fromMemorySegment(
+                            SPECIES, b, offset + (long) i * Float.BYTES, ByteOrder.LITTLE_ENDIAN);
+            sum = va.fma(vb, sum);
+        }
+        float result = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            result += a[i] * b.get(FLOAT, offset + (long) i * Float.BYTES);
+        }
+        return result;
+    }
+
+    @Override
+    public float dotInt8(float[] a, MemorySegment codes, long offset) {
+        FloatVector sum = FloatVector.zero(SPECIES);
+        int bound = BYTE_SPECIES.loopBound(a.length);
+        int i = 0;
+        for (; i < bound; i += BYTE_SPECIES.length()) {
+            ByteVector bytes =
+                    ByteVector.fromMemorySegment(
+                            BYTE_SPECIES, codes, offset + i, ByteOrder.LITTLE_ENDIAN);
+            // Widen each float register's share of the loaded bytes in turn
+            for (int part = 0; part < BYTE_PARTS; part++) {
+                FloatVector vb =
+                        (FloatVector) bytes.convertShape(VectorOperators.B2F, SPECIES, part);
+                FloatVector va = FloatVector.fromArray(SPECIES, a, i + part * SPECIES.length());
+                sum = va.fma(vb, sum);
+            }
+        }
+        float result = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            result += a[i] * codes.get(ValueLayout.JAVA_BYTE, offset + i);
+        }
+        return result;
+    }
+
+    @Override
+    public float cosine(float[] a, float[] b) {
+        FloatVector dot = FloatVector.zero(SPECIES);
+        FloatVector normA = FloatVector.zero(SPECIES);
+        FloatVector normB = FloatVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(a.length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(SPECIES, a, i);
+            FloatVector vb = FloatVector.fromArray(SPECIES, b, i);
+            dot = va.fma(vb, dot);
+            normA = va.fma(va, normA);
+            normB = vb.fma(vb, normB);
+        }
+        float dotSum = dot.reduceLanes(VectorOperators.ADD);
+        float normASum = normA.reduceLanes(VectorOperators.ADD);
+        float normBSum = normB.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            dotSum += a[i] * b[i];
+            normASum += a[i] * a[i];
+            normBSum += b[i] * b[i];
+        }
+        return VectorKernels.cosine(dotSum, normASum, normBSum);
+    }
+
+    @Override
+    public float squaredDistance(float[] a, float[] b) {
+        FloatVector sum = FloatVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(a.length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector diff =
+                    FloatVector.fromArray(SPECIES, a, i).sub(FloatVector.fromArray(SPECIES, b, i));
+            sum = diff.fma(diff, sum);
+        }
+        float result = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            float diff = a[i] - b[i];
+            result += diff * diff;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,30 @@
+package com.ai.util;
+
+import java.lang.foreign.MemorySegment;
+
+/** One implementation of the similarity kernels behind {@code VectorMath}. */
+interface VectorKernels {
+
+    /** Returns the dot product of two vectors of the same length. */
+    float dot(float[] a, float[] b);
+
+    /** Returns the dot product of a vector and the little-endian floats at a segment offset. */
+    float dot(float[] a, MemorySegment b, long offset);
+
+    /** Returns the dot product of a vector and the int8 codes at a segment offset. */
+    float dotInt8(float[] a, MemorySegment codes, long offset);
+
+    /** Returns the cosine similarity of two vectors, or 0 if either has zero length. */
+    float cosine(float[] a, float[] b);
+
+    /** Returns the squared Euclidean distance between two vectors. */
+    float squaredDistance(float[] a, float[] b);
+
+    /** Combines the sums of a cosine kernel, treating a zero-length vector as dissimilar. */
+    static float cosine(float dot, float normA, float normB) {
+        if (normA == 0f || normB == 0f) {
+            return 0f;
+        }
+        return (float) (dot / Math.sqrt((double) normA * normB));
+    }
+}
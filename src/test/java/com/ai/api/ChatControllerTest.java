@@ -1,14 +1,20 @@
 package com.ai.api;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.ai.control.AnswerStreamListener;
 import com.ai.control.ControlPlane;
+import com.ai.control.ControlPlaneException;
 import com.ai.domain.*;
+import com.ai.model.LlmModel;
+import com.ai.model.RetrievalStrategy;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +22,7 @@ import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(ChatController.class)
 class ChatControllerTest {
@@ -48,4 +55,68 @@ class ChatControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("UP"));
     }
+
+    @Test
+    void shouldStreamChatAnswerAsServerSentEvents() throws Exception {
+        Citation citation = new Citation("chunk-1", "doc-1", "AI is artificial intelligence", 0.9);
+        Answer answer =
+                new Answer("AI is artificial intelligence", List.of(citation), "qwen2.5:7b");
+        VerificationResult verification =
+                new VerificationResult(VerificationStatus.GROUNDED, List.of(), 0.95, "Grounded");
+        AnswerResult result = new AnswerResult(answer, verification, 0.95, "DEEP");
+
+        when(controlPlane.answer(any(Question.class), any(AnswerStreamListener.class)))
+                .thenAnswer(
+                        invocation -> {
+                            AnswerStreamListener listener = invocation.getArgument(1);
+                            listener.onContext("SIMPLE", List.of(citation));
+                            listener.onToken("Vague");
+                            listener.onEscalation(2, LlmModel.QWEN_2_5_7B, RetrievalStrategy.DEEP);
+                            listener.onContext("DEEP", List.of(citation));
+                            listener.onToken("AI is artificial intelligence");
+                            return result;
+                        });
+
+        MvcResult mvcResult =
+                mockMvc.perform(
+                                post("/api/chat/stream")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content("{\"question\":\"What is AI?\"}"))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+        mvcResult.getAsyncResult(5_000);
+
+        String body = mvcResult.getResponse().getContentAsString();
+        assertThat(body)
+                .containsSubsequence(
+                        "event:context",
+                        "\"chunkId\":\"chunk-1\"",
+                        "event:token",
+                        "\"text\":\"Vague\"",
+                        "event:escalation",
+                        "\"model\":\"qwen2.5:7b\"",
+                        "event:context",
+                        "event:token",
+                        "event:verification",
+                        "\"verificationStatus\":\"GROUNDED\"");
+    }
+
+    @Test
+    void shouldSendErrorEventWhenStreamingFails() throws Exception {
+        when(controlPlane.answer(any(Question.class), any(AnswerStreamListener.class)))
+                .thenThrow(new ControlPlaneException("Failed to generate answer"));
+
+        MvcResult mvcResult =
+                mockMvc.perform(
+                                post("/api/chat/stream")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content("{\"question\":\"What is AI?\"}"))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+        mvcResult.getAsyncResult(5_000);
+
+        assertThat(mvcResult.getResponse().getContentAsString())
+                .contains("event:error")
+                .contains("Failed to generate answer");
+    }
 }
@@ -0,0 +1,83 @@
+package com.ai.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.ai.cache.CacheStats;
+import com.ai.cache.SemanticAnswerCache;
+import com.ai.embeddings.CachingEmbeddingService;
+import com.ai.embeddings.EmbeddingCacheStats;
+import com.ai.llm.HttpPoolStats;
+import com.ai.llm.OllamaHttpTransport;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(StatsController.class)
+class StatsControllerTest {
+
+    @Autowired private MockMvc mockMvc;
+
+    @MockitoBean private SemanticAnswerCache answerCache;
+
+    @MockitoBean private OllamaHttpTransport ollamaTransport;
+
+    @MockitoBean private CachingEmbeddingService embeddingCache;
+
+    @Test
+    void shouldReturnAnswerCacheStats() throws Exception {
+        when(answerCache.stats()).thenReturn(new CacheStats(3, 1, 2, 1, 7));
+
+        mockMvc.perform(get("/api/stats/answer-cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(3))
+                .andExpect(jsonPath("$.misses").value(1))
+                .andExpect(jsonPath("$.evictions").value(2))
+                .andExpect(jsonPath("$.invalidations").value(1))
+                .andExpect(jsonPath("$.size").value(7))
+                .andExpect(jsonPath("$.hitRate").value(0.75));
+    }
+
+    @Test
+    void shouldReturnOllamaPoolStats() throws Exception {
+        when(ollamaTransport.stats()).thenReturn(new HttpPoolStats(4, 2, 1, 16));
+
+        mockMvc.perform(get("/api/stats/ollama-pool"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.leased").value(4))
+                .andExpect(jsonPath("$.available").value(2))
+                .andExpect(jsonPath("$.pending").value(1))
+                .andExpect(jsonPath("$.max").value(16))
+                .andExpect(jsonPath("$.utilization").value(0.25));
+    }
+
+    @Test
+    void shouldReturnEmbeddingCacheStats() throws Exception {
+        when(embeddingCache.stats()).thenReturn(new EmbeddingCacheStats(5, 1, 2, 3, 40, 4096));
+
+        mockMvc.perform(get("/api/stats/embedding-cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.memoryHits").value(5))
+                .andExpect(jsonPath("$.persistentHits").value(1))
+                .andExpect(jsonPath("$.misses").value(2))
+                .andExpect(jsonPath("$.evictions").value(3))
+                .andExpect(jsonPath("$.entries").value(40))
+                .andExpect(jsonPath("$.bytes").value(4096))
+                .andExpect(jsonPath("$.hitRate").value(0.75));
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenEmbeddingCacheIsDisabled() {
+        StatsController controller =
+                new StatsController(answerCache, ollamaTransport, Optional.empty());
+
+        assertThat(controller.embeddingCache().getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,55 @@
+package com.ai.cache;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class AnswerCacheConfigTest {
+
+    @Test
+    void shouldCreateDefaultConfig() {
+        AnswerCacheConfig config = new AnswerCacheConfig();
+
+        assertThat(config.enabled()).isFalse();
+        assertThat(config.maxEntries()).isEqualTo(1000);
+        assertThat(config.ttl()).isEqualTo(Duration.ofHours(1));
+        assertThat(config.maxDistance()).isEqualTo(0.05);
+    }
+
+    @Test
+    void shouldSetProperties() {
+        AnswerCacheConfig config = new AnswerCacheConfig();
+        config.setEnabled(true);
+        config.setMaxEntries(10);
+        config.setTtl(Duration.ofMinutes(5));
+        config.setMaxDistance(0.1);
+
+        assertThat(config.isEnabled()).isTrue();
+        assertThat(config.getMaxEntries()).isEqualTo(10);
+        assertThat(config.getTtl()).isEqualTo(Duration.ofMinutes(5));
+        assertThat(config.getMaxDistance()).isEqualTo(0.1);
+        assertThat(config.toString()).contains("AnswerCacheConfig").contains("maxEntries=10");
+    }
+
+    @Test
+    void shouldRejectInvalidValues() {
+        AnswerCacheConfig config = new AnswerCacheConfig();
+
+        assertThatThrownBy(() -> config.setMaxEntries(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Max entries must be positive");
+        assertThatThrownBy(() -> config.setTtl(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("TTL must be positive");
+        assertThatThrownBy(() -> config.setTtl(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("TTL must be positive");
+        assertThatThrownBy(() -> config.setMaxDistance(-0.1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Max distance must be between 0.0 and 2.0");
+        assertThatThrownBy(() -> config.setMaxDistance(2.1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Max distance must be between 0.0 and 2.0");
+    }
+}
@@ -0,0 +1,20 @@
+package com.ai.cache;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class CacheStatsTest {
+
+    @Test
+    void shouldCalculateHitRate() {
+        CacheStats stats = new CacheStats(3, 1, 0, 0, 2);
+
+        assertThat(stats.hitRate()).isEqualTo(0.75);
+    }
+
+    @Test
+    void shouldReturnZeroHitRateWithoutLookups() {
+        assertThat(new CacheStats(0, 0, 0, 0, 0).hitRate()).isEqualTo(0.0);
+    }
+}
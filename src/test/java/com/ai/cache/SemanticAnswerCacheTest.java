@@ -0,0 +1,189 @@
+package com.ai.cache;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.ai.domain.*;
+import com.ai.rag.ChunksChangedEvent;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SemanticAnswerCacheTest {
+
+    private MutableClock clock;
+    private AnswerCacheConfig config;
+    private SemanticAnswerCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        config = new AnswerCacheConfig();
+        config.setEnabled(true);
+        config.setMaxEntries(2);
+        config.setTtl(Duration.ofMinutes(10));
+        config.setMaxDistance(0.05);
+        cache = new SemanticAnswerCache(config, clock);
+    }
+
+    @Test
+    void shouldReportEnabledFlag() {
+        assertThat(cache.isEnabled()).isTrue();
+        assertThat(new SemanticAnswerCache(new AnswerCacheConfig()).isEnabled()).isFalse();
+    }
+
+    @Test
+    void shouldReturnAnswerForSimilarQuestion() {
+        AnswerResult result = result("chunk-1");
+        cache.put(new float[] {1f, 0f}, result);
+
+        assertThat(cache.get(new float[] {1f, 0.01f})).contains(result);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldMissForDistantQuestion() {
+        cache.put(new float[] {1f, 0f}, result("chunk-1"));
+
+        assertThat(cache.get(new float[] {0f, 1f})).isEmpty();
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturnClosestMatch() {
+        AnswerResult far = result("chunk-1");
+        AnswerResult near = result("chunk-2");
+        config.setMaxDistance(0.5);
+        cache.put(new float[] {1f, 0.3f}, far);
+        cache.put(new float[] {1f, 0.05f}, near);
+
+        assertThat(cache.get(new float[] {1f, 0f})).contains(near);
+    }
+
+    @Test
+    void shouldExpireEntriesAfterTtl() {
+        cache.put(new float[] {1f, 0f}, result("chunk-1"));
+
+        clock.advance(Duration.ofMinutes(11));
+
+        assertThat(cache.get(new float[] {1f, 0f})).isEmpty();
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntry() {
+        AnswerResult first = result("chunk-1");
+        AnswerResult second = result("chunk-2");
+        AnswerResult third = result("chunk-3");
+        cache.put(new float[] {1f, 0f, 0f}, first);
+        cache.put(new float[] {0f, 1f, 0f}, second);
+        cache.get(new float[] {1f, 0f, 0f}); // touch first
+
+        cache.put(new float[] {0f, 0f, 1f}, third);
+
+        assertThat(cache.get(new float[] {1f, 0f, 0f})).contains(first);
+        assertThat(cache.get(new float[] {0f, 1f, 0f})).isEmpty();
+        assertThat(cache.get(new float[] {0f, 0f, 1f})).contains(third);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldInvalidateEntriesCitingChangedChunk() {
+        cache.put(new float[] {1f, 0f}, result("chunk-1"));
+        cache.put(new float[] {0f, 1f}, result("chunk-2"));
+
+        cache.onChunksChanged(ChunksChangedEvent.of("chunk-1"));
+
+        assertThat(cache.get(new float[] {1f, 0f})).isEmpty();
+        assertThat(cache.get(new float[] {0f, 1f})).isPresent();
+        assertThat(cache.stats().invalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldInvalidateAllEntriesWhenAllChunksChange() {
+        cache.put(new float[] {1f, 0f}, result("chunk-1"));
+        cache.put(new float[] {0f, 1f}, result("chunk-2"));
+
+        cache.onChunksChanged(ChunksChangedEvent.all());
+
+        assertThat(cache.stats().size()).isZero();
+        assertThat(cache.stats().invalidations()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldIgnoreUnrelatedChunkChanges() {
+        cache.put(new float[] {1f, 0f}, result("chunk-1"));
+
+        cache.onChunksChanged(new ChunksChangedEvent(Set.of("other"), false));
+
+        assertThat(cache.stats().size()).isEqualTo(1);
+        assertThat(cache.stats().invalidations()).isZero();
+    }
+
+    @Test
+    void shouldSkipEntriesWithDifferentDimension() {
+        cache.put(new float[] {1f, 0f}, result("chunk-1"));
+
+        assertThat(cache.get(new float[] {1f, 0f, 0f})).isEmpty();
+    }
+
+    @Test
+    void shouldClearEntries() {
+        cache.put(new float[] {1f, 0f}, result("chunk-1"));
+
+        cache.clear();
+
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        assertThatThrownBy(() -> cache.put(new float[] {1f}, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Result cannot be null");
+        assertThatThrownBy(() -> cache.get(new float[0]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Vector cannot be null or empty");
+    }
+
+    private static AnswerResult result(String chunkId) {
+        Citation citation = new Citation(chunkId, "doc-1", "cited text", 0.9);
+        Answer answer = new Answer("Answer from " + chunkId, List.of(citation), "phi3:mini");
+        VerificationResult verification =
+                new VerificationResult(VerificationStatus.GROUNDED, List.of(), 0.95, "Grounded");
+        return new AnswerResult(answer, verification, 0.95, "SIMPLE");
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.ai.control;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.ai.model.LlmModel;
+import com.ai.model.RetrievalStrategy;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveModelRouterTest {
+    private static final float[] TOPIC_A = {1.0f, 0.0f};
+    private static final float[] TOPIC_B = {0.0f, 1.0f};
+
+    private ModelRouterConfig config;
+    private AdaptiveModelRouter router;
+
+    @BeforeEach
+    void setUp() {
+        config = new ModelRouterConfig();
+        config.setEnabled(true);
+        config.setMinSamples(3);
+        router = new AdaptiveModelRouter(config);
+    }
+
+    @Test
+    void shouldStartAtBottomWhenDisabled() {
+        config.setEnabled(false);
+        teach(TOPIC_A, LlmModel.PHI_3_MINI, 0.3, 3);
+
+        ModelRoute route = router.route("What is AI?", TOPIC_A);
+
+        assertThat(route)
+                .isEqualTo(
+                        new ModelRoute(
+                                LlmModel.PHI_3_MINI,
+                                RetrievalStrategy.SIMPLE,
+                                ModelRoute.NO_CLUSTER));
+    }
+
+    @Test
+    void shouldStartUnknownQuestionsAtBottom() {
+        ModelRoute route = router.route("What is AI?", TOPIC_A);
+
+        assertThat(route.model()).isEqualTo(LlmModel.PHI_3_MINI);
+        assertThat(route.strategy()).isEqualTo(RetrievalStrategy.SIMPLE);
+        assertThat(route.cluster()).isZero();
+    }
+
+    @Test
+    void shouldStartLongQuestionsOneRungUp() {
+        ModelRoute route = router.route("word ".repeat(60), TOPIC_A);
+
+        assertThat(route.model()).isEqualTo(LlmModel.QWEN_2_5_7B);
+        assertThat(route.strategy()).isEqualTo(RetrievalStrategy.DEEP);
+    }
+
+    @Test
+    void shouldRouteWithoutClusterWhenEmbeddingIsMissing() {
+        ModelRoute route = router.route("What is AI?", null);
+
+        assertThat(route.model()).isEqualTo(LlmModel.PHI_3_MINI);
+        assertThat(route.cluster()).isEqualTo(ModelRoute.NO_CLUSTER);
+    }
+
+    @Test
+    void shouldSkipStraightToModelThatSucceedsForEscalatingCluster() {
+        teach(TOPIC_A, LlmModel.PHI_3_MINI, 0.3, 3);
+        teach(TOPIC_A, LlmModel.QWEN_2_5_7B, 0.95, 3);
+
+        ModelRoute escalating = router.route("Why does the build fail?", TOPIC_A);
+        ModelRoute other = router.route("What is AI?", TOPIC_B);
+
+        assertThat(escalating.model()).isEqualTo(LlmModel.QWEN_2_5_7B);
+        assertThat(escalating.strategy()).isEqualTo(RetrievalStrategy.DEEP);
+        assertThat(other.model()).isEqualTo(LlmModel.PHI_3_MINI);
+        assertThat(other.cluster()).isNotEqualTo(escalating.cluster());
+    }
+
+    @Test
+    void shouldKeepBottomRungUntilEnoughSamples() {
+        teach(TOPIC_A, LlmModel.PHI_3_MINI, 0.3, 2);
+
+        ModelRoute route = router.route("What is AI?", TOPIC_A);
+
+        assertThat(route.model()).isEqualTo(LlmModel.PHI_3_MINI);
+    }
+
+    @Test
+    void shouldSkipEveryRungThatKeepsEscalating() {
+        teach(TOPIC_A, LlmModel.PHI_3_MINI, 0.3, 3);
+        teach(TOPIC_A, LlmModel.QWEN_2_5_7B, 0.4, 3);
+
+        ModelRoute route = router.route("What is AI?", TOPIC_A);
+
+        assertThat(route.model()).isEqualTo(LlmModel.LLAMA_3_1_8B);
+        assertThat(route.strategy()).isEqualTo(RetrievalStrategy.EXHAUSTIVE);
+    }
+
+    @Test
+    void shouldPeriodicallyRetestSkippedRung() {
+        config.setExplorationInterval(2);
+        teach(TOPIC_A, LlmModel.PHI_3_MINI, 0.3, 3);
+
+        ModelRoute first = router.route("What is AI?", TOPIC_A);
+        ModelRoute second = router.route("What is AI?", TOPIC_A);
+
+        assertThat(first.model()).isEqualTo(LlmModel.QWEN_2_5_7B);
+        assertThat(second.model()).isEqualTo(LlmModel.PHI_3_MINI);
+    }
+
+    @Test
+    void shouldGroupSimilarQuestions() {
+        ModelRoute first = router.route("What is AI?", TOPIC_A);
+        ModelRoute similar = router.route("What is AI exactly?", new float[] {0.99f, 0.05f});
+        ModelRoute different = router.route("How do I deploy?", TOPIC_B);
+
+        assertThat(similar.cluster()).isEqualTo(first.cluster());
+        assertThat(different.cluster()).isNotEqualTo(first.cluster());
+    }
+
+    @Test
+    void shouldJoinNearestClusterWhenFull() {
+        config.setMaxClusters(1);
+
+        ModelRoute first = router.route("What is AI?", TOPIC_A);
+        ModelRoute different = router.route("How do I deploy?", TOPIC_B);
+
+        assertThat(different.cluster()).isEqualTo(first.cluster());
+    }
+
+    @Test
+    void shouldMoveUpWhenBusyModelWouldAnswerLater() {
+        record(LlmModel.PHI_3_MINI, Duration.ofSeconds(10));
+        record(LlmModel.QWEN_2_5_7B, Duration.ofSeconds(2));
+        router.onAttemptStarted(LlmModel.PHI_3_MINI);
+        router.onAttemptStarted(LlmModel.PHI_3_MINI);
+
+        ModelRoute busy = router.route("What is AI?", TOPIC_A);
+        router.onAttemptFailed(LlmModel.PHI_3_MINI);
+        router.onAttemptFailed(LlmModel.PHI_3_MINI);
+        ModelRoute idle = router.route("What is AI?", TOPIC_A);
+
+        assertThat(busy.model()).isEqualTo(LlmModel.QWEN_2_5_7B);
+        assertThat(idle.model()).isEqualTo(LlmModel.PHI_3_MINI);
+    }
+
+    @Test
+    void shouldStayWhenBusyModelIsStillFastest() {
+        record(LlmModel.PHI_3_MINI, Duration.ofSeconds(1));
+        record(LlmModel.QWEN_2_5_7B, Duration.ofSeconds(5));
+        router.onAttemptStarted(LlmModel.PHI_3_MINI);
+
+        ModelRoute route = router.route("What is AI?", TOPIC_A);
+
+        assertThat(route.model()).isEqualTo(LlmModel.PHI_3_MINI);
+    }
+
+    @Test
+    void shouldTrackP50LatencyAndQueueDepth() {
+        record(LlmModel.PHI_3_MINI, Duration.ofSeconds(1));
+        record(LlmModel.PHI_3_MINI, Duration.ofSeconds(5));
+        record(LlmModel.PHI_3_MINI, Duration.ofSeconds(3));
+        router.onAttemptStarted(LlmModel.PHI_3_MINI);
+        router.onAttemptStarted(LlmModel.PHI_3_MINI);
+        router.onAttemptFailed(LlmModel.PHI_3_MINI);
+
+        assertThat(router.p50Latency(LlmModel.PHI_3_MINI)).contains(Duration.ofSeconds(3));
+        assertThat(router.queueDepth(LlmModel.PHI_3_MINI)).isEqualTo(1);
+        assertThat(router.p50Latency(LlmModel.QWEN_2_5_14B)).isEmpty();
+        assertThat(router.queueDepth(LlmModel.QWEN_2_5_14B)).isZero();
+    }
+
+    @Test
+    void shouldKeepLatestLatenciesWithinWindow() {
+        config.setLatencyWindow(2);
+        router = new AdaptiveModelRouter(config);
+        record(LlmModel.PHI_3_MINI, Duration.ofSeconds(9));
+        record(LlmModel.PHI_3_MINI, Duration.ofSeconds(1));
+        record(LlmModel.PHI_3_MINI, Duration.ofSeconds(2));
+
+        assertThat(router.p50Latency(LlmModel.PHI_3_MINI)).contains(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void shouldThrowExceptionForNullQuestionText() {
+        assertThatThrownBy(() -> router.route(null, TOPIC_A))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Question text cannot be null");
+    }
+
+    /** Routes a question on the topic and records answers by the model at the confidence. */
+    private void teach(float[] topic, LlmModel model, double confidence, int answers) {
+        ModelRoute route = router.route("What is AI?", topic);
+        for (int i = 0; i < answers; i++) {
+            router.onAttemptStarted(model);
+            router.onAttemptCompleted(route, model, Duration.ofSeconds(1), confidence);
+        }
+    }
+
+    private void record(LlmModel model, Duration latency) {
+        ModelRoute route = new ModelRoute(model, RetrievalStrategy.SIMPLE, ModelRoute.NO_CLUSTER);
+        router.onAttemptStarted(model);
+        router.onAttemptCompleted(route, model, latency, 0.95);
+    }
+}
@@ -0,0 +1,39 @@
+package com.ai.control;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class ControlPlaneConfigTest {
+
+    @Test
+    void shouldCreateDefaultConfig() {
+        ControlPlaneConfig config = new ControlPlaneConfig();
+
+        assertThat(config.raceEnabled()).isFalse();
+        assertThat(config.hedgeDelay()).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    void shouldSetProperties() {
+        ControlPlaneConfig config = new ControlPlaneConfig();
+        config.setRaceEnabled(true);
+        config.setHedgeDelay(Duration.ofMillis(500));
+
+        assertThat(config.isRaceEnabled()).isTrue();
+        assertThat(config.getHedgeDelay()).isEqualTo(Duration.ofMillis(500));
+        assertThat(config.toString()).contains("ControlPlaneConfig").contains("raceEnabled=true");
+    }
+
+    @Test
+    void shouldRejectInvalidHedgeDelay() {
+        ControlPlaneConfig config = new ControlPlaneConfig();
+
+        assertThatThrownBy(() -> config.setHedgeDelay(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Hedge delay cannot be null or negative");
+        assertThatThrownBy(() -> config.setHedgeDelay(Duration.ofMillis(-1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
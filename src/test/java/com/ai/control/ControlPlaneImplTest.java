@@ -2,18 +2,33 @@ package com.ai.control;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
+import com.ai.cache.SemanticAnswerCache;
 import com.ai.domain.*;
+import com.ai.embeddings.EmbeddingService;
 import com.ai.llm.OllamaClient;
 import com.ai.model.LlmModel;
 import com.ai.model.RetrievalStrategy;
+import com.ai.rag.ChunkRepository;
+import com.ai.rag.ChunkReranker;
+import com.ai.rag.RagConfig;
+import com.ai.rag.RerankConfig;
 import com.ai.rag.RetrievalService;
+import com.ai.rag.RetrievalServiceImpl;
+import com.ai.util.TokenEstimator;
 import com.ai.verifier.AnswerVerifier;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -26,11 +41,29 @@ class ControlPlaneImplTest {
 
     @Mock private AnswerVerifier answerVerifier;
 
+    @Mock private EmbeddingService embeddingService;
+
+    @Mock private SemanticAnswerCache answerCache;
+
+    @Mock private ChunkRepository chunkRepository;
+
+    @Mock private ModelRouter modelRouter;
+
     private ControlPlane controlPlane;
 
     @BeforeEach
     void setUp() {
-        controlPlane = new ControlPlaneImpl(retrievalService, ollamaClient, answerVerifier);
+        controlPlane =
+                new ControlPlaneImpl(
+                        retrievalService,
+                        ollamaClient,
+                        answerVerifier,
+                        embeddingService,
+                        answerCache,
+                        new ControlPlaneConfig());
+        lenient()
+                .when(embeddingService.generateEmbedding(anyString()))
+                .thenReturn(new Embedding(new float[] {0.1f, 0.2f}, "nomic-embed-text"));
     }
 
     @Test
@@ -47,7 +80,8 @@ class ControlPlaneImplTest {
                 new VerificationResult(
                         VerificationStatus.GROUNDED, List.of(), 0.95, "Fully grounded");
 
-        when(retrievalService.retrieve(anyString(), any(RetrievalStrategy.class)))
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
                 .thenReturn(retrievalResult);
         when(ollamaClient.generate(any(LlmModel.class), anyString(), anyInt()))
                 .thenReturn("AI is artificial intelligence");
@@ -62,6 +96,90 @@ class ControlPlaneImplTest {
         assertThat(result.confidence()).isGreaterThanOrEqualTo(0.7);
     }
 
+    @Test
+    void shouldPackPromptIntoModelContextWindow() {
+        Question question = new Question("What is AI?", "corr-123");
+        List<RetrievedChunk> chunks = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            // About 1500 estimated tokens each, against 3840 left by PHI_3_MINI for the prompt
+            chunks.add(
+                    new RetrievedChunk(
+                            "chunk-" + i, "doc-1", ("w" + i + "xx ").repeat(1200), i, 0.1));
+        }
+
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
+                .thenReturn(new RetrievalResult(chunks, "SIMPLE", 100L));
+        when(ollamaClient.generate(any(LlmModel.class), anyString(), anyInt()))
+                .thenReturn("AI is artificial intelligence");
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(
+                        new VerificationResult(
+                                VerificationStatus.GROUNDED, List.of(), 0.95, "Grounded"));
+
+        controlPlane.answer(question);
+
+        ArgumentCaptor<String> prompt = ArgumentCaptor.forClass(String.class);
+        verify(ollamaClient).generate(eq(LlmModel.PHI_3_MINI), prompt.capture(), eq(256));
+        int budget = LlmModel.PHI_3_MINI.contextWindow() - 256;
+        assertThat(prompt.getValue().length()).isLessThanOrEqualTo(TokenEstimator.maxChars(budget));
+        assertThat(prompt.getValue()).contains("w3xx").doesNotContain("w4xx");
+    }
+
+    @Test
+    void shouldScoreCitationsAndConfidenceFromSimilarity() {
+        Question question = new Question("What is AI?", "corr-123");
+        RetrievedChunk closest = new RetrievedChunk("chunk-1", "doc-1", "AI is smart", 0, 0.1);
+        RetrievedChunk further = new RetrievedChunk("chunk-2", "doc-1", "AI uses data", 1, 0.3);
+        RetrievalResult retrievalResult =
+                new RetrievalResult(List.of(closest, further), "SIMPLE", 100L);
+        VerificationResult verification =
+                new VerificationResult(
+                        VerificationStatus.GROUNDED, List.of(), 0.95, "Fully grounded");
+
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
+                .thenReturn(retrievalResult);
+        when(ollamaClient.generate(any(LlmModel.class), anyString(), anyInt()))
+                .thenReturn("AI is artificial intelligence");
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(verification);
+
+        AnswerResult result = controlPlane.answer(question);
+
+        assertThat(result.answer().citations())
+                .extracting(Citation::chunkId, Citation::relevanceScore)
+                .containsExactly(tuple("chunk-1", 0.9), tuple("chunk-2", 0.7));
+        // Mean cited similarity 0.8 moves 30% of the score: 0.95 * (0.7 + 0.3 * 0.8)
+        assertThat(result.confidence()).isCloseTo(0.95 * 0.94, within(1e-9));
+    }
+
+    @Test
+    void shouldClampNegativeSimilarityToZeroRelevance() {
+        Question question = new Question("What is AI?", "corr-123");
+        RetrievalResult retrievalResult =
+                new RetrievalResult(
+                        List.of(new RetrievedChunk("chunk-1", "doc-1", "Unrelated text", 0, 1.4)),
+                        "SIMPLE",
+                        100L);
+        VerificationResult verification =
+                new VerificationResult(
+                        VerificationStatus.GROUNDED, List.of(), 0.95, "Fully grounded");
+
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
+                .thenReturn(retrievalResult);
+        when(ollamaClient.generate(any(LlmModel.class), anyString(), anyInt()))
+                .thenReturn("Some answer");
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(verification);
+
+        AnswerResult result = controlPlane.answer(question);
+
+        assertThat(result.answer().citations().get(0).relevanceScore()).isZero();
+        assertThat(result.confidence()).isLessThan(0.7);
+    }
+
     @Test
     void shouldThrowExceptionForNullQuestion() {
         assertThatThrownBy(() -> controlPlane.answer(null))
@@ -93,7 +211,8 @@ class ControlPlaneImplTest {
                 new VerificationResult(
                         VerificationStatus.GROUNDED, List.of(), 0.95, "Fully grounded");
 
-        when(retrievalService.retrieve(anyString(), any(RetrievalStrategy.class)))
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
                 .thenReturn(retrievalResult);
         when(ollamaClient.generate(any(LlmModel.class), anyString(), anyInt()))
                 .thenReturn("Vague answer")
@@ -122,7 +241,8 @@ class ControlPlaneImplTest {
         VerificationResult lowConfidenceVerification =
                 new VerificationResult(VerificationStatus.UNGROUNDED, List.of(), 0.2, "Ungrounded");
 
-        when(retrievalService.retrieve(anyString(), any(RetrievalStrategy.class)))
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
                 .thenReturn(retrievalResult);
         when(ollamaClient.generate(any(LlmModel.class), anyString(), anyInt()))
                 .thenReturn("Vague answer");
@@ -139,7 +259,8 @@ class ControlPlaneImplTest {
     void shouldThrowExceptionAfterMaxRetriesOnError() {
         Question question = new Question("What is AI?", "corr-123");
 
-        when(retrievalService.retrieve(anyString(), any(RetrievalStrategy.class)))
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
                 .thenThrow(new RuntimeException("Retrieval failed"));
 
         assertThatThrownBy(() -> controlPlane.answer(question))
@@ -164,7 +285,8 @@ class ControlPlaneImplTest {
                         0.9, // groundingScore
                         "Partially grounded");
 
-        when(retrievalService.retrieve(anyString(), any(RetrievalStrategy.class)))
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
                 .thenReturn(retrievalResult);
         when(ollamaClient.generate(any(LlmModel.class), anyString(), anyInt()))
                 .thenReturn("Partially correct answer");
@@ -191,7 +313,8 @@ class ControlPlaneImplTest {
                 new VerificationResult(
                         VerificationStatus.FAILED, List.of(), 0.0, "Verification failed");
 
-        when(retrievalService.retrieve(anyString(), any(RetrievalStrategy.class)))
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
                 .thenReturn(retrievalResult);
         when(ollamaClient.generate(any(LlmModel.class), anyString(), anyInt()))
                 .thenReturn("Failed answer");
@@ -213,7 +336,8 @@ class ControlPlaneImplTest {
         VerificationResult verification =
                 new VerificationResult(VerificationStatus.GROUNDED, List.of(), 0.95, "Grounded");
 
-        when(retrievalService.retrieve(anyString(), any(RetrievalStrategy.class)))
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
                 .thenReturn(retrievalResult);
         when(ollamaClient.generate(any(LlmModel.class), anyString(), anyInt()))
                 .thenReturn("Answer without context");
@@ -245,7 +369,8 @@ class ControlPlaneImplTest {
         VerificationResult verification =
                 new VerificationResult(VerificationStatus.GROUNDED, List.of(), 0.95, "Grounded");
 
-        when(retrievalService.retrieve(anyString(), any(RetrievalStrategy.class)))
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
                 .thenReturn(retrievalResult);
         when(ollamaClient.generate(any(LlmModel.class), anyString(), anyInt()))
                 .thenReturn("AI with deep learning");
@@ -271,7 +396,8 @@ class ControlPlaneImplTest {
                 new VerificationResult(VerificationStatus.GROUNDED, List.of(), 0.95, "Grounded");
 
         // First call fails, second succeeds
-        when(retrievalService.retrieve(anyString(), any(RetrievalStrategy.class)))
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
                 .thenThrow(new RuntimeException("First attempt failed"))
                 .thenReturn(retrievalResult);
         when(ollamaClient.generate(any(LlmModel.class), anyString(), anyInt()))
@@ -284,4 +410,665 @@ class ControlPlaneImplTest {
         assertThat(result).isNotNull();
         assertThat(result.confidence()).isGreaterThanOrEqualTo(0.7);
     }
+
+    @Test
+    void shouldReturnCachedAnswerWithoutGenerating() {
+        Question question = new Question("What is AI?", "corr-123");
+        Answer answer = new Answer("Cached answer", List.of(), "phi3:mini");
+        VerificationResult verification =
+                new VerificationResult(VerificationStatus.GROUNDED, List.of(), 0.95, "Grounded");
+        AnswerResult cached = new AnswerResult(answer, verification, 0.95, "SIMPLE");
+        float[] vector = {0.1f, 0.2f};
+
+        when(answerCache.isEnabled()).thenReturn(true);
+        when(embeddingService.generateEmbedding("What is AI?"))
+                .thenReturn(new Embedding(vector, "nomic-embed-text"));
+        when(answerCache.get(vector)).thenReturn(Optional.of(cached));
+
+        AnswerResult result = controlPlane.answer(question);
+
+        assertThat(result).isSameAs(cached);
+        verifyNoInteractions(retrievalService, ollamaClient, answerVerifier);
+    }
+
+    @Test
+    void shouldCacheConfidentAnswerOnMiss() {
+        Question question = new Question("What is AI?", "corr-123");
+        Embedding embedding = new Embedding(new float[] {0.1f}, "nomic-embed-text");
+        Chunk chunk = new Chunk("chunk-1", "doc-1", "AI is artificial intelligence", 0, embedding);
+        RetrievalResult retrievalResult = new RetrievalResult(List.of(chunk), "SIMPLE", 100L);
+        VerificationResult verification =
+                new VerificationResult(VerificationStatus.GROUNDED, List.of(), 0.95, "Grounded");
+
+        when(answerCache.isEnabled()).thenReturn(true);
+        when(embeddingService.generateEmbedding("What is AI?")).thenReturn(embedding);
+        when(answerCache.get(any(float[].class))).thenReturn(Optional.empty());
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
+                .thenReturn(retrievalResult);
+        when(ollamaClient.generate(any(LlmModel.class), anyString(), anyInt()))
+                .thenReturn("AI is artificial intelligence");
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(verification);
+
+        AnswerResult result = controlPlane.answer(question);
+
+        verify(answerCache).put(any(float[].class), eq(result));
+    }
+
+    @Test
+    void shouldNotCacheLowConfidenceAnswer() {
+        Question question = new Question("What is AI?", "corr-123");
+        Embedding embedding = new Embedding(new float[] {0.1f}, "nomic-embed-text");
+        RetrievalResult retrievalResult = new RetrievalResult(List.of(), "SIMPLE", 100L);
+        VerificationResult verification =
+                new VerificationResult(VerificationStatus.UNGROUNDED, List.of(), 0.2, "Ungrounded");
+
+        when(answerCache.isEnabled()).thenReturn(true);
+        when(embeddingService.generateEmbedding("What is AI?")).thenReturn(embedding);
+        when(answerCache.get(any(float[].class))).thenReturn(Optional.empty());
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
+                .thenReturn(retrievalResult);
+        when(ollamaClient.generate(any(LlmModel.class), anyString(), anyInt()))
+                .thenReturn("Vague answer");
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(verification);
+
+        controlPlane.answer(question);
+
+        verify(answerCache, never()).put(any(float[].class), any(AnswerResult.class));
+    }
+
+    @Test
+    void shouldAnswerWithoutCacheWhenEmbeddingFails() {
+        Question question = new Question("What is AI?", "corr-123");
+        RetrievalResult retrievalResult = new RetrievalResult(List.of(), "SIMPLE", 100L);
+        VerificationResult verification =
+                new VerificationResult(VerificationStatus.GROUNDED, List.of(), 0.95, "Grounded");
+
+        when(answerCache.isEnabled()).thenReturn(true);
+        when(embeddingService.generateEmbedding("What is AI?"))
+                .thenThrow(new RuntimeException("Embedding failed"));
+        when(retrievalService.retrieve(anyString(), any(RetrievalStrategy.class)))
+                .thenReturn(retrievalResult);
+        when(ollamaClient.generate(any(LlmModel.class), anyString(), anyInt()))
+                .thenReturn("AI is artificial intelligence");
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(verification);
+
+        AnswerResult result = controlPlane.answer(question);
+
+        assertThat(result.confidence()).isGreaterThanOrEqualTo(0.7);
+        verify(answerCache, never()).get(any(float[].class));
+        verify(answerCache, never()).put(any(float[].class), any(AnswerResult.class));
+    }
+
+    @Test
+    void shouldStreamContextAndTokens() {
+        Question question = new Question("What is AI?", "corr-123");
+        Embedding embedding = new Embedding(new float[] {0.1f}, "nomic-embed-text");
+        Chunk chunk = new Chunk("chunk-1", "doc-1", "AI is artificial intelligence", 0, embedding);
+        RetrievalResult retrievalResult = new RetrievalResult(List.of(chunk), "SIMPLE", 100L);
+        VerificationResult verification =
+                new VerificationResult(VerificationStatus.GROUNDED, List.of(), 0.95, "Grounded");
+        RecordingListener listener = new RecordingListener();
+
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
+                .thenReturn(retrievalResult);
+        when(ollamaClient.generateStream(any(LlmModel.class), anyString(), anyInt(), any()))
+                .thenAnswer(
+                        invocation -> {
+                            Consumer<String> onToken = invocation.getArgument(3);
+                            onToken.accept("AI is ");
+                            onToken.accept("artificial intelligence");
+                            return "AI is artificial intelligence";
+                        });
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(verification);
+
+        AnswerResult result = controlPlane.answer(question, listener);
+
+        assertThat(listener.events)
+                .containsExactly(
+                        "context:SIMPLE:chunk-1",
+                        "token:AI is ",
+                        "token:artificial intelligence");
+        assertThat(result.answer().text()).isEqualTo("AI is artificial intelligence");
+        assertThat(result.answer().citations()).hasSize(1);
+        verify(ollamaClient, never()).generate(any(LlmModel.class), anyString(), anyInt());
+    }
+
+    @Test
+    void shouldNotifyEscalationWhenStreaming() {
+        Question question = new Question("What is AI?", "corr-123");
+        RetrievalResult simple = new RetrievalResult(List.of(), "SIMPLE", 100L);
+        RetrievalResult deep = new RetrievalResult(List.of(), "DEEP", 100L);
+        VerificationResult low =
+                new VerificationResult(VerificationStatus.UNGROUNDED, List.of(), 0.2, "Ungrounded");
+        VerificationResult high =
+                new VerificationResult(VerificationStatus.GROUNDED, List.of(), 0.95, "Grounded");
+        RecordingListener listener = new RecordingListener();
+
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
+                .thenReturn(simple)
+                .thenReturn(deep);
+        when(ollamaClient.generateStream(any(LlmModel.class), anyString(), anyInt(), any()))
+                .thenReturn("Vague answer")
+                .thenReturn("Better answer");
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(low)
+                .thenReturn(high);
+
+        AnswerResult result = controlPlane.answer(question, listener);
+
+        assertThat(listener.events)
+                .containsExactly(
+                        "context:SIMPLE:", "escalation:2:QWEN_2_5_7B:DEEP", "context:DEEP:");
+        assertThat(result.answer().text()).isEqualTo("Better answer");
+    }
+
+    @Test
+    void shouldStopRetryingWhenStreamIsCancelled() {
+        Question question = new Question("What is AI?", "corr-123");
+        RetrievalResult retrievalResult = new RetrievalResult(List.of(), "SIMPLE", 100L);
+        RecordingListener listener = new RecordingListener();
+        listener.cancelled = true;
+
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
+                .thenReturn(retrievalResult);
+        when(ollamaClient.generateStream(any(LlmModel.class), anyString(), anyInt(), any()))
+                .thenThrow(new RuntimeException("Client disconnected"));
+
+        assertThatThrownBy(() -> controlPlane.answer(question, listener))
+                .isInstanceOf(ControlPlaneException.class)
+                .hasMessageContaining("cancelled");
+        verify(retrievalService, times(1))
+                .retrieve(anyString(), any(Embedding.class), any(RetrievalStrategy.class));
+    }
+
+    @Test
+    void shouldNotifyEscalationAfterStreamingAttemptFails() {
+        Question question = new Question("What is AI?", "corr-123");
+        RetrievalResult retrievalResult = new RetrievalResult(List.of(), "SIMPLE", 100L);
+        VerificationResult verification =
+                new VerificationResult(VerificationStatus.GROUNDED, List.of(), 0.95, "Grounded");
+        RecordingListener listener = new RecordingListener();
+
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
+                .thenReturn(retrievalResult);
+        when(ollamaClient.generateStream(any(LlmModel.class), anyString(), anyInt(), any()))
+                .thenThrow(new RuntimeException("Ollama error"))
+                .thenReturn("Recovered answer");
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(verification);
+
+        AnswerResult result = controlPlane.answer(question, listener);
+
+        assertThat(listener.events).contains("escalation:2:QWEN_2_5_7B:DEEP");
+        assertThat(result.answer().text()).isEqualTo("Recovered answer");
+    }
+
+    @Test
+    void shouldStreamCachedAnswer() {
+        Question question = new Question("What is AI?", "corr-123");
+        Citation citation = new Citation("chunk-1", "doc-1", "AI is artificial intelligence", 0.9);
+        Answer answer = new Answer("Cached answer", List.of(citation), "phi3:mini");
+        VerificationResult verification =
+                new VerificationResult(VerificationStatus.GROUNDED, List.of(), 0.95, "Grounded");
+        AnswerResult cached = new AnswerResult(answer, verification, 0.95, "SIMPLE");
+        float[] vector = {0.1f, 0.2f};
+        RecordingListener listener = new RecordingListener();
+
+        when(answerCache.isEnabled()).thenReturn(true);
+        when(embeddingService.generateEmbedding("What is AI?"))
+                .thenReturn(new Embedding(vector, "nomic-embed-text"));
+        when(answerCache.get(vector)).thenReturn(Optional.of(cached));
+
+        AnswerResult result = controlPlane.answer(question, listener);
+
+        assertThat(result).isSameAs(cached);
+        assertThat(listener.events)
+                .containsExactly("context:SIMPLE:chunk-1", "token:Cached answer");
+        verifyNoInteractions(retrievalService, ollamaClient, answerVerifier);
+    }
+
+    @Test
+    void shouldThrowExceptionForNullListener() {
+        Question question = new Question("What is AI?", "corr-123");
+
+        assertThatThrownBy(() -> controlPlane.answer(question, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Listener cannot be null");
+    }
+
+    @Test
+    void shouldReturnEscalatedAnswerWhenItWinsTheRace() {
+        enableRace(Duration.ZERO);
+        stubRaceRetrieval();
+        when(ollamaClient.generate(eq(LlmModel.PHI_3_MINI), anyString(), anyInt()))
+                .thenAnswer(
+                        invocation -> {
+                            Thread.sleep(300);
+                            return "Small model answer";
+                        });
+        when(ollamaClient.generate(eq(LlmModel.QWEN_2_5_7B), anyString(), anyInt()))
+                .thenReturn("Large model answer");
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(grounded());
+
+        AnswerResult result = controlPlane.answer(new Question("What is AI?", "corr-123"));
+
+        assertThat(result.answer().text()).isEqualTo("Large model answer");
+        assertThat(result.retrievalStrategy()).isEqualTo("DEEP");
+    }
+
+    @Test
+    void shouldCancelEscalationWhenFirstAttemptIsConfident() {
+        enableRace(Duration.ZERO);
+        stubRaceRetrieval();
+        when(ollamaClient.generate(eq(LlmModel.PHI_3_MINI), anyString(), anyInt()))
+                .thenReturn("Small model answer");
+        // The escalation may be cancelled before it reaches Ollama.
+        lenient()
+                .when(ollamaClient.generate(eq(LlmModel.QWEN_2_5_7B), anyString(), anyInt()))
+                .thenAnswer(
+                        invocation -> {
+                            Thread.sleep(10_000);
+                            return "Large model answer";
+                        });
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(grounded());
+
+        long start = System.nanoTime();
+        AnswerResult result = controlPlane.answer(new Question("What is AI?", "corr-123"));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(result.answer().text()).isEqualTo("Small model answer");
+        assertThat(elapsedMs).isLessThan(5_000);
+    }
+
+    @Test
+    void shouldNotStartEscalationWhenFirstAttemptWinsWithinHedgeDelay() {
+        enableRace(Duration.ofSeconds(5));
+        stubRaceRetrieval();
+        when(ollamaClient.generate(eq(LlmModel.PHI_3_MINI), anyString(), anyInt()))
+                .thenReturn("Small model answer");
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(grounded());
+
+        AnswerResult result = controlPlane.answer(new Question("What is AI?", "corr-123"));
+
+        assertThat(result.answer().text()).isEqualTo("Small model answer");
+        verify(ollamaClient, never()).generate(eq(LlmModel.QWEN_2_5_7B), anyString(), anyInt());
+    }
+
+    @Test
+    void shouldStartEscalationAfterHedgeDelay() {
+        enableRace(Duration.ofMillis(50));
+        stubRaceRetrieval();
+        when(ollamaClient.generate(eq(LlmModel.PHI_3_MINI), anyString(), anyInt()))
+                .thenAnswer(
+                        invocation -> {
+                            Thread.sleep(10_000);
+                            return "Small model answer";
+                        });
+        when(ollamaClient.generate(eq(LlmModel.QWEN_2_5_7B), anyString(), anyInt()))
+                .thenReturn("Large model answer");
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(grounded());
+
+        AnswerResult result = controlPlane.answer(new Question("What is AI?", "corr-123"));
+
+        assertThat(result.answer().text()).isEqualTo("Large model answer");
+    }
+
+    @Test
+    void shouldEscalateImmediatelyWhenFirstAttemptIsUnconfidentBeforeHedgeDelay() {
+        enableRace(Duration.ofSeconds(5));
+        stubRaceRetrieval();
+        when(ollamaClient.generate(eq(LlmModel.PHI_3_MINI), anyString(), anyInt()))
+                .thenReturn("Small model answer");
+        when(ollamaClient.generate(eq(LlmModel.QWEN_2_5_7B), anyString(), anyInt()))
+                .thenReturn("Large model answer");
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenAnswer(
+                        invocation ->
+                                invocation.<Answer>getArgument(0).text().startsWith("Small")
+                                        ? ungrounded()
+                                        : grounded());
+
+        long start = System.nanoTime();
+        AnswerResult result = controlPlane.answer(new Question("What is AI?", "corr-123"));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(result.answer().text()).isEqualTo("Large model answer");
+        assertThat(elapsedMs).isLessThan(5_000);
+    }
+
+    @Test
+    void shouldReturnEscalatedAnswerWhenNoRaceAttemptIsConfident() {
+        enableRace(Duration.ZERO);
+        stubRaceRetrieval();
+        when(ollamaClient.generate(eq(LlmModel.PHI_3_MINI), anyString(), anyInt()))
+                .thenReturn("Small model answer");
+        when(ollamaClient.generate(eq(LlmModel.QWEN_2_5_7B), anyString(), anyInt()))
+                .thenAnswer(
+                        invocation -> {
+                            Thread.sleep(100);
+                            return "Large model answer";
+                        });
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(ungrounded());
+
+        AnswerResult result = controlPlane.answer(new Question("What is AI?", "corr-123"));
+
+        assertThat(result.answer().text()).isEqualTo("Large model answer");
+        assertThat(result.confidence()).isLessThan(0.7);
+        verify(answerCache, never()).put(any(float[].class), any(AnswerResult.class));
+    }
+
+    @Test
+    void shouldReturnFirstAnswerWhenEscalatedRaceAttemptFails() {
+        enableRace(Duration.ZERO);
+        stubRaceRetrieval();
+        when(ollamaClient.generate(eq(LlmModel.PHI_3_MINI), anyString(), anyInt()))
+                .thenReturn("Small model answer");
+        when(ollamaClient.generate(eq(LlmModel.QWEN_2_5_7B), anyString(), anyInt()))
+                .thenThrow(new RuntimeException("Ollama error"));
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(ungrounded());
+
+        AnswerResult result = controlPlane.answer(new Question("What is AI?", "corr-123"));
+
+        assertThat(result.answer().text()).isEqualTo("Small model answer");
+    }
+
+    @Test
+    void shouldThrowWhenAllRaceAttemptsFail() {
+        enableRace(Duration.ZERO);
+        stubRaceRetrieval();
+        when(ollamaClient.generate(any(LlmModel.class), anyString(), anyInt()))
+                .thenThrow(new RuntimeException("Ollama error"));
+
+        assertThatThrownBy(() -> controlPlane.answer(new Question("What is AI?", "corr-123")))
+                .isInstanceOf(ControlPlaneException.class)
+                .hasMessageContaining("Failed to generate answer after 2 attempts")
+                .hasRootCauseMessage("Ollama error");
+    }
+
+    @Test
+    void shouldKeepStreamedAnswersSequentialWhenRaceEnabled() {
+        enableRace(Duration.ZERO);
+        RetrievalResult retrievalResult = new RetrievalResult(List.of(), "SIMPLE", 100L);
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
+                .thenReturn(retrievalResult);
+        when(ollamaClient.generateStream(any(LlmModel.class), anyString(), anyInt(), any()))
+                .thenReturn("Streamed answer");
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(grounded());
+
+        AnswerResult result =
+                controlPlane.answer(
+                        new Question("What is AI?", "corr-123"), new RecordingListener());
+
+        assertThat(result.answer().modelUsed()).isEqualTo(LlmModel.PHI_3_MINI.ollamaName());
+        verify(ollamaClient, times(1))
+                .generateStream(any(LlmModel.class), anyString(), anyInt(), any());
+    }
+
+    @Test
+    void shouldEmbedAndRetrieveOnceAcrossEscalation() {
+        Question question = new Question("What is AI?", "corr-123");
+        Embedding embedding = new Embedding(new float[] {0.1f}, "nomic-embed-text");
+        List<Chunk> chunks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            chunks.add(new Chunk("chunk-" + i, "doc-1", "text " + i, i, embedding));
+        }
+        VerificationResult low =
+                new VerificationResult(VerificationStatus.UNGROUNDED, List.of(), 0.2, "Ungrounded");
+        VerificationResult high =
+                new VerificationResult(VerificationStatus.GROUNDED, List.of(), 0.95, "Grounded");
+
+        when(retrievalService.retrieve(
+                        eq("What is AI?"), any(Embedding.class), eq(RetrievalStrategy.DEEP)))
+                .thenReturn(new RetrievalResult(chunks, "DEEP", 10L));
+        when(ollamaClient.generate(any(LlmModel.class), anyString(), anyInt()))
+                .thenReturn("Answer");
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(low)
+                .thenReturn(high);
+
+        controlPlane.answer(question);
+
+        ArgumentCaptor<RetrievalResult> contexts = ArgumentCaptor.forClass(RetrievalResult.class);
+        verify(answerVerifier, times(2)).verify(any(Answer.class), contexts.capture());
+        assertThat(contexts.getAllValues())
+                .extracting(RetrievalResult::strategy, result -> result.chunks().size())
+                .containsExactly(tuple("SIMPLE", 5), tuple("DEEP", 10));
+        verify(embeddingService, times(1)).generateEmbedding("What is AI?");
+        verify(retrievalService, times(1))
+                .retrieve(anyString(), any(Embedding.class), any(RetrievalStrategy.class));
+        verify(retrievalService, never()).retrieve(anyString(), any(RetrievalStrategy.class));
+    }
+
+    @Test
+    void shouldRunFullTextSearchForChatQuestions() {
+        RagConfig ragConfig = new RagConfig();
+        ragConfig.setHybridStrategies(Set.of(RetrievalStrategy.DEEP));
+        controlPlane =
+                new ControlPlaneImpl(
+                        new RetrievalServiceImpl(
+                                embeddingService,
+                                chunkRepository,
+                                ragConfig,
+                                new ChunkReranker(new RerankConfig())),
+                        ollamaClient,
+                        answerVerifier,
+                        embeddingService,
+                        answerCache,
+                        new ControlPlaneConfig());
+        RetrievedChunk runbook =
+                new RetrievedChunk("chunk-1", "doc-1", "ERR-504 gateway runbook", 0, 0.2);
+        when(chunkRepository.findSimilarMatches(any(float[].class), eq(RetrievalStrategy.DEEP)))
+                .thenReturn(List.of());
+        when(chunkRepository.findLexicalMatches(
+                        eq("What is ERR-504?"), any(float[].class), anyInt()))
+                .thenReturn(List.of(runbook));
+        when(ollamaClient.generate(any(LlmModel.class), anyString(), anyInt()))
+                .thenReturn("Answer");
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(grounded());
+
+        AnswerResult result = controlPlane.answer(new Question("What is ERR-504?", "corr-123"));
+
+        assertThat(result.answer().citations())
+                .extracting(Citation::chunkId)
+                .containsExactly("chunk-1");
+        verify(chunkRepository, times(1))
+                .findLexicalMatches(eq("What is ERR-504?"), any(float[].class), anyInt());
+    }
+
+    @Test
+    void shouldRerankChatRetrievalOnDefaultStart() {
+        RerankConfig rerankConfig = new RerankConfig();
+        rerankConfig.setStrategies(Set.of(RetrievalStrategy.DEEP));
+        controlPlane =
+                new ControlPlaneImpl(
+                        new RetrievalServiceImpl(
+                                embeddingService,
+                                chunkRepository,
+                                new RagConfig(),
+                                new ChunkReranker(rerankConfig)),
+                        ollamaClient,
+                        answerVerifier,
+                        embeddingService,
+                        answerCache,
+                        new ControlPlaneConfig());
+        RetrievedChunk weather =
+                new RetrievedChunk("chunk-1", "doc-1", "Quarterly weather summary", 0, 0.1);
+        RetrievedChunk runbook =
+                new RetrievedChunk("chunk-2", "doc-1", "ERR-504 means a gateway timeout", 1, 0.2);
+        // A SIMPLE first attempt is served from the DEEP fetch, so DEEP's over-fetch must run
+        when(chunkRepository.findSimilarMatches(
+                        any(float[].class), eq(RetrievalStrategy.DEEP), eq(30)))
+                .thenReturn(List.of(weather, runbook));
+        when(ollamaClient.generate(any(LlmModel.class), anyString(), anyInt()))
+                .thenReturn("Answer");
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(grounded());
+
+        AnswerResult result = controlPlane.answer(new Question("What is ERR-504?", "corr-123"));
+
+        assertThat(result.retrievalStrategy()).isEqualTo("SIMPLE");
+        assertThat(result.answer().citations())
+                .extracting(Citation::chunkId)
+                .containsExactly("chunk-2", "chunk-1");
+    }
+
+    @Test
+    void shouldStartAtRoutedModelAndStrategy() {
+        useRouter();
+        ModelRoute route = new ModelRoute(LlmModel.QWEN_2_5_7B, RetrievalStrategy.DEEP, 4);
+        when(modelRouter.route(eq("What is AI?"), any())).thenReturn(route);
+        Embedding embedding = new Embedding(new float[] {0.1f}, "nomic-embed-text");
+        List<Chunk> chunks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            chunks.add(new Chunk("chunk-" + i, "doc-1", "text " + i, i, embedding));
+        }
+        when(retrievalService.retrieve(
+                        eq("What is AI?"), any(Embedding.class), eq(RetrievalStrategy.EXHAUSTIVE)))
+                .thenReturn(new RetrievalResult(chunks, "EXHAUSTIVE", 10L));
+        when(ollamaClient.generate(any(LlmModel.class), anyString(), anyInt()))
+                .thenReturn("Answer");
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(ungrounded())
+                .thenReturn(grounded());
+
+        AnswerResult result = controlPlane.answer(new Question("What is AI?", "corr-123"));
+
+        assertThat(result.answer().modelUsed()).isEqualTo(LlmModel.LLAMA_3_1_8B.ollamaName());
+        assertThat(result.retrievalStrategy()).isEqualTo("EXHAUSTIVE");
+        InOrder inOrder = inOrder(ollamaClient);
+        inOrder.verify(ollamaClient).generate(eq(LlmModel.QWEN_2_5_7B), anyString(), anyInt());
+        inOrder.verify(ollamaClient).generate(eq(LlmModel.LLAMA_3_1_8B), anyString(), anyInt());
+        ArgumentCaptor<RetrievalResult> contexts = ArgumentCaptor.forClass(RetrievalResult.class);
+        verify(answerVerifier, times(2)).verify(any(Answer.class), contexts.capture());
+        assertThat(contexts.getAllValues())
+                .extracting(RetrievalResult::strategy, context -> context.chunks().size())
+                .containsExactly(tuple("DEEP", 10), tuple("EXHAUSTIVE", 20));
+        verify(modelRouter)
+                .onAttemptCompleted(
+                        eq(route), eq(LlmModel.QWEN_2_5_7B), any(Duration.class), eq(0.3));
+        verify(modelRouter)
+                .onAttemptCompleted(
+                        eq(route), eq(LlmModel.LLAMA_3_1_8B), any(Duration.class), eq(0.95));
+    }
+
+    @Test
+    void shouldTellRouterAboutFailedAttempts() {
+        useRouter();
+        ModelRoute route =
+                new ModelRoute(
+                        LlmModel.PHI_3_MINI, RetrievalStrategy.SIMPLE, ModelRoute.NO_CLUSTER);
+        when(modelRouter.route(anyString(), any())).thenReturn(route);
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
+                .thenReturn(new RetrievalResult(List.of(), "DEEP", 10L));
+        when(ollamaClient.generate(any(LlmModel.class), anyString(), anyInt()))
+                .thenThrow(new RuntimeException("Ollama error"))
+                .thenReturn("Answer");
+        when(answerVerifier.verify(any(Answer.class), any(RetrievalResult.class)))
+                .thenReturn(grounded());
+
+        controlPlane.answer(new Question("What is AI?", "corr-123"));
+
+        verify(modelRouter).onAttemptStarted(LlmModel.PHI_3_MINI);
+        verify(modelRouter).onAttemptFailed(LlmModel.PHI_3_MINI);
+        verify(modelRouter).onAttemptStarted(LlmModel.QWEN_2_5_7B);
+        verify(modelRouter)
+                .onAttemptCompleted(
+                        eq(route), eq(LlmModel.QWEN_2_5_7B), any(Duration.class), eq(0.95));
+        verify(modelRouter, never()).onAttemptFailed(LlmModel.QWEN_2_5_7B);
+    }
+
+    private void useRouter() {
+        controlPlane =
+                new ControlPlaneImpl(
+                        retrievalService,
+                        ollamaClient,
+                        answerVerifier,
+                        embeddingService,
+                        answerCache,
+                        new ControlPlaneConfig(),
+                        modelRouter);
+    }
+
+    private void enableRace(Duration hedgeDelay) {
+        ControlPlaneConfig config = new ControlPlaneConfig();
+        config.setRaceEnabled(true);
+        config.setHedgeDelay(hedgeDelay);
+        controlPlane =
+                new ControlPlaneImpl(
+                        retrievalService,
+                        ollamaClient,
+                        answerVerifier,
+                        embeddingService,
+                        answerCache,
+                        config);
+    }
+
+    private void stubRaceRetrieval() {
+        when(retrievalService.retrieve(
+                        anyString(), any(Embedding.class), any(RetrievalStrategy.class)))
+                .thenAnswer(
+                        invocation ->
+                                new RetrievalResult(
+                                        List.of(),
+                                        invocation.<RetrievalStrategy>getArgument(2).name(),
+                                        10L));
+    }
+
+    private static VerificationResult grounded() {
+        return new VerificationResult(VerificationStatus.GROUNDED, List.of(), 0.95, "Grounded");
+    }
+
+    private static VerificationResult ungrounded() {
+        return new VerificationResult(VerificationStatus.UNGROUNDED, List.of(), 0.2, "Ungrounded");
+    }
+
+    private static final class RecordingListener implements AnswerStreamListener {
+        private final List<String> events = new ArrayList<>();
+        private boolean cancelled;
+
+        @Override
+        public void onContext(String retrievalStrategy, List<Citation> citations) {
+            events.add(
+                    "context:"
+                            + retrievalStrategy
+                            + ":"
+                            + String.join(
+                                    ",", citations.stream().map(Citation::chunkId).toList()));
+        }
+
+        @Override
+        public void onToken(String token) {
+            events.add("token:" + token);
+        }
+
+        @Override
+        public void onEscalation(int nextAttempt, LlmModel model, RetrievalStrategy strategy) {
+            events.add("escalation:" + nextAttempt + ":" + model + ":" + strategy);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
 }
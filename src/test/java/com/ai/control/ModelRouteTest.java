@@ -0,0 +1,41 @@
+package com.ai.control;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.ai.model.LlmModel;
+import com.ai.model.RetrievalStrategy;
+import org.junit.jupiter.api.Test;
+
+class ModelRouteTest {
+
+    @Test
+    void shouldCreateValidRoute() {
+        ModelRoute route = new ModelRoute(LlmModel.QWEN_2_5_7B, RetrievalStrategy.DEEP, 3);
+
+        assertThat(route.model()).isEqualTo(LlmModel.QWEN_2_5_7B);
+        assertThat(route.strategy()).isEqualTo(RetrievalStrategy.DEEP);
+        assertThat(route.cluster()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldAllowRouteWithoutCluster() {
+        ModelRoute route =
+                new ModelRoute(
+                        LlmModel.PHI_3_MINI, RetrievalStrategy.SIMPLE, ModelRoute.NO_CLUSTER);
+
+        assertThat(route.cluster()).isEqualTo(ModelRoute.NO_CLUSTER);
+    }
+
+    @Test
+    void shouldRejectInvalidValues() {
+        assertThatThrownBy(() -> new ModelRoute(null, RetrievalStrategy.SIMPLE, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Model cannot be null");
+        assertThatThrownBy(() -> new ModelRoute(LlmModel.PHI_3_MINI, null, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Strategy cannot be null");
+        assertThatThrownBy(() -> new ModelRoute(LlmModel.PHI_3_MINI, RetrievalStrategy.SIMPLE, -2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Cluster cannot be negative");
+    }
+}
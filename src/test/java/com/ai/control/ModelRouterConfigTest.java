@@ -0,0 +1,78 @@
+package com.ai.control;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class ModelRouterConfigTest {
+
+    @Test
+    void shouldCreateDefaultConfig() {
+        ModelRouterConfig config = new ModelRouterConfig();
+
+        assertThat(config.enabled()).isFalse();
+        assertThat(config.longQuestionTokens()).isEqualTo(64);
+        assertThat(config.maxClusters()).isEqualTo(64);
+        assertThat(config.clusterSimilarity()).isEqualTo(0.8);
+        assertThat(config.minSamples()).isEqualTo(5);
+        assertThat(config.smoothing()).isEqualTo(0.2);
+        assertThat(config.explorationInterval()).isEqualTo(20);
+        assertThat(config.latencyWindow()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldSetProperties() {
+        ModelRouterConfig config = new ModelRouterConfig();
+        config.setEnabled(true);
+        config.setLongQuestionTokens(128);
+        config.setMaxClusters(16);
+        config.setClusterSimilarity(0.9);
+        config.setMinSamples(10);
+        config.setSmoothing(1.0);
+        config.setExplorationInterval(50);
+        config.setLatencyWindow(20);
+
+        assertThat(config.isEnabled()).isTrue();
+        assertThat(config.getLongQuestionTokens()).isEqualTo(128);
+        assertThat(config.getMaxClusters()).isEqualTo(16);
+        assertThat(config.getClusterSimilarity()).isEqualTo(0.9);
+        assertThat(config.getMinSamples()).isEqualTo(10);
+        assertThat(config.getSmoothing()).isEqualTo(1.0);
+        assertThat(config.getExplorationInterval()).isEqualTo(50);
+        assertThat(config.getLatencyWindow()).isEqualTo(20);
+    }
+
+    @Test
+    void shouldImplementToStringCorrectly() {
+        assertThat(new ModelRouterConfig().toString())
+                .contains("ModelRouterConfig")
+                .contains("maxClusters=64");
+    }
+
+    @Test
+    void shouldRejectInvalidValues() {
+        ModelRouterConfig config = new ModelRouterConfig();
+
+        assertThatThrownBy(() -> config.setLongQuestionTokens(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Long question tokens must be positive");
+        assertThatThrownBy(() -> config.setMaxClusters(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Max clusters must be positive");
+        assertThatThrownBy(() -> config.setClusterSimilarity(1.5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Cluster similarity must be between 0.0 and 1.0");
+        assertThatThrownBy(() -> config.setMinSamples(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Min samples must be positive");
+        assertThatThrownBy(() -> config.setSmoothing(0.0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Smoothing must be greater than 0.0 and at most 1.0");
+        assertThatThrownBy(() -> config.setExplorationInterval(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Exploration interval must be positive");
+        assertThatThrownBy(() -> config.setLatencyWindow(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Latency window must be positive");
+    }
+}
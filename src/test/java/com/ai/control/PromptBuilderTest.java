@@ -0,0 +1,95 @@
+package com.ai.control;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.ai.domain.ContextChunk;
+import com.ai.domain.RetrievedChunk;
+import com.ai.util.TokenEstimator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PromptBuilderTest {
+
+    @Test
+    void shouldPackEveryChunkThatFits() {
+        RetrievedChunk first = chunk("chunk-1", "AI is artificial intelligence.");
+        RetrievedChunk second = chunk("chunk-2", "Machine learning learns from data.");
+
+        PromptBuilder.Prompt prompt =
+                PromptBuilder.build("What is AI?", List.of(first, second), 1000);
+
+        assertThat(prompt.text())
+                .startsWith("Answer the question based only on the context provided.")
+                .contains(
+                        "Context:\nAI is artificial intelligence.\n\n"
+                                + "Machine learning learns from data.\n\n")
+                .endsWith("Question: What is AI?\n\nAnswer:");
+        assertThat(prompt.chunks()).containsExactly(first, second);
+        assertThat(prompt.tokens()).isEqualTo(TokenEstimator.estimate(prompt.text()));
+        assertThat(prompt.droppedChunks()).isZero();
+        assertThat(prompt.trimmed()).isFalse();
+    }
+
+    @Test
+    void shouldTrimFirstOverflowingChunkAtWordBoundary() {
+        RetrievedChunk first = chunk("chunk-1", "alpha ".repeat(100));
+        RetrievedChunk second = chunk("chunk-2", "beta ".repeat(400));
+        RetrievedChunk third = chunk("chunk-3", "gamma ".repeat(400));
+
+        PromptBuilder.Prompt prompt =
+                PromptBuilder.build("What is AI?", List.of(first, second, third), 400);
+
+        assertThat(prompt.tokens()).isLessThanOrEqualTo(400);
+        assertThat(prompt.chunks()).containsExactly(first, second);
+        assertThat(prompt.droppedChunks()).isEqualTo(1);
+        assertThat(prompt.trimmed()).isTrue();
+        assertThat(prompt.text())
+                .contains("beta beta\n\nQuestion: What is AI?")
+                .doesNotContain("gamma");
+    }
+
+    @Test
+    void shouldDropChunksTooLargeForRemainingBudgetAndKeepSmallerOnes() {
+        RetrievedChunk first = chunk("chunk-1", "alpha ".repeat(40));
+        RetrievedChunk large = chunk("chunk-2", "beta ".repeat(400));
+        RetrievedChunk small = chunk("chunk-3", "gamma");
+
+        // 40 tokens of template and question plus 60 of the first chunk leave too few to trim to
+        PromptBuilder.Prompt prompt =
+                PromptBuilder.build("What is AI?", List.of(first, large, small), 125);
+
+        assertThat(prompt.chunks()).containsExactly(first, small);
+        assertThat(prompt.droppedChunks()).isEqualTo(1);
+        assertThat(prompt.trimmed()).isFalse();
+        assertThat(prompt.tokens()).isLessThanOrEqualTo(125);
+    }
+
+    @Test
+    void shouldLeaveContextEmptyWhenQuestionUsesUpBudget() {
+        PromptBuilder.Prompt prompt =
+                PromptBuilder.build("What is AI?", List.of(chunk("chunk-1", "AI is smart")), 10);
+
+        assertThat(prompt.chunks()).isEmpty();
+        assertThat(prompt.droppedChunks()).isEqualTo(1);
+        assertThat(prompt.text()).contains("Context:\n\n\nQuestion: What is AI?");
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        List<ContextChunk> chunks = List.of();
+
+        assertThatThrownBy(() -> PromptBuilder.build(null, chunks, 100))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Question cannot be null");
+        assertThatThrownBy(() -> PromptBuilder.build("What is AI?", null, 100))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Chunks cannot be null");
+        assertThatThrownBy(() -> PromptBuilder.build("What is AI?", chunks, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Token budget must be positive");
+    }
+
+    private static RetrievedChunk chunk(String id, String text) {
+        return new RetrievedChunk(id, "doc-1", text, 0, 0.1);
+    }
+}
@@ -22,6 +22,23 @@ class ChunkTest {
         assertThat(chunk.embedding()).isEqualTo(embedding);
     }
 
+    @Test
+    void shouldHashTextWithSha256() {
+        Chunk chunk = new Chunk("chunk-1", "doc-1", "abc", 0, createTestEmbedding());
+
+        assertThat(chunk.contentHash())
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad")
+                .isEqualTo(Chunk.hashOf("abc"));
+        assertThat(Chunk.hashOf("abd")).isNotEqualTo(chunk.contentHash());
+    }
+
+    @Test
+    void shouldRejectNullTextToHash() {
+        assertThatThrownBy(() -> Chunk.hashOf(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Text cannot be null");
+    }
+
     @Test
     void shouldRejectNullId() {
         Embedding embedding = createTestEmbedding();
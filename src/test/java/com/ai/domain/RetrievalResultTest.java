@@ -110,4 +110,40 @@ class RetrievalResultTest {
                 .contains("SIMPLE")
                 .contains("durationMs=100");
     }
+
+    @Test
+    void shouldLimitChunksUnderNewStrategy() {
+        Embedding embedding = new Embedding(new float[] {0.1f, 0.2f}, "nomic-embed-text");
+        List<Chunk> chunks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            chunks.add(new Chunk("chunk-" + i, "doc-1", "text " + i, i, embedding));
+        }
+        RetrievalResult deep = new RetrievalResult(chunks, "DEEP", 100L);
+
+        RetrievalResult simple = deep.limit(2, "SIMPLE");
+
+        assertThat(simple.chunks()).containsExactly(chunks.get(0), chunks.get(1));
+        assertThat(simple.strategy()).isEqualTo("SIMPLE");
+        assertThat(simple.durationMs()).isEqualTo(100L);
+        assertThat(deep.limit(10, "EXHAUSTIVE").chunks()).hasSize(4);
+    }
+
+    @Test
+    void shouldRejectNegativeLimit() {
+        RetrievalResult result = new RetrievalResult(List.of(createTestChunk()), "DEEP", 100L);
+
+        assertThatThrownBy(() -> result.limit(-1, "SIMPLE"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Max chunks cannot be negative");
+    }
+
+    @Test
+    void shouldHoldRetrievedChunksWithoutEmbeddings() {
+        RetrievedChunk hit = new RetrievedChunk("chunk-1", "doc-1", "text", 0, 0.2);
+
+        RetrievalResult result = new RetrievalResult(List.of(hit), "SIMPLE", 5L);
+
+        assertThat(result.chunks()).containsExactly(hit);
+        assertThat(result.limit(1, "SIMPLE")).isEqualTo(result);
+    }
 }
@@ -0,0 +1,84 @@
+package com.ai.domain;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class RetrievedChunkTest {
+
+    @Test
+    void shouldCreateValidRetrievedChunk() {
+        RetrievedChunk chunk = new RetrievedChunk("chunk-1", "doc-1", "sample text", 2, 0.25);
+
+        assertThat(chunk.id()).isEqualTo("chunk-1");
+        assertThat(chunk.documentId()).isEqualTo("doc-1");
+        assertThat(chunk.text()).isEqualTo("sample text");
+        assertThat(chunk.position()).isEqualTo(2);
+        assertThat(chunk.distance()).isEqualTo(0.25);
+        assertThat(chunk.similarity()).isEqualTo(0.75);
+    }
+
+    @Test
+    void shouldCreateFromStoredChunk() {
+        Embedding embedding = new Embedding(new float[] {0.1f, 0.2f}, "nomic-embed-text");
+        Chunk stored = new Chunk("chunk-1", "doc-1", "sample text", 3, embedding);
+
+        RetrievedChunk chunk = RetrievedChunk.of(stored, 0.1);
+
+        assertThat(chunk).isEqualTo(new RetrievedChunk("chunk-1", "doc-1", "sample text", 3, 0.1));
+    }
+
+    @Test
+    void shouldRejectNullId() {
+        assertThatThrownBy(() -> new RetrievedChunk(null, "doc-1", "text", 0, 0.1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Chunk ID cannot be null or blank");
+    }
+
+    @Test
+    void shouldRejectBlankDocumentId() {
+        assertThatThrownBy(() -> new RetrievedChunk("chunk-1", " ", "text", 0, 0.1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Document ID cannot be null or blank");
+    }
+
+    @Test
+    void shouldRejectBlankText() {
+        assertThatThrownBy(() -> new RetrievedChunk("chunk-1", "doc-1", "", 0, 0.1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Chunk text cannot be null or blank");
+    }
+
+    @Test
+    void shouldRejectNegativePosition() {
+        assertThatThrownBy(() -> new RetrievedChunk("chunk-1", "doc-1", "text", -1, 0.1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Position cannot be negative");
+    }
+
+    @Test
+    void shouldRejectNaNDistance() {
+        assertThatThrownBy(() -> new RetrievedChunk("chunk-1", "doc-1", "text", 0, Double.NaN))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Distance cannot be NaN");
+    }
+
+    @Test
+    void shouldImplementEqualsAndHashCode() {
+        RetrievedChunk chunk1 = new RetrievedChunk("chunk-1", "doc-1", "text", 0, 0.1);
+        RetrievedChunk chunk2 = new RetrievedChunk("chunk-1", "doc-1", "text", 0, 0.1);
+        RetrievedChunk farther = new RetrievedChunk("chunk-1", "doc-1", "text", 0, 0.2);
+
+        assertThat(chunk1).isEqualTo(chunk2);
+        assertThat(chunk1.hashCode()).isEqualTo(chunk2.hashCode());
+        assertThat(chunk1).isNotEqualTo(farther);
+        assertThat(chunk1).isNotEqualTo("chunk-1");
+    }
+
+    @Test
+    void shouldHaveReadableToString() {
+        RetrievedChunk chunk = new RetrievedChunk("chunk-1", "doc-1", "text", 0, 0.1);
+
+        assertThat(chunk.toString()).contains("chunk-1").contains("doc-1").contains("distance=0.1");
+    }
+}
@@ -0,0 +1,192 @@
+package com.ai.embeddings;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.ai.domain.Embedding;
+import com.ai.util.TextHash;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessException;
+import org.springframework.util.unit.DataSize;
+
+@ExtendWith(MockitoExtension.class)
+class CachingEmbeddingServiceTest {
+    private static final String MODEL = "nomic-embed-text";
+    // Two-dimensional vectors, as the tests use
+    private static final long ENTRY_BYTES =
+            2 * Float.BYTES + CachingEmbeddingService.ENTRY_OVERHEAD_BYTES;
+
+    @Mock private OllamaEmbeddingService delegate;
+
+    @Mock private JdbcEmbeddingCacheStore store;
+
+    private CachingEmbeddingService service(long maxBytes, boolean persistent) {
+        EmbeddingCacheConfig config = new EmbeddingCacheConfig();
+        config.setEnabled(true);
+        config.setMaxSize(DataSize.ofBytes(maxBytes));
+        config.setPersistent(persistent);
+        return new CachingEmbeddingService(
+                delegate, store, config, new EmbeddingConfig("http://localhost:11434", MODEL));
+    }
+
+    private CachingEmbeddingService service() {
+        return service(1024 * 1024, false);
+    }
+
+    private static Embedding embedding(float value) {
+        return new Embedding(new float[] {value, value}, MODEL);
+    }
+
+    @Test
+    void shouldServeRepeatedTextFromMemory() {
+        when(delegate.generateEmbedding("question")).thenReturn(embedding(1f));
+        CachingEmbeddingService service = service();
+
+        Embedding first = service.generateEmbedding("question");
+        Embedding second = service.generateEmbedding("question");
+
+        assertThat(second).isEqualTo(first).isEqualTo(embedding(1f));
+        verify(delegate, times(1)).generateEmbedding("question");
+        EmbeddingCacheStats stats = service.stats();
+        assertThat(stats.memoryHits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.entries()).isEqualTo(1);
+        assertThat(stats.bytes()).isEqualTo(ENTRY_BYTES);
+        assertThat(stats.hitRate()).isEqualTo(0.5);
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void shouldEmbedEachMissingTextOnceAndKeepInputOrder() {
+        when(delegate.generateEmbedding("a")).thenReturn(embedding(1f));
+        when(delegate.generateEmbeddings(List.of("b", "c")))
+                .thenReturn(List.of(embedding(2f), embedding(3f)));
+        CachingEmbeddingService service = service();
+        service.generateEmbedding("a");
+
+        List<Embedding> embeddings = service.generateEmbeddings(List.of("b", "a", "c", "b"));
+
+        assertThat(embeddings)
+                .containsExactly(embedding(2f), embedding(1f), embedding(3f), embedding(2f));
+        EmbeddingCacheStats stats = service.stats();
+        assertThat(stats.memoryHits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(4);
+        assertThat(stats.entries()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReturnEmptyListWithoutEmbedding() {
+        assertThat(service().generateEmbeddings(List.of())).isEmpty();
+
+        verifyNoInteractions(delegate, store);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedBeyondByteBudget() {
+        when(delegate.generateEmbedding(anyString())).thenReturn(embedding(1f));
+        CachingEmbeddingService service = service(2 * ENTRY_BYTES + 10, false);
+
+        service.generateEmbedding("a");
+        service.generateEmbedding("b");
+        service.generateEmbedding("a");
+        service.generateEmbedding("c");
+        service.generateEmbedding("a");
+        service.generateEmbedding("b");
+
+        verify(delegate, times(2)).generateEmbedding("b");
+        verify(delegate, times(1)).generateEmbedding("a");
+        EmbeddingCacheStats stats = service.stats();
+        assertThat(stats.evictions()).isEqualTo(2);
+        assertThat(stats.entries()).isEqualTo(2);
+        assertThat(stats.bytes()).isEqualTo(2 * ENTRY_BYTES);
+    }
+
+    @Test
+    void shouldReadThroughAndWriteBackPersistentLevel() {
+        String hashA = TextHash.sha256("a");
+        String hashB = TextHash.sha256("b");
+        when(store.findAll(MODEL, Set.of(hashA, hashB)))
+                .thenReturn(
+                        Map.of(hashA, new float[] {5f, 5f}, "unrequested", new float[] {0f}));
+        when(delegate.generateEmbedding("b")).thenReturn(embedding(2f));
+        CachingEmbeddingService service = service(1024 * 1024, true);
+
+        List<Embedding> embeddings = service.generateEmbeddings(List.of("a", "b"));
+
+        assertThat(embeddings).containsExactly(embedding(5f), embedding(2f));
+        verify(store)
+                .saveAll(eq(MODEL), argThat(saved -> saved.keySet().equals(Set.of(hashB))));
+        EmbeddingCacheStats stats = service.stats();
+        assertThat(stats.persistentHits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+
+        service.generateEmbedding("a");
+        assertThat(service.stats().memoryHits()).isEqualTo(1);
+        verifyNoMoreInteractions(store);
+    }
+
+    @Test
+    void shouldEmbedWhenPersistentLevelFails() {
+        DataAccessException failure = new DataAccessException("Connection refused") {};
+        when(store.findAll(eq(MODEL), anyCollection())).thenThrow(failure);
+        doThrow(failure).when(store).saveAll(eq(MODEL), anyMap());
+        when(delegate.generateEmbedding("a")).thenReturn(embedding(1f));
+
+        Embedding result = service(1024 * 1024, true).generateEmbedding("a");
+
+        assertThat(result).isEqualTo(embedding(1f));
+    }
+
+    @Test
+    void shouldRejectMismatchedEmbeddingCount() {
+        when(delegate.generateEmbeddings(List.of("a", "b"))).thenReturn(List.of(embedding(1f)));
+
+        assertThatThrownBy(() -> service().generateEmbeddings(List.of("a", "b")))
+                .isInstanceOf(EmbeddingException.class)
+                .hasMessageContaining("Expected 2 embeddings but received 1");
+    }
+
+    @Test
+    void shouldClearMemoryLevel() {
+        when(delegate.generateEmbedding("a")).thenReturn(embedding(1f));
+        CachingEmbeddingService service = service();
+        service.generateEmbedding("a");
+
+        service.clear();
+        service.generateEmbedding("a");
+
+        verify(delegate, times(2)).generateEmbedding("a");
+        assertThat(service.stats().bytes()).isEqualTo(ENTRY_BYTES);
+    }
+
+    @Test
+    void shouldDelegateDimension() {
+        when(delegate.getDimension()).thenReturn(768);
+
+        assertThat(service().getDimension()).isEqualTo(768);
+    }
+
+    @Test
+    void shouldRejectInvalidTexts() {
+        CachingEmbeddingService service = service();
+
+        assertThatThrownBy(() -> service.generateEmbedding(" "))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Text cannot be null or blank");
+        assertThatThrownBy(() -> service.generateEmbeddings(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Texts cannot be null");
+        assertThatThrownBy(() -> service.generateEmbeddings(Arrays.asList("a", null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Text cannot be null or blank");
+        verifyNoInteractions(delegate);
+    }
+}
@@ -0,0 +1,51 @@
+package com.ai.embeddings;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class EmbeddingCacheConfigTest {
+
+    @Test
+    void shouldCreateDefaultConfig() {
+        EmbeddingCacheConfig config = new EmbeddingCacheConfig();
+
+        assertThat(config.enabled()).isFalse();
+        assertThat(config.maxBytes()).isEqualTo(64L * 1024 * 1024);
+        assertThat(config.persistent()).isFalse();
+    }
+
+    @Test
+    void shouldSetProperties() {
+        EmbeddingCacheConfig config = new EmbeddingCacheConfig();
+        config.setEnabled(true);
+        config.setMaxSize(DataSize.ofKilobytes(8));
+        config.setPersistent(true);
+
+        assertThat(config.isEnabled()).isTrue();
+        assertThat(config.getMaxSize()).isEqualTo(DataSize.ofKilobytes(8));
+        assertThat(config.maxBytes()).isEqualTo(8192);
+        assertThat(config.isPersistent()).isTrue();
+    }
+
+    @Test
+    void shouldImplementToStringCorrectly() {
+        assertThat(new EmbeddingCacheConfig().toString())
+                .contains("EmbeddingCacheConfig")
+                .contains("enabled=false")
+                .contains("persistent=false");
+    }
+
+    @Test
+    void shouldRejectNonPositiveMaxSize() {
+        EmbeddingCacheConfig config = new EmbeddingCacheConfig();
+
+        assertThatThrownBy(() -> config.setMaxSize(DataSize.ofBytes(0)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Max size must be positive");
+        assertThatThrownBy(() -> config.setMaxSize(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Max size must be positive");
+    }
+}
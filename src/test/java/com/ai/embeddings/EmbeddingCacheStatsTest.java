@@ -0,0 +1,20 @@
+package com.ai.embeddings;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class EmbeddingCacheStatsTest {
+
+    @Test
+    void shouldCountHitsFromBothLevels() {
+        EmbeddingCacheStats stats = new EmbeddingCacheStats(5, 1, 4, 0, 6, 1024);
+
+        assertThat(stats.hitRate()).isEqualTo(0.6);
+    }
+
+    @Test
+    void shouldReportZeroHitRateWithoutLookups() {
+        assertThat(new EmbeddingCacheStats(0, 0, 0, 0, 0, 0).hitRate()).isZero();
+    }
+}
@@ -53,6 +53,32 @@ class EmbeddingConfigTest {
 
         assertThat(config.ollamaBaseUrl()).isEqualTo("http://localhost:11434");
         assertThat(config.model()).isEqualTo("nomic-embed-text");
+        assertThat(config.batchSize()).isEqualTo(64);
+        assertThat(config.maxConcurrentBatches()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldSetBatchingProperties() {
+        EmbeddingConfig config = new EmbeddingConfig();
+        config.setBatchSize(16);
+        config.setMaxConcurrentBatches(2);
+
+        assertThat(config.getBatchSize()).isEqualTo(16);
+        assertThat(config.getMaxConcurrentBatches()).isEqualTo(2);
+        assertThat(config).isNotEqualTo(new EmbeddingConfig());
+        assertThat(config.toString()).contains("batchSize=16").contains("maxConcurrentBatches=2");
+    }
+
+    @Test
+    void shouldRejectNonPositiveBatchingProperties() {
+        EmbeddingConfig config = new EmbeddingConfig();
+
+        assertThatThrownBy(() -> config.setBatchSize(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Batch size must be positive");
+        assertThatThrownBy(() -> config.setMaxConcurrentBatches(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Max concurrent batches must be positive");
     }
 
     @Test
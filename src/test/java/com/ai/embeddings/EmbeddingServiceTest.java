@@ -0,0 +1,39 @@
+package com.ai.embeddings;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.ai.domain.Embedding;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EmbeddingServiceTest {
+
+    private final EmbeddingService service =
+            new EmbeddingService() {
+                @Override
+                public Embedding generateEmbedding(String text) {
+                    return new Embedding(new float[] {text.length()}, "test-model");
+                }
+
+                @Override
+                public int getDimension() {
+                    return 1;
+                }
+            };
+
+    @Test
+    void shouldEmbedEachTextByDefault() {
+        List<Embedding> embeddings = service.generateEmbeddings(List.of("a", "bbb"));
+
+        assertThat(embeddings)
+                .extracting(embedding -> embedding.vector()[0])
+                .containsExactly(1f, 3f);
+    }
+
+    @Test
+    void shouldRejectNullTextsByDefault() {
+        assertThatThrownBy(() -> service.generateEmbeddings(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Texts cannot be null");
+    }
+}
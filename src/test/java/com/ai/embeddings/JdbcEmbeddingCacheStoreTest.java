@@ -0,0 +1,110 @@
+package com.ai.embeddings;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.pgvector.PGvector;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.util.PGobject;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcEmbeddingCacheStoreTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private JdbcEmbeddingCacheStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new JdbcEmbeddingCacheStore(jdbcTemplate);
+    }
+
+    private void stubRows(ResultSet rs, int rows) {
+        doAnswer(
+                        invocation -> {
+                            RowCallbackHandler handler = invocation.getArgument(1);
+                            for (int i = 0; i < rows; i++) {
+                                handler.processRow(rs);
+                            }
+                            return null;
+                        })
+                .when(jdbcTemplate)
+                .query(anyString(), any(RowCallbackHandler.class), any(), any());
+    }
+
+    @Test
+    void shouldFindVectorsByModelAndHashesInOneQuery() throws SQLException {
+        PGobject textVector = new PGobject();
+        textVector.setType("vector");
+        textVector.setValue("[0.5,0.25]");
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("text_hash")).thenReturn("h1", "h2");
+        when(rs.getObject("embedding"))
+                .thenReturn(new PGvector(new float[] {1f, 2f}), textVector);
+        stubRows(rs, 2);
+
+        Map<String, float[]> vectors = store.findAll("nomic", List.of("h1", "h2", "h3"));
+
+        assertThat(vectors).containsOnlyKeys("h1", "h2");
+        assertThat(vectors.get("h1")).containsExactly(1f, 2f);
+        assertThat(vectors.get("h2")).containsExactly(0.5f, 0.25f);
+        verify(jdbcTemplate)
+                .query(
+                        contains("text_hash = ANY(?)"),
+                        any(RowCallbackHandler.class),
+                        eq("nomic"),
+                        eq(new String[] {"h1", "h2", "h3"}));
+    }
+
+    @Test
+    void shouldRejectUnexpectedEmbeddingType() throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("text_hash")).thenReturn("h1");
+        when(rs.getObject("embedding")).thenReturn("not a vector");
+        stubRows(rs, 1);
+
+        assertThatThrownBy(() -> store.findAll("nomic", List.of("h1")))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("Unexpected type for embedding column: java.lang.String");
+    }
+
+    @Test
+    void shouldSkipQueryForNoHashes() {
+        assertThat(store.findAll("nomic", List.of())).isEmpty();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldInsertVectorsInOneBatchKeepingExistingEntries() {
+        store.saveAll("nomic", Map.of("h1", new float[] {1f, 2f}));
+
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("ON CONFLICT"), args.capture());
+        assertThat(args.getValue()).hasSize(1);
+        Object[] row = args.getValue().getFirst();
+        assertThat(row[0]).isEqualTo("nomic");
+        assertThat(row[1]).isEqualTo("h1");
+        assertThat(((PGvector) row[2]).toArray()).containsExactly(1f, 2f);
+    }
+
+    @Test
+    void shouldSkipInsertForNoVectors() {
+        store.saveAll("nomic", Map.of());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -3,7 +3,12 @@ package com.ai.embeddings;
 import static org.assertj.core.api.Assertions.*;
 
 import com.ai.domain.Embedding;
+import com.ai.llm.OllamaConfig;
+import com.ai.llm.OllamaHttpTransport;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import mockwebserver3.MockResponse;
 import mockwebserver3.MockWebServer;
 import org.junit.jupiter.api.AfterEach;
@@ -13,6 +18,7 @@ import org.junit.jupiter.api.Test;
 class OllamaEmbeddingServiceTest {
 
     private MockWebServer mockServer;
+    private OllamaHttpTransport transport;
     private EmbeddingService service;
 
     @BeforeEach
@@ -21,12 +27,29 @@ class OllamaEmbeddingServiceTest {
         mockServer.start();
 
         String baseUrl = mockServer.url("/").toString();
+        transport = new OllamaHttpTransport(new OllamaConfig(baseUrl));
         EmbeddingConfig config = new EmbeddingConfig(baseUrl, "nomic-embed-text");
-        service = new OllamaEmbeddingService(config);
+        service = new OllamaEmbeddingService(config, transport);
+    }
+
+    private EmbeddingService batchingService(int batchSize, int maxConcurrentBatches) {
+        EmbeddingConfig config =
+                new EmbeddingConfig(mockServer.url("/").toString(), "nomic-embed-text");
+        config.setBatchSize(batchSize);
+        config.setMaxConcurrentBatches(maxConcurrentBatches);
+        return new OllamaEmbeddingService(config, transport);
+    }
+
+    private static MockResponse embedResponse(String embeddings) {
+        return new MockResponse.Builder()
+                .body("{\"model\":\"nomic-embed-text\",\"embeddings\":" + embeddings + "}")
+                .addHeader("Content-Type", "application/json")
+                .build();
     }
 
     @AfterEach
     void tearDown() throws IOException {
+        transport.close();
         mockServer.shutdown();
     }
 
@@ -113,4 +136,112 @@ class OllamaEmbeddingServiceTest {
         assertThat(embedding.vector()[0]).isEqualTo(0.1f);
         assertThat(embedding.vector()[4]).isEqualTo(0.5f);
     }
+
+    @Test
+    void shouldGenerateEmbeddingsInSingleBatch() {
+        mockServer.enqueue(embedResponse("[[0.1,0.2],[0.3,0.4],[0.5,0.6]]"));
+
+        List<Embedding> embeddings = service.generateEmbeddings(List.of("a", "b", "c"));
+
+        assertThat(embeddings).hasSize(3);
+        assertThat(embeddings.get(2).vector()).containsExactly(0.5f, 0.6f);
+        assertThat(embeddings.get(0).model()).isEqualTo("nomic-embed-text");
+        assertThat(mockServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSplitIntoBatchesPreservingOrder() {
+        EmbeddingService batching = batchingService(2, 1);
+        mockServer.enqueue(embedResponse("[[1.0],[2.0]]"));
+        mockServer.enqueue(embedResponse("[[3.0],[4.0]]"));
+        mockServer.enqueue(embedResponse("[[5.0]]"));
+
+        List<Embedding> embeddings = batching.generateEmbeddings(List.of("a", "b", "c", "d", "e"));
+
+        assertThat(embeddings)
+                .extracting(embedding -> embedding.vector()[0])
+                .containsExactly(1.0f, 2.0f, 3.0f, 4.0f, 5.0f);
+        assertThat(mockServer.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRunBatchesConcurrently() {
+        EmbeddingService batching = batchingService(1, 3);
+        for (int i = 0; i < 4; i++) {
+            mockServer.enqueue(embedResponse("[[0.5]]"));
+        }
+
+        List<Embedding> embeddings = batching.generateEmbeddings(List.of("a", "b", "c", "d"));
+
+        assertThat(embeddings).hasSize(4);
+        assertThat(mockServer.getRequestCount()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldReturnEmptyListForNoTexts() {
+        assertThat(service.generateEmbeddings(List.of())).isEmpty();
+        assertThat(mockServer.getRequestCount()).isZero();
+    }
+
+    @Test
+    void shouldRejectInvalidBatchInput() {
+        assertThatThrownBy(() -> service.generateEmbeddings(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Texts cannot be null");
+        assertThatThrownBy(() -> service.generateEmbeddings(List.of("a", " ")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Text cannot be null or blank");
+    }
+
+    @Test
+    void shouldThrowExceptionOnBatchCountMismatch() {
+        mockServer.enqueue(embedResponse("[[0.1]]"));
+
+        assertThatThrownBy(() -> service.generateEmbeddings(List.of("a", "b")))
+                .isInstanceOf(EmbeddingException.class)
+                .hasMessageContaining("Expected 2 embeddings from Ollama but received 1");
+    }
+
+    @Test
+    void shouldThrowExceptionOnNullBatchEmbeddings() {
+        mockServer.enqueue(
+                new MockResponse.Builder()
+                        .body("{}")
+                        .addHeader("Content-Type", "application/json")
+                        .build());
+
+        assertThatThrownBy(() -> service.generateEmbeddings(List.of("a")))
+                .isInstanceOf(EmbeddingException.class)
+                .hasMessageContaining("Received null embeddings from Ollama");
+    }
+
+    @Test
+    void shouldPropagateFailureFromConcurrentBatch() {
+        EmbeddingService batching = batchingService(1, 1);
+        mockServer.enqueue(embedResponse("[[0.1]]"));
+        mockServer.enqueue(new MockResponse.Builder().code(500).build());
+
+        assertThatThrownBy(() -> batching.generateEmbeddings(List.of("a", "b")))
+                .isInstanceOf(EmbeddingException.class)
+                .hasMessageContaining("Failed to generate embeddings");
+    }
+
+    @Test
+    void shouldFailFastWhenAnyConcurrentBatchFails() {
+        EmbeddingService batching = batchingService(1, 2);
+        // Whichever batch arrives second stalls; the failed one must not wait for it
+        mockServer.enqueue(new MockResponse.Builder().code(500).build());
+        mockServer.enqueue(
+                new MockResponse.Builder()
+                        .body("{\"model\":\"nomic-embed-text\",\"embeddings\":[[0.1]]}")
+                        .addHeader("Content-Type", "application/json")
+                        .headersDelay(5, TimeUnit.SECONDS)
+                        .build());
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> batching.generateEmbeddings(List.of("a", "b")))
+                .isInstanceOf(EmbeddingException.class)
+                .hasMessageContaining("Failed to generate embeddings");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+    }
 }
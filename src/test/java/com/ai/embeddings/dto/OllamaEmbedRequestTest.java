@@ -0,0 +1,29 @@
+package com.ai.embeddings.dto;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class OllamaEmbedRequestTest {
+
+    @Test
+    void shouldCreateRequest() {
+        OllamaEmbedRequest request = new OllamaEmbedRequest("nomic-embed-text", List.of("a", "b"));
+
+        assertThat(request.model()).isEqualTo("nomic-embed-text");
+        assertThat(request.input()).containsExactly("a", "b");
+    }
+
+    @Test
+    void shouldImplementEqualsAndHashCodeCorrectly() {
+        OllamaEmbedRequest r1 = new OllamaEmbedRequest("nomic-embed-text", List.of("a"));
+        OllamaEmbedRequest r2 = new OllamaEmbedRequest("nomic-embed-text", List.of("a"));
+        OllamaEmbedRequest r3 = new OllamaEmbedRequest("nomic-embed-text", List.of("b"));
+
+        assertThat(r1).isEqualTo(r2);
+        assertThat(r1).isNotEqualTo(r3);
+        assertThat(r1.hashCode()).isEqualTo(r2.hashCode());
+        assertThat(r1.toString()).contains("OllamaEmbedRequest").contains("nomic-embed-text");
+    }
+}
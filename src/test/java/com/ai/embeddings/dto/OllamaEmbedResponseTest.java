@@ -0,0 +1,25 @@
+package com.ai.embeddings.dto;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class OllamaEmbedResponseTest {
+
+    @Test
+    void shouldCreateResponse() {
+        float[][] embeddings = {{0.1f, 0.2f}, {0.3f, 0.4f}};
+        OllamaEmbedResponse response = new OllamaEmbedResponse("nomic-embed-text", embeddings);
+
+        assertThat(response.model()).isEqualTo("nomic-embed-text");
+        assertThat(response.embeddings()).hasNumberOfRows(2);
+        assertThat(response.embeddings()[1][0]).isEqualTo(0.3f);
+    }
+
+    @Test
+    void shouldImplementToStringCorrectly() {
+        OllamaEmbedResponse response = new OllamaEmbedResponse("nomic-embed-text", null);
+
+        assertThat(response.toString()).contains("OllamaEmbedResponse").contains("embeddings");
+    }
+}
@@ -0,0 +1,64 @@
+package com.ai.ingest;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class IngestionConfigTest {
+
+    @Test
+    void shouldCreateDefaultConfig() {
+        IngestionConfig config = new IngestionConfig();
+
+        assertThat(config.chunkSize()).isEqualTo(1000);
+        assertThat(config.chunkOverlap()).isEqualTo(200);
+        assertThat(config.embedBatchSize()).isEqualTo(64);
+        assertThat(config.writeBatchSize()).isEqualTo(1000);
+        assertThat(config.queueCapacity()).isEqualTo(8);
+    }
+
+    @Test
+    void shouldSetProperties() {
+        IngestionConfig config = new IngestionConfig();
+        config.setChunkSize(500);
+        config.setChunkOverlap(0);
+        config.setEmbedBatchSize(16);
+        config.setWriteBatchSize(200);
+        config.setQueueCapacity(2);
+
+        assertThat(config.getChunkSize()).isEqualTo(500);
+        assertThat(config.getChunkOverlap()).isZero();
+        assertThat(config.getEmbedBatchSize()).isEqualTo(16);
+        assertThat(config.getWriteBatchSize()).isEqualTo(200);
+        assertThat(config.getQueueCapacity()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldImplementToStringCorrectly() {
+        assertThat(new IngestionConfig().toString())
+                .contains("IngestionConfig")
+                .contains("chunkSize=1000")
+                .contains("queueCapacity=8");
+    }
+
+    @Test
+    void shouldRejectInvalidValues() {
+        IngestionConfig config = new IngestionConfig();
+
+        assertThatThrownBy(() -> config.setChunkSize(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Chunk size must be positive");
+        assertThatThrownBy(() -> config.setChunkOverlap(-1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Chunk overlap cannot be negative");
+        assertThatThrownBy(() -> config.setEmbedBatchSize(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Embed batch size must be positive");
+        assertThatThrownBy(() -> config.setWriteBatchSize(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Write batch size must be positive");
+        assertThatThrownBy(() -> config.setQueueCapacity(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Queue capacity must be positive");
+    }
+}
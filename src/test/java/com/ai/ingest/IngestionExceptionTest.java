@@ -0,0 +1,25 @@
+package com.ai.ingest;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class IngestionExceptionTest {
+
+    @Test
+    void shouldCreateExceptionWithMessage() {
+        IngestionException exception = new IngestionException("Test message");
+
+        assertThat(exception.getMessage()).isEqualTo("Test message");
+        assertThat(exception.getCause()).isNull();
+    }
+
+    @Test
+    void shouldCreateExceptionWithMessageAndCause() {
+        RuntimeException cause = new RuntimeException("Root cause");
+        IngestionException exception = new IngestionException("Test message", cause);
+
+        assertThat(exception.getMessage()).isEqualTo("Test message");
+        assertThat(exception.getCause()).isEqualTo(cause);
+    }
+}
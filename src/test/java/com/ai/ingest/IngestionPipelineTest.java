@@ -0,0 +1,250 @@
+package com.ai.ingest;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.ai.domain.Chunk;
+import com.ai.domain.Document;
+import com.ai.domain.Embedding;
+import com.ai.embeddings.EmbeddingService;
+import com.ai.rag.ChunkRepository;
+import com.ai.rag.DocumentRepository;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class IngestionPipelineTest {
+
+    @Mock private DocumentRepository documentRepository;
+
+    @Mock private ChunkRepository chunkRepository;
+
+    @Mock private EmbeddingService embeddingService;
+
+    private IngestionPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        IngestionConfig config = new IngestionConfig();
+        config.setChunkSize(10);
+        config.setChunkOverlap(0);
+        config.setEmbedBatchSize(2);
+        config.setWriteBatchSize(2);
+        config.setQueueCapacity(1);
+        pipeline =
+                new IngestionPipeline(
+                        documentRepository,
+                        chunkRepository,
+                        embeddingService,
+                        new TextChunker(config),
+                        config);
+    }
+
+    private static Document document(String id, String content) {
+        return new Document(id, "Title " + id, content, "test-source", Instant.now());
+    }
+
+    private void stubEmbeddings() {
+        when(embeddingService.generateEmbeddings(anyList()))
+                .thenAnswer(
+                        invocation -> {
+                            List<String> texts = invocation.getArgument(0);
+                            return texts.stream()
+                                    .map(text -> new Embedding(new float[] {0.1f}, "test-model"))
+                                    .toList();
+                        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldIngestDocumentsThroughAllStages() {
+        stubEmbeddings();
+        Document first = document("doc-1", "alpha beta gamma delta");
+        Document second = document("doc-2", "one two");
+
+        IngestionReport report = pipeline.ingest(Stream.of(first, second));
+
+        assertThat(report.documents()).isEqualTo(2);
+        assertThat(report.chunks()).isEqualTo(4);
+        assertThat(report.unchangedChunks()).isZero();
+        assertThat(report.deletedChunks()).isZero();
+        assertThat(report.durationMs()).isNotNegative();
+        verify(documentRepository).save(first);
+        verify(documentRepository).save(second);
+        verify(embeddingService, times(2)).generateEmbeddings(anyList());
+
+        ArgumentCaptor<Collection<Chunk>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(chunkRepository, times(2)).saveAll(captor.capture());
+        List<Chunk> written = captor.getAllValues().stream().flatMap(Collection::stream).toList();
+        assertThat(written)
+                .extracting(Chunk::id)
+                .containsExactly("doc-1#0", "doc-1#1", "doc-1#2", "doc-2#0");
+        assertThat(written)
+                .extracting(Chunk::text)
+                .containsExactly("alpha beta", "gamma", "delta", "one two");
+        assertThat(written).extracting(Chunk::position).containsExactly(0, 1, 2, 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReembedOnlyChangedChunksAndDeleteRemovedOnes() {
+        stubEmbeddings();
+        when(chunkRepository.findContentHashes("doc-1"))
+                .thenReturn(
+                        Map.of(
+                                "doc-1#0", Chunk.hashOf("alpha beta"),
+                                "doc-1#1", Chunk.hashOf("gamma"),
+                                "doc-1#2", Chunk.hashOf("delta"),
+                                "doc-1#3", Chunk.hashOf("epsilon")));
+
+        IngestionReport report =
+                pipeline.ingest(Stream.of(document("doc-1", "alpha beta gamma omega")));
+
+        assertThat(report.chunks()).isEqualTo(1);
+        assertThat(report.unchangedChunks()).isEqualTo(2);
+        assertThat(report.deletedChunks()).isEqualTo(1);
+        verify(embeddingService).generateEmbeddings(List.of("omega"));
+        verify(chunkRepository).deleteByIds(Set.of("doc-1#3"));
+
+        ArgumentCaptor<Collection<Chunk>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(chunkRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).extracting(Chunk::id).containsExactly("doc-1#2");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReuseStoredEmbeddingsWhenTextIsInsertedNearTheStart() {
+        stubEmbeddings();
+        Map<String, Chunk> stored = new HashMap<>();
+        List<String> texts = List.of("one two", "three", "four five", "six");
+        for (int i = 0; i < texts.size(); i++) {
+            Embedding embedding = new Embedding(new float[] {i}, "test-model");
+            stored.put("doc-1#" + i, new Chunk("doc-1#" + i, "doc-1", texts.get(i), i, embedding));
+        }
+        Map<String, String> hashes = new HashMap<>();
+        stored.forEach((id, chunk) -> hashes.put(id, chunk.contentHash()));
+        when(chunkRepository.findContentHashes("doc-1")).thenReturn(hashes);
+        when(chunkRepository.findByIds(anyCollection()))
+                .thenAnswer(
+                        invocation -> {
+                            Collection<String> ids = invocation.getArgument(0);
+                            return ids.stream().map(stored::get).toList();
+                        });
+
+        IngestionReport report =
+                pipeline.ingest(
+                        Stream.of(document("doc-1", "one two zero\n\nthree\n\nfour five\n\nsix")));
+
+        assertThat(report.unchangedChunks()).isEqualTo(1);
+        assertThat(report.movedChunks()).isEqualTo(3);
+        assertThat(report.chunks()).isEqualTo(4);
+        assertThat(report.deletedChunks()).isZero();
+        verify(embeddingService).generateEmbeddings(List.of("zero"));
+        verifyNoMoreInteractions(embeddingService);
+
+        ArgumentCaptor<Collection<Chunk>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(chunkRepository, times(2)).saveAll(captor.capture());
+        List<Chunk> written = captor.getAllValues().stream().flatMap(Collection::stream).toList();
+        assertThat(written)
+                .extracting(Chunk::id)
+                .containsExactly("doc-1#1", "doc-1#2", "doc-1#3", "doc-1#4");
+        assertThat(written)
+                .extracting(chunk -> chunk.embedding().vector()[0])
+                .containsExactly(0.1f, 1f, 2f, 3f);
+    }
+
+    @Test
+    void shouldSkipUnchangedDocumentEntirely() {
+        when(chunkRepository.findContentHashes("doc-1"))
+                .thenReturn(Map.of("doc-1#0", Chunk.hashOf("one two")));
+
+        IngestionReport report = pipeline.ingest(Stream.of(document("doc-1", "one two")));
+
+        assertThat(report.documents()).isEqualTo(1);
+        assertThat(report.chunks()).isZero();
+        assertThat(report.unchangedChunks()).isEqualTo(1);
+        verifyNoInteractions(embeddingService);
+        verify(chunkRepository, never()).saveAll(anyCollection());
+        verify(chunkRepository, never()).deleteByIds(anyCollection());
+    }
+
+    @Test
+    void shouldReportEmptyRunWithoutEmbeddingOrWriting() {
+        IngestionReport report = pipeline.ingest(Stream.empty());
+
+        assertThat(report.documents()).isZero();
+        assertThat(report.chunks()).isZero();
+        verifyNoInteractions(documentRepository, embeddingService, chunkRepository);
+    }
+
+    @Test
+    void shouldFailWhenWriterFails() {
+        stubEmbeddings();
+        doThrow(new RuntimeException("Database unavailable"))
+                .when(chunkRepository)
+                .saveAll(anyCollection());
+
+        assertThatThrownBy(
+                        () -> pipeline.ingest(Stream.of(document("doc-1", "alpha beta gamma"))))
+                .isInstanceOf(IngestionException.class)
+                .hasMessageContaining("Ingestion failed: Database unavailable")
+                .hasRootCauseMessage("Database unavailable");
+    }
+
+    @Test
+    void shouldFailWhenEmbeddingCountDoesNotMatch() {
+        when(embeddingService.generateEmbeddings(anyList())).thenReturn(List.of());
+
+        assertThatThrownBy(() -> pipeline.ingest(Stream.of(document("doc-1", "alpha beta"))))
+                .isInstanceOf(IngestionException.class)
+                .hasMessageContaining("Expected 1 embeddings but received 0");
+        verify(chunkRepository, never()).saveAll(anyCollection());
+    }
+
+    @Test
+    void shouldFailWhenReaderFails() {
+        when(documentRepository.save(any())).thenThrow(new RuntimeException("Constraint violated"));
+
+        assertThatThrownBy(() -> pipeline.ingest(Stream.of(document("doc-1", "alpha beta"))))
+                .isInstanceOf(IngestionException.class)
+                .hasMessageContaining("Ingestion failed: Constraint violated");
+        verifyNoInteractions(embeddingService, chunkRepository);
+    }
+
+    @Test
+    void shouldRestoreInterruptFlagWhenInterrupted() {
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> pipeline.ingest(Stream.empty()))
+                    .isInstanceOf(IngestionException.class)
+                    .hasMessageContaining("Ingestion was interrupted");
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void shouldRejectNullDocuments() {
+        assertThatThrownBy(() -> pipeline.ingest(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Documents cannot be null");
+    }
+
+    @Test
+    void shouldBuildDeterministicChunkIds() {
+        assertThat(IngestionPipeline.chunkId("doc-1", 3)).isEqualTo("doc-1#3");
+    }
+}
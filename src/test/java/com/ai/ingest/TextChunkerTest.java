@@ -0,0 +1,79 @@
+package com.ai.ingest;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TextChunkerTest {
+
+    private static TextChunker chunker(int size, int overlap) {
+        IngestionConfig config = new IngestionConfig();
+        config.setChunkSize(size);
+        config.setChunkOverlap(overlap);
+        return new TextChunker(config);
+    }
+
+    @Test
+    void shouldReturnSingleChunkForShortText() {
+        assertThat(chunker(100, 10).split("  short text  ")).containsExactly("short text");
+    }
+
+    @Test
+    void shouldReturnNoChunksForBlankText() {
+        assertThat(chunker(100, 10).split("   ")).isEmpty();
+        assertThat(chunker(100, 10).split("")).isEmpty();
+    }
+
+    @Test
+    void shouldSplitAtWhitespaceWithoutOverlap() {
+        List<String> chunks = chunker(10, 0).split("alpha beta gamma delta");
+
+        assertThat(chunks).containsExactly("alpha beta", "gamma", "delta");
+    }
+
+    @Test
+    void shouldOverlapConsecutiveChunksOnWordBoundaries() {
+        List<String> chunks = chunker(12, 6).split("one two three four five");
+
+        assertThat(chunks).containsExactly("one two", "two three", "three four", "four five");
+    }
+
+    @Test
+    void shouldCutWordsLongerThanChunkSize() {
+        List<String> chunks = chunker(4, 0).split("abcdefghij");
+
+        assertThat(chunks).containsExactly("abcd", "efgh", "ij");
+    }
+
+    @Test
+    void shouldSplitParagraphsIndependently() {
+        List<String> chunks = chunker(100, 10).split("alpha beta\n\ngamma\n   \ndelta");
+
+        assertThat(chunks).containsExactly("alpha beta", "gamma", "delta");
+    }
+
+    @Test
+    void shouldKeepLaterParagraphChunksWhenEarlierTextChanges() {
+        TextChunker chunker = chunker(10, 0);
+        List<String> before = chunker.split("one two\n\nthree four five\n\nsix seven");
+        List<String> after = chunker.split("one two zero\n\nthree four five\n\nsix seven");
+
+        assertThat(after).containsExactly("one two", "zero", "three four", "five", "six seven");
+        assertThat(after.subList(2, after.size())).isEqualTo(before.subList(1, before.size()));
+    }
+
+    @Test
+    void shouldRejectOverlapNotSmallerThanSize() {
+        assertThatThrownBy(() -> chunker(10, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Chunk overlap must be smaller than chunk size");
+    }
+
+    @Test
+    void shouldRejectNullText() {
+        assertThatThrownBy(() -> chunker(10, 0).split(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Text cannot be null");
+    }
+}
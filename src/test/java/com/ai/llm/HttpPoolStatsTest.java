@@ -0,0 +1,20 @@
+package com.ai.llm;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class HttpPoolStatsTest {
+
+    @Test
+    void shouldCalculateUtilization() {
+        HttpPoolStats stats = new HttpPoolStats(5, 3, 0, 20);
+
+        assertThat(stats.utilization()).isEqualTo(0.25);
+    }
+
+    @Test
+    void shouldReturnZeroUtilizationForEmptyPool() {
+        assertThat(new HttpPoolStats(0, 0, 0, 0).utilization()).isZero();
+    }
+}
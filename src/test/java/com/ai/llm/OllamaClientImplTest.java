@@ -4,18 +4,24 @@ import static org.assertj.core.api.Assertions.*;
 
 import com.ai.model.LlmModel;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import mockwebserver3.MockResponse;
 import mockwebserver3.MockWebServer;
+import mockwebserver3.RecordedRequest;
 import mockwebserver3.junit5.internal.MockWebServerExtension;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
 
 @ExtendWith(MockWebServerExtension.class)
 class OllamaClientImplTest {
 
     private MockWebServer mockServer;
+    private OllamaHttpTransport transport;
     private OllamaClient client;
 
     @BeforeEach
@@ -25,11 +31,13 @@ class OllamaClientImplTest {
 
         String baseUrl = mockServer.url("/").toString();
         OllamaConfig config = new OllamaConfig(baseUrl);
-        client = new OllamaClientImpl(config);
+        transport = new OllamaHttpTransport(config);
+        client = new OllamaClientImpl(config, transport);
     }
 
     @AfterEach
     void tearDown() throws IOException {
+        transport.close();
         mockServer.shutdown();
     }
 
@@ -47,6 +55,24 @@ class OllamaClientImplTest {
         assertThat(response).isEqualTo("AI is artificial intelligence");
     }
 
+    @Test
+    void shouldSendContextWindowAndMaxTokensAsModelOptions() throws InterruptedException {
+        mockServer.enqueue(
+                new MockResponse.Builder()
+                        .body("{\"model\":\"llama3.1:8b\",\"response\":\"ok\",\"done\":true}")
+                        .addHeader("Content-Type", "application/json")
+                        .build());
+
+        client.generate(LlmModel.LLAMA_3_1_8B, "What is AI?", 100);
+
+        JsonNode body = JsonMapper.builder().build().readTree(requestBody());
+        assertThat(body.path("options").path("num_ctx").asInt())
+                .isEqualTo(LlmModel.LLAMA_3_1_8B.contextWindow());
+        assertThat(body.path("options").path("num_predict").asInt()).isEqualTo(100);
+        assertThat(body.has("num_predict")).isFalse();
+        assertThat(body.path("stream").asBoolean()).isFalse();
+    }
+
     @Test
     void shouldCheckModelAvailability() {
         mockServer.enqueue(
@@ -214,4 +240,104 @@ class OllamaClientImplTest {
 
         assertThat(available).isTrue();
     }
+
+    @Test
+    void shouldStreamResponseTokens() {
+        mockServer.enqueue(
+                new MockResponse.Builder()
+                        .body(
+                                "{\"model\":\"llama3.1:8b\",\"response\":\"AI is \",\"done\":false}\n"
+                                        + "\n"
+                                        + "{\"model\":\"llama3.1:8b\",\"response\":\"artificial\",\"done\":false}\n"
+                                        + "{\"model\":\"llama3.1:8b\",\"response\":\"\",\"done\":true,"
+                                        + "\"total_duration\":12345}\n")
+                        .addHeader("Content-Type", "application/x-ndjson")
+                        .build());
+        List<String> tokens = new ArrayList<>();
+
+        String response =
+                client.generateStream(LlmModel.LLAMA_3_1_8B, "What is AI?", 100, tokens::add);
+
+        assertThat(response).isEqualTo("AI is artificial");
+        assertThat(tokens).containsExactly("AI is ", "artificial");
+    }
+
+    @Test
+    void shouldThrowOllamaExceptionWhenStreamEndsEarly() {
+        mockServer.enqueue(
+                new MockResponse.Builder()
+                        .body("{\"model\":\"llama3.1:8b\",\"response\":\"AI\",\"done\":false}\n")
+                        .build());
+
+        assertThatThrownBy(
+                        () ->
+                                client.generateStream(
+                                        LlmModel.LLAMA_3_1_8B, "What is AI?", 100, token -> {}))
+                .isInstanceOf(OllamaException.class)
+                .hasMessageContaining("Ollama stream ended before completion");
+    }
+
+    @Test
+    void shouldThrowOllamaExceptionForMalformedStreamChunk() {
+        mockServer.enqueue(new MockResponse.Builder().body("not json\n").build());
+
+        assertThatThrownBy(
+                        () ->
+                                client.generateStream(
+                                        LlmModel.LLAMA_3_1_8B, "What is AI?", 100, token -> {}))
+                .isInstanceOf(OllamaException.class)
+                .hasMessageContaining("Received malformed stream chunk from Ollama");
+    }
+
+    @Test
+    void shouldThrowOllamaExceptionForStreamingServerError() {
+        mockServer.enqueue(
+                new MockResponse.Builder().code(500).body("Internal Server Error").build());
+
+        assertThatThrownBy(
+                        () ->
+                                client.generateStream(
+                                        LlmModel.LLAMA_3_1_8B, "What is AI?", 100, token -> {}))
+                .isInstanceOf(OllamaException.class)
+                .hasMessageContaining("Ollama returned status 500");
+    }
+
+    @Test
+    void shouldThrowOllamaExceptionWhenStreamingConnectionFails() {
+        OllamaConfig config = new OllamaConfig("http://localhost:1");
+        try (OllamaHttpTransport unreachableTransport = new OllamaHttpTransport(config)) {
+            OllamaClient unreachable = new OllamaClientImpl(config, unreachableTransport);
+
+            assertThatThrownBy(
+                            () ->
+                                    unreachable.generateStream(
+                                            LlmModel.LLAMA_3_1_8B,
+                                            "What is AI?",
+                                            100,
+                                            token -> {}))
+                    .isInstanceOf(OllamaException.class)
+                    .hasMessageContaining("Failed to stream response from Ollama");
+        }
+    }
+
+    @Test
+    void shouldValidateStreamingArguments() {
+        assertThatThrownBy(() -> client.generateStream(null, "What is AI?", 100, token -> {}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Model cannot be null");
+        assertThatThrownBy(() -> client.generateStream(LlmModel.LLAMA_3_1_8B, " ", 100, t -> {}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Prompt cannot be null or blank");
+        assertThatThrownBy(() -> client.generateStream(LlmModel.LLAMA_3_1_8B, "Why?", 0, t -> {}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Max tokens must be positive");
+        assertThatThrownBy(() -> client.generateStream(LlmModel.LLAMA_3_1_8B, "Why?", 100, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Token consumer cannot be null");
+    }
+
+    private String requestBody() throws InterruptedException {
+        RecordedRequest request = mockServer.takeRequest();
+        return request.getBody().readUtf8();
+    }
 }
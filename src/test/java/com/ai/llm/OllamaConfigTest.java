@@ -2,6 +2,7 @@ package com.ai.llm;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.time.Duration;
 import org.junit.jupiter.api.Test;
 
 class OllamaConfigTest {
@@ -70,4 +71,59 @@ class OllamaConfigTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Ollama base URL cannot be null or blank");
     }
+
+    @Test
+    void shouldHaveDefaultTransportSettings() {
+        OllamaConfig config = new OllamaConfig();
+
+        assertThat(config.maxConnections()).isEqualTo(50);
+        assertThat(config.maxConnectionsPerRoute()).isEqualTo(20);
+        assertThat(config.connectTimeout()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(config.readTimeout()).isEqualTo(Duration.ofMinutes(5));
+        assertThat(config.connectionRequestTimeout()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(config.keepAlive()).isEqualTo(Duration.ofSeconds(60));
+    }
+
+    @Test
+    void shouldSetTransportSettings() {
+        OllamaConfig config = new OllamaConfig();
+
+        config.setMaxConnections(10);
+        config.setMaxConnectionsPerRoute(5);
+        config.setConnectTimeout(Duration.ofSeconds(1));
+        config.setReadTimeout(Duration.ofSeconds(30));
+        config.setConnectionRequestTimeout(Duration.ofSeconds(2));
+        config.setKeepAlive(Duration.ofSeconds(10));
+
+        assertThat(config.getMaxConnections()).isEqualTo(10);
+        assertThat(config.getMaxConnectionsPerRoute()).isEqualTo(5);
+        assertThat(config.getConnectTimeout()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(config.getReadTimeout()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(config.getConnectionRequestTimeout()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(config.getKeepAlive()).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void shouldRejectInvalidTransportSettings() {
+        OllamaConfig config = new OllamaConfig();
+
+        assertThatThrownBy(() -> config.setMaxConnections(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Max connections must be positive");
+        assertThatThrownBy(() -> config.setMaxConnectionsPerRoute(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Max connections per route must be positive");
+        assertThatThrownBy(() -> config.setConnectTimeout(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Connect timeout must be positive");
+        assertThatThrownBy(() -> config.setReadTimeout(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Read timeout must be positive");
+        assertThatThrownBy(() -> config.setConnectionRequestTimeout(Duration.ofSeconds(-1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Connection request timeout must be positive");
+        assertThatThrownBy(() -> config.setKeepAlive(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Keep-alive must be positive");
+    }
 }
@@ -0,0 +1,83 @@
+package com.ai.llm;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import mockwebserver3.MockResponse;
+import mockwebserver3.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+class OllamaHttpTransportTest {
+
+    private MockWebServer mockServer;
+    private OllamaHttpTransport transport;
+    private RestClient restClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockServer = new MockWebServer();
+        mockServer.start();
+
+        OllamaConfig config = new OllamaConfig(mockServer.url("/").toString());
+        config.setMaxConnections(4);
+        config.setMaxConnectionsPerRoute(2);
+        config.setReadTimeout(Duration.ofMillis(500));
+        transport = new OllamaHttpTransport(config);
+        restClient =
+                RestClient.builder()
+                        .baseUrl(config.baseUrl())
+                        .requestFactory(transport.requestFactory())
+                        .build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        transport.close();
+        mockServer.shutdown();
+    }
+
+    @Test
+    void shouldReportConfiguredPoolSize() {
+        HttpPoolStats stats = transport.stats();
+
+        assertThat(stats.max()).isEqualTo(4);
+        assertThat(stats.leased()).isZero();
+        assertThat(stats.pending()).isZero();
+    }
+
+    @Test
+    void shouldReuseConnectionAcrossRequests() {
+        mockServer.enqueue(new MockResponse.Builder().body("first").build());
+        mockServer.enqueue(new MockResponse.Builder().body("second").build());
+
+        String first = restClient.get().uri("/api/tags").retrieve().body(String.class);
+        String second = restClient.get().uri("/api/tags").retrieve().body(String.class);
+
+        assertThat(first).isEqualTo("first");
+        assertThat(second).isEqualTo("second");
+        assertThat(transport.stats().leased()).isZero();
+        assertThat(transport.stats().available()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTimeOutWhenServerNeverResponds() throws IOException {
+        // The kernel completes the TCP handshake, but nothing ever writes a response.
+        try (ServerSocket silentServer = new ServerSocket(0)) {
+            RestClient silentClient =
+                    RestClient.builder()
+                            .baseUrl("http://localhost:" + silentServer.getLocalPort())
+                            .requestFactory(transport.requestFactory())
+                            .build();
+
+            assertThatThrownBy(
+                            () -> silentClient.get().uri("/api/tags").retrieve().body(String.class))
+                    .isInstanceOf(RestClientException.class);
+        }
+    }
+}
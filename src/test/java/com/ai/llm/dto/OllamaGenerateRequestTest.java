@@ -5,79 +5,96 @@ import static org.assertj.core.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 
 class OllamaGenerateRequestTest {
+    private static final OllamaGenerateRequest.Options OPTIONS =
+            new OllamaGenerateRequest.Options(4096, 100);
 
     @Test
     void shouldCreateValidRequest() {
         OllamaGenerateRequest request =
-                new OllamaGenerateRequest("llama3.1:8b", "Hello", 100, false);
+                new OllamaGenerateRequest("llama3.1:8b", "Hello", false, OPTIONS);
 
         assertThat(request.model()).isEqualTo("llama3.1:8b");
         assertThat(request.prompt()).isEqualTo("Hello");
-        assertThat(request.numPredict()).isEqualTo(100);
         assertThat(request.stream()).isFalse();
+        assertThat(request.options().numCtx()).isEqualTo(4096);
+        assertThat(request.options().numPredict()).isEqualTo(100);
     }
 
     @Test
     void shouldCreateRequestWithStream() {
         OllamaGenerateRequest request =
-                new OllamaGenerateRequest("qwen2.5:7b", "Test prompt", 200, true);
+                new OllamaGenerateRequest("qwen2.5:7b", "Test prompt", true, OPTIONS);
 
         assertThat(request.stream()).isTrue();
     }
 
     @Test
     void shouldThrowExceptionForNullModel() {
-        assertThatThrownBy(() -> new OllamaGenerateRequest(null, "prompt", 100, false))
+        assertThatThrownBy(() -> new OllamaGenerateRequest(null, "prompt", false, OPTIONS))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Model cannot be null or blank");
     }
 
     @Test
     void shouldThrowExceptionForBlankModel() {
-        assertThatThrownBy(() -> new OllamaGenerateRequest("   ", "prompt", 100, false))
+        assertThatThrownBy(() -> new OllamaGenerateRequest("   ", "prompt", false, OPTIONS))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Model cannot be null or blank");
     }
 
     @Test
     void shouldThrowExceptionForEmptyModel() {
-        assertThatThrownBy(() -> new OllamaGenerateRequest("", "prompt", 100, false))
+        assertThatThrownBy(() -> new OllamaGenerateRequest("", "prompt", false, OPTIONS))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Model cannot be null or blank");
     }
 
     @Test
     void shouldThrowExceptionForNullPrompt() {
-        assertThatThrownBy(() -> new OllamaGenerateRequest("model", null, 100, false))
+        assertThatThrownBy(() -> new OllamaGenerateRequest("model", null, false, OPTIONS))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Prompt cannot be null or blank");
     }
 
     @Test
     void shouldThrowExceptionForBlankPrompt() {
-        assertThatThrownBy(() -> new OllamaGenerateRequest("model", "   ", 100, false))
+        assertThatThrownBy(() -> new OllamaGenerateRequest("model", "   ", false, OPTIONS))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Prompt cannot be null or blank");
     }
 
     @Test
     void shouldThrowExceptionForEmptyPrompt() {
-        assertThatThrownBy(() -> new OllamaGenerateRequest("model", "", 100, false))
+        assertThatThrownBy(() -> new OllamaGenerateRequest("model", "", false, OPTIONS))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Prompt cannot be null or blank");
     }
 
     @Test
     void shouldThrowExceptionForZeroNumPredict() {
-        assertThatThrownBy(() -> new OllamaGenerateRequest("model", "prompt", 0, false))
+        assertThatThrownBy(() -> new OllamaGenerateRequest.Options(4096, 0))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("numPredict must be positive");
     }
 
     @Test
     void shouldThrowExceptionForNegativeNumPredict() {
-        assertThatThrownBy(() -> new OllamaGenerateRequest("model", "prompt", -1, false))
+        assertThatThrownBy(() -> new OllamaGenerateRequest.Options(4096, -1))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("numPredict must be positive");
     }
+
+    @Test
+    void shouldThrowExceptionForNullOptions() {
+        assertThatThrownBy(() -> new OllamaGenerateRequest("model", "prompt", false, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Options cannot be null");
+    }
+
+    @Test
+    void shouldThrowExceptionForNonPositiveNumCtx() {
+        assertThatThrownBy(() -> new OllamaGenerateRequest.Options(0, 100))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("numCtx must be positive");
+    }
 }
@@ -21,6 +21,23 @@ class RetrievalStrategyTest {
         assertThat(RetrievalStrategy.EXHAUSTIVE.defaultTopK()).isEqualTo(20);
     }
 
+    @Test
+    void shouldSpendMoreIndexSearchEffortOnDeeperStrategies() {
+        assertThat(RetrievalStrategy.SIMPLE.efSearch()).isEqualTo(40);
+        assertThat(RetrievalStrategy.DEEP.efSearch()).isEqualTo(100);
+        assertThat(RetrievalStrategy.EXHAUSTIVE.efSearch()).isEqualTo(200);
+        assertThat(RetrievalStrategy.SIMPLE.probes()).isEqualTo(4);
+        assertThat(RetrievalStrategy.DEEP.probes()).isEqualTo(10);
+        assertThat(RetrievalStrategy.EXHAUSTIVE.probes()).isEqualTo(32);
+    }
+
+    @Test
+    void shouldKeepEfSearchAtLeastTopK() {
+        for (RetrievalStrategy strategy : RetrievalStrategy.values()) {
+            assertThat(strategy.efSearch()).isGreaterThanOrEqualTo(strategy.defaultTopK());
+        }
+    }
+
     @Test
     void shouldHaveAllEnumValues() {
         assertThat(RetrievalStrategy.values()).hasSize(3);
@@ -0,0 +1,81 @@
+package com.ai.rag;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.ai.domain.Chunk;
+import com.ai.domain.Embedding;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class ChunkCopyEncoderTest {
+
+    @Test
+    void shouldWriteBinaryCopyHeader() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        ChunkCopyEncoder.writeHeader(new DataOutputStream(bytes));
+
+        assertThat(bytes.toByteArray())
+                .containsExactly(
+                        'P', 'G', 'C', 'O', 'P', 'Y', '\n', 0xFF, '\r', '\n', 0, 0, 0, 0, 0, 0, 0,
+                        0, 0);
+    }
+
+    @Test
+    void shouldWriteRowFieldsInColumnOrder() throws IOException {
+        Chunk chunk =
+                new Chunk(
+                        "c-1", "d-1", "héllo", 7, new Embedding(new float[] {0.5f, -1f}, "nomic"));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        ChunkCopyEncoder.writeRow(new DataOutputStream(bytes), chunk);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThat(in.readShort()).isEqualTo((short) 6);
+        assertThat(readText(in)).isEqualTo("c-1");
+        assertThat(readText(in)).isEqualTo("d-1");
+        assertThat(readText(in)).isEqualTo("héllo");
+        assertThat(in.readInt()).isEqualTo(4);
+        assertThat(in.readInt()).isEqualTo(7);
+        assertThat(in.readInt()).isEqualTo(2 + 2 + 2 * 4);
+        assertThat(in.readShort()).isEqualTo((short) 2);
+        assertThat(in.readShort()).isZero();
+        assertThat(in.readFloat()).isEqualTo(0.5f);
+        assertThat(in.readFloat()).isEqualTo(-1f);
+        assertThat(readText(in)).isEqualTo(Chunk.hashOf("héllo"));
+        assertThat(in.available()).isZero();
+    }
+
+    @Test
+    void shouldRejectEmbeddingsBeyondPgvectorDimensionLimit() {
+        Chunk chunk =
+                new Chunk("c-1", "d-1", "text", 0, new Embedding(new float[40_000], "nomic"));
+
+        assertThatThrownBy(
+                        () ->
+                                ChunkCopyEncoder.writeRow(
+                                        new DataOutputStream(new ByteArrayOutputStream()), chunk))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Embedding dimension exceeds pgvector limit: 40000");
+    }
+
+    @Test
+    void shouldWriteTrailer() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        ChunkCopyEncoder.writeTrailer(new DataOutputStream(bytes));
+
+        assertThat(bytes.toByteArray()).containsExactly(0xFF, 0xFF);
+    }
+
+    private static String readText(DataInputStream in) throws IOException {
+        byte[] value = new byte[in.readInt()];
+        in.readFully(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
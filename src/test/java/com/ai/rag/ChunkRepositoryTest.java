@@ -0,0 +1,72 @@
+package com.ai.rag;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.ai.domain.Chunk;
+import com.ai.domain.Embedding;
+import com.ai.domain.RetrievedChunk;
+import com.ai.model.RetrievalStrategy;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ChunkRepositoryTest {
+
+    @Test
+    void shouldSaveAllOneAtATimeByDefault() {
+        ChunkRepository repository = mock(ChunkRepository.class, CALLS_REAL_METHODS);
+        doAnswer(invocation -> invocation.getArgument(0)).when(repository).save(any(Chunk.class));
+        Chunk chunk1 = chunk("chunk-1");
+        Chunk chunk2 = chunk("chunk-2");
+
+        List<Chunk> saved = repository.saveAll(List.of(chunk1, chunk2));
+
+        assertThat(saved).containsExactly(chunk1, chunk2);
+        verify(repository).save(chunk1);
+        verify(repository).save(chunk2);
+    }
+
+    @Test
+    void shouldRejectNullChunksByDefault() {
+        ChunkRepository repository = mock(ChunkRepository.class, CALLS_REAL_METHODS);
+
+        assertThatThrownBy(() -> repository.saveAll(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Chunks cannot be null");
+    }
+
+    @Test
+    void shouldFindMatchesForStrategyTopKByDefault() {
+        ChunkRepository repository = mock(ChunkRepository.class, CALLS_REAL_METHODS);
+        float[] query = {1f};
+        RetrievedChunk hit = new RetrievedChunk("chunk-1", "doc-1", "text", 0, 0.1);
+        doReturn(List.of(hit)).when(repository).findSimilarMatches(query, 10);
+
+        assertThat(repository.findSimilarMatches(query, RetrievalStrategy.DEEP))
+                .containsExactly(hit);
+    }
+
+    @Test
+    void shouldIgnoreSearchEffortForExplicitTopKByDefault() {
+        ChunkRepository repository = mock(ChunkRepository.class, CALLS_REAL_METHODS);
+        float[] query = {1f};
+        RetrievedChunk hit = new RetrievedChunk("chunk-1", "doc-1", "text", 0, 0.1);
+        doReturn(List.of(hit)).when(repository).findSimilarMatches(query, 60);
+
+        assertThat(repository.findSimilarMatches(query, RetrievalStrategy.EXHAUSTIVE, 60))
+                .containsExactly(hit);
+    }
+
+    @Test
+    void shouldFindNoTextMatchesByDefault() {
+        ChunkRepository repository = mock(ChunkRepository.class, CALLS_REAL_METHODS);
+
+        assertThat(repository.findLexicalMatches("ERR-504", new float[] {1f}, 5)).isEmpty();
+    }
+
+    private static Chunk chunk(String id) {
+        return new Chunk(
+                id, "doc-1", "text for " + id, 0, new Embedding(new float[] {1f}, "nomic"));
+    }
+}
@@ -0,0 +1,126 @@
+package com.ai.rag;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.ai.domain.RetrievedChunk;
+import com.ai.model.RetrievalStrategy;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ChunkRerankerTest {
+
+    @Test
+    void shouldPromoteChunksContainingQuestionTerms() {
+        RetrievedChunk overview = chunk("overview", "General networking overview", 0.1);
+        RetrievedChunk runbook = chunk("runbook", "ERR-504 gateway timeout runbook", 0.3);
+        ChunkReranker reranker = reranker(1.0, 2048);
+
+        List<RetrievedChunk> kept =
+                reranker.rerank("What does ERR-504 mean?", List.of(overview, runbook), 2);
+
+        assertThat(kept).containsExactly(runbook, overview);
+    }
+
+    @Test
+    void shouldRankBySimilarityWithoutQuestion() {
+        RetrievedChunk far = chunk("far", "ERR-504 gateway timeout runbook", 0.3);
+        RetrievedChunk near = chunk("near", "General networking overview", 0.1);
+
+        List<RetrievedChunk> kept = reranker(1.0, 2048).rerank(null, List.of(far, near), 2);
+
+        assertThat(kept).containsExactly(near, far);
+    }
+
+    @Test
+    void shouldPassOverNearDuplicatesOfPickedChunks() {
+        RetrievedChunk first = chunk("first", "alpha beta gamma delta", 0.1);
+        RetrievedChunk overlap = chunk("overlap", "alpha beta gamma delta epsilon", 0.12);
+        RetrievedChunk other = chunk("other", "zeta eta theta iota", 0.3);
+        List<RetrievedChunk> candidates = List.of(first, overlap, other);
+
+        assertThat(reranker(0.5, 2048).rerank(null, candidates, 2)).containsExactly(first, other);
+        assertThat(reranker(1.0, 2048).rerank(null, candidates, 2))
+                .containsExactly(first, overlap);
+    }
+
+    @Test
+    void shouldKeepOnlyChunksThatFitTokenBudget() {
+        RetrievedChunk large = chunk("large", "x".repeat(60), 0.0);
+        RetrievedChunk small = chunk("small", "y".repeat(32), 0.1);
+        RetrievedChunk rest = chunk("rest", "z".repeat(20), 0.2);
+
+        // 15, 8 and 5 estimated tokens against a budget of 12
+        List<RetrievedChunk> kept =
+                reranker(1.0, 12).rerank(null, List.of(large, small, rest), 3);
+
+        assertThat(kept).containsExactly(small);
+    }
+
+    @Test
+    void shouldStopAtMaxChunks() {
+        List<RetrievedChunk> candidates =
+                List.of(chunk("a", "one", 0.1), chunk("b", "two", 0.2), chunk("c", "three", 0.3));
+
+        assertThat(reranker(1.0, 2048).rerank("count", candidates, 2))
+                .extracting(RetrievedChunk::id)
+                .containsExactly("a", "b");
+        assertThat(reranker(1.0, 2048).rerank("count", List.of(), 2)).isEmpty();
+    }
+
+    @Test
+    void shouldOverFetchOnlyForConfiguredStrategies() {
+        RerankConfig config = new RerankConfig();
+        config.setStrategies(Set.of(RetrievalStrategy.EXHAUSTIVE));
+        config.setCandidateMultiplier(4);
+        ChunkReranker reranker = new ChunkReranker(config);
+
+        assertThat(reranker.appliesTo(RetrievalStrategy.EXHAUSTIVE)).isTrue();
+        assertThat(reranker.appliesTo(RetrievalStrategy.SIMPLE)).isFalse();
+        assertThat(reranker.candidateCount(RetrievalStrategy.EXHAUSTIVE)).isEqualTo(80);
+    }
+
+    @Test
+    void shouldScoreRareTermsAndShortDocumentsHigherWithBm25() {
+        List<List<String>> documents =
+                List.of(
+                        List.of("timeout", "gateway"),
+                        List.of("timeout", "retry"),
+                        List.of("timeout", "retry", "backoff", "jitter", "limits", "policy"));
+
+        double[] scores = ChunkReranker.bm25(List.of("gateway", "timeout"), documents);
+
+        assertThat(scores[0]).isGreaterThan(scores[1]);
+        assertThat(scores[1]).isGreaterThan(scores[2]);
+        assertThat(scores[2]).isPositive();
+    }
+
+    @Test
+    void shouldTokenizeIntoLowercaseWords() {
+        assertThat(ChunkReranker.tokenize("ERR-504: Gateway  timeout!"))
+                .containsExactly("err", "504", "gateway", "timeout");
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        ChunkReranker reranker = reranker(0.7, 2048);
+
+        assertThatThrownBy(() -> reranker.rerank("q", null, 5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Candidates cannot be null");
+        assertThatThrownBy(() -> reranker.rerank("q", List.of(), 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Max chunks must be positive");
+    }
+
+    private static ChunkReranker reranker(double mmrLambda, int tokenBudget) {
+        RerankConfig config = new RerankConfig();
+        config.setMmrLambda(mmrLambda);
+        config.setTokenBudget(tokenBudget);
+        return new ChunkReranker(config);
+    }
+
+    private static RetrievedChunk chunk(String id, String text, double distance) {
+        return new RetrievedChunk(id, "doc-1", text, 0, distance);
+    }
+}
@@ -0,0 +1,35 @@
+package com.ai.rag;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ChunksChangedEventTest {
+
+    @Test
+    void shouldAffectListedChunksOnly() {
+        ChunksChangedEvent event = ChunksChangedEvent.of("chunk-1");
+
+        assertThat(event.affects("chunk-1")).isTrue();
+        assertThat(event.affects("chunk-2")).isFalse();
+        assertThat(event.allChunks()).isFalse();
+    }
+
+    @Test
+    void shouldAffectEveryChunkWhenAll() {
+        ChunksChangedEvent event = ChunksChangedEvent.all();
+
+        assertThat(event.affects("anything")).isTrue();
+        assertThat(event.chunkIds()).isEmpty();
+    }
+
+    @Test
+    void shouldCopyChunkIds() {
+        assertThat(new ChunksChangedEvent(Set.of("a", "b"), false).chunkIds())
+                .containsExactlyInAnyOrder("a", "b");
+        assertThatThrownBy(() -> new ChunksChangedEvent(null, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Chunk IDs cannot be null");
+    }
+}
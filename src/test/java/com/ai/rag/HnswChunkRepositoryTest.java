@@ -0,0 +1,195 @@
+package com.ai.rag;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.ai.domain.Chunk;
+import com.ai.domain.Embedding;
+import com.ai.domain.RetrievedChunk;
+import com.ai.model.RetrievalStrategy;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class HnswChunkRepositoryTest {
+
+    @Mock private JdbcChunkRepository delegate;
+
+    private HnswChunkRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new HnswChunkRepository(delegate, new RagConfig());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldWarmUpFromDelegate() {
+        Chunk chunk1 = chunk("chunk-1", 1f, 0f);
+        Chunk chunk2 = chunk("chunk-2", 0f, 1f);
+        doAnswer(
+                        invocation -> {
+                            Consumer<Chunk> action = invocation.getArgument(0);
+                            action.accept(chunk1);
+                            action.accept(chunk2);
+                            return null;
+                        })
+                .when(delegate)
+                .forEach(any(Consumer.class));
+
+        repository.warmUp();
+
+        assertThat(repository.indexedCount()).isEqualTo(2);
+        assertThat(repository.findSimilar(new float[] {0f, 1f}, 1)).containsExactly(chunk2);
+    }
+
+    @Test
+    void shouldWriteThroughAndIndexOnSave() {
+        Chunk chunk = chunk("chunk-1", 1f, 0f);
+        when(delegate.save(chunk)).thenReturn(chunk);
+
+        Chunk result = repository.save(chunk);
+
+        assertThat(result).isEqualTo(chunk);
+        verify(delegate).save(chunk);
+        assertThat(repository.findSimilar(new float[] {1f, 0f}, 5)).containsExactly(chunk);
+    }
+
+    @Test
+    void shouldBulkSaveThroughDelegateAndIndexEveryChunk() {
+        Chunk chunk1 = chunk("chunk-1", 1f, 0f);
+        Chunk chunk2 = chunk("chunk-2", 0f, 1f);
+        when(delegate.saveAll(List.of(chunk1, chunk2))).thenReturn(List.of(chunk1, chunk2));
+
+        List<Chunk> saved = repository.saveAll(List.of(chunk1, chunk2));
+
+        assertThat(saved).containsExactly(chunk1, chunk2);
+        assertThat(repository.indexedCount()).isEqualTo(2);
+        assertThat(repository.findSimilar(new float[] {0f, 1f}, 1)).containsExactly(chunk2);
+    }
+
+    @Test
+    void shouldReturnUpdatedChunkAfterResave() {
+        Chunk original = chunk("chunk-1", 1f, 0f);
+        Chunk updated = chunk("chunk-1", 0f, 1f);
+        Chunk other = chunk("chunk-2", 1f, 0.1f);
+        when(delegate.save(any(Chunk.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        repository.save(original);
+        repository.save(other);
+        repository.save(updated);
+
+        List<Chunk> results = repository.findSimilar(new float[] {0f, 1f}, 5);
+
+        assertThat(results).containsExactly(updated, other);
+        assertThat(repository.indexedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldOrderBySimilarity() {
+        when(delegate.save(any(Chunk.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Chunk far = repository.save(chunk("far", -1f, 0f));
+        Chunk near = repository.save(chunk("near", 1f, 0.1f));
+        Chunk middle = repository.save(chunk("middle", 0f, 1f));
+
+        List<Chunk> results = repository.findSimilar(new float[] {1f, 0f}, 3);
+
+        assertThat(results).containsExactly(near, middle, far);
+    }
+
+    @Test
+    void shouldFindMatchesWithDistances() {
+        when(delegate.save(any(Chunk.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        repository.save(chunk("near", 1f, 0f));
+        repository.save(chunk("orthogonal", 0f, 1f));
+
+        List<RetrievedChunk> matches = repository.findSimilarMatches(new float[] {1f, 0f}, 2);
+
+        assertThat(matches).extracting(RetrievedChunk::id).containsExactly("near", "orthogonal");
+        assertThat(matches.get(0).text()).isEqualTo("text for near");
+        assertThat(matches.get(0).distance()).isCloseTo(0.0, within(1e-6));
+        assertThat(matches.get(1).distance()).isCloseTo(1.0, within(1e-6));
+    }
+
+    @Test
+    void shouldSearchWithStrategyTopK() {
+        when(delegate.save(any(Chunk.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        for (int i = 0; i < 8; i++) {
+            repository.save(chunk("chunk-" + i, 1f, i));
+        }
+
+        List<RetrievedChunk> matches =
+                repository.findSimilarMatches(new float[] {1f, 0f}, RetrievalStrategy.SIMPLE);
+
+        assertThat(matches).hasSize(RetrievalStrategy.SIMPLE.defaultTopK());
+        assertThat(matches.get(0).id()).isEqualTo("chunk-0");
+    }
+
+    @Test
+    void shouldRunTextSearchInDelegate() {
+        float[] query = {1f, 0f};
+        RetrievedChunk hit = new RetrievedChunk("chunk-1", "doc-1", "ERR-504", 0, 0.4);
+        when(delegate.findLexicalMatches("ERR-504", query, 5)).thenReturn(List.of(hit));
+
+        assertThat(repository.findLexicalMatches("ERR-504", query, 5)).containsExactly(hit);
+    }
+
+    @Test
+    void shouldReturnEmptyWhenNothingIndexed() {
+        assertThat(repository.findSimilar(new float[] {1f, 0f}, 5)).isEmpty();
+    }
+
+    @Test
+    void shouldDeleteAllFromDelegateAndIndex() {
+        when(delegate.save(any(Chunk.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        repository.save(chunk("chunk-1", 1f, 0f));
+
+        repository.deleteAll();
+
+        verify(delegate).deleteAll();
+        assertThat(repository.indexedCount()).isZero();
+        assertThat(repository.findSimilar(new float[] {1f, 0f}, 5)).isEmpty();
+    }
+
+    @Test
+    void shouldDeleteByIdsFromDelegateAndIndex() {
+        when(delegate.save(any(Chunk.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        repository.save(chunk("chunk-1", 1f, 0f));
+        repository.save(chunk("chunk-2", 0f, 1f));
+
+        repository.deleteByIds(List.of("chunk-1"));
+
+        verify(delegate).deleteByIds(List.of("chunk-1"));
+        assertThat(repository.indexedCount()).isEqualTo(1);
+        assertThat(repository.findSimilar(new float[] {1f, 0f}, 5))
+                .extracting(Chunk::id)
+                .containsExactly("chunk-2");
+    }
+
+    @Test
+    void shouldReadContentHashesFromDelegate() {
+        when(delegate.findContentHashes("doc-1")).thenReturn(Map.of("chunk-1", "hash"));
+
+        assertThat(repository.findContentHashes("doc-1")).containsEntry("chunk-1", "hash");
+    }
+
+    @Test
+    void shouldLoadChunksByIdFromDelegate() {
+        Chunk chunk = chunk("chunk-1", 1f, 0f);
+        when(delegate.findByIds(List.of("chunk-1"))).thenReturn(List.of(chunk));
+
+        assertThat(repository.findByIds(List.of("chunk-1"))).containsExactly(chunk);
+    }
+
+    private static Chunk chunk(String id, float x, float y) {
+        return new Chunk(
+                id, "doc-1", "text for " + id, 0, new Embedding(new float[] {x, y}, "nomic"));
+    }
+}
@@ -0,0 +1,271 @@
+package com.ai.rag;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class HnswIndexTest {
+
+    @Test
+    void shouldReturnEmptyResultsForEmptyIndex() {
+        HnswIndex index = new HnswIndex(16, 100, 50);
+
+        assertThat(index.search(new float[] {1f, 0f}, 5)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void shouldFindExactMatchFirst() {
+        HnswIndex index = new HnswIndex(4, 50, 20);
+        index.add("x", new float[] {1f, 0f, 0f});
+        index.add("y", new float[] {0f, 1f, 0f});
+        index.add("z", new float[] {0f, 0f, 1f});
+
+        List<HnswIndex.Match> matches = index.search(new float[] {0f, 2f, 0f}, 2);
+
+        assertThat(matches).hasSize(2);
+        assertThat(matches.get(0).id()).isEqualTo("y");
+        assertThat(matches.get(0).distance()).isCloseTo(0f, within(1e-6f));
+    }
+
+    @Test
+    void shouldOrderResultsByAscendingDistance() {
+        HnswIndex index = new HnswIndex(8, 100, 50);
+        List<float[]> vectors = randomVectors(200, 16, new Random(1));
+        for (int i = 0; i < vectors.size(); i++) {
+            index.add("v" + i, vectors.get(i));
+        }
+
+        List<HnswIndex.Match> matches = index.search(vectors.get(0), 10);
+
+        assertThat(matches).hasSize(10);
+        assertThat(matches.get(0).id()).isEqualTo("v0");
+        assertThat(matches)
+                .isSortedAccordingTo(Comparator.comparingDouble(HnswIndex.Match::distance));
+    }
+
+    @Test
+    void shouldAchieveHighRecallAgainstBruteForce() {
+        Random random = new Random(7);
+        List<float[]> vectors = randomVectors(2000, 32, random);
+        HnswIndex index = new HnswIndex(16, 200, 100);
+        for (int i = 0; i < vectors.size(); i++) {
+            index.add("v" + i, vectors.get(i));
+        }
+
+        int k = 10;
+        int found = 0;
+        List<float[]> queries = randomVectors(50, 32, random);
+        for (float[] query : queries) {
+            Set<String> expected = bruteForce(vectors, query, k);
+            Set<String> actual =
+                    index.search(query, k).stream()
+                            .map(HnswIndex.Match::id)
+                            .collect(Collectors.toSet());
+            actual.retainAll(expected);
+            found += actual.size();
+        }
+
+        double recall = (double) found / (queries.size() * k);
+        assertThat(recall).isGreaterThan(0.9);
+    }
+
+    @Test
+    void shouldReplaceVectorForExistingId() {
+        HnswIndex index = new HnswIndex(4, 50, 20);
+        index.add("a", new float[] {1f, 0f});
+        index.add("b", new float[] {0f, 1f});
+        index.add("a", new float[] {0f, 1f});
+
+        List<HnswIndex.Match> matches = index.search(new float[] {1f, 0f}, 5);
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(matches).extracting(HnswIndex.Match::id).containsExactlyInAnyOrder("a", "b");
+        assertThat(matches.get(0).distance()).isCloseTo(1f, within(1e-6f));
+    }
+
+    @Test
+    void shouldRemoveVectorFromSearchResults() {
+        HnswIndex index = new HnswIndex(4, 50, 20);
+        index.add("a", new float[] {1f, 0f});
+        index.add("b", new float[] {0f, 1f});
+
+        assertThat(index.remove("a")).isTrue();
+        assertThat(index.remove("a")).isFalse();
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.contains("a")).isFalse();
+        assertThat(index.search(new float[] {1f, 0f}, 5))
+                .extracting(HnswIndex.Match::id)
+                .containsExactly("b");
+    }
+
+    @Test
+    void shouldRebuildGraphOnceTombstonesPassHalf() {
+        Random random = new Random(11);
+        List<float[]> vectors = randomVectors(200, 16, random);
+        HnswIndex index = new HnswIndex(8, 100, 50);
+        for (int i = 0; i < vectors.size(); i++) {
+            index.add("v" + i, vectors.get(i));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            index.remove("v" + i);
+        }
+        assertThat(index.nodeCount()).isEqualTo(200);
+
+        index.remove("v100");
+        assertThat(index.nodeCount()).isEqualTo(99);
+        assertThat(index.size()).isEqualTo(99);
+        for (int i = 101; i < vectors.size(); i++) {
+            assertThat(index.search(vectors.get(i), 1))
+                    .extracting(HnswIndex.Match::id)
+                    .containsExactly("v" + i);
+        }
+    }
+
+    @Test
+    void shouldNotAccumulateTombstonesWhenReplacingVectors() {
+        HnswIndex index = new HnswIndex(4, 50, 20);
+        index.add("a", new float[] {1f, 0f});
+        index.add("b", new float[] {0f, 1f});
+
+        for (int i = 0; i < 100; i++) {
+            index.add("a", new float[] {1f, i});
+        }
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.nodeCount()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void shouldClearIndex() {
+        HnswIndex index = new HnswIndex(4, 50, 20);
+        index.add("a", new float[] {1f, 0f});
+
+        index.clear();
+
+        assertThat(index.size()).isZero();
+        assertThat(index.contains("a")).isFalse();
+        assertThat(index.search(new float[] {1f, 0f}, 1)).isEmpty();
+        index.add("b", new float[] {0f, 1f, 0f});
+        assertThat(index.contains("b")).isTrue();
+    }
+
+    @Test
+    void shouldRejectDimensionMismatch() {
+        HnswIndex index = new HnswIndex(4, 50, 20);
+        index.add("a", new float[] {1f, 0f});
+
+        assertThatThrownBy(() -> index.add("b", new float[] {1f, 0f, 0f}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("does not match");
+        assertThatThrownBy(() -> index.search(new float[] {1f}, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("does not match");
+    }
+
+    @Test
+    void shouldHandleZeroVector() {
+        HnswIndex index = new HnswIndex(4, 50, 20);
+        index.add("zero", new float[] {0f, 0f});
+
+        List<HnswIndex.Match> matches = index.search(new float[] {1f, 0f}, 1);
+
+        assertThat(matches).extracting(HnswIndex.Match::id).containsExactly("zero");
+        assertThat(matches.get(0).distance()).isEqualTo(1f);
+    }
+
+    @Test
+    void shouldUpdateEfSearch() {
+        HnswIndex index = new HnswIndex(4, 50, 20);
+
+        index.setEfSearch(80);
+
+        assertThat(index.efSearch()).isEqualTo(80);
+        assertThatThrownBy(() -> index.setEfSearch(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldSearchWithExplicitEfWithoutChangingDefault() {
+        Random random = new Random(7);
+        HnswIndex index = new HnswIndex(4, 50, 10);
+        for (int i = 0; i < 200; i++) {
+            index.add("v" + i, randomVectors(1, 8, random).get(0));
+        }
+        float[] query = randomVectors(1, 8, random).get(0);
+
+        List<HnswIndex.Match> wide = index.search(query, 20, 100);
+
+        assertThat(wide).hasSize(20);
+        assertThat(index.efSearch()).isEqualTo(10);
+        assertThatThrownBy(() -> index.search(query, 5, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("efSearch must be positive");
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        assertThatThrownBy(() -> new HnswIndex(1, 50, 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("M must be at least 2");
+        assertThatThrownBy(() -> new HnswIndex(4, 0, 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("efConstruction must be positive");
+        assertThatThrownBy(() -> new HnswIndex(4, 50, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("efSearch must be positive");
+
+        HnswIndex index = new HnswIndex(4, 50, 20);
+        assertThatThrownBy(() -> index.add(null, new float[] {1f}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("ID cannot be null or blank");
+        assertThatThrownBy(() -> index.add("a", new float[0]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Vector cannot be null or empty");
+        assertThatThrownBy(() -> index.search(new float[] {1f}, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("k must be positive");
+    }
+
+    private static List<float[]> randomVectors(int count, int dimension, Random random) {
+        List<float[]> vectors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            float[] vector = new float[dimension];
+            for (int d = 0; d < dimension; d++) {
+                vector[d] = (float) random.nextGaussian();
+            }
+            vectors.add(vector);
+        }
+        return vectors;
+    }
+
+    private static Set<String> bruteForce(List<float[]> vectors, float[] query, int k) {
+        return IntStream.range(0, vectors.size())
+                .boxed()
+                .sorted(Comparator.comparingDouble(i -> -cosine(vectors.get(i), query)))
+                .limit(k)
+                .map(i -> "v" + i)
+                .collect(Collectors.toSet());
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return dot / (Math.sqrt(normA) * Math.sqrt(normB));
+    }
+}
@@ -6,17 +6,36 @@ import static org.mockito.Mockito.*;
 
 import com.ai.domain.Chunk;
 import com.ai.domain.Embedding;
+import com.ai.domain.RetrievedChunk;
+import com.ai.model.RetrievalStrategy;
 import com.pgvector.PGvector;
+import java.io.ByteArrayOutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
 import org.postgresql.util.PGobject;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,11 +43,13 @@ class JdbcChunkRepositoryTest {
 
     @Mock private JdbcTemplate jdbcTemplate;
 
+    @Mock private ApplicationEventPublisher eventPublisher;
+
     private JdbcChunkRepository repository;
 
     @BeforeEach
     void setUp() {
-        repository = new JdbcChunkRepository(jdbcTemplate);
+        repository = new JdbcChunkRepository(jdbcTemplate, eventPublisher);
     }
 
     @Test
@@ -36,7 +57,8 @@ class JdbcChunkRepositoryTest {
         Embedding embedding = new Embedding(new float[] {0.1f, 0.2f, 0.3f}, "nomic-embed-text");
         Chunk chunk = new Chunk("chunk-1", "doc-1", "sample text", 0, embedding);
 
-        when(jdbcTemplate.update(anyString(), any(), any(), any(), any(), any())).thenReturn(1);
+        when(jdbcTemplate.update(anyString(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(1);
 
         Chunk result = repository.save(chunk);
 
@@ -48,7 +70,9 @@ class JdbcChunkRepositoryTest {
                         eq("doc-1"),
                         eq("sample text"),
                         eq(0),
-                        anyString());
+                        any(PGvector.class),
+                        eq(Chunk.hashOf("sample text")));
+        verify(eventPublisher).publishEvent(ChunksChangedEvent.of("chunk-1"));
     }
 
     @Test
@@ -58,7 +82,8 @@ class JdbcChunkRepositoryTest {
         Chunk chunk1 = new Chunk("chunk-1", "doc-1", "text1", 0, embedding);
         Chunk chunk2 = new Chunk("chunk-2", "doc-2", "text2", 1, embedding);
 
-        when(jdbcTemplate.query(anyString(), any(RowMapper.class), anyString(), anyInt()))
+        when(jdbcTemplate.query(
+                        anyString(), any(RowMapper.class), any(PGvector.class), anyInt()))
                 .thenReturn(List.of(chunk1, chunk2));
 
         List<Chunk> results = repository.findSimilar(queryEmbedding, 5);
@@ -69,10 +94,218 @@ class JdbcChunkRepositoryTest {
                 .query(
                         contains("ORDER BY embedding <=> ?::vector"),
                         any(RowMapper.class),
+                        any(PGvector.class),
+                        eq(5));
+    }
+
+    @Test
+    void shouldFindSimilarMatchesWithoutSelectingEmbeddings() throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("id")).thenReturn("chunk-1");
+        when(rs.getString("document_id")).thenReturn("doc-1");
+        when(rs.getString("text")).thenReturn("sample text");
+        when(rs.getInt("position")).thenReturn(2);
+        when(rs.getDouble("distance")).thenReturn(0.25);
+
+        when(jdbcTemplate.query(
+                        anyString(), any(RowMapper.class), any(PGvector.class), anyInt()))
+                .thenAnswer(
+                        invocation -> {
+                            RowMapper<RetrievedChunk> mapper = invocation.getArgument(1);
+                            return List.of(mapper.mapRow(rs, 0));
+                        });
+
+        List<RetrievedChunk> results = repository.findSimilarMatches(new float[] {0.1f, 0.2f}, 20);
+
+        assertThat(results)
+                .containsExactly(new RetrievedChunk("chunk-1", "doc-1", "sample text", 2, 0.25));
+        assertThat(results.get(0).similarity()).isEqualTo(0.75);
+        verify(jdbcTemplate)
+                .query(
+                        argThat(
+                                (String sql) ->
+                                        sql.contains("embedding <=> ? AS distance")
+                                                && !sql.contains("position, embedding")),
+                        any(RowMapper.class),
+                        any(PGvector.class),
+                        eq(20));
+        verify(rs, never()).getObject(anyString());
+    }
+
+    @Test
+    void shouldFindLexicalMatchesWithAnyTermOfQuery() {
+        RetrievedChunk hit = new RetrievedChunk("chunk-1", "doc-1", "ERR-504 runbook", 0, 0.6);
+        when(jdbcTemplate.query(
                         anyString(),
+                        any(RowMapper.class),
+                        any(PGvector.class),
+                        eq("What is ERR-504?"),
+                        eq(5)))
+                .thenReturn(List.of(hit));
+
+        List<RetrievedChunk> results =
+                repository.findLexicalMatches("What is ERR-504?", new float[] {0.1f}, 5);
+
+        assertThat(results).containsExactly(hit);
+        verify(jdbcTemplate)
+                .query(
+                        argThat(
+                                (String sql) ->
+                                        sql.contains("WHERE search_vector @@ query")
+                                                && sql.contains("'&', '|'")
+                                                && sql.contains(
+                                                        "ORDER BY ts_rank_cd(search_vector, query)"
+                                                                + " DESC")),
+                        any(RowMapper.class),
+                        any(PGvector.class),
+                        eq("What is ERR-504?"),
                         eq(5));
     }
 
+    @Test
+    void shouldSetStrategySearchEffortForOneTransaction() throws SQLException {
+        Connection connection = stubConnection();
+        PreparedStatement settings = mock(PreparedStatement.class);
+        PreparedStatement select = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(connection.prepareStatement(contains("set_config"))).thenReturn(settings);
+        when(connection.prepareStatement(contains("AS distance"))).thenReturn(select);
+        when(select.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, false);
+        when(rs.getString("id")).thenReturn("chunk-1");
+        when(rs.getString("document_id")).thenReturn("doc-1");
+        when(rs.getString("text")).thenReturn("sample text");
+        when(rs.getInt("position")).thenReturn(2);
+        when(rs.getDouble("distance")).thenReturn(0.25);
+
+        List<RetrievedChunk> results =
+                repository.findSimilarMatches(
+                        new float[] {0.1f, 0.2f}, RetrievalStrategy.EXHAUSTIVE);
+
+        assertThat(results)
+                .containsExactly(new RetrievedChunk("chunk-1", "doc-1", "sample text", 2, 0.25));
+        InOrder order = inOrder(connection, settings, select);
+        order.verify(connection).setAutoCommit(false);
+        order.verify(settings).setString(1, "200");
+        order.verify(settings).setString(2, "32");
+        order.verify(settings).execute();
+        order.verify(select).setObject(eq(1), any(PGvector.class));
+        order.verify(select).setInt(2, 20);
+        order.verify(connection).commit();
+        order.verify(connection).setAutoCommit(true);
+        verify(connection)
+                .prepareStatement(
+                        argThat(
+                                (String sql) ->
+                                        sql.contains("set_config('hnsw.ef_search', ?, true)")
+                                                && sql.contains(
+                                                        "set_config('ivfflat.probes', ?, true)")));
+    }
+
+    @Test
+    void shouldRaiseEfSearchToOverFetchedTopK() throws SQLException {
+        Connection connection = stubConnection();
+        PreparedStatement settings = mock(PreparedStatement.class);
+        PreparedStatement select = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(connection.prepareStatement(contains("set_config"))).thenReturn(settings);
+        when(connection.prepareStatement(contains("AS distance"))).thenReturn(select);
+        when(select.executeQuery()).thenReturn(rs);
+
+        assertThat(repository.findSimilarMatches(new float[] {0.1f}, RetrievalStrategy.SIMPLE, 60))
+                .isEmpty();
+
+        verify(settings).setString(1, "60");
+        verify(settings).setString(2, "4");
+        verify(select).setInt(2, 60);
+    }
+
+    @Test
+    void shouldRollBackSearchEffortWhenQueryFails() throws SQLException {
+        Connection connection = stubConnection();
+        PreparedStatement settings = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(settings);
+        when(settings.execute()).thenThrow(new SQLException("unrecognized parameter"));
+
+        assertThatThrownBy(
+                        () ->
+                                repository.findSimilarMatches(
+                                        new float[] {0.1f}, RetrievalStrategy.SIMPLE))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("unrecognized parameter");
+
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+        verify(connection).setAutoCommit(true);
+    }
+
+    @Test
+    void shouldHydrateMatchesByIdWithGivenDistances() throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("id")).thenReturn("chunk-2");
+        when(rs.getString("document_id")).thenReturn("doc-1");
+        when(rs.getString("text")).thenReturn("sample text");
+        when(rs.getInt("position")).thenReturn(1);
+
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), (Object) any(String[].class)))
+                .thenAnswer(
+                        invocation -> {
+                            RowMapper<RetrievedChunk> mapper = invocation.getArgument(1);
+                            return List.of(mapper.mapRow(rs, 0));
+                        });
+
+        Map<String, Double> distances = new LinkedHashMap<>();
+        distances.put("chunk-1", 0.1);
+        distances.put("chunk-2", 0.4);
+        List<RetrievedChunk> results = repository.findMatchesById(distances);
+
+        assertThat(results)
+                .containsExactly(new RetrievedChunk("chunk-2", "doc-1", "sample text", 1, 0.4));
+        verify(jdbcTemplate)
+                .query(
+                        argThat(
+                                (String sql) ->
+                                        sql.contains("WHERE id = ANY(?)")
+                                                && !sql.contains("embedding")),
+                        any(RowMapper.class),
+                        (Object) aryEq(new String[] {"chunk-1", "chunk-2"}));
+    }
+
+    @Test
+    void shouldLoadChunksByIdWithEmbeddings() {
+        Chunk chunk =
+                new Chunk(
+                        "chunk-1",
+                        "doc-1",
+                        "sample text",
+                        0,
+                        new Embedding(new float[] {0.1f}, "nomic-embed-text"));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), (Object) any(String[].class)))
+                .thenReturn(List.of(chunk));
+
+        assertThat(repository.findByIds(List.of("chunk-1"))).containsExactly(chunk);
+        verify(jdbcTemplate)
+                .query(
+                        argThat(
+                                (String sql) ->
+                                        sql.contains("WHERE id = ANY(?)")
+                                                && sql.contains("embedding")),
+                        any(RowMapper.class),
+                        (Object) aryEq(new String[] {"chunk-1"}));
+    }
+
+    @Test
+    void shouldSkipLoadingChunksForNoIds() {
+        assertThat(repository.findByIds(List.of())).isEmpty();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void shouldSkipHydrationForNoMatches() {
+        assertThat(repository.findMatchesById(Map.of())).isEmpty();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
     @Test
     void shouldDeleteAll() {
         when(jdbcTemplate.update(anyString())).thenReturn(10);
@@ -80,6 +313,7 @@ class JdbcChunkRepositoryTest {
         repository.deleteAll();
 
         verify(jdbcTemplate).update("DELETE FROM chunks");
+        verify(eventPublisher).publishEvent(ChunksChangedEvent.all());
     }
 
     @Test
@@ -98,7 +332,8 @@ class JdbcChunkRepositoryTest {
         Embedding embedding = new Embedding(vector, "nomic-embed-text");
         Chunk expectedChunk = new Chunk("chunk-1", "doc-1", "sample text", 0, embedding);
 
-        when(jdbcTemplate.query(anyString(), any(RowMapper.class), anyString(), anyInt()))
+        when(jdbcTemplate.query(
+                        anyString(), any(RowMapper.class), any(PGvector.class), anyInt()))
                 .thenAnswer(
                         invocation -> {
                             RowMapper<Chunk> mapper = invocation.getArgument(1);
@@ -132,7 +367,8 @@ class JdbcChunkRepositoryTest {
         pgObject.setValue("[0.4,0.5,0.6]");
         when(rs.getObject("embedding")).thenReturn(pgObject);
 
-        when(jdbcTemplate.query(anyString(), any(RowMapper.class), anyString(), anyInt()))
+        when(jdbcTemplate.query(
+                        anyString(), any(RowMapper.class), any(PGvector.class), anyInt()))
                 .thenAnswer(
                         invocation -> {
                             RowMapper<Chunk> mapper = invocation.getArgument(1);
@@ -160,7 +396,8 @@ class JdbcChunkRepositoryTest {
 
         float[] vector = {0.1f, 0.2f, 0.3f};
 
-        when(jdbcTemplate.query(anyString(), any(RowMapper.class), anyString(), anyInt()))
+        when(jdbcTemplate.query(
+                        anyString(), any(RowMapper.class), any(PGvector.class), anyInt()))
                 .thenAnswer(
                         invocation -> {
                             RowMapper<Chunk> mapper = invocation.getArgument(1);
@@ -183,7 +420,8 @@ class JdbcChunkRepositoryTest {
 
         float[] vector = {0.1f, 0.2f, 0.3f};
 
-        when(jdbcTemplate.query(anyString(), any(RowMapper.class), anyString(), anyInt()))
+        when(jdbcTemplate.query(
+                        anyString(), any(RowMapper.class), any(PGvector.class), anyInt()))
                 .thenAnswer(
                         invocation -> {
                             RowMapper<Chunk> mapper = invocation.getArgument(1);
@@ -199,11 +437,237 @@ class JdbcChunkRepositoryTest {
     void shouldFindEmptyResults() {
         float[] queryEmbedding = {0.1f, 0.2f, 0.3f};
 
-        when(jdbcTemplate.query(anyString(), any(RowMapper.class), anyString(), anyInt()))
+        when(jdbcTemplate.query(
+                        anyString(), any(RowMapper.class), any(PGvector.class), anyInt()))
                 .thenReturn(List.of());
 
         List<Chunk> results = repository.findSimilar(queryEmbedding, 5);
 
         assertThat(results).isEmpty();
     }
+
+    @Test
+    void shouldStreamAllChunks() throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("id")).thenReturn("chunk-1");
+        when(rs.getString("document_id")).thenReturn("doc-1");
+        when(rs.getString("text")).thenReturn("sample text");
+        when(rs.getInt("position")).thenReturn(0);
+        when(rs.getObject("embedding")).thenReturn(new PGvector(new float[] {0.1f, 0.2f}));
+
+        doAnswer(
+                        invocation -> {
+                            RowCallbackHandler handler = invocation.getArgument(1);
+                            handler.processRow(rs);
+                            handler.processRow(rs);
+                            return null;
+                        })
+                .when(jdbcTemplate)
+                .query(anyString(), any(RowCallbackHandler.class));
+
+        List<Chunk> streamed = new ArrayList<>();
+        repository.forEach(streamed::add);
+
+        assertThat(streamed).hasSize(2);
+        assertThat(streamed.get(0).id()).isEqualTo("chunk-1");
+        verify(jdbcTemplate).query(contains("FROM chunks"), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void shouldFindContentHashesIncludingUnhashedChunks() throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("id")).thenReturn("chunk-1", "chunk-2");
+        when(rs.getString("content_hash")).thenReturn("abc", (String) null);
+
+        doAnswer(
+                        invocation -> {
+                            RowCallbackHandler handler = invocation.getArgument(1);
+                            handler.processRow(rs);
+                            handler.processRow(rs);
+                            return null;
+                        })
+                .when(jdbcTemplate)
+                .query(anyString(), any(RowCallbackHandler.class), eq("doc-1"));
+
+        Map<String, String> hashes = repository.findContentHashes("doc-1");
+
+        assertThat(hashes)
+                .hasSize(2)
+                .containsEntry("chunk-1", "abc")
+                .containsEntry("chunk-2", null);
+        verify(jdbcTemplate)
+                .query(
+                        contains("WHERE document_id = ?"),
+                        any(RowCallbackHandler.class),
+                        eq("doc-1"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldDeleteChunksByIdInOneBatch() {
+        repository.deleteByIds(List.of("chunk-1", "chunk-2"));
+
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq("DELETE FROM chunks WHERE id = ?"), args.capture());
+        assertThat(args.getValue())
+                .containsExactly(new Object[] {"chunk-1"}, new Object[] {"chunk-2"});
+        verify(eventPublisher)
+                .publishEvent(new ChunksChangedEvent(Set.of("chunk-1", "chunk-2"), false));
+    }
+
+    @Test
+    void shouldSkipDeleteForNoIds() {
+        repository.deleteByIds(List.of());
+
+        verifyNoInteractions(jdbcTemplate, eventPublisher);
+    }
+
+    @Test
+    void shouldRejectNullIdsToDelete() {
+        assertThatThrownBy(() -> repository.deleteByIds(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("IDs cannot be null");
+    }
+
+    @Test
+    void shouldBulkLoadThroughCopyInConfiguredBatches() throws SQLException {
+        RagConfig config = new RagConfig();
+        config.setCopyBatchSize(2);
+        repository = new JdbcChunkRepository(jdbcTemplate, eventPublisher, config);
+        CopyFixture copy = stubCopy();
+        List<Chunk> chunks =
+                List.of(chunk("chunk-1", 0.1f), chunk("chunk-2", 0.2f), chunk("chunk-3", 0.3f));
+
+        List<Chunk> saved = repository.saveAll(chunks);
+
+        assertThat(saved).containsExactlyElementsOf(chunks);
+        verify(copy.statement(), times(2)).execute(contains("CREATE TEMP TABLE IF NOT EXISTS"));
+        verify(copy.copyManager(), times(2)).copyIn(contains("FROM STDIN (FORMAT BINARY)"));
+        verify(copy.copyIn(), times(2)).endCopy();
+        verify(copy.statement(), times(2)).executeUpdate(contains("ON CONFLICT (id) DO UPDATE"));
+        verify(copy.connection(), times(2)).commit();
+        verify(copy.connection(), times(2)).setAutoCommit(true);
+        verify(eventPublisher)
+                .publishEvent(new ChunksChangedEvent(Set.of("chunk-1", "chunk-2"), false));
+        verify(eventPublisher).publishEvent(new ChunksChangedEvent(Set.of("chunk-3"), false));
+        byte[] streamed = copy.bytes().toByteArray();
+        assertThat(Arrays.copyOf(streamed, 6)).containsExactly('P', 'G', 'C', 'O', 'P', 'Y');
+    }
+
+    @Test
+    void shouldKeepLastChunkWhenIdRepeatsInBulkLoad() throws SQLException {
+        stubCopy();
+        Chunk first = chunk("chunk-1", 0.1f);
+        Chunk replacement = chunk("chunk-1", 0.9f);
+        Chunk other = chunk("chunk-2", 0.2f);
+
+        List<Chunk> saved = repository.saveAll(List.of(first, other, replacement));
+
+        assertThat(saved).containsExactly(replacement, other);
+    }
+
+    @Test
+    void shouldRollBackBatchWhenMergeFails() throws SQLException {
+        CopyFixture copy = stubCopy();
+        when(copy.statement().executeUpdate(anyString()))
+                .thenThrow(new SQLException("merge failed"));
+
+        assertThatThrownBy(() -> repository.saveAll(List.of(chunk("chunk-1", 0.1f))))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("merge failed");
+
+        verify(copy.connection()).rollback();
+        verify(copy.connection(), never()).commit();
+        verify(copy.connection()).setAutoCommit(true);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldCancelCopyWhenStreamingFails() throws SQLException {
+        CopyFixture copy = stubCopy();
+        doThrow(new SQLException("connection reset"))
+                .when(copy.copyIn())
+                .writeToCopy(any(byte[].class), anyInt(), anyInt());
+        when(copy.copyIn().isActive()).thenReturn(true);
+
+        assertThatThrownBy(() -> repository.saveAll(List.of(chunk("chunk-1", 0.1f))))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("Failed to stream chunks to COPY");
+
+        verify(copy.copyIn()).cancelCopy();
+        verify(copy.copyIn(), never()).endCopy();
+        verify(copy.connection()).rollback();
+    }
+
+    @Test
+    void shouldSkipCopyForEmptyBulkLoad() {
+        assertThat(repository.saveAll(List.of())).isEmpty();
+
+        verifyNoInteractions(jdbcTemplate, eventPublisher);
+    }
+
+    @Test
+    void shouldRejectNullBulkLoad() {
+        assertThatThrownBy(() -> repository.saveAll(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Chunks cannot be null");
+    }
+
+    private record CopyFixture(
+            Connection connection,
+            Statement statement,
+            CopyManager copyManager,
+            CopyIn copyIn,
+            ByteArrayOutputStream bytes) {}
+
+    @SuppressWarnings("unchecked")
+    private Connection stubConnection() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(
+                        invocation -> {
+                            ConnectionCallback<?> callback = invocation.getArgument(0);
+                            return callback.doInConnection(connection);
+                        });
+        when(connection.getAutoCommit()).thenReturn(true);
+        return connection;
+    }
+
+    private CopyFixture stubCopy() throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        CopyManager copyManager = mock(CopyManager.class);
+        CopyIn copyIn = mock(CopyIn.class);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(
+                        invocation -> {
+                            ConnectionCallback<Void> callback = invocation.getArgument(0);
+                            return callback.doInConnection(connection);
+                        });
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString())).thenReturn(copyIn);
+        lenient()
+                .doAnswer(
+                        invocation -> {
+                            byte[] buffer = invocation.getArgument(0);
+                            int offset = invocation.getArgument(1);
+                            int length = invocation.getArgument(2);
+                            bytes.write(buffer, offset, length);
+                            return null;
+                        })
+                .when(copyIn)
+                .writeToCopy(any(byte[].class), anyInt(), anyInt());
+        return new CopyFixture(connection, statement, copyManager, copyIn, bytes);
+    }
+
+    private static Chunk chunk(String id, float value) {
+        return new Chunk(
+                id, "doc-1", "text for " + id, 0, new Embedding(new float[] {value}, "nomic"));
+    }
 }
@@ -0,0 +1,94 @@
+package com.ai.rag;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.ai.domain.Document;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcDocumentRepositoryTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private JdbcDocumentRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new JdbcDocumentRepository(jdbcTemplate, eventPublisher);
+    }
+
+    @Test
+    void shouldUpsertDocument() {
+        Document document = new Document("doc-1", "Title", "Content", "source.txt", CREATED_AT);
+
+        when(jdbcTemplate.update(anyString(), any(), any(), any(), any(), any())).thenReturn(1);
+
+        Document result = repository.save(document);
+
+        assertThat(result).isEqualTo(document);
+        verify(jdbcTemplate)
+                .update(
+                        contains("ON CONFLICT (id) DO UPDATE"),
+                        eq("doc-1"),
+                        eq("Title"),
+                        eq("Content"),
+                        eq("source.txt"),
+                        eq(Timestamp.from(CREATED_AT)));
+    }
+
+    @Test
+    void shouldFindDocumentById() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("id")).thenReturn("doc-1");
+        when(rs.getString("title")).thenReturn("Title");
+        when(rs.getString("content")).thenReturn("Content");
+        when(rs.getString("source")).thenReturn("source.txt");
+        when(rs.getTimestamp("created_at")).thenReturn(Timestamp.from(CREATED_AT));
+
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq("doc-1")))
+                .thenAnswer(
+                        invocation -> {
+                            RowMapper<Document> mapper = invocation.getArgument(1);
+                            return List.of(mapper.mapRow(rs, 0));
+                        });
+
+        Optional<Document> result = repository.findById("doc-1");
+
+        assertThat(result)
+                .contains(new Document("doc-1", "Title", "Content", "source.txt", CREATED_AT));
+    }
+
+    @Test
+    void shouldReturnEmptyWhenDocumentIsMissing() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq("missing")))
+                .thenReturn(List.of());
+
+        assertThat(repository.findById("missing")).isEmpty();
+    }
+
+    @Test
+    void shouldDeleteAllDocumentsAndInvalidateChunks() {
+        repository.deleteAll();
+
+        verify(jdbcTemplate).update("DELETE FROM documents");
+        verify(eventPublisher).publishEvent(ChunksChangedEvent.all());
+    }
+}
@@ -0,0 +1,253 @@
+package com.ai.rag;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+import com.ai.domain.Chunk;
+import com.ai.domain.Embedding;
+import com.ai.domain.RetrievedChunk;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MappedChunkRepositoryTest {
+
+    @Mock private JdbcChunkRepository delegate;
+
+    @TempDir Path directory;
+
+    private MappedVectorStore store;
+    private MappedChunkRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        store = MappedVectorStore.open(directory);
+        repository = new MappedChunkRepository(delegate, store, new RagConfig());
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldLoadEmptyStoreFromDelegate() {
+        doAnswer(
+                        invocation -> {
+                            Consumer<Chunk> action = invocation.getArgument(0);
+                            action.accept(chunk("chunk-1", 1f, 0f));
+                            action.accept(chunk("chunk-2", 0f, 1f));
+                            return null;
+                        })
+                .when(delegate)
+                .forEach(any(Consumer.class));
+
+        repository.warmUp();
+
+        assertThat(repository.storedCount()).isEqualTo(2);
+        assertThat(store.vector("chunk-2")).hasValueSatisfying(v -> assertThat(v[1]).isOne());
+    }
+
+    @Test
+    void shouldSkipLoadWhenStoreAlreadyHoldsVectors() {
+        store.put("chunk-1", new float[] {1f, 0f});
+
+        repository.warmUp();
+
+        verify(delegate, never()).forEach(any());
+        assertThat(repository.storedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldWriteThroughAndStoreOnSave() {
+        Chunk chunk = chunk("chunk-1", 1f, 0f);
+        when(delegate.save(chunk)).thenReturn(chunk);
+
+        Chunk result = repository.save(chunk);
+
+        assertThat(result).isEqualTo(chunk);
+        verify(delegate).save(chunk);
+        assertThat(repository.storedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldBulkSaveThroughDelegateAndStoreEveryChunk() {
+        Chunk chunk1 = chunk("chunk-1", 1f, 0f);
+        Chunk chunk2 = chunk("chunk-2", 0f, 1f);
+        when(delegate.saveAll(List.of(chunk1, chunk2))).thenReturn(List.of(chunk1, chunk2));
+
+        List<Chunk> saved = repository.saveAll(List.of(chunk1, chunk2));
+
+        assertThat(saved).containsExactly(chunk1, chunk2);
+        assertThat(repository.storedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldHydrateMatchesFromDelegateNearestFirst() {
+        store.put("far", new float[] {-1f, 0f});
+        store.put("near", new float[] {1f, 0.1f});
+        store.put("middle", new float[] {0f, 1f});
+        stubHydration();
+
+        List<RetrievedChunk> matches = repository.findSimilarMatches(new float[] {1f, 0f}, 2);
+
+        assertThat(matches).extracting(RetrievedChunk::id).containsExactly("near", "middle");
+        assertThat(matches.get(0).text()).isEqualTo("text for near");
+        assertThat(matches.get(1).distance()).isCloseTo(1.0, within(1e-6));
+        verify(delegate).findMatchesById(argThat(ids -> ids.keySet().size() == 2));
+    }
+
+    @Test
+    void shouldSearchQuantizedCodesWhenInt8IsConfigured() {
+        RagConfig config = new RagConfig();
+        config.setQuantization(RagConfig.QUANTIZATION_INT8);
+        config.setRerankCandidates(2);
+        repository = new MappedChunkRepository(delegate, store, config);
+        store.put("far", new float[] {-1f, 0f});
+        store.put("near", new float[] {1f, 0.1f});
+        store.put("middle", new float[] {0f, 1f});
+        stubHydration();
+
+        List<RetrievedChunk> matches = repository.findSimilarMatches(new float[] {1f, 0f}, 1);
+
+        assertThat(matches).extracting(RetrievedChunk::id).containsExactly("near");
+        assertThat(matches.get(0).distance()).isCloseTo(0.005, within(1e-3));
+    }
+
+    @Test
+    void shouldReturnChunksWithStoredNormalizedEmbeddings() {
+        store.put("chunk-1", new float[] {3f, 4f});
+        stubHydration();
+
+        List<Chunk> results = repository.findSimilar(new float[] {3f, 4f}, 5);
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).id()).isEqualTo("chunk-1");
+        assertThat(results.get(0).embedding().vector()).containsExactly(0.6f, 0.8f);
+    }
+
+    @Test
+    void shouldSkipMatchesRemovedFromStoreBeforeHydration() {
+        store.put("chunk-1", new float[] {1f, 0f});
+        when(delegate.findMatchesById(anyMap()))
+                .thenAnswer(
+                        invocation -> {
+                            store.remove("chunk-1");
+                            return List.of(
+                                    new RetrievedChunk("chunk-1", "doc-1", "text", 0, 0.0));
+                        });
+
+        assertThat(repository.findSimilar(new float[] {1f, 0f}, 5)).isEmpty();
+    }
+
+    @Test
+    void shouldRunTextSearchInDelegate() {
+        float[] query = {1f, 0f};
+        RetrievedChunk hit = new RetrievedChunk("chunk-1", "doc-1", "ERR-504", 0, 0.4);
+        when(delegate.findLexicalMatches("ERR-504", query, 5)).thenReturn(List.of(hit));
+
+        assertThat(repository.findLexicalMatches("ERR-504", query, 5)).containsExactly(hit);
+    }
+
+    @Test
+    void shouldReturnEmptyWhenNothingStored() {
+        when(delegate.findMatchesById(Map.of())).thenReturn(List.of());
+
+        assertThat(repository.findSimilarMatches(new float[] {1f, 0f}, 5)).isEmpty();
+    }
+
+    @Test
+    void shouldDeleteByIdsFromDelegateAndStore() {
+        store.put("chunk-1", new float[] {1f, 0f});
+        store.put("chunk-2", new float[] {0f, 1f});
+
+        repository.deleteByIds(List.of("chunk-1"));
+
+        verify(delegate).deleteByIds(List.of("chunk-1"));
+        assertThat(repository.storedCount()).isEqualTo(1);
+        assertThat(store.vector("chunk-1")).isEmpty();
+    }
+
+    @Test
+    void shouldDeleteAllFromDelegateAndStore() {
+        store.put("chunk-1", new float[] {1f, 0f});
+
+        repository.deleteAll();
+
+        verify(delegate).deleteAll();
+        assertThat(repository.storedCount()).isZero();
+    }
+
+    @Test
+    void shouldReadContentHashesFromDelegate() {
+        when(delegate.findContentHashes("doc-1")).thenReturn(Map.of("chunk-1", "hash"));
+
+        assertThat(repository.findContentHashes("doc-1")).containsEntry("chunk-1", "hash");
+    }
+
+    @Test
+    void shouldLoadChunksByIdFromDelegate() {
+        Chunk chunk =
+                new Chunk(
+                        "chunk-1",
+                        "doc-1",
+                        "text",
+                        0,
+                        new Embedding(new float[] {1f, 0f}, "nomic-embed-text"));
+        when(delegate.findByIds(List.of("chunk-1"))).thenReturn(List.of(chunk));
+
+        assertThat(repository.findByIds(List.of("chunk-1"))).containsExactly(chunk);
+    }
+
+    @Test
+    void shouldKeepVectorsAcrossReopen() {
+        store.put("chunk-1", new float[] {1f, 0f});
+        repository.close();
+
+        store = MappedVectorStore.open(directory);
+        repository = new MappedChunkRepository(delegate, store, new RagConfig());
+        repository.warmUp();
+
+        assertThat(repository.storedCount()).isEqualTo(1);
+        verify(delegate, never()).forEach(any());
+    }
+
+    /** Answers hydration with rows in reverse order so the repository has to sort them. */
+    private void stubHydration() {
+        when(delegate.findMatchesById(anyMap()))
+                .thenAnswer(
+                        invocation -> {
+                            Map<String, Double> distances = invocation.getArgument(0);
+                            List<RetrievedChunk> rows = new ArrayList<>();
+                            distances.forEach(
+                                    (id, distance) ->
+                                            rows.add(
+                                                    0,
+                                                    new RetrievedChunk(
+                                                            id,
+                                                            "doc-1",
+                                                            "text for " + id,
+                                                            0,
+                                                            distance)));
+                            return rows;
+                        });
+    }
+
+    private static Chunk chunk(String id, float x, float y) {
+        return new Chunk(
+                id, "doc-1", "text for " + id, 0, new Embedding(new float[] {x, y}, "nomic"));
+    }
+}
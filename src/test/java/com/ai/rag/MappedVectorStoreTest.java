@@ -0,0 +1,331 @@
+package com.ai.rag;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedVectorStoreTest {
+
+    @TempDir Path directory;
+
+    @Test
+    void shouldReturnEmptyResultsForEmptyStore() {
+        try (MappedVectorStore store = MappedVectorStore.open(directory)) {
+            assertThat(store.search(new float[] {1f, 0f}, 5)).isEmpty();
+            assertThat(store.size()).isZero();
+            assertThat(store.dimension()).isZero();
+        }
+    }
+
+    @Test
+    void shouldFindNearestVectorsInAscendingDistance() {
+        try (MappedVectorStore store = MappedVectorStore.open(directory)) {
+            store.put("east", new float[] {1f, 0f});
+            store.put("north", new float[] {0f, 1f});
+            store.put("north-east", new float[] {1f, 1f});
+            store.put("west", new float[] {-1f, 0f});
+
+            List<MappedVectorStore.Match> matches = store.search(new float[] {2f, 0.1f}, 3);
+
+            assertThat(matches)
+                    .extracting(MappedVectorStore.Match::id)
+                    .containsExactly("east", "north-east", "north");
+            assertThat(matches.get(0).distance()).isCloseTo(0.00125f, within(1e-4f));
+            assertThat(store.dimension()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void shouldOverwriteVectorForExistingId() {
+        try (MappedVectorStore store = MappedVectorStore.open(directory)) {
+            store.put("a", new float[] {1f, 0f});
+            store.put("a", new float[] {0f, 1f});
+
+            assertThat(store.size()).isEqualTo(1);
+            assertThat(store.vector("a"))
+                    .hasValueSatisfying(v -> assertThat(v).containsExactly(0f, 1f));
+        }
+    }
+
+    @Test
+    void shouldStoreNormalizedVectors() {
+        try (MappedVectorStore store = MappedVectorStore.open(directory)) {
+            store.put("a", new float[] {3f, 4f});
+            store.put("zero", new float[] {0f, 0f});
+
+            assertThat(store.vector("a"))
+                    .hasValueSatisfying(v -> assertThat(v).containsExactly(0.6f, 0.8f));
+            assertThat(store.vector("zero"))
+                    .hasValueSatisfying(v -> assertThat(v).containsExactly(0f, 0f));
+            assertThat(store.vector("missing")).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldSkipRemovedVectors() {
+        try (MappedVectorStore store = MappedVectorStore.open(directory)) {
+            store.put("a", new float[] {1f, 0f});
+            store.put("b", new float[] {0f, 1f});
+
+            assertThat(store.remove("a")).isTrue();
+            assertThat(store.remove("a")).isFalse();
+
+            assertThat(store.size()).isEqualTo(1);
+            assertThat(store.search(new float[] {1f, 0f}, 5))
+                    .extracting(MappedVectorStore.Match::id)
+                    .containsExactly("b");
+        }
+    }
+
+    @Test
+    void shouldReopenWithoutReloading() {
+        try (MappedVectorStore store = MappedVectorStore.open(directory)) {
+            store.put("a", new float[] {1f, 0f});
+            store.put("b", new float[] {0f, 1f});
+            store.remove("b");
+            store.flush();
+        }
+
+        try (MappedVectorStore store = MappedVectorStore.open(directory)) {
+            assertThat(store.size()).isEqualTo(1);
+            assertThat(store.dimension()).isEqualTo(2);
+            assertThat(store.search(new float[] {0f, 1f}, 5))
+                    .extracting(MappedVectorStore.Match::id)
+                    .containsExactly("a");
+
+            store.put("a", new float[] {0f, 1f});
+            store.put("c", new float[] {1f, 0f});
+
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.search(new float[] {0f, 1f}, 1))
+                    .extracting(MappedVectorStore.Match::id)
+                    .containsExactly("a");
+        }
+    }
+
+    @Test
+    void shouldReuseDeletedRowsWhenVectorsAreReInserted() throws IOException {
+        try (MappedVectorStore store = MappedVectorStore.open(directory)) {
+            for (int i = 0; i < 100; i++) {
+                store.put("chunk-" + i, new float[] {1f, i});
+            }
+            long vectorsSize = Files.size(directory.resolve(MappedVectorStore.VECTORS_FILE));
+
+            for (int cycle = 0; cycle < 50; cycle++) {
+                for (int i = 0; i < 100; i++) {
+                    store.remove("chunk-" + i);
+                    store.put("chunk-" + i, new float[] {1f, i});
+                }
+            }
+
+            assertThat(store.size()).isEqualTo(100);
+            assertThat(store.rowCount()).isLessThanOrEqualTo(200);
+            assertThat(Files.size(directory.resolve(MappedVectorStore.VECTORS_FILE)))
+                    .isEqualTo(vectorsSize);
+            assertThat(store.search(new float[] {1f, 0f}, 2))
+                    .extracting(MappedVectorStore.Match::id)
+                    .containsExactly("chunk-0", "chunk-1");
+        }
+    }
+
+    @Test
+    void shouldCompactRowsOnceMostAreDeleted() {
+        try (MappedVectorStore store = MappedVectorStore.open(directory)) {
+            for (int i = 0; i < 10; i++) {
+                store.put("chunk-" + i, new float[] {1f, i});
+            }
+            for (int i = 0; i < 6; i++) {
+                store.remove("chunk-" + i);
+            }
+            store.flush();
+
+            assertThat(store.rowCount()).isEqualTo(4);
+            assertThat(store.vector("chunk-9"))
+                    .hasValueSatisfying(v -> assertThat(v[1]).isCloseTo(0.9939f, within(1e-4f)));
+        }
+
+        try (MappedVectorStore store = MappedVectorStore.open(directory)) {
+            assertThat(store.size()).isEqualTo(4);
+            assertThat(store.search(new float[] {1f, 0f}, 2))
+                    .extracting(MappedVectorStore.Match::id)
+                    .containsExactly("chunk-6", "chunk-7");
+        }
+    }
+
+    @Test
+    void shouldGrowFilesBeyondInitialCapacity() {
+        try (MappedVectorStore store = MappedVectorStore.open(directory)) {
+            for (int i = 0; i < 3000; i++) {
+                store.put("chunk-" + i, new float[] {1f, i});
+            }
+
+            assertThat(store.size()).isEqualTo(3000);
+            assertThat(store.search(new float[] {1f, 0f}, 2))
+                    .extracting(MappedVectorStore.Match::id)
+                    .containsExactly("chunk-0", "chunk-1");
+        }
+    }
+
+    @Test
+    void shouldClearAndAcceptNewDimension() {
+        try (MappedVectorStore store = MappedVectorStore.open(directory)) {
+            store.put("a", new float[] {1f, 0f});
+
+            store.clear();
+
+            assertThat(store.size()).isZero();
+            assertThat(store.search(new float[] {1f, 0f}, 1)).isEmpty();
+            store.put("b", new float[] {0f, 1f, 0f});
+            assertThat(store.dimension()).isEqualTo(3);
+            assertThat(store.search(new float[] {0f, 1f, 0f}, 5))
+                    .extracting(MappedVectorStore.Match::id)
+                    .containsExactly("b");
+        }
+    }
+
+    @Test
+    void shouldMatchExactSearchWhenShortlistIsReRanked() {
+        SplittableRandom random = new SplittableRandom(11);
+        try (MappedVectorStore store = MappedVectorStore.open(directory)) {
+            for (int i = 0; i < 2000; i++) {
+                store.put("chunk-" + i, randomVector(random, 64));
+            }
+
+            for (int q = 0; q < 10; q++) {
+                float[] query = randomVector(random, 64);
+
+                List<MappedVectorStore.Match> exact = store.search(query, 10);
+                List<MappedVectorStore.Match> quantized = store.searchQuantized(query, 10, 100);
+
+                assertThat(quantized).containsExactlyElementsOf(exact);
+            }
+        }
+    }
+
+    @Test
+    void shouldRaiseShortlistToK() {
+        try (MappedVectorStore store = MappedVectorStore.open(directory)) {
+            store.put("east", new float[] {1f, 0f});
+            store.put("north", new float[] {0f, 1f});
+            store.put("west", new float[] {-1f, 0f});
+
+            List<MappedVectorStore.Match> matches =
+                    store.searchQuantized(new float[] {1f, 0.1f}, 3, 1);
+
+            assertThat(matches)
+                    .extracting(MappedVectorStore.Match::id)
+                    .containsExactly("east", "north", "west");
+            assertThat(matches.get(2).distance()).isCloseTo(1.995f, within(1e-3f));
+        }
+    }
+
+    @Test
+    void shouldSkipRemovedVectorsInQuantizedSearch() {
+        try (MappedVectorStore store = MappedVectorStore.open(directory)) {
+            store.put("a", new float[] {1f, 0f});
+            store.put("b", new float[] {0.9f, 0.1f});
+            store.remove("a");
+
+            assertThat(store.searchQuantized(new float[] {1f, 0f}, 5, 10))
+                    .extracting(MappedVectorStore.Match::id)
+                    .containsExactly("b");
+        }
+    }
+
+    @Test
+    void shouldRebuildMissingCodesOnOpen() throws IOException {
+        try (MappedVectorStore store = MappedVectorStore.open(directory)) {
+            store.put("east", new float[] {1f, 0f});
+            store.put("north", new float[] {0f, 1f});
+        }
+        Files.delete(directory.resolve(MappedVectorStore.CODES_FILE));
+
+        try (MappedVectorStore store = MappedVectorStore.open(directory)) {
+            assertThat(store.searchQuantized(new float[] {0.1f, 1f}, 1, 1))
+                    .extracting(MappedVectorStore.Match::id)
+                    .containsExactly("north");
+        }
+        assertThat(Files.size(directory.resolve(MappedVectorStore.CODES_FILE)))
+                .isGreaterThanOrEqualTo(2L * (Float.BYTES + 2));
+    }
+
+    @Test
+    void shouldRejectDimensionMismatch() {
+        try (MappedVectorStore store = MappedVectorStore.open(directory)) {
+            store.put("a", new float[] {1f, 0f});
+
+            assertThatThrownBy(() -> store.put("b", new float[] {1f, 0f, 0f}))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Vector dimension 3 does not match 2");
+            assertThatThrownBy(() -> store.search(new float[] {1f, 0f, 0f}, 1))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Query dimension 3 does not match 2");
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        try (MappedVectorStore store = MappedVectorStore.open(directory)) {
+            assertThatThrownBy(() -> store.put(" ", new float[] {1f}))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("ID cannot be null or blank");
+            assertThatThrownBy(() -> store.put("x".repeat(255), new float[] {1f}))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("ID exceeds 254 UTF-8 bytes: 255");
+            assertThatThrownBy(() -> store.put("a", new float[0]))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Vector cannot be null or empty");
+            assertThatThrownBy(() -> store.search(new float[] {1f}, 0))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("k must be positive");
+            assertThatThrownBy(() -> store.searchQuantized(new float[] {1f}, 0, 10))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("k must be positive");
+        }
+        assertThatThrownBy(() -> MappedVectorStore.open(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Directory cannot be null");
+    }
+
+    @Test
+    void shouldRejectFileThatIsNotAVectorStore() throws IOException {
+        Files.write(directory.resolve(MappedVectorStore.VECTORS_FILE), new byte[128]);
+
+        assertThatThrownBy(() -> MappedVectorStore.open(directory))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Not a version 1 vector store");
+    }
+
+    @Test
+    void shouldWrapIoFailuresWhenOpening() throws IOException {
+        Path file = Files.createFile(directory.resolve("not-a-directory"));
+
+        assertThatThrownBy(() -> MappedVectorStore.open(file))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("Failed to open vector store");
+    }
+
+    @Test
+    void shouldTolerateRepeatedClose() {
+        MappedVectorStore store = MappedVectorStore.open(directory);
+
+        store.close();
+
+        assertThatCode(store::close).doesNotThrowAnyException();
+    }
+
+    private static float[] randomVector(SplittableRandom random, int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) (random.nextDouble() * 2.0 - 1.0);
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,135 @@
+package com.ai.rag;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.pgvector.PGvector;
+import java.sql.Connection;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.core.BaseConnection;
+import org.postgresql.core.QueryExecutor;
+import org.postgresql.core.TypeInfo;
+
+@ExtendWith(MockitoExtension.class)
+class PgVectorDataSourcePostProcessorTest {
+    private static final int VECTOR_OID = 16385;
+
+    @Mock private DataSource dataSource;
+
+    @Mock private Connection connection;
+
+    @Mock private BaseConnection pgConnection;
+
+    @Mock private TypeInfo typeInfo;
+
+    @Mock private QueryExecutor queryExecutor;
+
+    private final PgVectorDataSourcePostProcessor postProcessor =
+            new PgVectorDataSourcePostProcessor();
+
+    @Test
+    void shouldWrapDataSourceBeans() {
+        Object processed = postProcessor.postProcessAfterInitialization(dataSource, "dataSource");
+
+        assertThat(processed)
+                .isInstanceOf(PgVectorDataSourcePostProcessor.PgVectorDataSource.class);
+    }
+
+    @Test
+    void shouldNotWrapAlreadyWrappedDataSource() {
+        Object wrapped = postProcessor.postProcessAfterInitialization(dataSource, "dataSource");
+
+        Object processed = postProcessor.postProcessAfterInitialization(wrapped, "dataSource");
+
+        assertThat(processed).isSameAs(wrapped);
+    }
+
+    @Test
+    void shouldLeaveOtherBeansUntouched() {
+        Object bean = new Object();
+
+        assertThat(postProcessor.postProcessAfterInitialization(bean, "other")).isSameAs(bean);
+    }
+
+    @Test
+    void shouldRegisterVectorTypeAndEnableBinaryTransfer() throws Exception {
+        stubPostgresConnection();
+        when(typeInfo.getPGType("vector")).thenReturn(VECTOR_OID);
+        when(pgConnection.getQueryExecutor()).thenReturn(queryExecutor);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        DataSource wrapped = wrap();
+        Connection result = wrapped.getConnection();
+
+        assertThat(result).isSameAs(connection);
+        verify(pgConnection).addDataType("vector", PGvector.class);
+        verify(queryExecutor).addBinarySendOid(VECTOR_OID);
+        verify(queryExecutor).addBinaryReceiveOid(VECTOR_OID);
+    }
+
+    @Test
+    void shouldRegisterConnectionsObtainedWithCredentials() throws Exception {
+        stubPostgresConnection();
+        when(typeInfo.getPGType("vector")).thenReturn(VECTOR_OID);
+        when(pgConnection.getQueryExecutor()).thenReturn(queryExecutor);
+        when(dataSource.getConnection("user", "secret")).thenReturn(connection);
+
+        Connection result = wrap().getConnection("user", "secret");
+
+        assertThat(result).isSameAs(connection);
+        verify(queryExecutor).addBinaryReceiveOid(VECTOR_OID);
+    }
+
+    @Test
+    void shouldKeepTextTransferWhenExtensionIsMissing() throws Exception {
+        stubPostgresConnection();
+        when(typeInfo.getPGType("vector")).thenReturn(0);
+
+        Connection result = PgVectorDataSourcePostProcessor.register(connection);
+
+        assertThat(result).isSameAs(connection);
+        verify(pgConnection).addDataType("vector", PGvector.class);
+        verify(pgConnection, never()).getQueryExecutor();
+    }
+
+    @Test
+    void shouldReturnNonPostgresConnectionsUntouched() throws Exception {
+        when(connection.isWrapperFor(BaseConnection.class)).thenReturn(false);
+
+        Connection result = PgVectorDataSourcePostProcessor.register(connection);
+
+        assertThat(result).isSameAs(connection);
+        verify(connection, never()).unwrap(any());
+    }
+
+    @Test
+    void shouldCloseCloseableTargetDataSource() throws Exception {
+        DataSource closeable =
+                mock(DataSource.class, withSettings().extraInterfaces(AutoCloseable.class));
+
+        new PgVectorDataSourcePostProcessor.PgVectorDataSource(closeable).close();
+
+        verify((AutoCloseable) closeable).close();
+    }
+
+    @Test
+    void shouldIgnoreCloseForNonCloseableTargetDataSource() throws Exception {
+        new PgVectorDataSourcePostProcessor.PgVectorDataSource(dataSource).close();
+
+        verifyNoInteractions(dataSource);
+    }
+
+    private DataSource wrap() {
+        return (DataSource) postProcessor.postProcessAfterInitialization(dataSource, "dataSource");
+    }
+
+    private void stubPostgresConnection() throws Exception {
+        when(connection.isWrapperFor(BaseConnection.class)).thenReturn(true);
+        when(connection.unwrap(BaseConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getTypeInfo()).thenReturn(typeInfo);
+    }
+}
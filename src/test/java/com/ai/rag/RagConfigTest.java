@@ -0,0 +1,139 @@
+package com.ai.rag;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.ai.model.RetrievalStrategy;
+import java.util.Collections;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class RagConfigTest {
+
+    @Test
+    void shouldCreateDefaultConfig() {
+        RagConfig config = new RagConfig();
+
+        assertThat(config.repositoryType()).isEqualTo(RagConfig.REPOSITORY_JDBC);
+        assertThat(config.hnswM()).isEqualTo(16);
+        assertThat(config.hnswEfConstruction()).isEqualTo(200);
+        assertThat(config.hnswEfSearch()).isEqualTo(64);
+        assertThat(config.minSimilarity()).isEqualTo(0.0);
+        assertThat(config.copyBatchSize()).isEqualTo(10_000);
+        assertThat(config.mappedStorePath()).isEqualTo("data/vectors");
+        assertThat(config.quantization()).isEqualTo(RagConfig.QUANTIZATION_NONE);
+        assertThat(config.rerankCandidates()).isEqualTo(200);
+        assertThat(config.hybridStrategies()).isEmpty();
+        assertThat(config.rrfK()).isEqualTo(60);
+    }
+
+    @Test
+    void shouldSetProperties() {
+        RagConfig config = new RagConfig();
+        config.setRepositoryType(RagConfig.REPOSITORY_HNSW);
+        config.setHnswM(32);
+        config.setHnswEfConstruction(400);
+        config.setHnswEfSearch(128);
+        config.setMinSimilarity(0.35);
+        config.setCopyBatchSize(500);
+        config.setMappedStorePath("/var/lib/rag/vectors");
+        config.setQuantization(RagConfig.QUANTIZATION_INT8);
+        config.setRerankCandidates(500);
+        config.setHybridStrategies(Set.of(RetrievalStrategy.SIMPLE, RetrievalStrategy.DEEP));
+        config.setRrfK(20);
+
+        assertThat(config.getRepositoryType()).isEqualTo("hnsw");
+        assertThat(config.getHnswM()).isEqualTo(32);
+        assertThat(config.getHnswEfConstruction()).isEqualTo(400);
+        assertThat(config.getHnswEfSearch()).isEqualTo(128);
+        assertThat(config.getMinSimilarity()).isEqualTo(0.35);
+        assertThat(config.getCopyBatchSize()).isEqualTo(500);
+        assertThat(config.getMappedStorePath()).isEqualTo("/var/lib/rag/vectors");
+        assertThat(config.getQuantization()).isEqualTo("int8");
+        assertThat(config.getRerankCandidates()).isEqualTo(500);
+        assertThat(config.getHybridStrategies())
+                .containsExactly(RetrievalStrategy.SIMPLE, RetrievalStrategy.DEEP);
+        assertThat(config.getRrfK()).isEqualTo(20);
+    }
+
+    @Test
+    void shouldImplementToStringCorrectly() {
+        assertThat(new RagConfig().toString())
+                .contains("RagConfig")
+                .contains("jdbc")
+                .contains("data/vectors");
+    }
+
+    @Test
+    void shouldRejectInvalidValues() {
+        RagConfig config = new RagConfig();
+
+        assertThatThrownBy(() -> config.setRepositoryType(" "))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Repository type cannot be null or blank");
+        assertThatThrownBy(() -> config.setHnswM(1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("HNSW M must be at least 2");
+        assertThatThrownBy(() -> config.setHnswEfConstruction(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("HNSW efConstruction must be positive");
+        assertThatThrownBy(() -> config.setHnswEfSearch(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("HNSW efSearch must be positive");
+    }
+
+    @Test
+    void shouldRejectNonPositiveCopyBatchSize() {
+        assertThatThrownBy(() -> new RagConfig().setCopyBatchSize(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Copy batch size must be positive");
+    }
+
+    @Test
+    void shouldRejectOutOfRangeMinSimilarity() {
+        RagConfig config = new RagConfig();
+
+        assertThatThrownBy(() -> config.setMinSimilarity(1.5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Min similarity must be between -1.0 and 1.0");
+        assertThatThrownBy(() -> config.setMinSimilarity(Double.NaN))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Min similarity must be between -1.0 and 1.0");
+    }
+
+    @Test
+    void shouldRejectBlankMappedStorePath() {
+        assertThatThrownBy(() -> new RagConfig().setMappedStorePath(" "))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Mapped store path cannot be null or blank");
+    }
+
+    @Test
+    void shouldRejectUnknownQuantizationAndNonPositiveRerankCandidates() {
+        RagConfig config = new RagConfig();
+
+        assertThatThrownBy(() -> config.setQuantization("pq"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Quantization must be none or int8");
+        assertThatThrownBy(() -> config.setQuantization(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Quantization must be none or int8");
+        assertThatThrownBy(() -> config.setRerankCandidates(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Rerank candidates must be positive");
+    }
+
+    @Test
+    void shouldRejectNullHybridStrategiesAndNonPositiveRrfK() {
+        RagConfig config = new RagConfig();
+
+        assertThatThrownBy(() -> config.setHybridStrategies(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Hybrid strategies cannot be null");
+        assertThatThrownBy(() -> config.setHybridStrategies(Collections.singleton(null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Hybrid strategies cannot be null");
+        assertThatThrownBy(() -> config.setRrfK(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("RRF k must be positive");
+    }
+}
@@ -0,0 +1,73 @@
+package com.ai.rag;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.ai.domain.RetrievedChunk;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ReciprocalRankFusionTest {
+
+    @Test
+    void shouldRankChunksFoundByBothRetrieversFirst() {
+        RetrievedChunk a = chunk("a", 0.1);
+        RetrievedChunk b = chunk("b", 0.2);
+        RetrievedChunk c = chunk("c", 0.3);
+        RetrievedChunk d = chunk("d", 0.6);
+
+        List<RetrievedChunk> fused =
+                ReciprocalRankFusion.fuse(List.of(List.of(a, b, c), List.of(d, c)), 60, 10);
+
+        // c: 1/63 + 1/62 beats a: 1/61 although neither list ranks it first
+        assertThat(fused).extracting(RetrievedChunk::id).containsExactly("c", "a", "d", "b");
+    }
+
+    @Test
+    void shouldKeepFirstSeenOrderForEqualScores() {
+        List<RetrievedChunk> fused =
+                ReciprocalRankFusion.fuse(
+                        List.of(List.of(chunk("a", 0.1)), List.of(chunk("b", 0.5))), 60, 10);
+
+        assertThat(fused).extracting(RetrievedChunk::id).containsExactly("a", "b");
+    }
+
+    @Test
+    void shouldReturnChunkAsFirstRankingHasIt() {
+        RetrievedChunk semantic = chunk("a", 0.1);
+        RetrievedChunk lexical = chunk("a", 0.4);
+
+        List<RetrievedChunk> fused =
+                ReciprocalRankFusion.fuse(List.of(List.of(semantic), List.of(lexical)), 60, 10);
+
+        assertThat(fused).containsExactly(semantic);
+    }
+
+    @Test
+    void shouldLimitFusedResults() {
+        List<RetrievedChunk> vector = List.of(chunk("a", 0.1), chunk("b", 0.2));
+        List<RetrievedChunk> lexical = List.of(chunk("c", 0.3));
+
+        List<RetrievedChunk> fused = ReciprocalRankFusion.fuse(List.of(vector, lexical), 60, 2);
+
+        assertThat(fused).extracting(RetrievedChunk::id).containsExactly("a", "c");
+    }
+
+    @Test
+    void shouldReturnEmptyForEmptyRankings() {
+        assertThat(ReciprocalRankFusion.fuse(List.of(List.of(), List.of()), 60, 5)).isEmpty();
+    }
+
+    @Test
+    void shouldRejectNonPositiveKAndLimit() {
+        assertThatThrownBy(() -> ReciprocalRankFusion.fuse(List.of(), 0, 5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("k must be positive");
+        assertThatThrownBy(() -> ReciprocalRankFusion.fuse(List.of(), 60, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Limit must be positive");
+    }
+
+    private static RetrievedChunk chunk(String id, double distance) {
+        return new RetrievedChunk(id, "doc-1", "text for " + id, 0, distance);
+    }
+}
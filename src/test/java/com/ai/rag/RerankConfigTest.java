@@ -0,0 +1,70 @@
+package com.ai.rag;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.ai.model.RetrievalStrategy;
+import java.util.Collections;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class RerankConfigTest {
+
+    @Test
+    void shouldCreateDefaultConfig() {
+        RerankConfig config = new RerankConfig();
+
+        assertThat(config.strategies()).isEmpty();
+        assertThat(config.candidateMultiplier()).isEqualTo(3);
+        assertThat(config.tokenBudget()).isEqualTo(2048);
+        assertThat(config.lexicalWeight()).isEqualTo(0.5);
+        assertThat(config.mmrLambda()).isEqualTo(0.7);
+    }
+
+    @Test
+    void shouldSetProperties() {
+        RerankConfig config = new RerankConfig();
+        config.setStrategies(Set.of(RetrievalStrategy.EXHAUSTIVE, RetrievalStrategy.DEEP));
+        config.setCandidateMultiplier(5);
+        config.setTokenBudget(1024);
+        config.setLexicalWeight(0.25);
+        config.setMmrLambda(1.0);
+
+        assertThat(config.getStrategies())
+                .containsExactly(RetrievalStrategy.DEEP, RetrievalStrategy.EXHAUSTIVE);
+        assertThat(config.getCandidateMultiplier()).isEqualTo(5);
+        assertThat(config.getTokenBudget()).isEqualTo(1024);
+        assertThat(config.getLexicalWeight()).isEqualTo(0.25);
+        assertThat(config.getMmrLambda()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldImplementToStringCorrectly() {
+        assertThat(new RerankConfig().toString())
+                .contains("RerankConfig")
+                .contains("tokenBudget=2048");
+    }
+
+    @Test
+    void shouldRejectInvalidValues() {
+        RerankConfig config = new RerankConfig();
+
+        assertThatThrownBy(() -> config.setStrategies(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Strategies cannot be null");
+        assertThatThrownBy(() -> config.setStrategies(Collections.singleton(null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Strategies cannot be null");
+        assertThatThrownBy(() -> config.setCandidateMultiplier(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Candidate multiplier must be at least 1");
+        assertThatThrownBy(() -> config.setTokenBudget(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Token budget must be positive");
+        assertThatThrownBy(() -> config.setLexicalWeight(1.5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Lexical weight must be between 0.0 and 1.0");
+        assertThatThrownBy(() -> config.setMmrLambda(Double.NaN))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("MMR lambda must be between 0.0 and 1.0");
+    }
+}
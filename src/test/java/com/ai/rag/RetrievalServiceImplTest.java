@@ -3,14 +3,19 @@ package com.ai.rag;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.ai.domain.Chunk;
 import com.ai.domain.Embedding;
 import com.ai.domain.RetrievalResult;
+import com.ai.domain.RetrievedChunk;
 import com.ai.embeddings.EmbeddingService;
 import com.ai.model.RetrievalStrategy;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -35,10 +40,11 @@ class RetrievalServiceImplTest {
     void shouldRetrieveRelevantChunks() {
         Embedding queryEmbedding =
                 new Embedding(new float[] {0.1f, 0.2f, 0.3f}, "nomic-embed-text");
-        Chunk chunk = new Chunk("chunk-1", "doc-1", "sample text", 0, queryEmbedding);
+        RetrievedChunk chunk = new RetrievedChunk("chunk-1", "doc-1", "sample text", 0, 0.1);
 
         when(embeddingService.generateEmbedding("What is AI?")).thenReturn(queryEmbedding);
-        when(chunkRepository.findSimilar(any(float[].class), anyInt())).thenReturn(List.of(chunk));
+        when(chunkRepository.findSimilarMatches(any(float[].class), any(RetrievalStrategy.class)))
+                .thenReturn(List.of(chunk));
 
         RetrievalResult result = retrievalService.retrieve("What is AI?", RetrievalStrategy.SIMPLE);
 
@@ -50,7 +56,7 @@ class RetrievalServiceImplTest {
 
     @Test
     void shouldThrowExceptionForNullQuestion() {
-        assertThatThrownBy(() -> retrievalService.retrieve(null, RetrievalStrategy.SIMPLE))
+        assertThatThrownBy(() -> retrievalService.retrieve((String) null, RetrievalStrategy.SIMPLE))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Question cannot be null or blank");
     }
@@ -73,11 +79,11 @@ class RetrievalServiceImplTest {
     void shouldRetrieveWithDeepStrategy() {
         Embedding queryEmbedding =
                 new Embedding(new float[] {0.1f, 0.2f, 0.3f}, "nomic-embed-text");
-        Chunk chunk1 = new Chunk("chunk-1", "doc-1", "text1", 0, queryEmbedding);
-        Chunk chunk2 = new Chunk("chunk-2", "doc-2", "text2", 1, queryEmbedding);
+        RetrievedChunk chunk1 = new RetrievedChunk("chunk-1", "doc-1", "text1", 0, 0.1);
+        RetrievedChunk chunk2 = new RetrievedChunk("chunk-2", "doc-2", "text2", 1, 0.2);
 
         when(embeddingService.generateEmbedding("What is AI?")).thenReturn(queryEmbedding);
-        when(chunkRepository.findSimilar(any(float[].class), anyInt()))
+        when(chunkRepository.findSimilarMatches(any(float[].class), any(RetrievalStrategy.class)))
                 .thenReturn(List.of(chunk1, chunk2));
 
         RetrievalResult result = retrievalService.retrieve("What is AI?", RetrievalStrategy.DEEP);
@@ -92,10 +98,11 @@ class RetrievalServiceImplTest {
     void shouldRetrieveWithExhaustiveStrategy() {
         Embedding queryEmbedding =
                 new Embedding(new float[] {0.1f, 0.2f, 0.3f}, "nomic-embed-text");
-        Chunk chunk = new Chunk("chunk-1", "doc-1", "sample text", 0, queryEmbedding);
+        RetrievedChunk chunk = new RetrievedChunk("chunk-1", "doc-1", "sample text", 0, 0.1);
 
         when(embeddingService.generateEmbedding("What is AI?")).thenReturn(queryEmbedding);
-        when(chunkRepository.findSimilar(any(float[].class), anyInt())).thenReturn(List.of(chunk));
+        when(chunkRepository.findSimilarMatches(any(float[].class), any(RetrievalStrategy.class)))
+                .thenReturn(List.of(chunk));
 
         RetrievalResult result =
                 retrievalService.retrieve("What is AI?", RetrievalStrategy.EXHAUSTIVE);
@@ -111,7 +118,8 @@ class RetrievalServiceImplTest {
                 new Embedding(new float[] {0.1f, 0.2f, 0.3f}, "nomic-embed-text");
 
         when(embeddingService.generateEmbedding("What is AI?")).thenReturn(queryEmbedding);
-        when(chunkRepository.findSimilar(any(float[].class), anyInt())).thenReturn(List.of());
+        when(chunkRepository.findSimilarMatches(any(float[].class), any(RetrievalStrategy.class)))
+                .thenReturn(List.of());
 
         RetrievalResult result = retrievalService.retrieve("What is AI?", RetrievalStrategy.SIMPLE);
 
@@ -119,4 +127,192 @@ class RetrievalServiceImplTest {
         assertThat(result.chunks()).isEmpty();
         assertThat(result.strategy()).isEqualTo("SIMPLE");
     }
+
+    @Test
+    void shouldRetrieveWithPrecomputedEmbedding() {
+        Embedding queryEmbedding =
+                new Embedding(new float[] {0.1f, 0.2f, 0.3f}, "nomic-embed-text");
+        RetrievedChunk chunk = new RetrievedChunk("chunk-1", "doc-1", "sample text", 0, 0.1);
+
+        when(chunkRepository.findSimilarMatches(queryEmbedding.vector(), RetrievalStrategy.DEEP))
+                .thenReturn(List.of(chunk));
+
+        RetrievalResult result = retrievalService.retrieve(queryEmbedding, RetrievalStrategy.DEEP);
+
+        assertThat(result.chunks()).containsExactly(chunk);
+        assertThat(result.strategy()).isEqualTo("DEEP");
+        verify(embeddingService, never()).generateEmbedding(anyString());
+        verify(chunkRepository, never()).findSimilar(any(float[].class), anyInt());
+    }
+
+    @Test
+    void shouldDropChunksBelowMinSimilarity() {
+        RagConfig config = new RagConfig();
+        config.setMinSimilarity(0.5);
+        retrievalService = new RetrievalServiceImpl(embeddingService, chunkRepository, config);
+        Embedding queryEmbedding = new Embedding(new float[] {0.1f}, "nomic-embed-text");
+        RetrievedChunk relevant = new RetrievedChunk("chunk-1", "doc-1", "relevant", 0, 0.2);
+        RetrievedChunk borderline = new RetrievedChunk("chunk-2", "doc-1", "borderline", 1, 0.5);
+        RetrievedChunk unrelated = new RetrievedChunk("chunk-3", "doc-2", "unrelated", 0, 0.9);
+
+        when(chunkRepository.findSimilarMatches(queryEmbedding.vector(), RetrievalStrategy.SIMPLE))
+                .thenReturn(List.of(relevant, borderline, unrelated));
+
+        RetrievalResult result =
+                retrievalService.retrieve(queryEmbedding, RetrievalStrategy.SIMPLE);
+
+        assertThat(result.chunks()).containsExactly(relevant, borderline);
+    }
+
+    @Test
+    void shouldFuseVectorAndTextMatchesForHybridStrategy() {
+        RagConfig config = new RagConfig();
+        config.setHybridStrategies(Set.of(RetrievalStrategy.SIMPLE));
+        config.setMinSimilarity(0.5);
+        retrievalService = new RetrievalServiceImpl(embeddingService, chunkRepository, config);
+        Embedding queryEmbedding = new Embedding(new float[] {0.1f}, "nomic-embed-text");
+        RetrievedChunk semantic = new RetrievedChunk("chunk-1", "doc-1", "timeouts", 0, 0.2);
+        RetrievedChunk both = new RetrievedChunk("chunk-2", "doc-1", "ERR-504 timeout", 1, 0.3);
+        RetrievedChunk exact = new RetrievedChunk("chunk-3", "doc-2", "ERR-504 runbook", 0, 0.8);
+        RetrievedChunk distant = new RetrievedChunk("chunk-4", "doc-3", "unrelated", 0, 0.9);
+
+        when(embeddingService.generateEmbedding("What is ERR-504?")).thenReturn(queryEmbedding);
+        when(chunkRepository.findSimilarMatches(queryEmbedding.vector(), RetrievalStrategy.SIMPLE))
+                .thenReturn(List.of(semantic, both, distant));
+        when(chunkRepository.findLexicalMatches("What is ERR-504?", queryEmbedding.vector(), 5))
+                .thenReturn(List.of(exact, both));
+
+        RetrievalResult result =
+                retrievalService.retrieve("What is ERR-504?", RetrievalStrategy.SIMPLE);
+
+        // chunk-2 ranks in both lists; chunk-3 is kept below min similarity as a text match
+        assertThat(result.chunks()).containsExactly(both, semantic, exact);
+    }
+
+    @Test
+    void shouldFallBackToVectorMatchesWhenTextSearchFails() {
+        RagConfig config = new RagConfig();
+        config.setHybridStrategies(Set.of(RetrievalStrategy.SIMPLE));
+        retrievalService = new RetrievalServiceImpl(embeddingService, chunkRepository, config);
+        Embedding queryEmbedding = new Embedding(new float[] {0.1f}, "nomic-embed-text");
+        RetrievedChunk chunk = new RetrievedChunk("chunk-1", "doc-1", "sample text", 0, 0.1);
+
+        when(embeddingService.generateEmbedding("What is AI?")).thenReturn(queryEmbedding);
+        when(chunkRepository.findSimilarMatches(queryEmbedding.vector(), RetrievalStrategy.SIMPLE))
+                .thenReturn(List.of(chunk));
+        when(chunkRepository.findLexicalMatches("What is AI?", queryEmbedding.vector(), 5))
+                .thenThrow(new IllegalStateException("column search_vector does not exist"));
+
+        RetrievalResult result = retrievalService.retrieve("What is AI?", RetrievalStrategy.SIMPLE);
+
+        assertThat(result.chunks()).containsExactly(chunk);
+    }
+
+    @Test
+    void shouldSearchVectorsOnlyForStrategiesNotConfiguredAsHybrid() {
+        RagConfig config = new RagConfig();
+        config.setHybridStrategies(Set.of(RetrievalStrategy.SIMPLE));
+        retrievalService = new RetrievalServiceImpl(embeddingService, chunkRepository, config);
+        Embedding queryEmbedding = new Embedding(new float[] {0.1f}, "nomic-embed-text");
+
+        when(embeddingService.generateEmbedding("What is AI?")).thenReturn(queryEmbedding);
+        when(chunkRepository.findSimilarMatches(queryEmbedding.vector(), RetrievalStrategy.DEEP))
+                .thenReturn(List.of());
+        when(chunkRepository.findSimilarMatches(queryEmbedding.vector(), RetrievalStrategy.SIMPLE))
+                .thenReturn(List.of());
+
+        retrievalService.retrieve("What is AI?", RetrievalStrategy.DEEP);
+        retrievalService.retrieve(queryEmbedding, RetrievalStrategy.SIMPLE);
+
+        verify(chunkRepository, never())
+                .findLexicalMatches(anyString(), any(float[].class), anyInt());
+    }
+
+    @Test
+    void shouldOverFetchAndRerankForConfiguredStrategy() {
+        RerankConfig rerankConfig = new RerankConfig();
+        rerankConfig.setStrategies(Set.of(RetrievalStrategy.SIMPLE));
+        rerankConfig.setCandidateMultiplier(2);
+        rerankConfig.setMmrLambda(1.0);
+        retrievalService =
+                new RetrievalServiceImpl(
+                        embeddingService,
+                        chunkRepository,
+                        new RagConfig(),
+                        new ChunkReranker(rerankConfig));
+        Embedding queryEmbedding = new Embedding(new float[] {0.1f}, "nomic-embed-text");
+        List<RetrievedChunk> candidates = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            candidates.add(new RetrievedChunk("chunk-" + i, "doc-1", "text " + i, i, 0.1 * i));
+        }
+        RetrievedChunk runbook =
+                new RetrievedChunk("chunk-9", "doc-2", "ERR-504 gateway runbook", 0, 0.5);
+        candidates.add(runbook);
+
+        when(chunkRepository.findSimilarMatches(
+                        queryEmbedding.vector(), RetrievalStrategy.SIMPLE, 10))
+                .thenReturn(candidates);
+
+        RetrievalResult result =
+                retrievalService.retrieve(
+                        "What is ERR-504?", queryEmbedding, RetrievalStrategy.SIMPLE);
+
+        // BM25 lifts the runbook from tenth candidate into the five kept
+        assertThat(result.chunks()).hasSize(5).contains(runbook);
+        assertThat(result.chunks().get(0)).isEqualTo(runbook);
+        verify(embeddingService, never()).generateEmbedding(anyString());
+    }
+
+    @Test
+    void shouldRetrieveWithQuestionAndPrecomputedEmbedding() {
+        Embedding queryEmbedding = new Embedding(new float[] {0.1f}, "nomic-embed-text");
+        RetrievedChunk chunk = new RetrievedChunk("chunk-1", "doc-1", "sample text", 0, 0.1);
+
+        when(chunkRepository.findSimilarMatches(queryEmbedding.vector(), RetrievalStrategy.DEEP))
+                .thenReturn(List.of(chunk));
+
+        RetrievalResult result =
+                retrievalService.retrieve("What is AI?", queryEmbedding, RetrievalStrategy.DEEP);
+
+        assertThat(result.chunks()).containsExactly(chunk);
+        verify(embeddingService, never()).generateEmbedding(anyString());
+    }
+
+    @Test
+    void shouldValidateQuestionAndEmbeddingTogether() {
+        Embedding queryEmbedding = new Embedding(new float[] {0.1f}, "nomic-embed-text");
+
+        assertThatThrownBy(
+                        () ->
+                                retrievalService.retrieve(
+                                        " ", queryEmbedding, RetrievalStrategy.SIMPLE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Question cannot be null or blank");
+        assertThatThrownBy(
+                        () ->
+                                retrievalService.retrieve(
+                                        "What is AI?", null, RetrievalStrategy.SIMPLE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Query embedding cannot be null");
+        assertThatThrownBy(() -> retrievalService.retrieve("What is AI?", queryEmbedding, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Strategy cannot be null");
+    }
+
+    @Test
+    void shouldThrowExceptionForNullQueryEmbedding() {
+        assertThatThrownBy(
+                        () -> retrievalService.retrieve((Embedding) null, RetrievalStrategy.DEEP))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Query embedding cannot be null");
+    }
+
+    @Test
+    void shouldThrowExceptionForNullStrategyWithPrecomputedEmbedding() {
+        Embedding queryEmbedding = new Embedding(new float[] {0.1f}, "nomic-embed-text");
+
+        assertThatThrownBy(() -> retrievalService.retrieve(queryEmbedding, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Strategy cannot be null");
+    }
 }
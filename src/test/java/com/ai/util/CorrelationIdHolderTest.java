@@ -2,6 +2,9 @@ package com.ai.util;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.apache.logging.log4j.ThreadContext;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -105,4 +108,22 @@ class CorrelationIdHolderTest {
         assertThat(CorrelationIdHolder.get()).isNull();
         assertThat(ThreadContext.get("otherKey")).isNull();
     }
+
+    @Test
+    void shouldPropagateCorrelationIdToOtherThread() throws Exception {
+        CorrelationIdHolder.set("parent-id");
+        Callable<String> task = CorrelationIdHolder.propagate(CorrelationIdHolder::get);
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            assertThat(executor.submit(task).get()).isEqualTo("parent-id");
+            assertThat(executor.submit(CorrelationIdHolder::get).get()).isNull();
+        }
+    }
+
+    @Test
+    void shouldReturnTaskUnchangedWithoutCorrelationId() {
+        Callable<String> task = () -> "result";
+
+        assertThat(CorrelationIdHolder.propagate(task)).isSameAs(task);
+    }
 }
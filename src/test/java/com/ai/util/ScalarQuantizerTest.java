@@ -0,0 +1,51 @@
+package com.ai.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class ScalarQuantizerTest {
+
+    @Test
+    void shouldMapLargestComponentToFullCodeRange() {
+        byte[] codes = new byte[3];
+
+        float scale = ScalarQuantizer.quantize(new float[] {0.6f, -1f, 0.2f}, codes);
+
+        assertThat(scale).isEqualTo(1f / 127f);
+        assertThat(codes).containsExactly(76, -127, 25);
+    }
+
+    @Test
+    void shouldRestoreComponentsWithinHalfAStep() {
+        SplittableRandom random = new SplittableRandom(9);
+        float[] vector = new float[768];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (float) (random.nextDouble() * 2.0 - 1.0);
+        }
+        byte[] codes = new byte[vector.length];
+
+        float scale = ScalarQuantizer.quantize(vector, codes);
+        float[] restored = ScalarQuantizer.dequantize(codes, scale);
+
+        for (int i = 0; i < vector.length; i++) {
+            assertThat(restored[i]).isCloseTo(vector[i], within(scale / 2 + 1e-6f));
+        }
+    }
+
+    @Test
+    void shouldQuantizeZeroVectorToZeroScale() {
+        byte[] codes = {1, 2};
+
+        assertThat(ScalarQuantizer.quantize(new float[] {0f, 0f}, codes)).isZero();
+        assertThat(codes).containsExactly(0, 0);
+    }
+
+    @Test
+    void shouldRejectCodesShorterThanVector() {
+        assertThatThrownBy(() -> ScalarQuantizer.quantize(new float[3], new byte[2]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Codes length 2 is less than dimension 3");
+    }
+}
@@ -0,0 +1,27 @@
+package com.ai.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class TextHashTest {
+
+    @Test
+    void shouldHashWithSha256() {
+        assertThat(TextHash.sha256("abc"))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+        assertThat(TextHash.sha256("")).hasSize(64);
+    }
+
+    @Test
+    void shouldHashUtf8Bytes() {
+        assertThat(TextHash.sha256("héllo")).isNotEqualTo(TextHash.sha256("hello"));
+    }
+
+    @Test
+    void shouldRejectNullText() {
+        assertThatThrownBy(() -> TextHash.sha256(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Text cannot be null");
+    }
+}
@@ -0,0 +1,34 @@
+package com.ai.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class TokenEstimatorTest {
+
+    @Test
+    void shouldEstimateFourCharactersPerTokenRoundingUp() {
+        assertThat(TokenEstimator.estimate("")).isZero();
+        assertThat(TokenEstimator.estimate("a")).isEqualTo(1);
+        assertThat(TokenEstimator.estimate("abcd")).isEqualTo(1);
+        assertThat(TokenEstimator.estimate("abcde")).isEqualTo(2);
+        assertThat(TokenEstimator.estimate("x".repeat(1000))).isEqualTo(250);
+    }
+
+    @Test
+    void shouldReturnLengthThatEstimatesWithinTokens() {
+        assertThat(TokenEstimator.maxChars(0)).isZero();
+        assertThat(TokenEstimator.maxChars(10)).isEqualTo(40);
+        assertThat(TokenEstimator.estimate("x".repeat(TokenEstimator.maxChars(10)))).isEqualTo(10);
+        assertThatThrownBy(() -> TokenEstimator.maxChars(-1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Tokens cannot be negative");
+    }
+
+    @Test
+    void shouldRejectNullText() {
+        assertThatThrownBy(() -> TokenEstimator.estimate(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Text cannot be null");
+    }
+}
@@ -0,0 +1,199 @@
+package com.ai.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class VectorMathTest {
+
+    @Test
+    void shouldComputeDotProduct() {
+        assertThat(VectorMath.dot(new float[] {1f, 2f, 3f}, new float[] {4f, -5f, 6f}))
+                .isEqualTo(12f);
+    }
+
+    @Test
+    void shouldComputeCosineSimilarity() {
+        assertThat(VectorMath.cosine(new float[] {3f, 4f}, new float[] {6f, 8f}))
+                .isCloseTo(1f, within(1e-6f));
+        assertThat(VectorMath.cosine(new float[] {1f, 0f}, new float[] {0f, 2f}))
+                .isCloseTo(0f, within(1e-6f));
+        assertThat(VectorMath.cosine(new float[] {1f, 0f}, new float[] {-3f, 0f}))
+                .isCloseTo(-1f, within(1e-6f));
+    }
+
+    @Test
+    void shouldTreatZeroVectorAsDissimilar() {
+        assertThat(VectorMath.cosine(new float[] {0f, 0f}, new float[] {1f, 1f})).isZero();
+    }
+
+    @Test
+    void shouldComputeEuclideanDistance() {
+        assertThat(VectorMath.l2(new float[] {1f, 1f}, new float[] {4f, 5f})).isEqualTo(5f);
+        assertThat(VectorMath.l2(new float[] {2f, 3f}, new float[] {2f, 3f})).isZero();
+    }
+
+    @Test
+    void shouldNormalizeToUnitLengthWithoutTouchingInput() {
+        float[] vector = {3f, 4f};
+
+        assertThat(VectorMath.normalize(vector)).containsExactly(0.6f, 0.8f);
+        assertThat(vector).containsExactly(3f, 4f);
+        assertThat(VectorMath.normalize(new float[] {0f, 0f})).containsExactly(0f, 0f);
+    }
+
+    @Test
+    void shouldRejectEmptyVectorWhenNormalizing() {
+        assertThatThrownBy(() -> VectorMath.normalize(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Vector cannot be null or empty");
+        assertThatThrownBy(() -> VectorMath.normalize(new float[0]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Vector cannot be null or empty");
+    }
+
+    @Test
+    void shouldScoreQueryAgainstEveryRow() {
+        float[] query = {1f, 0f};
+        float[][] rows = {{2f, 0f}, {0f, 1f}, {-1f, 0f}};
+        float[] scores = new float[3];
+
+        VectorMath.dot(query, rows, scores);
+        assertThat(scores).containsExactly(2f, 0f, -1f);
+
+        VectorMath.cosine(query, rows, scores);
+        assertThat(scores).containsExactly(new float[] {1f, 0f, -1f}, within(1e-6f));
+
+        VectorMath.l2(query, rows, scores);
+        assertThat(scores)
+                .containsExactly(new float[] {1f, (float) Math.sqrt(2), 2f}, within(1e-6f));
+    }
+
+    @Test
+    void shouldMatchScalarLoopAcrossRegisterWidthsAndTails() {
+        SplittableRandom random = new SplittableRandom(42);
+        // Lengths below, at and past common register widths, including ragged tails
+        for (int length : new int[] {1, 3, 7, 8, 15, 16, 17, 33, 384, 768, 1001}) {
+            float[] a = randomVector(random, length);
+            float[] b = randomVector(random, length);
+
+            assertThat(VectorMath.dot(a, b))
+                    .isCloseTo(ScalarVectorKernels.INSTANCE.dot(a, b), within(1e-3f));
+            assertThat(VectorMath.cosine(a, b))
+                    .isCloseTo(ScalarVectorKernels.INSTANCE.cosine(a, b), within(1e-5f));
+            assertThat(VectorMath.l2(a, b))
+                    .isCloseTo(
+                            (float) Math.sqrt(ScalarVectorKernels.INSTANCE.squaredDistance(a, b)),
+                            within(1e-3f));
+        }
+    }
+
+    @Test
+    void shouldAgreeBetweenSimdAndScalarKernels() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int length : new int[] {5, 64, 769}) {
+            float[] a = randomVector(random, length);
+            float[] b = randomVector(random, length);
+
+            assertThat(SimdVectorKernels.INSTANCE.dot(a, b))
+                    .isCloseTo(ScalarVectorKernels.INSTANCE.dot(a, b), within(1e-3f));
+            assertThat(SimdVectorKernels.INSTANCE.cosine(a, b))
+                    .isCloseTo(ScalarVectorKernels.INSTANCE.cosine(a, b), within(1e-5f));
+            assertThat(SimdVectorKernels.INSTANCE.squaredDistance(a, b))
+                    .isCloseTo(
+                            ScalarVectorKernels.INSTANCE.squaredDistance(a, b), within(1e-2f));
+        }
+    }
+
+    @Test
+    void shouldRunOnVectorApiWhenModuleIsAdded() {
+        // The build adds jdk.incubator.vector to the test JVM
+        assertThat(VectorMath.accelerated())
+                .isEqualTo(
+                        ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+                                && SimdVectorKernels.laneCount() >= 4);
+    }
+
+    @Test
+    void shouldDotAgainstLittleEndianRowInSegment() {
+        float[] query = randomVector(new SplittableRandom(3), 19);
+        float[] row = randomVector(new SplittableRandom(4), 19);
+        ValueLayout.OfFloat layout =
+                ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+        try (Arena arena = Arena.ofConfined()) {
+            // Offset by a few bytes so the row is unaligned
+            long offset = 12;
+            MemorySegment segment = arena.allocate(offset + row.length * Float.BYTES);
+            MemorySegment.copy(row, 0, segment, layout, offset, row.length);
+
+            float expected = ScalarVectorKernels.INSTANCE.dot(query, row);
+            assertThat(VectorMath.dot(query, segment, offset)).isCloseTo(expected, within(1e-4f));
+            assertThat(SimdVectorKernels.INSTANCE.dot(query, segment, offset))
+                    .isCloseTo(expected, within(1e-4f));
+            assertThat(ScalarVectorKernels.INSTANCE.dot(query, segment, offset))
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void shouldDotAgainstInt8CodesInSegment() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int length : new int[] {3, 16, 37, 768}) {
+            float[] query = randomVector(random, length);
+            byte[] codes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                codes[i] = (byte) (random.nextInt(255) - 127);
+            }
+            try (Arena arena = Arena.ofConfined()) {
+                long offset = 5;
+                MemorySegment segment = arena.allocate(offset + length);
+                MemorySegment.copy(codes, 0, segment, ValueLayout.JAVA_BYTE, offset, length);
+
+                float expected = 0f;
+                for (int i = 0; i < length; i++) {
+                    expected += query[i] * codes[i];
+                }
+                assertThat(VectorMath.dotInt8(query, segment, offset))
+                        .isCloseTo(expected, within(Math.abs(expected) * 1e-5f + 1e-3f));
+                assertThat(SimdVectorKernels.INSTANCE.dotInt8(query, segment, offset))
+                        .isCloseTo(expected, within(Math.abs(expected) * 1e-5f + 1e-3f));
+            }
+        }
+    }
+
+    @Test
+    void shouldRejectMismatchedDimensions() {
+        assertThatThrownBy(() -> VectorMath.dot(new float[2], new float[3]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Vector dimensions 2 and 3 do not match");
+        assertThatThrownBy(() -> VectorMath.cosine(new float[2], new float[3]))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> VectorMath.l2(new float[2], new float[3]))
+                .isInstanceOf(IllegalArgumentException.class);
+        float[][] rows = {new float[3]};
+        assertThatThrownBy(() -> VectorMath.dot(new float[2], rows, new float[1]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Vector dimensions 2 and 3 do not match");
+    }
+
+    @Test
+    void shouldRejectScoresShorterThanRows() {
+        float[][] rows = {new float[2], new float[2]};
+        assertThatThrownBy(() -> VectorMath.cosine(new float[2], rows, new float[1]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Scores length 1 is less than row count 2");
+    }
+
+    private static float[] randomVector(SplittableRandom random, int length) {
+        float[] vector = new float[length];
+        for (int i = 0; i < length; i++) {
+            vector[i] = (float) (random.nextDouble() * 2.0 - 1.0);
+        }
+        return vector;
+    }
+}
@@ -2,12 +2,17 @@ package com.ai.verifier;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.ai.domain.*;
 import com.ai.llm.OllamaClient;
 import com.ai.model.LlmModel;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,7 +28,7 @@ class AnswerVerifierImplTest {
 
     @BeforeEach
     void setUp() {
-        verifier = new AnswerVerifierImpl(ollamaClient);
+        verifier = new AnswerVerifierImpl(ollamaClient, new VerifierConfig());
     }
 
     @Test
@@ -204,4 +209,296 @@ class AnswerVerifierImplTest {
         assertThat(result).isNotNull();
         assertThat(result.status()).isEqualTo(VerificationStatus.GROUNDED);
     }
+
+    @Test
+    void shouldPreserveClaimOrderWhenVerifyingConcurrently() {
+        RetrievalResult context = singleChunkContext();
+        Answer answer = new Answer("Answer text", List.of(), "llama3.1:8b");
+
+        when(ollamaClient.generate(any(LlmModel.class), contains("Extract"), anyInt()))
+                .thenReturn("1. Alpha claim holds\n2. Beta claim fails\n3. Gamma claim holds");
+        when(ollamaClient.generate(any(LlmModel.class), contains("Does the following"), anyInt()))
+                .thenAnswer(
+                        invocation -> {
+                            String prompt = invocation.getArgument(1);
+                            // Finish the first claim last to prove results are not arrival-ordered
+                            if (prompt.contains("Alpha")) {
+                                Thread.sleep(100);
+                            }
+                            return prompt.contains("fails") ? "no" : "yes";
+                        });
+
+        VerificationResult result = verifier.verify(answer, context);
+
+        assertThat(result.claims())
+                .extracting(Claim::text)
+                .containsExactly("Alpha claim holds", "Beta claim fails", "Gamma claim holds");
+        assertThat(result.claims())
+                .extracting(Claim::isGrounded)
+                .containsExactly(true, false, true);
+    }
+
+    @Test
+    void shouldTreatTimedOutClaimAsUngrounded() {
+        VerifierConfig config = new VerifierConfig();
+        config.setClaimTimeout(Duration.ofMillis(100));
+        verifier = new AnswerVerifierImpl(ollamaClient, config);
+        RetrievalResult context = singleChunkContext();
+        Answer answer = new Answer("Answer text", List.of(), "llama3.1:8b");
+
+        when(ollamaClient.generate(any(LlmModel.class), contains("Extract"), anyInt()))
+                .thenReturn("1. Quick claim answered\n2. Slow claim answered");
+        when(ollamaClient.generate(any(LlmModel.class), contains("Does the following"), anyInt()))
+                .thenAnswer(
+                        invocation -> {
+                            if (invocation.<String>getArgument(1).contains("Slow")) {
+                                Thread.sleep(5_000);
+                            }
+                            return "yes";
+                        });
+
+        VerificationResult result = verifier.verify(answer, context);
+
+        assertThat(result.claims())
+                .extracting(Claim::isGrounded)
+                .containsExactly(true, false);
+        assertThat(result.groundingScore()).isEqualTo(0.5);
+    }
+
+    @Test
+    void shouldTreatTimedOutClaimAsUngroundedWhenVerifyingSequentially() {
+        VerifierConfig config = new VerifierConfig();
+        config.setMaxConcurrency(1);
+        config.setClaimTimeout(Duration.ofMillis(100));
+        verifier = new AnswerVerifierImpl(ollamaClient, config);
+        RetrievalResult context = singleChunkContext();
+        Answer answer = new Answer("Answer text", List.of(), "llama3.1:8b");
+
+        when(ollamaClient.generate(any(LlmModel.class), contains("Extract"), anyInt()))
+                .thenReturn("1. Slow claim answered\n2. Quick claim answered");
+        when(ollamaClient.generate(any(LlmModel.class), contains("Does the following"), anyInt()))
+                .thenAnswer(
+                        invocation -> {
+                            if (invocation.<String>getArgument(1).contains("Slow")) {
+                                Thread.sleep(5_000);
+                            }
+                            return "yes";
+                        });
+
+        VerificationResult result = verifier.verify(answer, context);
+
+        assertThat(result.claims())
+                .extracting(Claim::isGrounded)
+                .containsExactly(false, true);
+    }
+
+    @Test
+    void shouldCapConcurrentClaimVerifications() {
+        VerifierConfig config = new VerifierConfig();
+        config.setMaxConcurrency(2);
+        verifier = new AnswerVerifierImpl(ollamaClient, config);
+        RetrievalResult context = singleChunkContext();
+        Answer answer = new Answer("Answer text", List.of(), "llama3.1:8b");
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        when(ollamaClient.generate(any(LlmModel.class), contains("Extract"), anyInt()))
+                .thenReturn(
+                        "1. Claim one here\n2. Claim two here\n3. Claim three here\n"
+                                + "4. Claim four here\n5. Claim five here\n6. Claim six here");
+        when(ollamaClient.generate(any(LlmModel.class), contains("Does the following"), anyInt()))
+                .thenAnswer(
+                        invocation -> {
+                            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                            try {
+                                Thread.sleep(50);
+                            } finally {
+                                inFlight.decrementAndGet();
+                            }
+                            return "yes";
+                        });
+
+        VerificationResult result = verifier.verify(answer, context);
+
+        assertThat(result.claims()).hasSize(6);
+        assertThat(result.status()).isEqualTo(VerificationStatus.GROUNDED);
+        assertThat(maxInFlight.get()).isBetween(1, 2);
+    }
+
+    @Test
+    void shouldVerifySequentiallyWhenConcurrencyIsOne() {
+        VerifierConfig config = new VerifierConfig();
+        config.setMaxConcurrency(1);
+        verifier = new AnswerVerifierImpl(ollamaClient, config);
+        RetrievalResult context = singleChunkContext();
+        Answer answer = new Answer("Answer text", List.of(), "llama3.1:8b");
+
+        when(ollamaClient.generate(any(LlmModel.class), contains("Extract"), anyInt()))
+                .thenReturn("1. First claim is true\n2. Second claim is false");
+        when(ollamaClient.generate(any(LlmModel.class), contains("Does the following"), anyInt()))
+                .thenReturn("yes")
+                .thenReturn("no");
+
+        VerificationResult result = verifier.verify(answer, context);
+
+        assertThat(result.claims())
+                .extracting(Claim::isGrounded)
+                .containsExactly(true, false);
+    }
+
+    @Test
+    void shouldVerifyAllClaimsInSingleBatchedCall() {
+        verifier = new AnswerVerifierImpl(ollamaClient, batchedConfig());
+        RetrievalResult context = singleChunkContext();
+        Answer answer = new Answer("Answer text", List.of(), "llama3.1:8b");
+
+        when(ollamaClient.generate(any(LlmModel.class), contains("Extract"), anyInt()))
+                .thenReturn("1. First claim is true\n2. Second claim is false");
+        when(ollamaClient.generate(any(LlmModel.class), contains("numbered claim"), anyInt()))
+                .thenReturn(
+                        "```json\n[{\"claim\": 1, \"supported\": true},"
+                                + " {\"claim\": 2, \"supported\": false}]\n```");
+
+        VerificationResult result = verifier.verify(answer, context);
+
+        assertThat(result.claims())
+                .extracting(Claim::isGrounded)
+                .containsExactly(true, false);
+        assertThat(result.status()).isEqualTo(VerificationStatus.PARTIALLY_GROUNDED);
+        verify(ollamaClient, times(1))
+                .generate(any(LlmModel.class), contains("numbered claim"), anyInt());
+        verify(ollamaClient, never())
+                .generate(any(LlmModel.class), contains("Does the following"), anyInt());
+    }
+
+    @Test
+    void shouldLeaveRoomForFencedVerdictsOfManyClaims() {
+        verifier = new AnswerVerifierImpl(ollamaClient, batchedConfig());
+        RetrievalResult context = singleChunkContext();
+        Answer answer = new Answer("Answer text", List.of(), "llama3.1:8b");
+        StringBuilder claims = new StringBuilder();
+        StringBuilder verdicts = new StringBuilder("Here are the verdicts:\n```json\n[\n");
+        for (int i = 1; i <= 8; i++) {
+            claims.append(i).append(". Claim number ").append(i).append(" holds\n");
+            verdicts.append("  {\"claim\": ").append(i).append(", \"supported\": true},\n");
+        }
+        String response = verdicts.append("]\n```").toString();
+
+        when(ollamaClient.generate(any(LlmModel.class), contains("Extract"), anyInt()))
+                .thenReturn(claims.toString());
+        // JSON punctuation tokenizes at about two characters per token, so cut the reply there
+        when(ollamaClient.generate(any(LlmModel.class), contains("numbered claim"), anyInt()))
+                .thenAnswer(
+                        invocation -> {
+                            int maxChars = invocation.<Integer>getArgument(2) * 2;
+                            return response.substring(0, Math.min(response.length(), maxChars));
+                        });
+
+        VerificationResult result = verifier.verify(answer, context);
+
+        assertThat(result.claims()).hasSize(8);
+        assertThat(result.status()).isEqualTo(VerificationStatus.GROUNDED);
+        verify(ollamaClient, never())
+                .generate(any(LlmModel.class), contains("Does the following"), anyInt());
+    }
+
+    @Test
+    void shouldFallBackToPerClaimWhenBatchedResponseIsUnparseable() {
+        verifier = new AnswerVerifierImpl(ollamaClient, batchedConfig());
+        RetrievalResult context = singleChunkContext();
+        Answer answer = new Answer("Answer text", List.of(), "llama3.1:8b");
+
+        when(ollamaClient.generate(any(LlmModel.class), contains("Extract"), anyInt()))
+                .thenReturn("1. First claim is true\n2. Second claim is true");
+        when(ollamaClient.generate(any(LlmModel.class), contains("numbered claim"), anyInt()))
+                .thenReturn("Both claims look supported to me.");
+        when(ollamaClient.generate(any(LlmModel.class), contains("Does the following"), anyInt()))
+                .thenReturn("yes");
+
+        VerificationResult result = verifier.verify(answer, context);
+
+        assertThat(result.status()).isEqualTo(VerificationStatus.GROUNDED);
+        verify(ollamaClient, times(2))
+                .generate(any(LlmModel.class), contains("Does the following"), anyInt());
+    }
+
+    @Test
+    void shouldFallBackToPerClaimWhenBatchedCallFails() {
+        verifier = new AnswerVerifierImpl(ollamaClient, batchedConfig());
+        RetrievalResult context = singleChunkContext();
+        Answer answer = new Answer("Answer text", List.of(), "llama3.1:8b");
+
+        when(ollamaClient.generate(any(LlmModel.class), contains("Extract"), anyInt()))
+                .thenReturn("1. First claim is true\n2. Second claim is true");
+        when(ollamaClient.generate(any(LlmModel.class), contains("numbered claim"), anyInt()))
+                .thenThrow(new RuntimeException("Ollama unavailable"));
+        when(ollamaClient.generate(any(LlmModel.class), contains("Does the following"), anyInt()))
+                .thenReturn("yes");
+
+        VerificationResult result = verifier.verify(answer, context);
+
+        assertThat(result.status()).isEqualTo(VerificationStatus.GROUNDED);
+    }
+
+    @Test
+    void shouldUsePerClaimCheckForSingleClaimInBatchedMode() {
+        verifier = new AnswerVerifierImpl(ollamaClient, batchedConfig());
+        RetrievalResult context = singleChunkContext();
+        Answer answer = new Answer("Answer text", List.of(), "llama3.1:8b");
+
+        when(ollamaClient.generate(any(LlmModel.class), contains("Extract"), anyInt()))
+                .thenReturn("1. Only one claim here");
+        when(ollamaClient.generate(any(LlmModel.class), contains("Does the following"), anyInt()))
+                .thenReturn("yes");
+
+        VerificationResult result = verifier.verify(answer, context);
+
+        assertThat(result.status()).isEqualTo(VerificationStatus.GROUNDED);
+    }
+
+    @Test
+    void shouldParseBatchedVerdicts() {
+        assertThat(
+                        AnswerVerifierImpl.parseBatchedVerdicts(
+                                "Result: [{\"supported\": \"yes\", \"claim\": \"2\"},"
+                                        + " {\"claim\": 1, \"supported\": FALSE}]",
+                                2))
+                .containsExactly(false, true);
+    }
+
+    @Test
+    void shouldRejectIncompleteOrInconsistentBatchedVerdicts() {
+        assertThat(AnswerVerifierImpl.parseBatchedVerdicts(null, 1)).isNull();
+        assertThat(AnswerVerifierImpl.parseBatchedVerdicts("no json", 1)).isNull();
+        assertThat(
+                        AnswerVerifierImpl.parseBatchedVerdicts(
+                                "[{\"claim\": 1, \"supported\": true}]", 2))
+                .isNull();
+        assertThat(
+                        AnswerVerifierImpl.parseBatchedVerdicts(
+                                "[{\"claim\": 3, \"supported\": true}]", 2))
+                .isNull();
+        assertThat(
+                        AnswerVerifierImpl.parseBatchedVerdicts(
+                                "[{\"claim\": 1, \"supported\": true},"
+                                        + " {\"claim\": 1, \"supported\": false}]",
+                                1))
+                .isNull();
+        assertThat(
+                        AnswerVerifierImpl.parseBatchedVerdicts(
+                                "[{\"claim\": 1}, {\"claim\": 1, \"supported\": true}]", 1))
+                .containsExactly(true);
+    }
+
+    private static VerifierConfig batchedConfig() {
+        VerifierConfig config = new VerifierConfig();
+        config.setMode(VerifierConfig.Mode.BATCHED);
+        return config;
+    }
+
+    private static RetrievalResult singleChunkContext() {
+        Embedding embedding = new Embedding(new float[] {0.1f}, "nomic-embed-text");
+        Chunk chunk = new Chunk("chunk-1", "doc-1", "AI is artificial intelligence", 0, embedding);
+        return new RetrievalResult(List.of(chunk), "SIMPLE", 100L);
+    }
 }
@@ -0,0 +1,50 @@
+package com.ai.verifier;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class VerifierConfigTest {
+
+    @Test
+    void shouldCreateDefaultConfig() {
+        VerifierConfig config = new VerifierConfig();
+
+        assertThat(config.mode()).isEqualTo(VerifierConfig.Mode.PER_CLAIM);
+        assertThat(config.maxConcurrency()).isEqualTo(4);
+        assertThat(config.claimTimeout()).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void shouldSetProperties() {
+        VerifierConfig config = new VerifierConfig();
+        config.setMode(VerifierConfig.Mode.BATCHED);
+        config.setMaxConcurrency(8);
+        config.setClaimTimeout(Duration.ofSeconds(5));
+
+        assertThat(config.getMode()).isEqualTo(VerifierConfig.Mode.BATCHED);
+        assertThat(config.getMaxConcurrency()).isEqualTo(8);
+        assertThat(config.getClaimTimeout()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(config.toString()).contains("VerifierConfig").contains("maxConcurrency=8");
+    }
+
+    @Test
+    void shouldRejectInvalidValues() {
+        VerifierConfig config = new VerifierConfig();
+
+        assertThatThrownBy(() -> config.setMode(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Mode cannot be null");
+        assertThatThrownBy(() -> config.setMaxConcurrency(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Max concurrency must be positive");
+        assertThatThrownBy(() -> config.setClaimTimeout(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Claim timeout must be positive");
+        assertThatThrownBy(() -> config.setClaimTimeout(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> config.setClaimTimeout(Duration.ofSeconds(-1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}